@@ -0,0 +1,82 @@
+package com.fiap.estoque.benchmark;
+
+import com.fiap.estoque.cache.BaixaIdempotenteCache;
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.gateway.BaixaAgrupadaEstoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Custo de uma baixa com Idempotency-Key no {@link BaixarEstoqueServiceUseCase} contra H2 embarcado:
+ * a primeira requisição (baixa e gravação da chave na mesma transação) e as repetições, respondidas
+ * pelo cache local ou, quando a chave não está nele (outra instância, cache cheio), pela tabela de chaves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BaixaIdempotenteBenchmark {
+
+    private static final String SKU = "SKU-IDEMPOTENTE";
+    private static final String CHAVE_REPETIDA = "chave-repetida";
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private ConfigurableApplicationContext contexto;
+    private BaixarEstoqueServiceUseCase comCache;
+    private BaixarEstoqueServiceUseCase semCache;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BaixarEstoqueBenchmark.Configuracao.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=benchmark");
+        contexto.getBean(EstoqueRepository.class)
+                .save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(Integer.MAX_VALUE).build());
+        EstoqueGateway gateway = contexto.getBean(EstoqueGateway.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EstoqueCache estoqueCache = new EstoqueCache(100_000, Duration.ofSeconds(30), Duration.ofSeconds(5), registry);
+        EstoqueMetricas metricas = new EstoqueMetricas(registry, Set.of());
+        BaixaAgrupadaEstoque semAgrupamento = new BaixaAgrupadaEstoque(gateway, false, Duration.ZERO, 1, 1, false);
+        comCache = new BaixarEstoqueServiceUseCase(gateway, estoqueCache, metricas,
+                new BaixaIdempotenteCache(100_000, Duration.ofHours(24), registry), semAgrupamento);
+        semCache = new BaixarEstoqueServiceUseCase(gateway, estoqueCache, metricas,
+                new BaixaIdempotenteCache(100_000, Duration.ZERO, registry), semAgrupamento);
+        comCache.execute(SKU, 1, CHAVE_REPETIDA);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Estoque primeiraRequisicao() {
+        return comCache.execute(SKU, 1, "chave-" + sequencia.incrementAndGet());
+    }
+
+    @Benchmark
+    public Estoque repeticaoPeloCache() {
+        return comCache.execute(SKU, 1, CHAVE_REPETIDA);
+    }
+
+    @Benchmark
+    public Estoque repeticaoPeloBanco() {
+        return semCache.execute(SKU, 1, CHAVE_REPETIDA);
+    }
+}
@@ -0,0 +1,90 @@
+package com.fiap.estoque.benchmark;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.gateway.EstoqueGatewayImpl;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.EstoqueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link EstoqueGatewayImpl#baixarEstoque} contra H2 embarcado (configurado em benchmark.properties):
+ * uma thread sobre SKUs distintos e várias threads disputando o mesmo SKU.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BaixarEstoqueBenchmark {
+
+    private static final int SKUS = 1024;
+    private static final String SKU_QUENTE = "SKU-QUENTE";
+    private static final int SALDO_INICIAL = Integer.MAX_VALUE;
+
+    private ConfigurableApplicationContext contexto;
+    private EstoqueGateway gateway;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(Configuracao.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=benchmark");
+        gateway = contexto.getBean(EstoqueGateway.class);
+        EstoqueRepository repository = contexto.getBean(EstoqueRepository.class);
+        repository.saveAll(IntStream.range(0, SKUS)
+                .mapToObj(i -> EstoqueEntity.builder().sku(sku(i)).quantidadeDisponivel(SALDO_INICIAL).build())
+                .toList());
+        repository.save(EstoqueEntity.builder().sku(SKU_QUENTE).quantidadeDisponivel(SALDO_INICIAL).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Estoque baixarSkusDistintos() {
+        return gateway.baixarEstoque(sku(ThreadLocalRandom.current().nextInt(SKUS)), 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Estoque baixarMesmoSkuComContencao() {
+        return gateway.baixarEstoque(SKU_QUENTE, 1);
+    }
+
+    private static String sku(int i) {
+        return "SKU-%06d".formatted(i);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan(basePackageClasses = EstoqueEntity.class)
+    @EnableJpaRepositories(basePackageClasses = EstoqueRepository.class)
+    @Import({EstoqueGatewayImpl.class, EstoqueMapperImpl.class, EstoqueMetricas.class, SimpleMeterRegistry.class})
+    static class Configuracao {
+    }
+}
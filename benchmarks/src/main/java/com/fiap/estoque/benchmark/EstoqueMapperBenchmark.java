@@ -0,0 +1,45 @@
+package com.fiap.estoque.benchmark;
+
+import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Conversão entidade → domínio → DTO feita em toda consulta, baixa e listagem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EstoqueMapperBenchmark {
+
+    private final EstoqueMapper mapper = new EstoqueMapperImpl();
+    private EstoqueEntity entity;
+    private List<EstoqueEntity> pagina;
+
+    @Setup
+    public void preparar() {
+        entity = EstoqueEntity.builder().id(1L).sku("SKU-000001").quantidadeDisponivel(100).build();
+        pagina = IntStream.range(0, 100)
+                .mapToObj(i -> EstoqueEntity.builder().id((long) i).sku("SKU-%06d".formatted(i)).quantidadeDisponivel(i).build())
+                .toList();
+    }
+
+    @Benchmark
+    public EstoqueResponseDTO entityParaResponseDTO() {
+        return mapper.toResponseDTO(mapper.toDomain(entity));
+    }
+
+    @Benchmark
+    public List<EstoqueResponseDTO> paginaDe100ParaResponseDTOs() {
+        return mapper.toResponseDTOs(pagina.stream().map(mapper::toDomain).toList());
+    }
+}
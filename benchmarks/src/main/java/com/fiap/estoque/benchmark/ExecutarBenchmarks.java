@@ -0,0 +1,42 @@
+package com.fiap.estoque.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar. Aceita as mesmas opções do JMH, mas grava o resultado
+ * em JSON (jmh-result.json) quando -rf/-rff não são informados, para comparação entre versões.
+ * Sem -prof, usa o profiler de GC, que acrescenta os bytes alocados por operação (gc.alloc.rate.norm).
+ */
+public final class ExecutarBenchmarks {
+
+    private static final String RESULTADO_PADRAO = "jmh-result.json";
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        if (linhaDeComando.shouldHelp() || linhaDeComando.shouldList() || linhaDeComando.shouldListWithParams()
+                || linhaDeComando.shouldListProfilers() || linhaDeComando.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaDeComando);
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            opcoes.result(RESULTADO_PADRAO);
+        }
+        if (linhaDeComando.getProfilers().isEmpty()) {
+            opcoes.addProfiler(GCProfiler.class);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.fiap.estoque.benchmark;
+
+import com.fiap.estoque.controller.EstoqueController;
+import com.fiap.estoque.dto.request.BaixaLoteRequestDTO;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do corpo de erro para as recusas mais frequentes (estoque insuficiente e baixa em lote
+ * recusada) e para a validação. recusaCompleta* inclui a criação da exceção: a tipada, sem stack
+ * trace, contra uma RuntimeException comum tratada pelo handler genérico.
+ * O logback.xml do módulo desliga os logs de com.fiap para medir apenas a montagem do corpo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private EstoqueInsuficienteException estoqueInsuficiente;
+    private BaixaEmLoteRejeitadaException baixaEmLoteRejeitada;
+    private MethodArgumentNotValidException validacao;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        estoqueInsuficiente = new EstoqueInsuficienteException("SKU-000001");
+        baixaEmLoteRejeitada = new BaixaEmLoteRejeitadaException(List.of("SKU-000001", "SKU-000002"));
+        BeanPropertyBindingResult erros = new BeanPropertyBindingResult(new BaixaLoteRequestDTO(), "baixaLoteRequestDTO");
+        erros.addError(new FieldError("baixaLoteRequestDTO", "itens[0].quantidade", "deve ser maior que 0"));
+        erros.addError(new FieldError("baixaLoteRequestDTO", "itens[1].sku", "não deve estar em branco"));
+        MethodParameter parametro = new MethodParameter(
+                EstoqueController.class.getMethod("baixarEmLote", BaixaLoteRequestDTO.class), 0);
+        validacao = new MethodArgumentNotValidException(parametro, erros);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> estoqueInsuficiente() {
+        return handler.handleEstoqueInsuficiente(estoqueInsuficiente);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> recusaCompletaTipada() {
+        return handler.handleEstoqueInsuficiente(new EstoqueInsuficienteException("SKU-000001"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> recusaCompletaComStackTrace() {
+        return handler.handleRuntimeException(new RuntimeException("Estoque insuficiente para SKU: SKU-000001"));
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> baixaEmLoteRejeitada() {
+        return handler.handleBaixaEmLoteRejeitada(baixaEmLoteRejeitada);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> validacao() {
+        return handler.handleValidationException(validacao);
+    }
+}
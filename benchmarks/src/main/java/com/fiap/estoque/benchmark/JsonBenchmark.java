@@ -0,0 +1,48 @@
+package com.fiap.estoque.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialização das respostas de estoque com a mesma configuração de ObjectMapper do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectWriter writer;
+    private EstoqueResponseDTO estoque;
+    private List<EstoqueResponseDTO> pagina;
+
+    @Setup
+    public void preparar() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        estoque = EstoqueResponseDTO.builder().id(1L).sku("SKU-000001").quantidadeDisponivel(100).build();
+        pagina = IntStream.range(0, 100)
+                .mapToObj(i -> EstoqueResponseDTO.builder().id((long) i).sku("SKU-%06d".formatted(i)).quantidadeDisponivel(i).build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializarEstoque() throws JsonProcessingException {
+        return writer.writeValueAsBytes(estoque);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaDe100() throws JsonProcessingException {
+        return writer.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,152 @@
+package com.fiap.estoque.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.fiap.estoque.cache.BaixaIdempotenteCache;
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.config.logging.AcessoLogFilter;
+import com.fiap.estoque.controller.EstoqueController;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.BaixaAgrupadaEstoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Custo de log de uma requisição de baixa (filtro de acesso, controller e caso de uso, com o
+ * gateway substituído por um stub), comparando a configuração anterior com o perfil prod.
+ * Executar com o profiler de GC (padrão do ExecutarBenchmarks) e comparar gc.alloc.rate.norm,
+ * que é a quantidade de bytes alocados por requisição:
+ * <ul>
+ *   <li>verboso: com.fiap em DEBUG, encoder de padrão síncrono e log de acesso em toda requisição
+ *   (o comportamento anterior, com os logs INFO por SKU no controller e no caso de uso);</li>
+ *   <li>producao: com.fiap em INFO, JSON pelo AsyncAppender e log de acesso amostrado em 1%.</li>
+ * </ul>
+ * A saída dos appenders é descartada para medir apenas a montagem e a codificação dos eventos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogRequisicaoBenchmark {
+
+    private static final String SKU = "SKU-000001";
+
+    @Param({"verboso", "producao"})
+    public String perfil;
+
+    private LoggerContext contextoLog;
+    private AcessoLogFilter filtro;
+    private FilterChain cadeia;
+    private MockHttpServletRequest requisicao;
+    private MockHttpServletResponse resposta;
+
+    @Setup
+    public void preparar() {
+        contextoLog = (LoggerContext) LoggerFactory.getILoggerFactory();
+        contextoLog.reset();
+        boolean producao = "producao".equals(perfil);
+        Appender<ILoggingEvent> appender = producao ? appenderAssincrono(appenderJson()) : appenderPadrao();
+        contextoLog.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        contextoLog.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        contextoLog.getLogger("com.fiap").setLevel(producao ? Level.INFO : Level.DEBUG);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Responde a baixa sem banco; stubOnly não guarda as invocações, que cresceriam a cada iteração.
+        EstoqueGateway gateway = mock(EstoqueGateway.class, withSettings().stubOnly());
+        when(gateway.baixarEstoque(anyString(), anyInt()))
+                .thenReturn(Estoque.builder().sku(SKU).quantidadeDisponivel(1_000_000).build());
+        BaixarEstoqueServiceUseCase baixarUseCase = new BaixarEstoqueServiceUseCase(gateway,
+                new EstoqueCache(100_000, Duration.ofSeconds(30), Duration.ofSeconds(5), registry),
+                new EstoqueMetricas(registry, Set.of()), new BaixaIdempotenteCache(100_000, Duration.ofHours(24), registry),
+                new BaixaAgrupadaEstoque(gateway, false, Duration.ZERO, 1, 1, false));
+        EstoqueController controller = new EstoqueController(null, null, baixarUseCase, null, null, null, null,
+                null, new EstoqueMapperImpl(), null);
+        filtro = new AcessoLogFilter(producao ? 0.01 : 1.0, Duration.ofMillis(500));
+        cadeia = (req, res) -> controller.baixar(SKU, 1, null);
+
+        requisicao = new MockHttpServletRequest("POST", "/estoques/" + SKU + "/baixa");
+        requisicao.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/estoques/{sku}/baixa");
+        requisicao.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("sku", SKU));
+        resposta = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contextoLog.reset();
+    }
+
+    @Benchmark
+    public int baixar() throws Exception {
+        filtro.doFilter(requisicao, resposta, cadeia);
+        return resposta.getStatus();
+    }
+
+    private Appender<ILoggingEvent> appenderPadrao() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contextoLog);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return appenderDescartavel("CONSOLE", encoder);
+    }
+
+    private Appender<ILoggingEvent> appenderJson() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(contextoLog);
+        encoder.setIncludeContext(false);
+        encoder.setIncludeCallerData(false);
+        encoder.start();
+        return appenderDescartavel("JSON", encoder);
+    }
+
+    private Appender<ILoggingEvent> appenderAssincrono(Appender<ILoggingEvent> destino) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(contextoLog);
+        async.setName("ASYNC");
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(destino);
+        async.start();
+        return async;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> appenderDescartavel(String nome, Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(contextoLog);
+        appender.setName(nome);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,121 @@
+package com.fiap.estoque.benchmark;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.gateway.EstoqueGatewayImpl;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import com.fiap.estoque.gateway.ReservaEstoqueGatewayImpl;
+import com.fiap.estoque.gateway.memoria.EstoqueGatewayMemoria;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.EstoqueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Vazão de {@link ReservaEstoqueGatewayImpl#reservar} com 8 threads contra H2 embarcado: todas no mesmo SKU
+ * e em SKUs distintos, com a baixa simples no mesmo SKU como referência. A reserva desconta o saldo com a
+ * mesma baixa condicional, então disputa a trava da linha de estoque como a baixa. Com {@code modo=memoria},
+ * o SKU quente é atendido pelo {@link EstoqueGatewayMemoria} e só a gravação da reserva vai ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class ReservarEstoqueBenchmark {
+
+    private static final int SKUS = 1024;
+    private static final String SKU_QUENTE = "SKU-QUENTE";
+    private static final int SALDO_INICIAL = Integer.MAX_VALUE;
+    private static final long TTL_SEGUNDOS = 600;
+
+    @Param({"banco", "memoria"})
+    public String modo;
+
+    private ConfigurableApplicationContext contexto;
+    private ReservaEstoqueGateway reservaGateway;
+    private EstoqueGateway estoqueGateway;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        // O motor em memória carrega os SKUs quentes ao iniciar, então o saldo é gravado antes, por outro contexto.
+        try (ConfigurableApplicationContext semeadura = contexto()
+                .run("--spring.config.name=benchmark")) {
+            EstoqueRepository repository = semeadura.getBean(EstoqueRepository.class);
+            repository.saveAll(IntStream.range(0, SKUS)
+                    .mapToObj(i -> EstoqueEntity.builder().sku(sku(i)).quantidadeDisponivel(SALDO_INICIAL).build())
+                    .toList());
+            repository.save(EstoqueEntity.builder().sku(SKU_QUENTE).quantidadeDisponivel(SALDO_INICIAL).build());
+        }
+        contexto = contexto().run("--spring.config.name=benchmark",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--estoque.memoria.habilitado=" + "memoria".equals(modo),
+                "--estoque.memoria.skus=" + SKU_QUENTE,
+                "--estoque.memoria.diretorio-journal=" + Files.createTempDirectory("journal-benchmark"));
+        reservaGateway = contexto.getBean(ReservaEstoqueGateway.class);
+        estoqueGateway = contexto.getBean(EstoqueGateway.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Reserva reservarMesmoSku() {
+        return reservaGateway.reservar(SKU_QUENTE, 1, Instant.now().plusSeconds(TTL_SEGUNDOS));
+    }
+
+    @Benchmark
+    public Reserva reservarSkusDistintos() {
+        return reservaGateway.reservar(sku(ThreadLocalRandom.current().nextInt(SKUS)), 1,
+                Instant.now().plusSeconds(TTL_SEGUNDOS));
+    }
+
+    @Benchmark
+    public Estoque baixarMesmoSku() {
+        return estoqueGateway.baixarEstoque(SKU_QUENTE, 1);
+    }
+
+    private static SpringApplicationBuilder contexto() {
+        return new SpringApplicationBuilder(Configuracao.class).web(WebApplicationType.NONE);
+    }
+
+    private static String sku(int i) {
+        return "SKU-%06d".formatted(i);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan(basePackageClasses = EstoqueEntity.class)
+    @EnableJpaRepositories(basePackageClasses = EstoqueRepository.class)
+    @Import({EstoqueGatewayImpl.class, EstoqueGatewayMemoria.class, ReservaEstoqueGatewayImpl.class,
+            EstoqueMapperImpl.class, EstoqueMetricas.class, SimpleMeterRegistry.class})
+    static class Configuracao {
+    }
+}
@@ -0,0 +1,166 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Mesmos cenarios de loadtest/estoque.js (consultar, baixar e consultarLote, um apos o outro) sem depender do k6:
+ * roda com o JDK do projeto, sem compilacao previa. Cada cliente envia a proxima requisicao assim que recebe a
+ * resposta da anterior; os clientes sao assincronos, entao o gerador nao precisa de uma thread por cliente.
+ * Ao final, registra a memoria e as threads da JVM lidas do actuator.
+ * <p>
+ * Uso: java loadtest/CargaEstoque.java
+ * Variaveis: BASE_URL, CLIENTES (5000), DURACAO_S (60), SKUS (1000), SKUS_POR_LOTE (50), MODO (rotulo do modo em teste)
+ */
+public class CargaEstoque {
+
+    private static final String BASE_URL = env("BASE_URL", "http://localhost:8080");
+    private static final int CLIENTES = Integer.parseInt(env("CLIENTES", "5000"));
+    private static final int DURACAO_S = Integer.parseInt(env("DURACAO_S", "60"));
+    private static final int SKUS = Integer.parseInt(env("SKUS", "1000"));
+    private static final int SKUS_POR_LOTE = Integer.parseInt(env("SKUS_POR_LOTE", "50"));
+    private static final String MODO = env("MODO", "plataforma");
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        importarMassa();
+        executar("consultar", i -> HttpRequest.newBuilder(URI.create(BASE_URL + "/estoques/" + skuAleatorio())).GET().build());
+        executar("baixar", i -> HttpRequest.newBuilder(URI.create(BASE_URL + "/estoques/" + skuAleatorio() + "/baixa?quantidade=1"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+        executar("consultarLote", i -> HttpRequest.newBuilder(URI.create(BASE_URL + "/estoques/consulta"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(lote())).build());
+        registrarMemoria();
+    }
+
+    private static void importarMassa() throws Exception {
+        String linhas = IntStream.range(0, SKUS)
+                .mapToObj(i -> "{\"sku\":\"" + sku(i) + "\",\"quantidadeDisponivel\":1000000000}")
+                .collect(Collectors.joining("\n"));
+        HttpResponse<String> resposta = HTTP.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/estoques/importacao"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(linhas)).build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao importar a massa de dados: " + resposta.statusCode() + " " + resposta.body());
+        }
+    }
+
+    private static void executar(String cenario, IntFunction<HttpRequest> requisicao) throws Exception {
+        long fim = System.nanoTime() + Duration.ofSeconds(DURACAO_S).toNanos();
+        Latencias latencias = new Latencias();
+        AtomicLong falhas = new AtomicLong();
+        long inicio = System.nanoTime();
+        CompletableFuture<?>[] clientes = new CompletableFuture<?>[CLIENTES];
+        for (int i = 0; i < CLIENTES; i++) {
+            clientes[i] = cliente(i, requisicao, fim, latencias, falhas);
+        }
+        CompletableFuture.allOf(clientes).join();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long[] amostras = latencias.ordenadas();
+        System.out.printf("[%s] %-13s reqs=%d (%.0f/s) falhas=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                MODO, cenario, amostras.length, amostras.length / segundos, falhas.get(),
+                percentil(amostras, 0.50), percentil(amostras, 0.95), percentil(amostras, 0.99),
+                percentil(amostras, 1.0));
+        Thread.sleep(10_000);
+    }
+
+    private static CompletableFuture<Void> cliente(int cliente, IntFunction<HttpRequest> requisicao, long fim,
+                                                   Latencias latencias, AtomicLong falhas) {
+        if (System.nanoTime() >= fim) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long enviado = System.nanoTime();
+        return HTTP.sendAsync(requisicao.apply(cliente), HttpResponse.BodyHandlers.discarding())
+                .handle((resposta, erro) -> {
+                    latencias.registrar(System.nanoTime() - enviado);
+                    if (erro != null || resposta.statusCode() != 200) {
+                        falhas.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignorado -> cliente(cliente, requisicao, fim, latencias, falhas));
+    }
+
+    private static void registrarMemoria() throws Exception {
+        System.out.printf("[%s] heap usado: %s MB, fora do heap: %s MB, threads vivas: %s, pico de threads: %s%n", MODO,
+                mb(metrica("jvm.memory.used", "area:heap")), mb(metrica("jvm.memory.used", "area:nonheap")),
+                inteiro(metrica("jvm.threads.live", null)), inteiro(metrica("jvm.threads.peak", null)));
+    }
+
+    private static Double metrica(String nome, String tag) throws Exception {
+        String url = BASE_URL + "/actuator/metrics/" + nome + (tag == null ? "" : "?tag=" + tag);
+        HttpResponse<String> resposta = HTTP.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher valor = Pattern.compile("\"value\":([0-9.E+-]+)").matcher(resposta.body());
+        return resposta.statusCode() == 200 && valor.find() ? Double.valueOf(valor.group(1)) : null;
+    }
+
+    private static String mb(Double bytes) {
+        return bytes == null ? "?" : String.format("%.1f", bytes / 1048576);
+    }
+
+    private static String inteiro(Double valor) {
+        return valor == null ? "?" : String.valueOf(valor.longValue());
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    private static String skuAleatorio() {
+        return sku(ThreadLocalRandom.current().nextInt(SKUS));
+    }
+
+    private static String lote() {
+        int inicio = ThreadLocalRandom.current().nextInt(SKUS);
+        return IntStream.range(0, SKUS_POR_LOTE)
+                .mapToObj(i -> "\"" + sku((inicio + i) % SKUS) + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String sku(int i) {
+        return String.format("CARGA-%06d", i);
+    }
+
+    private static String env(String nome, String padrao) {
+        String valor = System.getenv(nome);
+        return valor == null || valor.isBlank() ? padrao : valor;
+    }
+
+    /** Latências em nanossegundos de todos os clientes, ordenadas só no fim do cenário. */
+    private static final class Latencias {
+        private long[] valores = new long[1 << 16];
+        private int tamanho;
+
+        synchronized void registrar(long nanos) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = nanos;
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(valores, tamanho);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+}
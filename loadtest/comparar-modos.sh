@@ -0,0 +1,23 @@
+#!/usr/bin/env sh
+# Sobe a aplicacao em cada modo (MVC sem perfil e reativo), com o mesmo -Xmx e H2 em memoria, e roda
+# loadtest/CargaEstoque.java contra ela. Requer o jar gerado por `mvn package`.
+# Uso: CLIENTES=500 DURACAO_S=30 loadtest/comparar-modos.sh
+# Variaveis: JAR, XMX (256m), PORTA (18080), MODOS ("plataforma reativo") e as do CargaEstoque
+set -e
+JAR=${JAR:-target/estoque-service-1.0.0-exec.jar}
+XMX=${XMX:-256m}
+PORTA=${PORTA:-18080}
+MODOS=${MODOS:-"plataforma reativo"}
+
+for MODO in $MODOS; do
+  PERFIS=test
+  [ "$MODO" = plataforma ] || PERFIS="test,$MODO"
+  java -Xmx"$XMX" -jar "$JAR" --spring.profiles.active="$PERFIS" --server.port="$PORTA" \
+    --spring.jpa.show-sql=false --logging.level.com.fiap=INFO --logging.level.org.hibernate.SQL=INFO \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO > "/tmp/estoque-$MODO.log" 2>&1 &
+  PID=$!
+  until curl -s -o /dev/null "http://localhost:$PORTA/actuator/health"; do sleep 1; done
+  BASE_URL="http://localhost:$PORTA" MODO="$MODO" java loadtest/CargaEstoque.java
+  kill "$PID"
+  wait "$PID" 2>/dev/null || true
+done
@@ -0,0 +1,104 @@
+// Teste de carga de consultar (GET /estoques/{sku}), baixar (POST /estoques/{sku}/baixa) e consultar em lote
+// (POST /estoques/consulta). Ao final, registra a memoria e as threads da JVM lidas do actuator.
+// Uso: k6 run -e MODO=plataforma --summary-export=resultado-plataforma.json loadtest/estoque.js
+// Variaveis: BASE_URL, CLIENTES (5000), DURACAO_S (60), SKUS (1000), SKUS_POR_LOTE (50), MODO (rotulo do modo em teste)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CLIENTES = parseInt(__ENV.CLIENTES || '5000', 10);
+const DURACAO_S = parseInt(__ENV.DURACAO_S || '60', 10);
+const SKUS = parseInt(__ENV.SKUS || '1000', 10);
+const SKUS_POR_LOTE = parseInt(__ENV.SKUS_POR_LOTE || '50', 10);
+const MODO = __ENV.MODO || 'plataforma';
+
+export const options = {
+    scenarios: {
+        consultar: {
+            executor: 'constant-vus',
+            exec: 'consultar',
+            vus: CLIENTES,
+            duration: `${DURACAO_S}s`,
+            tags: { modo: MODO },
+        },
+        baixar: {
+            executor: 'constant-vus',
+            exec: 'baixar',
+            vus: CLIENTES,
+            duration: `${DURACAO_S}s`,
+            startTime: `${DURACAO_S + 10}s`,
+            tags: { modo: MODO },
+        },
+        consultarLote: {
+            executor: 'constant-vus',
+            exec: 'consultarLote',
+            vus: CLIENTES,
+            duration: `${DURACAO_S}s`,
+            startTime: `${2 * (DURACAO_S + 10)}s`,
+            tags: { modo: MODO },
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Os limites abaixo nunca falham; servem para o resumo trazer latencia e vazao separadas por cenario
+    thresholds: {
+        'http_req_duration{scenario:consultar}': ['p(99)>=0'],
+        'http_req_duration{scenario:baixar}': ['p(99)>=0'],
+        'http_reqs{scenario:consultar}': ['count>=0'],
+        'http_reqs{scenario:baixar}': ['count>=0'],
+        'http_req_failed{scenario:consultar}': ['rate>=0'],
+        'http_req_failed{scenario:baixar}': ['rate>=0'],
+        'http_req_duration{scenario:consultarLote}': ['p(99)>=0'],
+        'http_reqs{scenario:consultarLote}': ['count>=0'],
+        'http_req_failed{scenario:consultarLote}': ['rate>=0'],
+    },
+};
+
+function sku(i) {
+    return `CARGA-${String(i).padStart(6, '0')}`;
+}
+
+export function setup() {
+    const linhas = [];
+    for (let i = 0; i < SKUS; i++) {
+        linhas.push(JSON.stringify({ sku: sku(i), quantidadeDisponivel: 1000000000 }));
+    }
+    const resposta = http.post(`${BASE_URL}/estoques/importacao`, linhas.join('\n'), {
+        headers: { 'Content-Type': 'application/x-ndjson' },
+    });
+    check(resposta, { 'massa de dados importada': (r) => r.status === 200 });
+}
+
+export function consultar() {
+    const resposta = http.get(`${BASE_URL}/estoques/${sku(Math.floor(Math.random() * SKUS))}`);
+    check(resposta, { 'consultar 200': (r) => r.status === 200 });
+}
+
+export function baixar() {
+    const resposta = http.post(`${BASE_URL}/estoques/${sku(Math.floor(Math.random() * SKUS))}/baixa?quantidade=1`);
+    check(resposta, { 'baixar 200': (r) => r.status === 200 });
+}
+
+export function consultarLote() {
+    const inicio = Math.floor(Math.random() * SKUS);
+    const skus = [];
+    for (let i = 0; i < SKUS_POR_LOTE; i++) {
+        skus.push(sku((inicio + i) % SKUS));
+    }
+    const resposta = http.post(`${BASE_URL}/estoques/consulta`, JSON.stringify(skus), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(resposta, { 'consultar em lote 200': (r) => r.status === 200 });
+}
+
+function metrica(nome, tag) {
+    const url = `${BASE_URL}/actuator/metrics/${nome}` + (tag ? `?tag=${tag}` : '');
+    const resposta = http.get(url);
+    return resposta.status === 200 ? resposta.json('measurements.0.value') : null;
+}
+
+export function teardown() {
+    const mb = (bytes) => (bytes === null ? '?' : (bytes / 1048576).toFixed(1));
+    console.log(`[${MODO}] heap usado: ${mb(metrica('jvm.memory.used', 'area:heap'))} MB, ` +
+        `fora do heap: ${mb(metrica('jvm.memory.used', 'area:nonheap'))} MB, ` +
+        `threads vivas: ${metrica('jvm.threads.live')}, pico de threads: ${metrica('jvm.threads.peak')}`);
+}
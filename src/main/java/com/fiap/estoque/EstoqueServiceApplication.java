@@ -3,9 +3,14 @@ package com.fiap.estoque;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Slf4j
-@SpringBootApplication
+// O pool R2DBC só existe no perfil reativo (LeituraReativaConfig): o ConnectionFactory criado pelo Spring Boot
+// faria a autoconfiguração desistir do DataSource do JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class EstoqueServiceApplication {
 
 	public static void main(String[] args) {
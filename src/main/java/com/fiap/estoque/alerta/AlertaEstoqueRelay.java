@@ -0,0 +1,83 @@
+package com.fiap.estoque.alerta;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publica os alertas de estoque mínimo no Kafka em lotes, com o SKU como chave da mensagem.
+ * Dentro de cada lote, os alertas do mesmo SKU são deduplicados: só o último é publicado, e nenhum quando
+ * o SKU terminou o lote do mesmo lado do limite em que começou (ABAIXO_MINIMO seguido de NORMALIZADO).
+ * Os registros só são apagados depois que o broker confirmou todos os eventos do lote.
+ * <p>
+ * Apenas uma instância do serviço deve executar o relay.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.alerta.relay.habilitado", havingValue = "true")
+public class AlertaEstoqueRelay {
+    private final AlertaEstoqueRepository alertaRepository;
+    private final EstoqueMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${estoque.alerta.topico}")
+    private String topico;
+
+    @Value("${estoque.alerta.tamanho-lote:500}")
+    private int tamanhoLote = 500;
+
+    @Scheduled(fixedDelayString = "${estoque.alerta.intervalo-relay:PT1S}")
+    public void drenar() {
+        List<AlertaEstoqueEntity> lote;
+        do {
+            lote = alertaRepository.buscarLote(PageRequest.of(0, tamanhoLote));
+            if (lote.isEmpty()) {
+                return;
+            }
+            publicar(lote);
+        } while (lote.size() == tamanhoLote);
+    }
+
+    private void publicar(List<AlertaEstoqueEntity> lote) {
+        Map<String, AlertaEstoqueEntity> primeiroPorSku = new LinkedHashMap<>();
+        Map<String, AlertaEstoqueEntity> ultimoPorSku = new LinkedHashMap<>();
+        for (AlertaEstoqueEntity alerta : lote) {
+            primeiroPorSku.putIfAbsent(alerta.getSku(), alerta);
+            // Remove antes de inserir para que os eventos saiam na ordem do último alerta de cada SKU
+            ultimoPorSku.remove(alerta.getSku());
+            ultimoPorSku.put(alerta.getSku(), alerta);
+        }
+        List<AlertaEstoqueEntity> publicados = ultimoPorSku.values().stream()
+                .filter(alerta -> primeiroPorSku.get(alerta.getSku()).getTipo() == alerta.getTipo())
+                .toList();
+        CompletableFuture.allOf(publicados.stream().map(this::enviar).toArray(CompletableFuture[]::new)).join();
+        alertaRepository.deleteAllByIdInBatch(lote.stream().map(AlertaEstoqueEntity::getId).toList());
+        log.debug("Alertas de estoque: {} registrados publicados como {} eventos", lote.size(), publicados.size());
+    }
+
+    private CompletableFuture<?> enviar(AlertaEstoqueEntity alerta) {
+        try {
+            String evento = objectMapper.writeValueAsString(mapper.toAlertaEventoDTO(alerta));
+            return kafkaTemplate.send(topico, alerta.getSku(), evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar alerta de estoque do SKU " + alerta.getSku(), e);
+        }
+    }
+}
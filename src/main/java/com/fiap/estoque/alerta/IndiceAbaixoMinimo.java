@@ -0,0 +1,33 @@
+package com.fiap.estoque.alerta;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria no PostgreSQL o índice parcial da consulta de SKUs abaixo do mínimo. Ele contém apenas esses SKUs,
+ * então a consulta não depende do tamanho da tabela e o índice quase não é alterado pelas baixas
+ * (só quando um SKU cruza o limite). O schema vem do Hibernate, que não gera índices parciais.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.alerta.indice-parcial", havingValue = "true")
+public class IndiceAbaixoMinimo {
+
+    private static final String CRIAR_INDICE =
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_estoque_abaixo_minimo ON estoque (sku) " +
+            "WHERE quantidade_disponivel < estoque_minimo";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void criar() {
+        jdbcTemplate.execute(CRIAR_INDICE);
+        log.info("Índice parcial de estoque abaixo do mínimo verificado");
+    }
+}
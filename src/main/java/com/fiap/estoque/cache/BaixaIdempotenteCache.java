@@ -0,0 +1,41 @@
+package com.fiap.estoque.cache;
+
+import com.fiap.estoque.domain.BaixaIdempotente;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Últimas baixas com Idempotency-Key, limitadas por tamanho e pela retenção das chaves no banco.
+ * Repetições de uma requisição já atendida por esta instância são respondidas daqui, sem acesso ao banco.
+ */
+@Component
+public class BaixaIdempotenteCache {
+
+    private final Cache<String, BaixaIdempotente> cache;
+
+    public BaixaIdempotenteCache(@Value("${estoque.idempotencia.cache.tamanho-maximo:100000}") long tamanhoMaximo,
+                                 @Value("${estoque.idempotencia.retencao:24h}") Duration retencao,
+                                 MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(retencao)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "baixa-idempotente");
+    }
+
+    public Optional<BaixaIdempotente> buscar(String chave) {
+        return Optional.ofNullable(cache.getIfPresent(chave));
+    }
+
+    public void registrar(BaixaIdempotente baixa) {
+        cache.put(baixa.getChave(), baixa);
+    }
+}
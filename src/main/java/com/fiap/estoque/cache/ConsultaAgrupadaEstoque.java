@@ -0,0 +1,138 @@
+package com.fiap.estoque.cache;
+
+import com.fiap.estoque.config.threads.FabricaThreads;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupa as consultas por SKU que chegam ao mesmo tempo. Chamadas concorrentes para o mesmo SKU esperam
+ * a consulta já em andamento e recebem o mesmo resultado (single-flight); SKUs diferentes que chegam
+ * dentro da janela são buscados juntos em uma única consulta ao gateway, limitada a tamanho-maximo SKUs.
+ * Com janela zero, cada chamada vai direto ao gateway.
+ */
+@Slf4j
+@Component
+public class ConsultaAgrupadaEstoque {
+
+    private final EstoqueGateway gateway;
+    private final long janelaNanos;
+    private final int tamanhoMaximo;
+    private final ScheduledExecutorService agendador;
+    private final Map<String, CompletableFuture<Optional<Estoque>>> emAndamento = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, CompletableFuture<Optional<Estoque>>> pendentes = new HashMap<>();
+
+    public ConsultaAgrupadaEstoque(EstoqueGateway gateway,
+                                   @Value("${estoque.consulta.agrupamento.janela:2ms}") Duration janela,
+                                   @Value("${estoque.consulta.agrupamento.tamanho-maximo:500}") int tamanhoMaximo,
+                                   @Value("${estoque.consulta.agrupamento.threads:4}") int threads,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.gateway = gateway;
+        this.janelaNanos = janela.toNanos();
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.agendador = Executors.newScheduledThreadPool(threads,
+                FabricaThreads.criar("estoque-consulta-agrupada", threadsVirtuais));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+    }
+
+    public Optional<Estoque> buscar(String sku) {
+        // Leitura própria vai sozinha ao primário: não pode esperar nem receber o resultado de um lote da réplica
+        if (sku == null || janelaNanos == 0 || RoteamentoLeitura.isLeituraPropria()) {
+            return RoteamentoLeitura.naReplica(() -> gateway.buscarPorSku(sku));
+        }
+        CompletableFuture<Optional<Estoque>> futuro = emAndamento.get(sku);
+        if (futuro == null) {
+            CompletableFuture<Optional<Estoque>> novo = new CompletableFuture<>();
+            futuro = emAndamento.putIfAbsent(sku, novo);
+            if (futuro == null) {
+                futuro = novo;
+                enfileirar(sku, novo);
+            }
+        }
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void enfileirar(String sku, CompletableFuture<Optional<Estoque>> futuro) {
+        Map<String, CompletableFuture<Optional<Estoque>>> cheio = null;
+        lock.lock();
+        try {
+            if (pendentes.isEmpty()) {
+                Map<String, CompletableFuture<Optional<Estoque>>> aberto = pendentes;
+                agendador.schedule(() -> despacharSeAberto(aberto), janelaNanos, TimeUnit.NANOSECONDS);
+            }
+            pendentes.put(sku, futuro);
+            if (pendentes.size() >= tamanhoMaximo) {
+                cheio = pendentes;
+                pendentes = new HashMap<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Lote cheio antes do fim da janela: a própria chamada que o completou faz a consulta
+        if (cheio != null) {
+            despachar(cheio);
+        }
+    }
+
+    private void despacharSeAberto(Map<String, CompletableFuture<Optional<Estoque>>> aberto) {
+        lock.lock();
+        try {
+            if (pendentes != aberto) {
+                return;
+            }
+            pendentes = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        despachar(aberto);
+    }
+
+    private void despachar(Map<String, CompletableFuture<Optional<Estoque>>> lote) {
+        log.debug("Consultando lote agrupado de {} SKUs", lote.size());
+        Map<String, Estoque> porSku = new HashMap<>(lote.size() * 2);
+        try {
+            List<Estoque> encontrados = RoteamentoLeitura.naReplica(() -> gateway.buscarPorSkus(lote.keySet()));
+            encontrados.forEach(estoque -> porSku.put(estoque.getSku(), estoque));
+        } catch (RuntimeException e) {
+            lote.forEach((sku, futuro) -> {
+                emAndamento.remove(sku, futuro);
+                futuro.completeExceptionally(e);
+            });
+            return;
+        }
+        // Sai de emAndamento antes de completar, para que chamadas posteriores façam uma leitura nova
+        lote.forEach((sku, futuro) -> {
+            emAndamento.remove(sku, futuro);
+            futuro.complete(Optional.ofNullable(porSku.get(sku)));
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.fiap.estoque.cache;
+
+import com.fiap.estoque.domain.Estoque;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache local de consultas por SKU, limitado por tamanho e por tempo.
+ * SKUs inexistentes também são guardados (cache negativo), com um TTL menor.
+ * Os casos de uso de escrita mantêm o cache atualizado após cada alteração.
+ */
+@Component
+public class EstoqueCache {
+
+    private final Cache<String, Optional<Estoque>> cache;
+
+    public EstoqueCache(@Value("${estoque.cache.tamanho-maximo:100000}") long tamanhoMaximo,
+                        @Value("${estoque.cache.ttl:30s}") Duration ttl,
+                        @Value("${estoque.cache.ttl-negativo:5s}") Duration ttlNegativo,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoPorPresenca(ttl.toNanos(), ttlNegativo.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "estoque");
+    }
+
+    public Optional<Estoque> buscar(String sku, Function<String, Optional<Estoque>> carregador) {
+        if (sku == null) {
+            return carregador.apply(null);
+        }
+        return cache.get(sku, carregador);
+    }
+
+    /**
+     * Busca vários SKUs de uma vez. Os que estão no cache (inclusive os inexistentes) são respondidos sem
+     * consulta e os demais são carregados juntos em uma única chamada ao carregador, que devolve apenas os
+     * encontrados. O resultado segue a ordem dos SKUs informados e omite os inexistentes.
+     */
+    public Map<String, Estoque> buscarTodos(Collection<String> skus, Function<Set<String>, Map<String, Estoque>> carregador) {
+        Map<String, Optional<Estoque>> encontrados = cache.getAll(skus, faltantes -> {
+            Map<String, Estoque> carregados = carregador.apply(Set.copyOf(faltantes));
+            Map<String, Optional<Estoque>> resultado = new HashMap<>(faltantes.size() * 2);
+            for (String sku : faltantes) {
+                resultado.put(sku, Optional.ofNullable(carregados.get(sku)));
+            }
+            return resultado;
+        });
+        Map<String, Estoque> existentes = new LinkedHashMap<>(encontrados.size() * 2);
+        encontrados.forEach((sku, estoque) -> estoque.ifPresent(e -> existentes.put(sku, e)));
+        return existentes;
+    }
+
+    /**
+     * Entradas já carregadas dos SKUs informados, sem carregar as faltantes (que ficam fora do mapa). Usado pelas
+     * leituras reativas, que carregam as faltas sem bloquear e as devolvem por {@link #guardarCarregado}.
+     */
+    public Map<String, Optional<Estoque>> buscarPresentes(Collection<String> skus) {
+        return cache.getAllPresent(skus);
+    }
+
+    /**
+     * Guarda o resultado de uma carga (vazio para SKU inexistente) só se o SKU ainda não estiver no cache: uma
+     * escrita concluída durante a carga já deixou ali um saldo mais novo.
+     */
+    public void guardarCarregado(String sku, Optional<Estoque> estoque) {
+        cache.asMap().putIfAbsent(sku, estoque);
+    }
+
+    /**
+     * Escritas concorrentes do mesmo SKU podem chegar fora de ordem: a entrada só é substituída por uma
+     * versão igual ou maior, para que um resultado atrasado não sobrescreva um mais novo.
+     */
+    public void atualizar(Estoque estoque) {
+        if (estoque == null || estoque.getSku() == null) {
+            return;
+        }
+        cache.asMap().merge(estoque.getSku(), Optional.of(estoque), EstoqueCache::maisRecente);
+    }
+
+    public void invalidar(String sku) {
+        if (sku != null) {
+            cache.invalidate(sku);
+        }
+    }
+
+    public void invalidar(Collection<String> skus) {
+        cache.invalidateAll(skus);
+    }
+
+    private static Optional<Estoque> maisRecente(Optional<Estoque> atual, Optional<Estoque> novo) {
+        Long versaoAtual = atual.map(Estoque::getVersao).orElse(null);
+        Long versaoNova = novo.map(Estoque::getVersao).orElse(null);
+        if (versaoAtual == null || versaoNova == null) {
+            return novo;
+        }
+        return versaoNova >= versaoAtual ? novo : atual;
+    }
+
+    private record ExpiracaoPorPresenca(long ttlNanos, long ttlNegativoNanos) implements Expiry<String, Optional<Estoque>> {
+
+        @Override
+        public long expireAfterCreate(String sku, Optional<Estoque> estoque, long agora) {
+            return estoque.isPresent() ? ttlNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String sku, Optional<Estoque> estoque, long agora, long duracaoAtual) {
+            return expireAfterCreate(sku, estoque, agora);
+        }
+
+        @Override
+        public long expireAfterRead(String sku, Optional<Estoque> estoque, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
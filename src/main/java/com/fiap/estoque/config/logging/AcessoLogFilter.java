@@ -0,0 +1,58 @@
+package com.fiap.estoque.config.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Registra um único log de acesso por requisição (logger estoque.acesso), com método, rota, SKU,
+ * status e duração como pares chave-valor, no lugar dos logs INFO por SKU do controller e dos casos
+ * de uso. Requisições com erro (status >= 400) ou mais lentas que estoque.log.acesso.lento são
+ * sempre registradas; as demais, na proporção estoque.log.acesso.amostragem. No perfil reativo, o
+ * mesmo log é feito pelo {@link AcessoLogWebFilter}.
+ */
+@Component
+public class AcessoLogFilter extends OncePerRequestFilter {
+
+    private final RegistroAcesso registro;
+
+    public AcessoLogFilter(@Value("${estoque.log.acesso.amostragem:1.0}") double amostragem,
+                           @Value("${estoque.log.acesso.lento:500ms}") Duration lento) {
+        this.registro = new RegistroAcesso(amostragem, lento);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registro.registrar(request.getMethod(), rota(request), sku(request), response.getStatus(),
+                    System.nanoTime() - inicio);
+        }
+    }
+
+    boolean deveRegistrar(int status, long duracaoNanos) {
+        return registro.deveRegistrar(status, duracaoNanos);
+    }
+
+    private static String rota(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : request.getRequestURI();
+    }
+
+    private static String sku(HttpServletRequest request) {
+        Object variaveis = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variaveis instanceof Map<?, ?> mapa ? (String) mapa.get("sku") : null;
+    }
+}
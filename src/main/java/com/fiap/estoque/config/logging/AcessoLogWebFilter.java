@@ -0,0 +1,60 @@
+package com.fiap.estoque.config.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Log de acesso do perfil reativo, com a mesma amostragem e os mesmos campos do {@link AcessoLogFilter}, que é um
+ * filtro de servlet e não roda no Netty. A rota vem do padrão casado pelas rotas funcionais ou pelos controllers
+ * anotados. Um erro que sai da cadeia ainda sem resposta é registrado com o status que o WebFlux vai responder:
+ * o da exceção (404 de rota inexistente, por exemplo) ou 500.
+ */
+@Component
+@Profile("reativo")
+public class AcessoLogWebFilter implements WebFilter {
+
+    private final RegistroAcesso registro;
+
+    public AcessoLogWebFilter(@Value("${estoque.log.acesso.amostragem:1.0}") double amostragem,
+                              @Value("${estoque.log.acesso.lento:500ms}") Duration lento) {
+        this.registro = new RegistroAcesso(amostragem, lento);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long inicio = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(vazio -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    registrar(exchange, status != null ? status.value() : 200, inicio);
+                })
+                .doOnError(erro -> registrar(exchange,
+                        erro instanceof ErrorResponse resposta ? resposta.getStatusCode().value() : 500, inicio));
+    }
+
+    private void registrar(ServerWebExchange exchange, int status, long inicio) {
+        registro.registrar(exchange.getRequest().getMethod().name(), rota(exchange), sku(exchange), status,
+                System.nanoTime() - inicio);
+    }
+
+    private static String rota(ServerWebExchange exchange) {
+        Object padrao = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : exchange.getRequest().getPath().value();
+    }
+
+    private static String sku(ServerWebExchange exchange) {
+        Object variaveis = exchange.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variaveis instanceof Map<?, ?> mapa ? (String) mapa.get("sku") : null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.fiap.estoque.config.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Amostragem e formato do log de acesso (logger estoque.acesso), comuns ao filtro de servlet e ao WebFilter do
+ * perfil reativo.
+ */
+final class RegistroAcesso {
+
+    private static final Logger ACESSO = LoggerFactory.getLogger("estoque.acesso");
+
+    private final double amostragem;
+    private final long limiteLentoNanos;
+
+    RegistroAcesso(double amostragem, Duration lento) {
+        this.amostragem = amostragem;
+        this.limiteLentoNanos = lento.toNanos();
+    }
+
+    boolean deveRegistrar(int status, long duracaoNanos) {
+        return status >= 400
+                || duracaoNanos >= limiteLentoNanos
+                || amostragem >= 1.0
+                || ThreadLocalRandom.current().nextDouble() < amostragem;
+    }
+
+    void registrar(String metodo, String rota, String sku, int status, long duracaoNanos) {
+        if (!ACESSO.isInfoEnabled() || !deveRegistrar(status, duracaoNanos)) {
+            return;
+        }
+        long duracaoMs = duracaoNanos / 1_000_000;
+        ACESSO.atInfo()
+                .addKeyValue("metodo", metodo)
+                .addKeyValue("rota", rota)
+                .addKeyValue("sku", sku)
+                .addKeyValue("status", status)
+                .addKeyValue("duracaoMs", duracaoMs)
+                .log("{} {} {} {}ms", metodo, rota, status, duracaoMs);
+    }
+}
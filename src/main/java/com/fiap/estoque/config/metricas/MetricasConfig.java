@@ -0,0 +1,19 @@
+package com.fiap.estoque.config.metricas;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Habilita @Timed nas classes de caso de uso e de gateway. As faixas de SLO dos histogramas
+     * são configuradas em management.metrics.distribution.slo.*.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.fiap.estoque.config.reativo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * No perfil reativo, os controllers anotados continuam chamando casos de uso bloqueantes (JPA, cache, motor em
+ * memória). Os métodos que não retornam tipo reativo rodam neste pool, e não no event loop do Netty. O pool é
+ * limitado ao tamanho do pool do Hikari: mais threads só esperariam por conexão. Com a fila cheia, a requisição
+ * é recusada em vez de acumular.
+ */
+@Configuration
+@Profile("reativo")
+public class ExecucaoBloqueanteConfig implements WebFluxConfigurer {
+
+    @Value("${estoque.reativo.bloqueante.threads:20}")
+    private int threads = 20;
+
+    @Value("${estoque.reativo.bloqueante.fila:1000}")
+    private int fila = 1000;
+
+    @Bean
+    public ThreadPoolTaskExecutor executorBloqueante() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("estoque-bloqueante-");
+        return executor;
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(executorBloqueante());
+    }
+}
@@ -0,0 +1,54 @@
+package com.fiap.estoque.config.reativo;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Pool R2DBC do perfil reativo, usado só pelas leituras do EstoqueGatewayReativo. O pool não é exposto como
+ * bean ConnectionFactory: com um, o Spring Boot deixaria de criar o DataSource do JPA, que continua atendendo as
+ * escritas. Pelo mesmo motivo, a autoconfiguração R2DBC do Spring Boot fica excluída na aplicação.
+ */
+@Slf4j
+@Configuration
+@Profile("reativo")
+public class LeituraReativaConfig {
+
+    private ConnectionPool conexoes;
+
+    @Bean
+    public DatabaseClient databaseClient(@Value("${estoque.reativo.r2dbc.url}") String url,
+                                         @Value("${estoque.reativo.r2dbc.username:${spring.datasource.username:}}") String usuario,
+                                         @Value("${estoque.reativo.r2dbc.password:${spring.datasource.password:}}") String senha,
+                                         @Value("${estoque.reativo.r2dbc.tamanho-pool:20}") int tamanhoPool) {
+        ConnectionFactoryOptions.Builder opcoes = ConnectionFactoryOptions.parse(url).mutate();
+        if (!usuario.isEmpty()) {
+            opcoes.option(ConnectionFactoryOptions.USER, usuario);
+        }
+        if (!senha.isEmpty()) {
+            opcoes.option(ConnectionFactoryOptions.PASSWORD, senha);
+        }
+        conexoes = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+                .name("leitura-reativa")
+                .initialSize(0)
+                .maxSize(tamanhoPool)
+                .build());
+        log.info("Leituras reativas pelo R2DBC com até {} conexões", tamanhoPool);
+        return DatabaseClient.create(conexoes);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (conexoes != null) {
+            conexoes.dispose();
+        }
+    }
+}
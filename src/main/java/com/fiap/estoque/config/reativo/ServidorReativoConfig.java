@@ -0,0 +1,20 @@
+package com.fiap.estoque.config.reativo;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Servidor do perfil reativo. O Tomcat continua no classpath para o modo MVC, e sem esta fábrica o Spring Boot
+ * serviria o WebFlux pelo adaptador reativo do Tomcat, com uma thread por conexão, em vez do event loop do Netty.
+ */
+@Configuration
+@Profile("reativo")
+public class ServidorReativoConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory servidorNetty() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,20 @@
+package com.fiap.estoque.config.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Fábrica das threads dos executores criados pelo próprio serviço. Segue spring.threads.virtual.enabled,
+ * como os executores configurados pelo Spring: no perfil virtual as tarefas rodam em threads virtuais e,
+ * fora dele, em threads de plataforma daemon, que não impedem o encerramento da JVM.
+ */
+public final class FabricaThreads {
+
+    private FabricaThreads() {
+    }
+
+    public static ThreadFactory criar(String prefixo, boolean virtuais) {
+        return virtuais
+                ? Thread.ofVirtual().name(prefixo + "-", 0).factory()
+                : Thread.ofPlatform().name(prefixo + "-", 0).daemon().factory();
+    }
+}
@@ -0,0 +1,67 @@
+package com.fiap.estoque.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.estoque.domain.Pedido;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.dto.evento.PedidoCriadoEventoDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.ReservarEstoquePedidosServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Consome os eventos de pedido criado em lotes (um lote por poll), reserva o estoque do lote
+ * e publica o resultado de cada pedido no tópico de resposta, com o id do pedido como chave.
+ * O offset do lote só é confirmado depois que todas as respostas foram aceitas pelo broker.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.pedidos.habilitado", havingValue = "true")
+public class PedidoCriadoConsumer {
+    private final ReservarEstoquePedidosServiceUseCase reservarEstoquePedidos;
+    private final EstoqueMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${estoque.pedidos.topico-resposta}")
+    private String topicoResposta;
+
+    @KafkaListener(topics = "${estoque.pedidos.topico}", groupId = "${estoque.pedidos.grupo}", batch = "true")
+    public void consumir(List<ConsumerRecord<String, String>> registros) {
+        log.info("Recebido lote de {} eventos de pedido criado", registros.size());
+        List<Pedido> pedidos = new ArrayList<>(registros.size());
+        for (ConsumerRecord<String, String> registro : registros) {
+            try {
+                pedidos.add(mapper.toDomain(objectMapper.readValue(registro.value(), PedidoCriadoEventoDTO.class)));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                log.warn("Evento de pedido ilegível descartado. Partição: {}, offset: {}", registro.partition(), registro.offset(), e);
+            }
+        }
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        List<ResultadoReserva> resultados = reservarEstoquePedidos.execute(pedidos);
+        CompletableFuture.allOf(resultados.stream().map(this::publicar).toArray(CompletableFuture[]::new)).join();
+    }
+
+    private CompletableFuture<?> publicar(ResultadoReserva resultado) {
+        try {
+            String evento = objectMapper.writeValueAsString(mapper.toEventoDTO(resultado));
+            return kafkaTemplate.send(topicoResposta, resultado.getPedidoId(), evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta do pedido " + resultado.getPedidoId(), e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.usecase.service.ConsultarEstoqueEmLoteServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/estoques")
+@RequiredArgsConstructor
+public class EstoqueConsultaController {
+
+    private final ConsultarEstoqueEmLoteServiceUseCase consultarEmLoteUseCase;
+
+    /**
+     * Resposta compacta para páginas de carrinho e catálogo: SKU → quantidade disponível,
+     * na ordem da requisição e sem os SKUs inexistentes.
+     */
+    @PostMapping("/consulta")
+    public Map<String, Integer> consultar(@RequestBody List<String> skus) {
+        log.debug("Consultando estoque em lote, SKUs: {}", skus.size());
+        Map<String, Estoque> estoques = consultarEmLoteUseCase.execute(skus);
+        Map<String, Integer> saldos = new LinkedHashMap<>(estoques.size() * 2);
+        estoques.forEach((sku, estoque) -> saldos.put(sku, estoque.getQuantidadeDisponivel()));
+        return saldos;
+    }
+}
@@ -1,16 +1,43 @@
 package com.fiap.estoque.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.dto.request.BaixaLoteRequestDTO;
 import com.fiap.estoque.dto.request.EstoqueRequestDTO;
 import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import com.fiap.estoque.dto.response.ImportacaoResponseDTO;
+import com.fiap.estoque.dto.response.PaginaEstoqueResponseDTO;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
 import com.fiap.estoque.mapper.EstoqueMapper;
 import com.fiap.estoque.usecase.service.AtualizarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.BaixarEstoqueEmLoteServiceUseCase;
 import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
 import com.fiap.estoque.usecase.service.ConsultarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ExportarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ImportarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ReporEstoqueServiceUseCase;
 import lombok.RequiredArgsConstructor;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -19,37 +46,148 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class EstoqueController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final ConsultarEstoqueServiceUseCase consultarUseCase;
     private final AtualizarEstoqueServiceUseCase atualizarUseCase;
     private final BaixarEstoqueServiceUseCase baixarUseCase;
+    private final BaixarEstoqueEmLoteServiceUseCase baixarEmLoteUseCase;
+    private final ImportarEstoqueServiceUseCase importarUseCase;
+    private final ExportarEstoqueServiceUseCase exportarUseCase;
+    private final ListarEstoqueServiceUseCase listarUseCase;
+    private final ReporEstoqueServiceUseCase reporUseCase;
     private final EstoqueMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public PaginaEstoqueResponseDTO listar(@RequestParam(required = false) String after,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) Integer quantidadeMin,
+                                           @RequestParam(required = false) Integer quantidadeMax,
+                                           @RequestParam(required = false) Boolean zerado) {
+        log.debug("Listando estoques após SKU: {}, limite: {}", after, limit);
+        return mapper.toPaginaResponseDTO(listarUseCase.execute(after, limit, quantidadeMin, quantidadeMax, zerado));
+    }
 
     @GetMapping("/{sku}")
     public EstoqueResponseDTO consultar(@PathVariable String sku) {
-        log.info("Consultando estoque para SKU: {}", sku);
+        log.debug("Consultando estoque para SKU: {}", sku);
         Optional<Estoque> estoqueOpt = consultarUseCase.execute(sku);
-        Estoque estoque = estoqueOpt.orElseThrow(() -> {
-            log.warn("Estoque não encontrado para SKU: {}", sku);
-            return new RuntimeException("Estoque não encontrado para SKU: " + sku);
-        });
-        log.info("Estoque encontrado para SKU: {}, quantidade: {}", sku, estoque.getQuantidadeDisponivel());
+        Estoque estoque = estoqueOpt.orElseThrow(() -> new EstoqueNaoEncontradoException(sku));
+        log.debug("Estoque encontrado para SKU: {}, quantidade: {}", sku, estoque.getQuantidadeDisponivel());
         return mapper.toResponseDTO(estoque);
     }
 
     @PutMapping
     public EstoqueResponseDTO atualizar(@RequestBody EstoqueRequestDTO dto) {
-        log.info("Atualizando estoque para SKU: {}", dto.getSku());
+        if (dto.getReposicao() != null) {
+            if (dto.getQuantidadeDisponivel() != null) {
+                throw new IllegalArgumentException("Informe quantidadeDisponivel ou reposicao, não ambos");
+            }
+            log.debug("Repondo estoque para SKU: {}, quantidade: {}", dto.getSku(), dto.getReposicao());
+            return mapper.toResponseDTO(reporUseCase.execute(dto.getSku(), dto.getReposicao()));
+        }
+        log.debug("Atualizando estoque para SKU: {}, versão: {}", dto.getSku(), dto.getVersao());
         var estoque = mapper.toDomain(dto);
         Estoque atualizado = atualizarUseCase.execute(estoque);
-        log.info("Estoque atualizado para SKU: {}, nova quantidade: {}", atualizado.getSku(), atualizado.getQuantidadeDisponivel());
+        log.debug("Estoque atualizado para SKU: {}, nova quantidade: {}", atualizado.getSku(), atualizado.getQuantidadeDisponivel());
         return mapper.toResponseDTO(atualizado);
     }
 
     @PostMapping("/{sku}/baixa")
-    public EstoqueResponseDTO baixar(@PathVariable String sku, @RequestParam int quantidade) {
-        log.info("Baixando estoque para SKU: {}, quantidade: {}", sku, quantidade);
-        Estoque atualizado = baixarUseCase.execute(sku, quantidade);
-        log.info("Estoque após baixa para SKU: {}, quantidade disponível: {}", sku, atualizado.getQuantidadeDisponivel());
+    public EstoqueResponseDTO baixar(@PathVariable String sku, @RequestParam int quantidade,
+                                     @RequestHeader(name = "Idempotency-Key", required = false) String chaveIdempotencia) {
+        log.debug("Baixando estoque para SKU: {}, quantidade: {}", sku, quantidade);
+        Estoque atualizado = baixarUseCase.execute(sku, quantidade, chaveIdempotencia);
+        log.debug("Estoque após baixa para SKU: {}, quantidade disponível: {}", sku, atualizado.getQuantidadeDisponivel());
         return mapper.toResponseDTO(atualizado);
     }
+
+    @PostMapping("/baixas")
+    public List<EstoqueResponseDTO> baixarEmLote(@Valid @RequestBody BaixaLoteRequestDTO dto) {
+        log.debug("Baixando estoque em lote, itens: {}", dto.getItens().size());
+        List<Estoque> atualizados = baixarEmLoteUseCase.execute(mapper.toItensBaixa(dto.getItens()));
+        log.debug("Baixa em lote concluída para {} SKUs", atualizados.size());
+        return mapper.toResponseDTOs(atualizados);
+    }
+
+    @PostMapping(value = "/importacao", consumes = "application/x-ndjson")
+    public ImportacaoResponseDTO importar(InputStream corpo) throws IOException {
+        log.info("Importando estoque em massa");
+        try (MappingIterator<EstoqueRequestDTO> registros = objectMapper.readerFor(EstoqueRequestDTO.class).readValues(corpo)) {
+            Iterator<Estoque> estoques = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return registros.hasNext();
+                }
+
+                @Override
+                public Estoque next() {
+                    return mapper.toDomain(registros.next());
+                }
+            };
+            long importados = importarUseCase.execute(estoques);
+            log.info("Importação de estoque concluída, registros: {}", importados);
+            return ImportacaoResponseDTO.builder().registrosImportados(importados).build();
+        }
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        log.info("Exportando estoque, formato: {}", formato);
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            try {
+                if (csv) {
+                    exportarCsv(writer);
+                } else {
+                    exportarNdjson(writer);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+    private void exportarNdjson(Writer writer) {
+        ObjectWriter jsonWriter = objectMapper.writerFor(EstoqueResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        exportarUseCase.execute(estoque -> {
+            try {
+                jsonWriter.writeValue(writer, mapper.toResponseDTO(estoque));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void exportarCsv(Writer writer) throws IOException {
+        writer.write("id,sku,quantidadeDisponivel\n");
+        exportarUseCase.execute(estoque -> {
+            try {
+                writer.write(String.valueOf(estoque.getId()));
+                writer.write(',');
+                writer.write(escaparCsv(estoque.getSku()));
+                writer.write(',');
+                writer.write(String.valueOf(estoque.getQuantidadeDisponivel()));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
 }
\ No newline at end of file
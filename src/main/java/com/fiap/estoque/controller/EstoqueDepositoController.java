@@ -0,0 +1,49 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.dto.response.EstoqueDepositoResponseDTO;
+import com.fiap.estoque.dto.response.ResultadoAlocacaoResponseDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.AlocarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.DefinirSaldoDepositoServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarDepositosEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/estoques")
+@RequiredArgsConstructor
+public class EstoqueDepositoController {
+
+    private final ListarDepositosEstoqueServiceUseCase listarUseCase;
+    private final DefinirSaldoDepositoServiceUseCase definirSaldoUseCase;
+    private final AlocarEstoqueServiceUseCase alocarUseCase;
+    private final EstoqueMapper mapper;
+
+    @GetMapping("/{sku}/depositos")
+    public List<EstoqueDepositoResponseDTO> listar(@PathVariable String sku) {
+        log.debug("Listando depósitos para SKU: {}", sku);
+        return mapper.toDepositoResponseDTOs(listarUseCase.execute(sku));
+    }
+
+    @PutMapping("/{sku}/depositos/{deposito}")
+    public EstoqueDepositoResponseDTO definirSaldo(@PathVariable String sku,
+                                                   @PathVariable String deposito,
+                                                   @RequestParam int quantidade) {
+        log.debug("Definindo saldo para SKU: {}, depósito: {}, quantidade: {}", sku, deposito, quantidade);
+        return mapper.toDepositoResponseDTO(definirSaldoUseCase.execute(sku, deposito, quantidade));
+    }
+
+    @PostMapping("/{sku}/alocacao")
+    public ResultadoAlocacaoResponseDTO alocar(@PathVariable String sku,
+                                               @RequestParam int quantidade,
+                                               @RequestParam(defaultValue = "DIVIDIR") EstrategiaAlocacao estrategia,
+                                               @RequestParam(required = false) List<String> depositos) {
+        log.debug("Alocando estoque para SKU: {}, quantidade: {}, estratégia: {}", sku, quantidade, estrategia);
+        return mapper.toResultadoAlocacaoResponseDTO(alocarUseCase.execute(sku, quantidade, estrategia, depositos));
+    }
+}
@@ -0,0 +1,34 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import com.fiap.estoque.dto.response.PaginaEstoqueResponseDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.DefinirEstoqueMinimoServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarEstoqueAbaixoMinimoServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/estoques")
+@RequiredArgsConstructor
+public class EstoqueMinimoController {
+
+    private final DefinirEstoqueMinimoServiceUseCase definirMinimoUseCase;
+    private final ListarEstoqueAbaixoMinimoServiceUseCase listarAbaixoMinimoUseCase;
+    private final EstoqueMapper mapper;
+
+    @PutMapping("/{sku}/minimo")
+    public EstoqueResponseDTO definirMinimo(@PathVariable String sku, @RequestParam(required = false) Integer quantidade) {
+        log.debug("Definindo estoque mínimo para SKU: {}, mínimo: {}", sku, quantidade);
+        return mapper.toResponseDTO(definirMinimoUseCase.execute(sku, quantidade));
+    }
+
+    @GetMapping("/abaixo-minimo")
+    public PaginaEstoqueResponseDTO listarAbaixoDoMinimo(@RequestParam(required = false) String after,
+                                                         @RequestParam(required = false) Integer limit) {
+        log.debug("Listando estoques abaixo do mínimo após SKU: {}, limite: {}", after, limit);
+        return mapper.toPaginaResponseDTO(listarAbaixoMinimoUseCase.execute(after, limit));
+    }
+}
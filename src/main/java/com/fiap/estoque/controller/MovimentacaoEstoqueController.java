@@ -0,0 +1,42 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.SaldoNoInstante;
+import com.fiap.estoque.dto.response.MovimentacaoResponseDTO;
+import com.fiap.estoque.dto.response.SaldoNoInstanteResponseDTO;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.ConsultarSaldoNoInstanteServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarMovimentacoesEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/estoques")
+@RequiredArgsConstructor
+public class MovimentacaoEstoqueController {
+
+    private final ListarMovimentacoesEstoqueServiceUseCase listarUseCase;
+    private final ConsultarSaldoNoInstanteServiceUseCase saldoNoInstanteUseCase;
+    private final EstoqueMapper mapper;
+
+    @GetMapping("/{sku}/movimentacoes")
+    public List<MovimentacaoResponseDTO> listar(@PathVariable String sku,
+                                                @RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit) {
+        log.debug("Listando movimentações para SKU: {}, após: {}", sku, after);
+        return mapper.toMovimentacaoResponseDTOs(listarUseCase.execute(sku, after, limit));
+    }
+
+    @GetMapping("/{sku}/saldo")
+    public SaldoNoInstanteResponseDTO consultarSaldoNoInstante(@PathVariable String sku, @RequestParam Instant instante) {
+        log.debug("Consultando saldo para SKU: {} em {}", sku, instante);
+        SaldoNoInstante saldo = saldoNoInstanteUseCase.execute(sku, instante)
+                .orElseThrow(() -> new EstoqueNaoEncontradoException(sku));
+        return mapper.toSaldoNoInstanteResponseDTO(saldo);
+    }
+}
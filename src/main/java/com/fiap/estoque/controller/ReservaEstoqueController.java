@@ -0,0 +1,45 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.dto.response.ReservaResponseDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.CancelarReservaEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ConfirmarReservaEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ReservarEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@Slf4j
+@RestController
+@RequestMapping("/estoques")
+@RequiredArgsConstructor
+public class ReservaEstoqueController {
+
+    private final ReservarEstoqueServiceUseCase reservarUseCase;
+    private final ConfirmarReservaEstoqueServiceUseCase confirmarUseCase;
+    private final CancelarReservaEstoqueServiceUseCase cancelarUseCase;
+    private final EstoqueMapper mapper;
+
+    @PostMapping("/{sku}/reservas")
+    public ReservaResponseDTO reservar(@PathVariable String sku,
+                                       @RequestParam int quantidade,
+                                       @RequestParam(required = false) Long ttlSegundos) {
+        log.debug("Reservando estoque para SKU: {}, quantidade: {}, prazo: {}s", sku, quantidade, ttlSegundos);
+        Duration ttl = ttlSegundos != null ? Duration.ofSeconds(ttlSegundos) : null;
+        return mapper.toReservaResponseDTO(reservarUseCase.execute(sku, quantidade, ttl));
+    }
+
+    @PostMapping("/reservas/{id}/confirmacao")
+    public ReservaResponseDTO confirmar(@PathVariable Long id) {
+        log.debug("Confirmando reserva de estoque: {}", id);
+        return mapper.toReservaResponseDTO(confirmarUseCase.execute(id));
+    }
+
+    @DeleteMapping("/reservas/{id}")
+    public ReservaResponseDTO cancelar(@PathVariable Long id) {
+        log.debug("Cancelando reserva de estoque: {}", id);
+        return mapper.toReservaResponseDTO(cancelarUseCase.execute(id));
+    }
+}
@@ -0,0 +1,149 @@
+package com.fiap.estoque.controller.reativo;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.dto.request.EstoqueRequestDTO;
+import com.fiap.estoque.dto.response.ImportacaoResponseDTO;
+import com.fiap.estoque.exception.ChaveIdempotenciaReutilizadaException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.exception.GlobalExceptionHandler;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ConsultarEstoqueEmLoteReativoServiceUseCase;
+import com.fiap.estoque.usecase.service.ConsultarEstoqueReativoServiceUseCase;
+import com.fiap.estoque.usecase.service.ImportarEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Handlers das rotas reativas. As consultas leem o banco pelo R2DBC, sem bloquear. Baixa e importação usam os
+ * mesmos casos de uso do MVC, que bloqueiam (JPA, motor em memória), então rodam no scheduler boundedElastic e
+ * o event loop do Netty fica livre para outras conexões. As recusas são convertidas pelo GlobalExceptionHandler, com o mesmo corpo de erro das rotas MVC.
+ */
+@Slf4j
+@Component
+@Profile("reativo")
+@RequiredArgsConstructor
+public class EstoqueHandlerReativo {
+
+    private static final ParameterizedTypeReference<List<String>> LISTA_SKUS = new ParameterizedTypeReference<>() {
+    };
+
+    private final ConsultarEstoqueReativoServiceUseCase consultarUseCase;
+    private final BaixarEstoqueServiceUseCase baixarUseCase;
+    private final ConsultarEstoqueEmLoteReativoServiceUseCase consultarEmLoteUseCase;
+    private final ImportarEstoqueServiceUseCase importarUseCase;
+    private final EstoqueMapper mapper;
+    private final GlobalExceptionHandler excecoes;
+
+    public Mono<ServerResponse> consultar(ServerRequest request) {
+        String sku = request.pathVariable("sku");
+        log.debug("Consultando estoque para SKU: {}", sku);
+        return consultarUseCase.execute(sku)
+                .switchIfEmpty(Mono.error(() -> new EstoqueNaoEncontradoException(sku)))
+                .flatMap(estoque -> ServerResponse.ok().bodyValue(mapper.toResponseDTO(estoque)))
+                .onErrorResume(this::recusar);
+    }
+
+    public Mono<ServerResponse> baixar(ServerRequest request) {
+        String sku = request.pathVariable("sku");
+        String chaveIdempotencia = request.headers().firstHeader("Idempotency-Key");
+        return Mono.fromCallable(() -> quantidade(request))
+                .flatMap(quantidade -> {
+                    log.debug("Baixando estoque para SKU: {}, quantidade: {}", sku, quantidade);
+                    return bloqueante(() -> baixarUseCase.execute(sku, quantidade, chaveIdempotencia));
+                })
+                .flatMap(atualizado -> ServerResponse.ok().bodyValue(mapper.toResponseDTO(atualizado)))
+                .onErrorResume(this::recusar);
+    }
+
+    public Mono<ServerResponse> consultarEmLote(ServerRequest request) {
+        return request.bodyToMono(LISTA_SKUS)
+                .flatMap(skus -> {
+                    log.debug("Consultando estoque em lote, SKUs: {}", skus.size());
+                    return consultarEmLoteUseCase.execute(skus);
+                })
+                .flatMap(estoques -> {
+                    Map<String, Integer> saldos = new LinkedHashMap<>(estoques.size() * 2);
+                    estoques.forEach((sku, estoque) -> saldos.put(sku, estoque.getQuantidadeDisponivel()));
+                    return ServerResponse.ok().bodyValue(saldos);
+                })
+                .onErrorResume(this::recusar);
+    }
+
+    /**
+     * O corpo NDJSON é lido sob demanda: o caso de uso consome as linhas por um iterador bloqueante,
+     * e cada lote só é pedido ao Netty depois que o anterior foi gravado.
+     */
+    public Mono<ServerResponse> importar(ServerRequest request) {
+        log.info("Importando estoque em massa");
+        Flux<Estoque> estoques = request.bodyToFlux(EstoqueRequestDTO.class).map(mapper::toDomain);
+        return bloqueante(() -> importarUseCase.execute(estoques.toIterable().iterator()))
+                .flatMap(importados -> {
+                    log.info("Importação de estoque concluída, registros: {}", importados);
+                    return ServerResponse.ok().bodyValue(ImportacaoResponseDTO.builder().registrosImportados(importados).build());
+                })
+                .onErrorResume(this::recusar);
+    }
+
+    /**
+     * A exportação do MVC grava direto no OutputStream enquanto percorre a tabela. No WebFlux isso viraria um
+     * Flux sem backpressure (a tabela inteira em memória com um cliente lento), então a rota recusa com 501.
+     */
+    public Mono<ServerResponse> exportar(ServerRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.NOT_IMPLEMENTED.value());
+        body.put("error", "Not Implemented");
+        body.put("message", "Exportação disponível apenas no modo MVC");
+        return ServerResponse.status(HttpStatus.NOT_IMPLEMENTED).bodyValue(body);
+    }
+
+    private static int quantidade(ServerRequest request) {
+        return request.queryParam("quantidade").map(Integer::parseInt)
+                .orElseThrow(() -> new IllegalArgumentException("Parâmetro obrigatório ausente: quantidade"));
+    }
+
+    private static <T> Mono<T> bloqueante(Callable<T> chamada) {
+        return Mono.fromCallable(chamada).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<ServerResponse> recusar(Throwable erro) {
+        ResponseEntity<?> resposta;
+        if (erro instanceof EstoqueNaoEncontradoException e) {
+            resposta = excecoes.handleEstoqueNaoEncontrado(e);
+        } else if (erro instanceof EstoqueInsuficienteException e) {
+            resposta = excecoes.handleEstoqueInsuficiente(e);
+        } else if (erro instanceof ChaveIdempotenciaReutilizadaException e) {
+            resposta = excecoes.handleChaveIdempotenciaReutilizada(e);
+        } else if (erro instanceof IllegalArgumentException e) {
+            resposta = excecoes.handleIllegalArgument(e);
+        } else if (erro instanceof RuntimeException e) {
+            resposta = excecoes.handleRuntimeException(e);
+        } else if (erro instanceof Exception e) {
+            resposta = excecoes.handleAllExceptions(e);
+        } else {
+            return Mono.error(erro);
+        }
+        return ServerResponse.status(resposta.getStatusCode())
+                .headers(cabecalhos -> cabecalhos.addAll(resposta.getHeaders()))
+                .bodyValue(resposta.getBody());
+    }
+}
@@ -0,0 +1,36 @@
+package com.fiap.estoque.controller.reativo;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RequestPredicates.path;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rotas funcionais do perfil reativo, com os mesmos caminhos do EstoqueController. Têm precedência sobre
+ * os controllers anotados, que continuam registrados no WebFlux e atendem as demais rotas.
+ */
+@Configuration
+@Profile("reativo")
+public class EstoqueRotasReativas {
+
+    // Caminho fixo de controller anotado que o padrão /estoques/{sku} capturaria
+    private static final RequestPredicate ROTAS_ANOTADAS = path("/estoques/abaixo-minimo");
+
+    @Bean
+    public RouterFunction<ServerResponse> rotasEstoque(EstoqueHandlerReativo handler) {
+        return route()
+                .POST("/estoques/consulta", handler::consultarEmLote)
+                .POST("/estoques/importacao", contentType(MediaType.APPLICATION_NDJSON), handler::importar)
+                .POST("/estoques/{sku}/baixa", handler::baixar)
+                .GET("/estoques/exportacao", handler::exportar)
+                .GET("/estoques/{sku}", ROTAS_ANOTADAS.negate(), handler::consultar)
+                .build();
+    }
+}
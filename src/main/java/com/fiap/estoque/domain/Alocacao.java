@@ -0,0 +1,14 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Alocacao {
+
+    /** Depósito de onde a quantidade saiu; null para o saldo ainda sem depósito. */
+    private String deposito;
+    private Integer quantidade;
+}
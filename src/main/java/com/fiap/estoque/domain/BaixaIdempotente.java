@@ -0,0 +1,15 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaixaIdempotente {
+
+    private String chave;
+    private String sku;
+    private Integer quantidade;
+    private Estoque resultado;
+}
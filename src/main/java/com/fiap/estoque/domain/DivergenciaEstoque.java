@@ -0,0 +1,16 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DivergenciaEstoque {
+
+    private String sku;
+    /** Saldo gravado em estoque. */
+    private Integer quantidadeDisponivel;
+    /** Saldo reconstruído pelo último snapshot e pelas movimentações seguintes. */
+    private Integer quantidadeMovimentacoes;
+}
@@ -11,4 +11,6 @@ public class Estoque {
     private Long id;
     private String sku;
     private Integer quantidadeDisponivel;
+    private Long versao;
+    private Integer estoqueMinimo;
 }
@@ -0,0 +1,14 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueDeposito {
+
+    private String sku;
+    private String deposito;
+    private Integer quantidadeDisponivel;
+}
@@ -0,0 +1,8 @@
+package com.fiap.estoque.domain;
+
+public enum EstrategiaAlocacao {
+    /** Toda a quantidade do primeiro depósito, na ordem de preferência, que tiver saldo para ela. */
+    PROXIMO,
+    /** Divide a quantidade entre os depósitos na ordem de preferência, esgotando cada um antes do próximo. */
+    DIVIDIR
+}
@@ -0,0 +1,15 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroEstoque {
+
+    private String aposSku;
+    private Integer quantidadeMin;
+    private Integer quantidadeMax;
+    private int limite;
+}
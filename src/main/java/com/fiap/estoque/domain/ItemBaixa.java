@@ -0,0 +1,13 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBaixa {
+
+    private String sku;
+    private Integer quantidade;
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.domain;
+
+public enum MotivoMovimentacao {
+    /** Saldo absoluto definido no PUT /estoques. */
+    ATUALIZACAO,
+    /** Baixa de um SKU (direta, por reserva ou por alocação em depósitos). */
+    BAIXA,
+    /** Reposição somada ao saldo (PUT com reposicao, cancelamento e expiração de reservas). */
+    REPOSICAO,
+    BAIXA_LOTE,
+    IMPORTACAO,
+    /** Soma dos deltas de um SKU quente gravados por um flush do motor em memória. */
+    CONSOLIDACAO_MEMORIA
+}
@@ -0,0 +1,21 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Movimentacao {
+
+    private Long id;
+    private String sku;
+    /** Variação do saldo: negativa nas baixas, positiva nas reposições. */
+    private Integer delta;
+    private MotivoMovimentacao motivo;
+    /** Instância do serviço que gravou a movimentação. */
+    private String origem;
+    private Instant registradoEm;
+}
@@ -0,0 +1,15 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaEstoque {
+
+    private List<Estoque> itens;
+    private String proximoSku;
+}
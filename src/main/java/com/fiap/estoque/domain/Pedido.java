@@ -0,0 +1,15 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Pedido {
+
+    private String pedidoId;
+    private List<ItemBaixa> itens;
+}
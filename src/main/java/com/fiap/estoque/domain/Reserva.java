@@ -0,0 +1,17 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reserva {
+
+    private Long id;
+    private String sku;
+    private Integer quantidade;
+    private Instant expiraEm;
+}
@@ -0,0 +1,17 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+/**
+ * Resultado individual de uma baixa aplicada em grupo: o estoque logo após a baixa ou, quando recusada,
+ * se o SKU existe (saldo insuficiente) ou não.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBaixa {
+
+    private Estoque estoque;
+    private boolean encontrado;
+}
@@ -0,0 +1,16 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoReserva {
+
+    private String pedidoId;
+    private StatusReserva status;
+    private List<String> skusRejeitados;
+}
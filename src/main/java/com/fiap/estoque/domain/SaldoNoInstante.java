@@ -0,0 +1,16 @@
+package com.fiap.estoque.domain;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoNoInstante {
+
+    private String sku;
+    private Instant instante;
+    private Integer quantidadeDisponivel;
+}
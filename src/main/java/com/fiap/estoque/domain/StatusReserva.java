@@ -0,0 +1,6 @@
+package com.fiap.estoque.domain;
+
+public enum StatusReserva {
+    RESERVADO,
+    REJEITADO
+}
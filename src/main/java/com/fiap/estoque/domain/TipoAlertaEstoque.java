@@ -0,0 +1,23 @@
+package com.fiap.estoque.domain;
+
+import java.util.Optional;
+
+public enum TipoAlertaEstoque {
+    ABAIXO_MINIMO,
+    NORMALIZADO;
+
+    public static boolean abaixoDoMinimo(int saldo, Integer estoqueMinimo) {
+        return estoqueMinimo != null && saldo < estoqueMinimo;
+    }
+
+    /**
+     * Alerta a emitir quando uma alteração cruza o estoque mínimo, em qualquer sentido. Vazio quando
+     * o SKU continua do mesmo lado do limite, que é o caso de quase todas as alterações.
+     */
+    public static Optional<TipoAlertaEstoque> cruzamento(boolean abaixoAntes, boolean abaixoDepois) {
+        if (abaixoAntes == abaixoDepois) {
+            return Optional.empty();
+        }
+        return Optional.of(abaixoDepois ? ABAIXO_MINIMO : NORMALIZADO);
+    }
+}
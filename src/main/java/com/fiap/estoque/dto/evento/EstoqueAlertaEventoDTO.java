@@ -0,0 +1,18 @@
+package com.fiap.estoque.dto.evento;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueAlertaEventoDTO {
+    private String sku;
+    private String tipo;
+    private Integer quantidadeDisponivel;
+    private Integer estoqueMinimo;
+    private Long sequencia;
+    private Instant criadoEm;
+}
@@ -0,0 +1,16 @@
+package com.fiap.estoque.dto.evento;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueAlteradoEventoDTO {
+    private String sku;
+    private Integer quantidadeDisponivel;
+    private Long sequencia;
+    private Instant alteradoEm;
+}
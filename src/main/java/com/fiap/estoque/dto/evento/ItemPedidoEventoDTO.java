@@ -0,0 +1,12 @@
+package com.fiap.estoque.dto.evento;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPedidoEventoDTO {
+    private String sku;
+    private Integer quantidade;
+}
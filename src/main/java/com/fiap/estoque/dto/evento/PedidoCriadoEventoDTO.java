@@ -0,0 +1,14 @@
+package com.fiap.estoque.dto.evento;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoCriadoEventoDTO {
+    private String pedidoId;
+    private List<ItemPedidoEventoDTO> itens;
+}
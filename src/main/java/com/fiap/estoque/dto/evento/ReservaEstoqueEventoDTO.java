@@ -0,0 +1,15 @@
+package com.fiap.estoque.dto.evento;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaEstoqueEventoDTO {
+    private String pedidoId;
+    private String status;
+    private List<String> skusRejeitados;
+}
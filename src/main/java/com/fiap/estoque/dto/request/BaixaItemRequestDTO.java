@@ -0,0 +1,18 @@
+package com.fiap.estoque.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaixaItemRequestDTO {
+    @NotBlank
+    private String sku;
+    @NotNull
+    @Positive
+    private Integer quantidade;
+}
@@ -0,0 +1,16 @@
+package com.fiap.estoque.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaixaLoteRequestDTO {
+    @NotEmpty
+    private List<@Valid BaixaItemRequestDTO> itens;
+}
@@ -10,4 +10,6 @@ public class EstoqueRequestDTO {
     private Long id;
     private String sku;
     private Integer quantidadeDisponivel;
+    private Long versao;
+    private Integer reposicao;
 }
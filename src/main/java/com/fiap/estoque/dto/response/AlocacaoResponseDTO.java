@@ -0,0 +1,12 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlocacaoResponseDTO {
+    private String deposito;
+    private Integer quantidade;
+}
@@ -0,0 +1,13 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueDepositoResponseDTO {
+    private String sku;
+    private String deposito;
+    private Integer quantidadeDisponivel;
+}
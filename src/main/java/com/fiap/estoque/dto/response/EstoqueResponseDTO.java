@@ -10,4 +10,6 @@ public class EstoqueResponseDTO {
     private Long id;
     private String sku;
     private Integer quantidadeDisponivel;
+    private Long versao;
+    private Integer estoqueMinimo;
 }
@@ -0,0 +1,11 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoResponseDTO {
+    private Long registrosImportados;
+}
@@ -0,0 +1,18 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimentacaoResponseDTO {
+    private Long id;
+    private String sku;
+    private Integer delta;
+    private String motivo;
+    private String origem;
+    private Instant registradoEm;
+}
@@ -0,0 +1,16 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaResponseDTO {
+    private Long id;
+    private String sku;
+    private Integer quantidade;
+    private Instant expiraEm;
+}
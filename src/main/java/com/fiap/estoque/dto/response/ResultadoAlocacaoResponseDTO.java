@@ -0,0 +1,14 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAlocacaoResponseDTO {
+    private EstoqueResponseDTO estoque;
+    private List<AlocacaoResponseDTO> alocacoes;
+}
@@ -0,0 +1,15 @@
+package com.fiap.estoque.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoNoInstanteResponseDTO {
+    private String sku;
+    private Instant instante;
+    private Integer quantidadeDisponivel;
+}
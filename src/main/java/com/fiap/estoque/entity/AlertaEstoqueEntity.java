@@ -0,0 +1,34 @@
+package com.fiap.estoque.entity;
+
+import com.fiap.estoque.domain.TipoAlertaEstoque;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_alerta")
+public class AlertaEstoqueEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TipoAlertaEstoque tipo;
+
+    @Column(nullable = false)
+    private Integer quantidadeDisponivel;
+
+    private Integer estoqueMinimo;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+}
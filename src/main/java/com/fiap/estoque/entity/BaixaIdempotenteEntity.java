@@ -0,0 +1,41 @@
+package com.fiap.estoque.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Chave de idempotência de uma baixa já aplicada, com o saldo devolvido ao cliente.
+ * Gravada na mesma transação da baixa e removida após estoque.idempotencia.retencao.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_baixa_idempotente", indexes = {
+        @Index(name = "idx_estoque_baixa_idempotente_criado_em", columnList = "criadoEm")
+})
+public class BaixaIdempotenteEntity {
+    @Id
+    private String chave;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(nullable = false)
+    private Long estoqueId;
+
+    @Column(nullable = false)
+    private Integer quantidadeDisponivel;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+}
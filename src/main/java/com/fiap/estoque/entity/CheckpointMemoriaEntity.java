@@ -0,0 +1,18 @@
+package com.fiap.estoque.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_memoria_checkpoint")
+public class CheckpointMemoriaEntity {
+    @Id
+    private String instancia;
+
+    @Column(nullable = false)
+    private Long segmento;
+}
@@ -0,0 +1,32 @@
+package com.fiap.estoque.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Saldo de um SKU em um depósito. A soma dos depósitos faz parte do saldo total em
+ * {@link EstoqueEntity#getQuantidadeDisponivel()}, que é mantido junto com cada alteração por depósito.
+ * Todas as consultas filtram por SKU e usam a chave única (sku, deposito).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_deposito", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_estoque_deposito_sku_deposito", columnNames = {"sku", "deposito"})
+})
+public class EstoqueDepositoEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private String deposito;
+
+    @Column(nullable = false)
+    private Integer quantidadeDisponivel;
+}
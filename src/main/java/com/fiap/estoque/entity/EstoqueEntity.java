@@ -2,13 +2,16 @@ package com.fiap.estoque.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "estoque")
+@Table(name = "estoque", indexes = {
+        @Index(name = "idx_estoque_quantidade_sku", columnList = "quantidadeDisponivel, sku")
+})
 public class EstoqueEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,4 +22,18 @@ public class EstoqueEntity {
 
     @Column(nullable = false)
     private Integer quantidadeDisponivel;
+
+    /**
+     * Incrementada por toda alteração de saldo, inclusive pelos UPDATE/MERGE nativos,
+     * que precisam fazê-lo explicitamente. O default cobre os INSERT nativos.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    /**
+     * Limite de reposição do SKU. Não incrementa a versão: só alterações de saldo o fazem.
+     */
+    private Integer estoqueMinimo;
 }
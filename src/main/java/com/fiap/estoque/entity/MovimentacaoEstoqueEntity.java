@@ -0,0 +1,43 @@
+package com.fiap.estoque.entity;
+
+import com.fiap.estoque.domain.MotivoMovimentacao;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Razão de movimentações de estoque, somente inserção: cada alteração de saldo grava aqui a variação,
+ * na mesma transação da alteração. O saldo de um SKU em qualquer instante é o do último snapshot
+ * anterior a ele mais as variações registradas depois do snapshot.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_movimentacao", indexes = {
+        @Index(name = "idx_estoque_movimentacao_sku_registrado_em", columnList = "sku, registradoEm"),
+        @Index(name = "idx_estoque_movimentacao_registrado_em", columnList = "registradoEm")
+})
+public class MovimentacaoEstoqueEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private MotivoMovimentacao motivo;
+
+    @Column(nullable = false)
+    private String origem;
+
+    @Column(nullable = false)
+    private Instant registradoEm;
+}
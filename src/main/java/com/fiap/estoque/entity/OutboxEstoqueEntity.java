@@ -0,0 +1,27 @@
+package com.fiap.estoque.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_outbox")
+public class OutboxEstoqueEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer quantidadeDisponivel;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+}
@@ -0,0 +1,36 @@
+package com.fiap.estoque.entity;
+
+import com.fiap.estoque.domain.StatusReserva;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Pedido cujo evento já foi processado, com o resultado publicado. Um pedido reservado é gravado na mesma
+ * transação da baixa; uma reentrega do evento pelo Kafka responde com o resultado gravado sem tocar no estoque.
+ * Removido após estoque.pedidos.retencao.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_pedido_processado", indexes = {
+        @Index(name = "idx_estoque_pedido_processado_processado_em", columnList = "processadoEm")
+})
+public class PedidoProcessadoEntity {
+    @Id
+    private String pedidoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusReserva status;
+
+    /** SKUs rejeitados separados por vírgula; vazio para pedidos reservados. */
+    @Column(nullable = false, length = 4000)
+    private String skusRejeitados;
+
+    @Column(nullable = false)
+    private Instant processadoEm;
+}
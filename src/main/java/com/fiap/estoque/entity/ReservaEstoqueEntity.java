@@ -0,0 +1,33 @@
+package com.fiap.estoque.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Reserva ativa de estoque. A quantidade já foi descontada do saldo do SKU e volta para ele
+ * no cancelamento ou na expiração; a confirmação apenas remove a reserva.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_reserva", indexes = {
+        @Index(name = "idx_estoque_reserva_expira_em", columnList = "expiraEm")
+})
+public class ReservaEstoqueEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(nullable = false)
+    private Instant expiraEm;
+}
@@ -0,0 +1,36 @@
+package com.fiap.estoque.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Saldo de um SKU reconstruído a partir do razão até o corte {@code tiradoEm}. Só SKUs com movimentações
+ * desde o corte anterior ganham um novo snapshot; para os demais vale o último. O corte {@code Instant.EPOCH}
+ * guarda o saldo de abertura, cadastrado antes do razão.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estoque_snapshot", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_estoque_snapshot_sku_tirado_em", columnNames = {"sku", "tiradoEm"})
+}, indexes = {
+        @Index(name = "idx_estoque_snapshot_tirado_em", columnList = "tiradoEm")
+})
+public class SnapshotEstoqueEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer saldo;
+
+    @Column(nullable = false)
+    private Instant tiradoEm;
+}
@@ -0,0 +1,16 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BaixaEmLoteRejeitadaException extends EstoqueException {
+
+    private final List<String> skus;
+
+    public BaixaEmLoteRejeitadaException(List<String> skus) {
+        super("Estoque insuficiente ou inexistente para SKUs: " + String.join(", ", skus));
+        this.skus = List.copyOf(skus);
+    }
+}
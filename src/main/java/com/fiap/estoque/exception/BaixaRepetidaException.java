@@ -0,0 +1,18 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+/**
+ * A chave de idempotência já foi gravada por outra baixa. A baixa desta transação é desfeita e o
+ * BaixarEstoqueServiceUseCase responde com o resultado gravado pela original.
+ */
+@Getter
+public class BaixaRepetidaException extends EstoqueException {
+
+    private final String chave;
+
+    public BaixaRepetidaException(String chave) {
+        super("Baixa já processada para Idempotency-Key: " + chave);
+        this.chave = chave;
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ChaveIdempotenciaReutilizadaException extends EstoqueException {
+
+    private final String sku;
+
+    public ChaveIdempotenciaReutilizadaException(String chave, String sku) {
+        super("Idempotency-Key já usada em outra baixa: " + chave);
+        this.sku = sku;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fiap.estoque.exception;
+
+/**
+ * Base das recusas esperadas de estoque (SKU inexistente, saldo insuficiente). Não captura
+ * stack trace nem aceita supressão: numa venda concorrida essas recusas são a resposta mais
+ * comum, e o GlobalExceptionHandler não as registra como erro.
+ */
+public abstract class EstoqueException extends RuntimeException {
+
+    protected EstoqueException(String mensagem) {
+        super(mensagem, null, false, false);
+    }
+}
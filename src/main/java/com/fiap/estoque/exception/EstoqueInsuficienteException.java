@@ -0,0 +1,14 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+@Getter
+public class EstoqueInsuficienteException extends EstoqueException {
+
+    private final String sku;
+
+    public EstoqueInsuficienteException(String sku) {
+        super("Estoque insuficiente para SKU: " + sku);
+        this.sku = sku;
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+@Getter
+public class EstoqueNaoEncontradoException extends EstoqueException {
+
+    private final String sku;
+
+    public EstoqueNaoEncontradoException(String sku) {
+        super("Estoque não encontrado para SKU: " + sku);
+        this.sku = sku;
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+@Getter
+public class EstoqueVersaoConflitanteException extends EstoqueException {
+
+    private final String sku;
+
+    public EstoqueVersaoConflitanteException(String sku) {
+        super("Estoque alterado concorrentemente para SKU: " + sku);
+        this.sku = sku;
+    }
+}
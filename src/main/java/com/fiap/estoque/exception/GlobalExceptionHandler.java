@@ -3,7 +3,9 @@ package com.fiap.estoque.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -15,6 +17,71 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final ModeloCorpoErro NAO_ENCONTRADO = new ModeloCorpoErro(HttpStatus.NOT_FOUND);
+    private static final ModeloCorpoErro CONFLITO = new ModeloCorpoErro(HttpStatus.CONFLICT);
+    private static final ModeloCorpoErro NAO_PROCESSAVEL = new ModeloCorpoErro(HttpStatus.UNPROCESSABLE_ENTITY);
+    private static final ModeloCorpoErro REQUISICAO_INVALIDA = new ModeloCorpoErro(HttpStatus.BAD_REQUEST);
+    private static final ModeloCorpoErro METODO_NAO_PERMITIDO = new ModeloCorpoErro(HttpStatus.METHOD_NOT_ALLOWED);
+
+    @ExceptionHandler(EstoqueNaoEncontradoException.class)
+    public ResponseEntity<byte[]> handleEstoqueNaoEncontrado(EstoqueNaoEncontradoException ex) {
+        log.debug("Recusa de estoque: {}", ex.getMessage());
+        return NAO_ENCONTRADO.resposta(ex.getMessage(), ex.getSku());
+    }
+
+    @ExceptionHandler(EstoqueInsuficienteException.class)
+    public ResponseEntity<byte[]> handleEstoqueInsuficiente(EstoqueInsuficienteException ex) {
+        log.debug("Recusa de estoque: {}", ex.getMessage());
+        return CONFLITO.resposta(ex.getMessage(), ex.getSku());
+    }
+
+    @ExceptionHandler(EstoqueVersaoConflitanteException.class)
+    public ResponseEntity<byte[]> handleEstoqueVersaoConflitante(EstoqueVersaoConflitanteException ex) {
+        log.debug("Recusa de estoque: {}", ex.getMessage());
+        return CONFLITO.resposta(ex.getMessage(), ex.getSku());
+    }
+
+    @ExceptionHandler(BaixaEmLoteRejeitadaException.class)
+    public ResponseEntity<byte[]> handleBaixaEmLoteRejeitada(BaixaEmLoteRejeitadaException ex) {
+        log.debug("Recusa de estoque: {}", ex.getMessage());
+        return CONFLITO.resposta(ex.getMessage(), ex.getSkus());
+    }
+
+    @ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<byte[]> handleChaveIdempotenciaReutilizada(ChaveIdempotenciaReutilizadaException ex) {
+        log.debug("Recusa de estoque: {}", ex.getMessage());
+        return NAO_PROCESSAVEL.resposta(ex.getMessage(), ex.getSku());
+    }
+
+    @ExceptionHandler(ReservaNaoEncontradaException.class)
+    public ResponseEntity<byte[]> handleReservaNaoEncontrada(ReservaNaoEncontradaException ex) {
+        log.debug("Recusa de reserva: {}", ex.getMessage());
+        return NAO_ENCONTRADO.resposta(ex.getMessage());
+    }
+
+    /** Argumento recusado pelo próprio serviço (quantidade inválida, lote acima do limite): erro do cliente. */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<byte[]> handleIllegalArgument(IllegalArgumentException ex) {
+        log.debug("Requisição recusada: {}", ex.getMessage());
+        return REQUISICAO_INVALIDA.resposta(ex.getMessage());
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<byte[]> handleParametroAusente(MissingServletRequestParameterException ex) {
+        log.debug("Requisição recusada: {}", ex.getMessage());
+        return REQUISICAO_INVALIDA.resposta("Parâmetro obrigatório ausente: " + ex.getParameterName());
+    }
+
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<byte[]> handleMetodoNaoSuportado(HttpRequestMethodNotSupportedException ex) {
+        log.debug("Requisição recusada: {}", ex.getMessage());
+        ResponseEntity<byte[]> resposta = METODO_NAO_PERMITIDO.resposta("Método não suportado: " + ex.getMethod());
+        return ResponseEntity.status(resposta.getStatusCode())
+                .headers(resposta.getHeaders())
+                .headers(cabecalhos -> cabecalhos.addAll(ex.getHeaders()))
+                .body(resposta.getBody());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Object> handleRuntimeException(RuntimeException ex) {
         log.error("Erro de negócio: {}", ex.getMessage());
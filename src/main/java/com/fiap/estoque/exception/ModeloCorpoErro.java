@@ -0,0 +1,82 @@
+package com.fiap.estoque.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Corpo JSON das recusas de estoque com a parte fixa (status e error) serializada uma única vez.
+ * A cada resposta apenas a mensagem e os SKUs são escapados e copiados para o array final, que
+ * o ByteArrayHttpMessageConverter grava sem passar pelo ObjectMapper.
+ */
+final class ModeloCorpoErro {
+
+    private static final JsonStringEncoder ESCAPE = JsonStringEncoder.getInstance();
+    private static final byte[] CAMPO_SKU = "\",\"sku\":\"".getBytes(UTF_8);
+    private static final byte[] CAMPO_SKUS = "\",\"skus\":[".getBytes(UTF_8);
+    private static final byte[] ASPAS = {'"'};
+    private static final byte[] SEPARADOR = {'"', ',', '"'};
+    private static final byte[] FIM_TEXTO = {'"', '}'};
+    private static final byte[] FIM_LISTA = {']', '}'};
+    private static final byte[] FIM_LISTA_TEXTO = {'"', ']', '}'};
+
+    private final HttpStatus status;
+    private final HttpHeaders headers;
+    private final byte[] prefixo;
+
+    ModeloCorpoErro(HttpStatus status) {
+        this.status = status;
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(json);
+        this.prefixo = ("{\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"").getBytes(UTF_8);
+    }
+
+    /** {"status":...,"error":...,"message":"..."} */
+    ResponseEntity<byte[]> resposta(String mensagem) {
+        return new ResponseEntity<>(concatenar(prefixo, ESCAPE.quoteAsUTF8(mensagem), FIM_TEXTO), headers, status);
+    }
+
+    /** {"status":...,"error":...,"message":"...","sku":"..."} */
+    ResponseEntity<byte[]> resposta(String mensagem, String sku) {
+        return new ResponseEntity<>(concatenar(prefixo, ESCAPE.quoteAsUTF8(mensagem), CAMPO_SKU,
+                ESCAPE.quoteAsUTF8(String.valueOf(sku)), FIM_TEXTO), headers, status);
+    }
+
+    /** {"status":...,"error":...,"message":"...","skus":["...",...]} */
+    ResponseEntity<byte[]> resposta(String mensagem, List<String> skus) {
+        byte[][] partes = new byte[skus.size() * 2 + 4][];
+        int i = 0;
+        partes[i++] = prefixo;
+        partes[i++] = ESCAPE.quoteAsUTF8(mensagem);
+        partes[i++] = CAMPO_SKUS;
+        for (String sku : skus) {
+            partes[i] = i == 3 ? ASPAS : SEPARADOR;
+            partes[i + 1] = ESCAPE.quoteAsUTF8(sku);
+            i += 2;
+        }
+        partes[i] = skus.isEmpty() ? FIM_LISTA : FIM_LISTA_TEXTO;
+        return new ResponseEntity<>(concatenar(partes), headers, status);
+    }
+
+    private static byte[] concatenar(byte[]... partes) {
+        int tamanho = 0;
+        for (byte[] parte : partes) {
+            tamanho += parte.length;
+        }
+        byte[] corpo = new byte[tamanho];
+        int posicao = 0;
+        for (byte[] parte : partes) {
+            System.arraycopy(parte, 0, corpo, posicao, parte.length);
+            posicao += parte.length;
+        }
+        return corpo;
+    }
+}
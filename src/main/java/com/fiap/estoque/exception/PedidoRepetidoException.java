@@ -0,0 +1,22 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Algum pedido do lote já foi gravado como processado por outra transação (reentrega do evento consumida
+ * em paralelo). A baixa do lote é desfeita e o ReservarEstoquePedidosServiceUseCase responde a esses pedidos
+ * com o resultado gravado.
+ */
+@Getter
+public class PedidoRepetidoException extends EstoqueException {
+
+    private final List<String> pedidoIds;
+
+    public PedidoRepetidoException(Collection<String> pedidoIds) {
+        super("Lote contém pedido já processado: " + String.join(", ", pedidoIds));
+        this.pedidoIds = List.copyOf(pedidoIds);
+    }
+}
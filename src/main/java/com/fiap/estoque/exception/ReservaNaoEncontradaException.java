@@ -0,0 +1,14 @@
+package com.fiap.estoque.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ReservaNaoEncontradaException extends EstoqueException {
+
+    private final Long id;
+
+    public ReservaNaoEncontradaException(Long id) {
+        super("Reserva não encontrada ou expirada: " + id);
+        this.id = id;
+    }
+}
@@ -0,0 +1,142 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.config.threads.FabricaThreads;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit das baixas sem Idempotency-Key: as baixas que chegam dentro da janela (ou até tamanho-maximo
+ * baixas) são aplicadas juntas por {@link EstoqueGateway#baixarEstoqueAgrupado}, em uma única transação e um
+ * único commit, e cada chamada recebe o próprio resultado (estoque atualizado, 404 ou 409). Troca um atraso
+ * de no máximo uma janela por muito menos commits por segundo no banco.
+ */
+@Slf4j
+@Component
+public class BaixaAgrupadaEstoque {
+
+    private record Pedido(ItemBaixa item, CompletableFuture<Estoque> resultado) {
+    }
+
+    private final EstoqueGateway gateway;
+    private final boolean habilitado;
+    private final long janelaNanos;
+    private final int tamanhoMaximo;
+    private final ScheduledExecutorService agendador;
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pedido> pendentes = new ArrayList<>();
+
+    public BaixaAgrupadaEstoque(EstoqueGateway gateway,
+                                @Value("${estoque.baixa.agrupamento.habilitado:false}") boolean habilitado,
+                                @Value("${estoque.baixa.agrupamento.janela:500us}") Duration janela,
+                                @Value("${estoque.baixa.agrupamento.tamanho-maximo:64}") int tamanhoMaximo,
+                                @Value("${estoque.baixa.agrupamento.threads:4}") int threads,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.gateway = gateway;
+        this.habilitado = habilitado;
+        this.janelaNanos = janela.toNanos();
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.agendador = habilitado
+                ? Executors.newScheduledThreadPool(threads, FabricaThreads.criar("estoque-baixa-agrupada", threadsVirtuais))
+                : null;
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        if (agendador != null) {
+            agendador.shutdown();
+            agendador.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public Estoque baixar(String sku, int quantidade) {
+        CompletableFuture<Estoque> resultado = new CompletableFuture<>();
+        enfileirar(new Pedido(ItemBaixa.builder().sku(sku).quantidade(quantidade).build(), resultado));
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void enfileirar(Pedido pedido) {
+        List<Pedido> cheio = null;
+        lock.lock();
+        try {
+            if (pendentes.isEmpty()) {
+                List<Pedido> aberto = pendentes;
+                agendador.schedule(() -> despacharSeAberto(aberto), janelaNanos, TimeUnit.NANOSECONDS);
+            }
+            pendentes.add(pedido);
+            if (pendentes.size() >= tamanhoMaximo) {
+                cheio = pendentes;
+                pendentes = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Grupo cheio antes do fim da janela: a própria chamada que o completou faz o commit
+        if (cheio != null) {
+            despachar(cheio);
+        }
+    }
+
+    private void despacharSeAberto(List<Pedido> aberto) {
+        lock.lock();
+        try {
+            if (pendentes != aberto) {
+                return;
+            }
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        despachar(aberto);
+    }
+
+    private void despachar(List<Pedido> grupo) {
+        log.debug("Aplicando grupo de {} baixas", grupo.size());
+        List<ResultadoBaixa> resultados;
+        try {
+            resultados = gateway.baixarEstoqueAgrupado(grupo.stream().map(Pedido::item).toList());
+        } catch (RuntimeException e) {
+            grupo.forEach(pedido -> pedido.resultado().completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < grupo.size(); i++) {
+            Pedido pedido = grupo.get(i);
+            ResultadoBaixa resultado = resultados.get(i);
+            String sku = pedido.item().getSku();
+            if (resultado.getEstoque() != null) {
+                pedido.resultado().complete(resultado.getEstoque());
+            } else if (resultado.isEncontrado()) {
+                pedido.resultado().completeExceptionally(new EstoqueInsuficienteException(sku));
+            } else {
+                pedido.resultado().completeExceptionally(new EstoqueNaoEncontradoException(sku));
+            }
+        }
+    }
+}
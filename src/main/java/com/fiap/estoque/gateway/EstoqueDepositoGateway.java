@@ -0,0 +1,14 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+
+import java.util.List;
+
+public interface EstoqueDepositoGateway {
+
+    List<EstoqueDeposito> listarPorSku(String sku);
+    EstoqueDeposito definirSaldo(String sku, String deposito, int quantidade);
+    ResultadoAlocacao alocar(String sku, int quantidade, EstrategiaAlocacao estrategia, List<String> preferencia);
+}
@@ -0,0 +1,117 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Alocacao;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.entity.EstoqueDepositoEntity;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.EstoqueDepositoRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saldo por depósito. O saldo total do SKU continua em estoque e é mantido incrementalmente: cada alteração
+ * por depósito aplica a mesma diferença ao total, na mesma transação, pela baixa condicional e pela reposição
+ * do {@link EstoqueGateway} (e portanto também pelo motor em memória, quando habilitado). A consulta do saldo
+ * total nunca soma os depósitos.
+ * <p>
+ * Baixas que não informam depósito (baixa simples, em lote, agrupada, reservas e reservas de pedidos) alteram
+ * só o total; a diferença entre o total e a soma dos depósitos é o saldo sem depósito, usado pela estratégia
+ * DIVIDIR depois dos depósitos. O total é a referência: a soma dos depósitos não deve passar dele.
+ * Essas baixas não travam os depósitos e podem consumir mais que o saldo sem depósito, deixando-o negativo.
+ * Por isso, toda alteração por depósito começa retirando dos depósitos, por código, o excesso sobre o total,
+ * e nenhuma alocação conta com saldo de depósito que o total já não tem.
+ * <p>
+ * Toda alteração trava a linha do SKU em estoque antes de ler os depósitos, então alocações concorrentes do
+ * mesmo SKU são serializadas e o plano calculado pelo banco nunca retira mais que o saldo de um depósito.
+ * O total é alterado por último: quando ele recusa a baixa, a retirada dos depósitos é desfeita com a transação.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Timed("estoque.gateway")
+public class EstoqueDepositoGatewayImpl implements EstoqueDepositoGateway {
+
+    private final EstoqueDepositoRepository depositoRepository;
+    private final EstoqueGateway estoqueGateway;
+    private final EstoqueMapper mapper;
+    private final EstoqueMetricas metricas;
+
+    @Override
+    public List<EstoqueDeposito> listarPorSku(String sku) {
+        log.debug("Listando depósitos no banco para SKU: {}", sku);
+        return depositoRepository.findBySkuOrderByDeposito(sku).stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    @Transactional
+    public EstoqueDeposito definirSaldo(String sku, String deposito, int quantidade) {
+        log.debug("Definindo saldo no banco para SKU: {}, depósito: {}, quantidade: {}", sku, deposito, quantidade);
+        travar(sku, "deposito");
+        regularizar(sku);
+        EstoqueDepositoEntity entity = depositoRepository.findBySkuAndDeposito(sku, deposito)
+                .orElseGet(() -> EstoqueDepositoEntity.builder().sku(sku).deposito(deposito).quantidadeDisponivel(0).build());
+        int diferenca = quantidade - entity.getQuantidadeDisponivel();
+        entity.setQuantidadeDisponivel(quantidade);
+        entity = depositoRepository.saveAndFlush(entity);
+        if (diferenca > 0) {
+            estoqueGateway.reporEstoque(sku, diferenca);
+        } else if (diferenca < 0) {
+            estoqueGateway.baixarEstoque(sku, -diferenca);
+        }
+        return mapper.toDomain(entity);
+    }
+
+    @Override
+    @Transactional
+    public ResultadoAlocacao alocar(String sku, int quantidade, EstrategiaAlocacao estrategia, List<String> preferencia) {
+        log.debug("Alocando estoque no banco para SKU: {}, quantidade: {}, estratégia: {}", sku, quantidade, estrategia);
+        travar(sku, "alocar");
+        regularizar(sku);
+        List<Alocacao> alocacoes = new ArrayList<>(depositoRepository.alocar(sku, quantidade, estrategia, preferencia));
+        int alocado = alocacoes.stream().mapToInt(Alocacao::getQuantidade).sum();
+        if (estrategia == EstrategiaAlocacao.PROXIMO && alocacoes.isEmpty()) {
+            log.debug("Nenhum depósito cobre sozinho a quantidade para SKU: {}. Solicitado: {}", sku, quantidade);
+            metricas.registrarEstoqueInsuficiente();
+            throw new EstoqueInsuficienteException(sku);
+        }
+        if (alocado < quantidade) {
+            alocacoes.add(Alocacao.builder().quantidade(quantidade - alocado).build());
+        }
+        Estoque estoque = estoqueGateway.baixarEstoque(sku, quantidade);
+        return ResultadoAlocacao.builder().estoque(estoque).alocacoes(alocacoes).build();
+    }
+
+    /**
+     * Faz a soma dos depósitos voltar a caber no total, com o SKU já travado. O excesso deixado pelas baixas
+     * sem depósito não diz de qual depósito a quantidade saiu; ele é retirado na ordem da estratégia DIVIDIR
+     * sem preferência.
+     */
+    private void regularizar(String sku) {
+        // Leitura por JDBC: uma entidade carregada aqui mascararia o saldo devolvido pelo UPDATE ... RETURNING da baixa
+        int total = estoqueGateway.buscarPorSkus(List.of(sku)).stream().mapToInt(Estoque::getQuantidadeDisponivel).sum();
+        int excesso = depositoRepository.somarPorSku(sku) - total;
+        if (excesso > 0) {
+            log.warn("Soma dos depósitos excede o total do SKU: {} em {}. Excesso retirado dos depósitos", sku, excesso);
+            depositoRepository.alocar(sku, excesso, EstrategiaAlocacao.DIVIDIR, List.of());
+        }
+    }
+
+    private void travar(String sku, String operacao) {
+        if (!depositoRepository.travarSku(sku)) {
+            metricas.registrarNaoEncontrado(operacao);
+            throw new EstoqueNaoEncontradoException(sku);
+        }
+    }
+}
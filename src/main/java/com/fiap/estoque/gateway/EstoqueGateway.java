@@ -1,14 +1,33 @@
 package com.fiap.estoque.gateway;
 
+import com.fiap.estoque.domain.BaixaIdempotente;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.domain.ResultadoReserva;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EstoqueGateway {
 
     Optional<Estoque> buscarPorSku(String sku);
+    List<Estoque> buscarPorSkus(Collection<String> skus);
     Estoque atualizar(Estoque estoque);
-    List<Estoque> listarTodos();
+    void exportarTodos(Consumer<Estoque> consumidor);
+    List<Estoque> listarPagina(FiltroEstoque filtro);
     Estoque baixarEstoque(String sku, int quantidade);
+    Estoque baixarEstoque(String sku, int quantidade, String chaveIdempotencia);
+    Optional<BaixaIdempotente> buscarBaixaIdempotente(String chaveIdempotencia);
+    Estoque reporEstoque(String sku, int quantidade);
+    List<Estoque> baixarEstoqueEmLote(List<ItemBaixa> itens);
+    List<Estoque> baixarEstoqueEmLote(List<ItemBaixa> itens, Collection<String> pedidoIds);
+    List<ResultadoReserva> buscarPedidosProcessados(Collection<String> pedidoIds);
+    Set<String> registrarPedidosRejeitados(List<ResultadoReserva> rejeitados);
+    List<ResultadoBaixa> baixarEstoqueAgrupado(List<ItemBaixa> itens);
+    void importarEmLote(List<Estoque> estoques);
 }
@@ -1,23 +1,92 @@
 package com.fiap.estoque.gateway;
 
+import com.fiap.estoque.domain.BaixaIdempotente;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.MotivoMovimentacao;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.domain.StatusReserva;
+import com.fiap.estoque.domain.TipoAlertaEstoque;
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import com.fiap.estoque.entity.BaixaIdempotenteEntity;
 import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.entity.PedidoProcessadoEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.BaixaRepetidaException;
+import com.fiap.estoque.exception.EstoqueException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
+import com.fiap.estoque.exception.PedidoRepetidoException;
 import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import com.fiap.estoque.repository.BaixaIdempotenteRepository;
 import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
+import com.fiap.estoque.repository.PedidoProcessadoRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.summingInt;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@Timed("estoque.gateway")
 public class EstoqueGatewayImpl implements EstoqueGateway {
 
+    /** Resultado provisório da chave reservada, substituído pelo da baixa antes do commit. */
+    private static final Estoque RESULTADO_PENDENTE = Estoque.builder().id(0L).quantidadeDisponivel(0).versao(0L).build();
+
     private final EstoqueRepository repository;
     private final EstoqueMapper mapper;
+    private final OutboxEstoqueRepository outboxRepository;
+    private final EstoqueMetricas metricas;
+    private final BaixaIdempotenteRepository baixaIdempotenteRepository;
+    private final MovimentacaoEstoqueRepository movimentacaoRepository;
+    private final AlertaEstoqueRepository alertaRepository;
+    private final PedidoProcessadoRepository pedidoProcessadoRepository;
+
+    @Value("${estoque.baixa.update-returning:false}")
+    private boolean updateReturning;
+
+    @Value("${estoque.outbox.habilitado:false}")
+    private boolean outboxHabilitado;
+
+    @Value("${estoque.movimentacao.habilitado:true}")
+    private boolean movimentacaoHabilitada = true;
+
+    @Value("${estoque.movimentacao.origem:${HOSTNAME:local}}")
+    private String origem = "local";
+
+    @Value("${estoque.alerta.habilitado:false}")
+    private boolean alertaHabilitado;
 
     @Override
     public Optional<Estoque> buscarPorSku(String sku) {
@@ -26,35 +95,405 @@ public class EstoqueGatewayImpl implements EstoqueGateway {
     }
 
     @Override
+    public List<Estoque> buscarPorSkus(Collection<String> skus) {
+        log.debug("Buscando estoque no banco para {} SKUs", skus.size());
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        return repository.buscarPorSkus(skus).stream().map(mapper::toDomain).toList();
+    }
+
+    /**
+     * Grava o saldo absoluto com UPDATE condicional pela versão. Sem versão informada, usa a versão lida
+     * na mesma transação (ou insere o SKU novo); em ambos os casos uma alteração concorrente resulta em
+     * EstoqueVersaoConflitanteException em vez de sobrescrever a baixa de outra transação.
+     * <p>
+     * A linha é sempre lida antes do UPDATE: como a versão só cresce, o saldo lido com a versão usada
+     * no UPDATE é o saldo substituído, e a diferença vai para o razão de movimentações.
+     */
+    @Override
+    @Transactional
     public Estoque atualizar(Estoque estoque) {
-        log.debug("Atualizando estoque no banco para SKU: {}", estoque.getSku());
-        EstoqueEntity entity = mapper.toEntity(estoque);
-        Estoque atualizado = mapper.toDomain(repository.save(entity));
-        log.debug("Estoque atualizado no banco para SKU: {}", estoque.getSku());
+        String sku = estoque.getSku();
+        log.debug("Atualizando estoque no banco para SKU: {}, versão: {}", sku, estoque.getVersao());
+        Optional<EstoqueEntity> atual = repository.findBySku(sku);
+        if (atual.isEmpty()) {
+            if (estoque.getVersao() == null) {
+                return inserir(estoque);
+            }
+            metricas.registrarNaoEncontrado("atualizar");
+            throw new EstoqueNaoEncontradoException(sku);
+        }
+        long versao = atual.get().getVersao();
+        if (estoque.getVersao() != null && estoque.getVersao() != versao) {
+            log.debug("Versão desatualizada na atualização do estoque para SKU: {}", sku);
+            throw new EstoqueVersaoConflitanteException(sku);
+        }
+        if (repository.atualizarSeVersao(sku, estoque.getQuantidadeDisponivel(), versao) == 0) {
+            throw falhaNaAtualizacao(sku);
+        }
+        registrarAlteracoes(List.of(sku));
+        registrarMovimentacoes(MotivoMovimentacao.ATUALIZACAO,
+                Map.of(sku, estoque.getQuantidadeDisponivel() - atual.get().getQuantidadeDisponivel()));
+        EstoqueEntity entity = repository.findBySku(sku).orElseThrow();
+        verificarMinimo(entity, atual.get().getQuantidadeDisponivel());
+        Estoque atualizado = mapper.toDomain(entity);
+        log.debug("Estoque atualizado no banco para SKU: {}, versão: {}", sku, atualizado.getVersao());
         return atualizado;
     }
 
     @Override
-    public List<Estoque> listarTodos() {
-        log.debug("Listando todos os estoques");
-        return repository.findAll().stream().map(mapper::toDomain).toList();
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<Estoque> consumidor) {
+        log.debug("Exportando todos os estoques");
+        repository.percorrerTodos(entity -> consumidor.accept(mapper.toDomain(entity)));
+    }
+
+    @Override
+    public List<Estoque> listarPagina(FiltroEstoque filtro) {
+        log.debug("Listando página de estoques após SKU: {}, limite: {}", filtro.getAposSku(), filtro.getLimite());
+        return repository.buscarPagina(filtro.getAposSku(), filtro.getQuantidadeMin(), filtro.getQuantidadeMax(), filtro.getLimite())
+                .stream().map(mapper::toDomain).toList();
     }
 
     @Override
+    @Transactional
     public Estoque baixarEstoque(String sku, int quantidade) {
         log.debug("Baixando estoque no banco para SKU: {}, quantidade: {}", sku, quantidade);
-        EstoqueEntity entity = repository.findBySku(sku)
-                .orElseThrow(() -> {
-                    log.warn("Estoque não encontrado no banco para SKU: {}", sku);
-                    return new RuntimeException("Estoque não encontrado para SKU: " + sku);
-                });
-        if (entity.getQuantidadeDisponivel() < quantidade) {
-            log.warn("Estoque insuficiente para SKU: {}. Disponível: {}, solicitado: {}", sku, entity.getQuantidadeDisponivel(), quantidade);
-            throw new RuntimeException("Estoque insuficiente para SKU: " + sku);
-        }
-        entity.setQuantidadeDisponivel(entity.getQuantidadeDisponivel() - quantidade);
-        Estoque atualizado = mapper.toDomain(repository.save(entity));
+        Optional<EstoqueEntity> baixado = updateReturning
+                ? repository.baixarSeDisponivelRetornando(sku, quantidade)
+                : baixarComConsulta(sku, quantidade);
+        EstoqueEntity entity = baixado.orElseThrow(() -> falhaNaBaixa(sku, quantidade));
+        registrarAlteracoes(List.of(sku));
+        registrarMovimentacoes(MotivoMovimentacao.BAIXA, Map.of(sku, -quantidade));
+        verificarMinimo(entity, entity.getQuantidadeDisponivel() + quantidade);
+        Estoque atualizado = mapper.toDomain(entity);
         log.debug("Estoque atualizado após baixa para SKU: {}, quantidade disponível: {}", sku, atualizado.getQuantidadeDisponivel());
         return atualizado;
     }
+
+    /**
+     * A chave de idempotência é reservada antes da baixa, na mesma transação: uma chave já gravada resulta em
+     * BaixaRepetidaException sem tocar na linha de estoque, e uma repetição concorrente espera a trava da chave.
+     * O resultado da baixa é gravado na chave reservada; uma recusa desfaz a reserva junto com a transação.
+     */
+    @Override
+    @Transactional
+    public Estoque baixarEstoque(String sku, int quantidade, String chaveIdempotencia) {
+        registrarBaixaIdempotente(BaixaIdempotente.builder()
+                .chave(chaveIdempotencia).sku(sku).quantidade(quantidade).resultado(RESULTADO_PENDENTE).build());
+        Estoque atualizado = baixarEstoque(sku, quantidade);
+        baixaIdempotenteRepository.registrarResultado(chaveIdempotencia, atualizado.getId(),
+                atualizado.getQuantidadeDisponivel(), atualizado.getVersao());
+        return atualizado;
+    }
+
+    @Override
+    public Optional<BaixaIdempotente> buscarBaixaIdempotente(String chaveIdempotencia) {
+        log.debug("Buscando baixa idempotente no banco para chave: {}", chaveIdempotencia);
+        return baixaIdempotenteRepository.findById(chaveIdempotencia).map(mapper::toDomain);
+    }
+
+    /**
+     * Grava a chave de uma baixa já aplicada, na transação corrente ou em uma nova (baixas do motor em memória).
+     */
+    @Transactional
+    public void registrarBaixaIdempotente(BaixaIdempotente baixa) {
+        BaixaIdempotenteEntity entity = mapper.toEntity(baixa);
+        entity.setCriadoEm(Instant.now());
+        try {
+            baixaIdempotenteRepository.inserir(entity);
+        } catch (DuplicateKeyException e) {
+            log.debug("Idempotency-Key já gravada por outra baixa: {}", baixa.getChave());
+            throw new BaixaRepetidaException(baixa.getChave());
+        }
+    }
+
+    @Override
+    @Transactional
+    public Estoque reporEstoque(String sku, int quantidade) {
+        log.debug("Repondo estoque no banco para SKU: {}, quantidade: {}", sku, quantidade);
+        Optional<EstoqueEntity> reposto = updateReturning
+                ? repository.reporRetornando(sku, quantidade)
+                : reporComConsulta(sku, quantidade);
+        EstoqueEntity entity = reposto.orElseThrow(() -> {
+            metricas.registrarNaoEncontrado("repor");
+            return new EstoqueNaoEncontradoException(sku);
+        });
+        registrarAlteracoes(List.of(sku));
+        registrarMovimentacoes(MotivoMovimentacao.REPOSICAO, Map.of(sku, quantidade));
+        verificarMinimo(entity, entity.getQuantidadeDisponivel() - quantidade);
+        return mapper.toDomain(entity);
+    }
+
+    @Override
+    @Transactional
+    public List<Estoque> baixarEstoqueEmLote(List<ItemBaixa> itens) {
+        // SKUs repetidos são somados e ordenados para que lotes concorrentes travem as linhas sempre na mesma ordem
+        Map<String, Integer> quantidadesPorSku = itens.stream()
+                .collect(groupingBy(ItemBaixa::getSku, TreeMap::new, summingInt(ItemBaixa::getQuantidade)));
+        log.debug("Baixando estoque em lote no banco para {} SKUs", quantidadesPorSku.size());
+        List<String> rejeitados = repository.baixarEmLote(quantidadesPorSku);
+        if (!rejeitados.isEmpty()) {
+            log.warn("Baixa em lote rejeitada. SKUs sem estoque suficiente: {}", rejeitados);
+            throw new BaixaEmLoteRejeitadaException(rejeitados);
+        }
+        registrarAlteracoes(quantidadesPorSku.keySet());
+        Map<String, Integer> deltas = new HashMap<>();
+        quantidadesPorSku.forEach((sku, quantidade) -> deltas.put(sku, -quantidade));
+        registrarMovimentacoes(MotivoMovimentacao.BAIXA_LOTE, deltas);
+        List<EstoqueEntity> baixados = repository.findBySkuInOrderBySku(quantidadesPorSku.keySet());
+        verificarMinimo(baixados, deltas);
+        return baixados.stream().map(mapper::toDomain).toList();
+    }
+
+    /**
+     * Os pedidos são gravados como reservados antes da baixa, na mesma transação: um pedido já gravado resulta em
+     * PedidoRepetidoException sem tocar no estoque, e uma recusa da baixa desfaz os registros junto com a transação.
+     */
+    @Override
+    @Transactional
+    public List<Estoque> baixarEstoqueEmLote(List<ItemBaixa> itens, Collection<String> pedidoIds) {
+        registrarPedidosReservados(pedidoIds);
+        return baixarEstoqueEmLote(itens);
+    }
+
+    /**
+     * Grava os pedidos de um lote reservado, na transação corrente ou em uma nova (baixas do motor em memória).
+     * Os ids são ordenados para que lotes concorrentes esperem pelas mesmas chaves sempre na mesma ordem.
+     */
+    @Transactional
+    public void registrarPedidosReservados(Collection<String> pedidoIds) {
+        Instant agora = Instant.now();
+        List<PedidoProcessadoEntity> pedidos = new TreeSet<>(pedidoIds).stream()
+                .map(pedidoId -> PedidoProcessadoEntity.builder()
+                        .pedidoId(pedidoId).status(StatusReserva.RESERVADO).skusRejeitados("").processadoEm(agora).build())
+                .toList();
+        try {
+            pedidoProcessadoRepository.inserirEmLote(pedidos);
+        } catch (DuplicateKeyException e) {
+            log.debug("Lote com pedido já processado por outra transação: {}", pedidoIds);
+            throw new PedidoRepetidoException(pedidoIds);
+        }
+    }
+
+    @Override
+    public List<ResultadoReserva> buscarPedidosProcessados(Collection<String> pedidoIds) {
+        log.debug("Buscando {} pedidos processados no banco", pedidoIds.size());
+        if (pedidoIds.isEmpty()) {
+            return List.of();
+        }
+        return pedidoProcessadoRepository.findAllById(pedidoIds).stream()
+                .map(pedido -> ResultadoReserva.builder()
+                        .pedidoId(pedido.getPedidoId())
+                        .status(pedido.getStatus())
+                        .skusRejeitados(pedido.getSkusRejeitados().isEmpty()
+                                ? List.of() : List.of(pedido.getSkusRejeitados().split(",")))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Grava cada pedido rejeitado no próprio commit, sem transação envolvendo o lote: um pedido já gravado por
+     * outra transação não impede a gravação dos demais. Retorna os ids que já estavam gravados.
+     */
+    @Override
+    public Set<String> registrarPedidosRejeitados(List<ResultadoReserva> rejeitados) {
+        Instant agora = Instant.now();
+        Set<String> repetidos = new TreeSet<>();
+        for (ResultadoReserva rejeitado : rejeitados) {
+            try {
+                pedidoProcessadoRepository.inserirEmLote(List.of(PedidoProcessadoEntity.builder()
+                        .pedidoId(rejeitado.getPedidoId())
+                        .status(StatusReserva.REJEITADO)
+                        .skusRejeitados(String.join(",", rejeitado.getSkusRejeitados()))
+                        .processadoEm(agora)
+                        .build()));
+            } catch (DuplicateKeyException e) {
+                log.debug("Pedido rejeitado já processado por outra transação: {}", rejeitado.getPedidoId());
+                repetidos.add(rejeitado.getPedidoId());
+            }
+        }
+        return repetidos;
+    }
+
+    /**
+     * Aplica em uma única transação, com um único batch de baixas condicionais, as baixas de chamadas diferentes
+     * reunidas pelo BaixaAgrupadaEstoque. Cada baixa é aceita ou recusada sozinha: uma recusa não desfaz as outras.
+     * O resultado segue a ordem dos itens.
+     */
+    @Override
+    @Transactional
+    public List<ResultadoBaixa> baixarEstoqueAgrupado(List<ItemBaixa> itens) {
+        // Ordem estável por SKU, para que grupos concorrentes travem as linhas sempre na mesma ordem
+        List<Integer> posicoes = IntStream.range(0, itens.size()).boxed()
+                .sorted(Comparator.comparing(i -> itens.get(i).getSku())).toList();
+        List<ItemBaixa> ordenados = posicoes.stream().map(itens::get).toList();
+        log.debug("Baixando estoque agrupado no banco, baixas: {}", ordenados.size());
+        int[] linhasAfetadas = repository.baixarCondicional(ordenados);
+
+        Map<String, Integer> deltas = new TreeMap<>();
+        for (int i = 0; i < linhasAfetadas.length; i++) {
+            if (linhasAfetadas[i] > 0) {
+                deltas.merge(ordenados.get(i).getSku(), -ordenados.get(i).getQuantidade(), Integer::sum);
+            }
+        }
+        Map<String, EstoqueEntity> finais = new HashMap<>();
+        repository.findBySkuInOrderBySku(new TreeSet<>(ordenados.stream().map(ItemBaixa::getSku).toList()))
+                .forEach(entity -> finais.put(entity.getSku(), entity));
+
+        // Do saldo final para trás: cada baixa aceita recebe o saldo e a versão logo após ela
+        ResultadoBaixa[] resultados = new ResultadoBaixa[ordenados.size()];
+        Map<String, Estoque> correntes = new HashMap<>();
+        for (int i = ordenados.size() - 1; i >= 0; i--) {
+            ItemBaixa item = ordenados.get(i);
+            EstoqueEntity entity = finais.get(item.getSku());
+            ResultadoBaixa resultado;
+            if (linhasAfetadas[i] == 0) {
+                if (entity == null) {
+                    metricas.registrarNaoEncontrado("baixar");
+                } else {
+                    metricas.registrarEstoqueInsuficiente();
+                }
+                resultado = ResultadoBaixa.builder().encontrado(entity != null).build();
+            } else {
+                Estoque corrente = correntes.computeIfAbsent(item.getSku(), sku -> mapper.toDomain(entity));
+                resultado = ResultadoBaixa.builder().estoque(corrente).encontrado(true).build();
+                correntes.put(item.getSku(), Estoque.builder()
+                        .id(corrente.getId())
+                        .sku(corrente.getSku())
+                        .quantidadeDisponivel(corrente.getQuantidadeDisponivel() + item.getQuantidade())
+                        .versao(corrente.getVersao() - 1)
+                        .estoqueMinimo(corrente.getEstoqueMinimo())
+                        .build());
+            }
+            resultados[posicoes.get(i)] = resultado;
+        }
+
+        if (!deltas.isEmpty()) {
+            registrarAlteracoes(deltas.keySet());
+            registrarMovimentacoes(MotivoMovimentacao.BAIXA, deltas);
+            verificarMinimo(deltas.keySet().stream().map(finais::get).toList(), deltas);
+        }
+        return Arrays.asList(resultados);
+    }
+
+    @Override
+    @Transactional
+    public void importarEmLote(List<Estoque> estoques) {
+        // Um SKU repetido no lote fica só com o último registro: o INSERT ... ON CONFLICT do PostgreSQL
+        // recusa o mesmo SKU duas vezes no mesmo comando, o que acontece quando o batch é reescrito em um só
+        Map<String, Estoque> porSku = new TreeMap<>();
+        estoques.forEach(estoque -> porSku.put(estoque.getSku(), estoque));
+        log.debug("Importando lote de {} estoques ({} SKUs) no banco", estoques.size(), porSku.size());
+        // Com o razão habilitado, as linhas existentes são travadas antes do upsert para que a diferença gravada seja exata
+        Map<String, Integer> saldos = movimentacaoHabilitada ? repository.travarSaldos(porSku.keySet()) : Map.of();
+        repository.upsertEmLote(porSku.values().stream().map(mapper::toEntity).toList());
+        registrarAlteracoes(porSku.keySet());
+        if (movimentacaoHabilitada) {
+            Map<String, Integer> deltas = new HashMap<>();
+            porSku.forEach((sku, estoque) ->
+                    deltas.put(sku, estoque.getQuantidadeDisponivel() - saldos.getOrDefault(sku, 0)));
+            registrarMovimentacoes(MotivoMovimentacao.IMPORTACAO, deltas);
+        }
+    }
+
+    /**
+     * Grava no outbox, na mesma transação da alteração, o novo saldo dos SKUs alterados.
+     * O flush garante que o INSERT ... SELECT do outbox enxergue alterações pendentes no contexto JPA.
+     */
+    private void registrarAlteracoes(Collection<String> skus) {
+        if (outboxHabilitado) {
+            repository.flush();
+            outboxRepository.registrarAlteracoes(skus);
+        }
+    }
+
+    /**
+     * Grava no razão, na mesma transação da alteração e em um único batch, a variação de cada SKU alterado.
+     */
+    private void registrarMovimentacoes(MotivoMovimentacao motivo, Map<String, Integer> deltasPorSku) {
+        if (movimentacaoHabilitada) {
+            movimentacaoRepository.registrar(deltasPorSku, motivo, origem, Instant.now());
+        }
+    }
+
+    private void verificarMinimo(EstoqueEntity entity, int saldoAnterior) {
+        verificarMinimo(List.of(entity), Map.of(entity.getSku(), entity.getQuantidadeDisponivel() - saldoAnterior));
+    }
+
+    /**
+     * Compara o saldo antes e depois da alteração com o estoque mínimo lido da própria linha alterada e grava,
+     * na mesma transação, um alerta apenas para os SKUs que cruzaram o limite. Sem varredura da tabela:
+     * alterações que não cruzam o mínimo custam só a comparação.
+     */
+    private void verificarMinimo(List<EstoqueEntity> alterados, Map<String, Integer> variacoesPorSku) {
+        if (!alertaHabilitado) {
+            return;
+        }
+        Instant agora = Instant.now();
+        List<AlertaEstoqueEntity> alertas = new ArrayList<>();
+        for (EstoqueEntity entity : alterados) {
+            int saldo = entity.getQuantidadeDisponivel();
+            int saldoAnterior = saldo - variacoesPorSku.get(entity.getSku());
+            TipoAlertaEstoque.cruzamento(TipoAlertaEstoque.abaixoDoMinimo(saldoAnterior, entity.getEstoqueMinimo()),
+                            TipoAlertaEstoque.abaixoDoMinimo(saldo, entity.getEstoqueMinimo()))
+                    .ifPresent(tipo -> alertas.add(AlertaEstoqueEntity.builder().sku(entity.getSku()).tipo(tipo)
+                            .quantidadeDisponivel(saldo).estoqueMinimo(entity.getEstoqueMinimo()).criadoEm(agora).build()));
+        }
+        if (!alertas.isEmpty()) {
+            log.info("Estoque mínimo cruzado por {} SKUs", alertas.size());
+            alertaRepository.saveAll(alertas);
+        }
+    }
+
+    private Optional<EstoqueEntity> baixarComConsulta(String sku, int quantidade) {
+        if (repository.baixarSeDisponivel(sku, quantidade) == 0) {
+            return Optional.empty();
+        }
+        return repository.findBySku(sku);
+    }
+
+    private Optional<EstoqueEntity> reporComConsulta(String sku, int quantidade) {
+        if (repository.repor(sku, quantidade) == 0) {
+            return Optional.empty();
+        }
+        return repository.findBySku(sku);
+    }
+
+    private Estoque inserir(Estoque estoque) {
+        EstoqueEntity entity = EstoqueEntity.builder()
+                .sku(estoque.getSku())
+                .quantidadeDisponivel(estoque.getQuantidadeDisponivel())
+                .build();
+        try {
+            entity = repository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            // Outra transação inseriu o mesmo SKU: a nova tentativa encontra a linha e usa a versão dela
+            throw new EstoqueVersaoConflitanteException(estoque.getSku());
+        }
+        registrarAlteracoes(List.of(entity.getSku()));
+        registrarMovimentacoes(MotivoMovimentacao.ATUALIZACAO, Map.of(entity.getSku(), entity.getQuantidadeDisponivel()));
+        return mapper.toDomain(entity);
+    }
+
+    private EstoqueException falhaNaAtualizacao(String sku) {
+        if (!repository.existsBySku(sku)) {
+            metricas.registrarNaoEncontrado("atualizar");
+            return new EstoqueNaoEncontradoException(sku);
+        }
+        log.debug("Versão desatualizada na atualização do estoque para SKU: {}", sku);
+        return new EstoqueVersaoConflitanteException(sku);
+    }
+
+    private EstoqueException falhaNaBaixa(String sku, int quantidade) {
+        if (!repository.existsBySku(sku)) {
+            log.debug("Estoque não encontrado no banco para SKU: {}", sku);
+            metricas.registrarNaoEncontrado("baixar");
+            return new EstoqueNaoEncontradoException(sku);
+        }
+        log.debug("Estoque insuficiente para SKU: {}. Solicitado: {}", sku, quantidade);
+        metricas.registrarEstoqueInsuficiente();
+        return new EstoqueInsuficienteException(sku);
+    }
 }
@@ -0,0 +1,17 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Leituras de estoque sem bloqueio, usadas pelas rotas funcionais do perfil reativo. As escritas continuam no
+ * {@link EstoqueGateway}: a baixa grava razão, outbox, alertas e idempotência na mesma transação JPA.
+ */
+public interface EstoqueGatewayReativo {
+
+    Mono<Estoque> buscarPorSku(String sku);
+    Flux<Estoque> buscarPorSkus(Collection<String> skus);
+}
@@ -0,0 +1,58 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Slf4j
+@Component
+@Profile("reativo")
+@RequiredArgsConstructor
+public class EstoqueGatewayReativoImpl implements EstoqueGatewayReativo {
+
+    private static final String COLUNAS = "SELECT id, sku, quantidade_disponivel, versao, estoque_minimo FROM estoque ";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Estoque> buscarPorSku(String sku) {
+        log.debug("Buscando estoque no banco (R2DBC) para SKU: {}", sku);
+        return databaseClient.sql(COLUNAS + "WHERE sku = :sku")
+                .bind("sku", sku)
+                .map(EstoqueGatewayReativoImpl::estoque)
+                .one();
+    }
+
+    /**
+     * Uma única consulta com os SKUs expandidos no IN; os inexistentes ficam fora do resultado.
+     */
+    @Override
+    public Flux<Estoque> buscarPorSkus(Collection<String> skus) {
+        log.debug("Buscando estoque no banco (R2DBC) para {} SKUs", skus.size());
+        if (skus.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(COLUNAS + "WHERE sku IN (:skus)")
+                .bind("skus", skus)
+                .map(EstoqueGatewayReativoImpl::estoque)
+                .all();
+    }
+
+    private static Estoque estoque(Readable linha) {
+        return Estoque.builder()
+                .id(linha.get("id", Long.class))
+                .sku(linha.get("sku", String.class))
+                .quantidadeDisponivel(linha.get("quantidade_disponivel", Integer.class))
+                .versao(linha.get("versao", Long.class))
+                .estoqueMinimo(linha.get("estoque_minimo", Integer.class))
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+
+import java.util.List;
+
+public interface EstoqueMinimoGateway {
+
+    Estoque definirMinimo(String sku, Integer estoqueMinimo);
+    List<Estoque> listarAbaixoDoMinimo(String aposSku, int limite);
+}
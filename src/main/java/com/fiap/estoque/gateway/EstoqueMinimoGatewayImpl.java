@@ -0,0 +1,69 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.TipoAlertaEstoque;
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Estoque mínimo por SKU. Os cruzamentos causados por alterações de saldo são detectados pelo
+ * {@link EstoqueGatewayImpl}; aqui, apenas os causados pela mudança do próprio mínimo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Timed("estoque.gateway")
+public class EstoqueMinimoGatewayImpl implements EstoqueMinimoGateway {
+
+    private final EstoqueRepository repository;
+    private final AlertaEstoqueRepository alertaRepository;
+    private final EstoqueMapper mapper;
+    private final EstoqueMetricas metricas;
+
+    @Value("${estoque.alerta.habilitado:false}")
+    private boolean alertaHabilitado;
+
+    /**
+     * Trava a linha do SKU para que o saldo comparado com o mínimo antigo e com o novo seja o mesmo,
+     * sem uma baixa concorrente no meio. Mínimo nulo remove o limite.
+     */
+    @Override
+    @Transactional
+    public Estoque definirMinimo(String sku, Integer estoqueMinimo) {
+        log.debug("Definindo estoque mínimo no banco para SKU: {}, mínimo: {}", sku, estoqueMinimo);
+        EstoqueEntity entity = repository.travarPorSku(sku).orElseThrow(() -> {
+            metricas.registrarNaoEncontrado("minimo");
+            return new EstoqueNaoEncontradoException(sku);
+        });
+        int saldo = entity.getQuantidadeDisponivel();
+        boolean abaixoAntes = TipoAlertaEstoque.abaixoDoMinimo(saldo, entity.getEstoqueMinimo());
+        repository.definirEstoqueMinimo(sku, estoqueMinimo);
+        if (alertaHabilitado) {
+            TipoAlertaEstoque.cruzamento(abaixoAntes, TipoAlertaEstoque.abaixoDoMinimo(saldo, estoqueMinimo))
+                    .ifPresent(tipo -> alertaRepository.save(AlertaEstoqueEntity.builder().sku(sku).tipo(tipo)
+                            .quantidadeDisponivel(saldo).estoqueMinimo(estoqueMinimo).criadoEm(Instant.now()).build()));
+        }
+        entity.setEstoqueMinimo(estoqueMinimo);
+        return mapper.toDomain(entity);
+    }
+
+    @Override
+    public List<Estoque> listarAbaixoDoMinimo(String aposSku, int limite) {
+        log.debug("Listando estoques abaixo do mínimo após SKU: {}, limite: {}", aposSku, limite);
+        return repository.buscarAbaixoDoMinimo(aposSku, limite).stream().map(mapper::toDomain).toList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.domain.Movimentacao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface MovimentacaoEstoqueGateway {
+
+    List<Movimentacao> listarPorSku(String sku, long aposId, int limite);
+    Optional<Integer> buscarSaldoEm(String sku, Instant instante);
+    int tirarSnapshots(Instant corte);
+    Optional<String> buscarFimDoLote(String aposSku, int tamanho);
+    List<DivergenciaEstoque> buscarDivergencias(String aposSku, String ateSku);
+}
@@ -0,0 +1,94 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.domain.Movimentacao;
+import com.fiap.estoque.entity.SnapshotEstoqueEntity;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.SnapshotEstoqueRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Leitura do razão de movimentações, snapshots e reconciliação. As movimentações são gravadas pelo
+ * {@link EstoqueGatewayImpl} e pelo motor em memória, na mesma transação de cada alteração de saldo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Timed("estoque.gateway")
+public class MovimentacaoEstoqueGatewayImpl implements MovimentacaoEstoqueGateway {
+
+    private final MovimentacaoEstoqueRepository movimentacaoRepository;
+    private final SnapshotEstoqueRepository snapshotRepository;
+    private final EstoqueRepository estoqueRepository;
+    private final EstoqueMapper mapper;
+
+    @Override
+    public List<Movimentacao> listarPorSku(String sku, long aposId, int limite) {
+        log.debug("Listando movimentações no banco para SKU: {}, após: {}", sku, aposId);
+        return movimentacaoRepository.buscarPorSku(sku, aposId, PageRequest.of(0, limite)).stream()
+                .map(mapper::toDomain).toList();
+    }
+
+    /**
+     * Saldo no instante: o do último snapshot até ele mais as movimentações registradas entre os dois,
+     * sem percorrer o razão desde o início. Vazio quando o SKU não existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Integer> buscarSaldoEm(String sku, Instant instante) {
+        log.debug("Calculando saldo no banco para SKU: {} em {}", sku, instante);
+        if (!estoqueRepository.existsBySku(sku)) {
+            return Optional.empty();
+        }
+        Optional<SnapshotEstoqueEntity> snapshot = snapshotRepository.findFirstBySkuAndTiradoEmLessThanEqualOrderByTiradoEmDesc(sku, instante);
+        int saldo = snapshot.map(SnapshotEstoqueEntity::getSaldo).orElse(0);
+        Instant desde = snapshot.map(SnapshotEstoqueEntity::getTiradoEm).orElse(Instant.EPOCH);
+        return Optional.of(saldo + (int) movimentacaoRepository.somarDeltas(sku, desde, instante));
+    }
+
+    /**
+     * Grava os snapshots do intervalo entre o último corte e o corte informado. Retorna 0 sem gravar nada
+     * quando o corte não é posterior ao último. Na primeira execução, antes de qualquer corte, grava também
+     * o saldo de abertura dos SKUs cadastrados antes do razão, para que o saldo no instante e a reconciliação
+     * partam dele e não de zero.
+     */
+    @Override
+    @Transactional
+    public int tirarSnapshots(Instant corte) {
+        Optional<Instant> ultimo = snapshotRepository.buscarUltimoCorte();
+        Instant ultimoCorte = ultimo.orElse(Instant.EPOCH);
+        if (!corte.isAfter(ultimoCorte)) {
+            return 0;
+        }
+        int abertos = 0;
+        if (ultimo.isEmpty()) {
+            abertos = snapshotRepository.abrir();
+            log.info("Saldos de abertura de estoque gravados: {}", abertos);
+        }
+        int gravados = abertos + snapshotRepository.tirar(ultimoCorte, corte);
+        log.debug("Snapshots de estoque gravados até {}: {}", corte, gravados);
+        return gravados;
+    }
+
+    @Override
+    public Optional<String> buscarFimDoLote(String aposSku, int tamanho) {
+        return movimentacaoRepository.buscarFimDoLote(aposSku, tamanho);
+    }
+
+    @Override
+    public List<DivergenciaEstoque> buscarDivergencias(String aposSku, String ateSku) {
+        log.debug("Reconciliando estoque com o razão de SKU {} a {}", aposSku, ateSku);
+        return movimentacaoRepository.buscarDivergencias(aposSku, ateSku);
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Reserva;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ReservaEstoqueGateway {
+
+    Reserva reservar(String sku, int quantidade, Instant expiraEm);
+    Reserva confirmar(Long id, Instant agora);
+    Reserva cancelar(Long id, Instant agora);
+    List<Reserva> liberarExpiradas(Instant agora, int limite);
+}
@@ -0,0 +1,108 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.entity.ReservaEstoqueEntity;
+import com.fiap.estoque.exception.ReservaNaoEncontradaException;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.repository.ReservaEstoqueRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.summingInt;
+
+/**
+ * Reservas com prazo sobre o saldo do estoque. A reserva desconta a quantidade do saldo com a mesma
+ * baixa condicional do {@link EstoqueGateway} (e portanto também pelo motor em memória, quando habilitado),
+ * de modo que o saldo disponível já é o saldo físico menos as reservas ativas. Cancelamento e expiração
+ * devolvem a quantidade com a reposição atômica; a confirmação só remove a reserva. Quando o motor em memória
+ * atende a baixa, ela é revertida em memória se a transação da reserva for desfeita.
+ * <p>
+ * Cada reserva é removida por um único DELETE condicional: cancelamento, confirmação e expiração
+ * concorrentes nunca devolvem a mesma reserva duas vezes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Timed("estoque.gateway")
+public class ReservaEstoqueGatewayImpl implements ReservaEstoqueGateway {
+
+    private final ReservaEstoqueRepository reservaRepository;
+    private final EstoqueGateway estoqueGateway;
+    private final EstoqueMapper mapper;
+
+    @Override
+    @Transactional
+    public Reserva reservar(String sku, int quantidade, Instant expiraEm) {
+        log.debug("Reservando estoque no banco para SKU: {}, quantidade: {}, expira em: {}", sku, quantidade, expiraEm);
+        estoqueGateway.baixarEstoque(sku, quantidade);
+        ReservaEstoqueEntity entity = reservaRepository.save(ReservaEstoqueEntity.builder()
+                .sku(sku)
+                .quantidade(quantidade)
+                .expiraEm(expiraEm)
+                .build());
+        return mapper.toDomain(entity);
+    }
+
+    @Override
+    @Transactional
+    public Reserva confirmar(Long id, Instant agora) {
+        log.debug("Confirmando reserva de estoque: {}", id);
+        return removerAtiva(id, agora);
+    }
+
+    @Override
+    @Transactional
+    public Reserva cancelar(Long id, Instant agora) {
+        log.debug("Cancelando reserva de estoque: {}", id);
+        Reserva reserva = removerAtiva(id, agora);
+        estoqueGateway.reporEstoque(reserva.getSku(), reserva.getQuantidade());
+        return reserva;
+    }
+
+    /**
+     * Remove até {@code limite} reservas vencidas e devolve ao saldo, com uma reposição por SKU,
+     * a quantidade das que esta transação efetivamente removeu.
+     */
+    @Override
+    @Transactional
+    public List<Reserva> liberarExpiradas(Instant agora, int limite) {
+        List<ReservaEstoqueEntity> expiradas = reservaRepository.buscarExpiradas(agora, PageRequest.of(0, limite));
+        if (expiradas.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> removidas = new HashSet<>(reservaRepository.removerPorIds(
+                expiradas.stream().map(ReservaEstoqueEntity::getId).toList()));
+        List<Reserva> liberadas = expiradas.stream()
+                .filter(reserva -> removidas.contains(reserva.getId()))
+                .map(mapper::toDomain)
+                .toList();
+        // SKUs ordenados para que varreduras concorrentes travem as linhas de estoque sempre na mesma ordem
+        Map<String, Integer> quantidadesPorSku = liberadas.stream()
+                .collect(groupingBy(Reserva::getSku, TreeMap::new, summingInt(Reserva::getQuantidade)));
+        quantidadesPorSku.forEach(estoqueGateway::reporEstoque);
+        log.debug("Reservas expiradas liberadas: {} de {} SKUs", liberadas.size(), quantidadesPorSku.size());
+        return liberadas;
+    }
+
+    private Reserva removerAtiva(Long id, Instant agora) {
+        Reserva reserva = reservaRepository.findById(id)
+                .map(mapper::toDomain)
+                .orElseThrow(() -> new ReservaNaoEncontradaException(id));
+        if (reservaRepository.removerAtiva(id, agora) == 0) {
+            throw new ReservaNaoEncontradaException(id);
+        }
+        return reserva;
+    }
+}
@@ -0,0 +1,546 @@
+package com.fiap.estoque.gateway.memoria;
+
+import com.fiap.estoque.config.threads.FabricaThreads;
+import com.fiap.estoque.domain.BaixaIdempotente;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.MotivoMovimentacao;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.entity.CheckpointMemoriaEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.BaixaRepetidaException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.gateway.EstoqueGatewayImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import com.fiap.estoque.repository.CheckpointMemoriaRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.summingInt;
+
+/**
+ * Motor opcional que mantém em memória o saldo dos SKUs quentes configurados.
+ * As baixas desses SKUs são aplicadas com CAS, registradas em um journal local e gravadas no
+ * banco em flushes periódicos que somam todos os deltas de cada SKU em um único UPDATE.
+ * Os demais SKUs seguem direto para o {@link EstoqueGatewayImpl}.
+ * <p>
+ * Cada SKU quente deve ser atendido por uma única instância do serviço.
+ */
+@Slf4j
+@Primary
+@Component
+@Timed("estoque.gateway")
+@ConditionalOnProperty(name = "estoque.memoria.habilitado", havingValue = "true")
+public class EstoqueGatewayMemoria implements EstoqueGateway {
+
+    private final EstoqueGatewayImpl delegate;
+    private final EstoqueRepository repository;
+    private final CheckpointMemoriaRepository checkpointRepository;
+    private final OutboxEstoqueRepository outboxRepository;
+    private final MovimentacaoEstoqueRepository movimentacaoRepository;
+    private final AlertaEstoqueRepository alertaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EstoqueMetricas metricas;
+    private final Set<String> skusQuentes;
+    private final Path diretorioJournal;
+    private final int particoesJournal;
+    private final Duration intervaloFlush;
+    private final String instancia;
+    private final boolean outboxHabilitado;
+    private final boolean movimentacaoHabilitada;
+    private final boolean alertaHabilitado;
+    private final boolean threadsVirtuais;
+
+    private final Map<String, SaldoMemoria> saldos = new ConcurrentHashMap<>();
+    private JournalEstoque journal;
+    private ScheduledExecutorService agendador;
+
+    public EstoqueGatewayMemoria(EstoqueGatewayImpl delegate,
+                                 EstoqueRepository repository,
+                                 CheckpointMemoriaRepository checkpointRepository,
+                                 OutboxEstoqueRepository outboxRepository,
+                                 MovimentacaoEstoqueRepository movimentacaoRepository,
+                                 AlertaEstoqueRepository alertaRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 EstoqueMetricas metricas,
+                                 @Value("${estoque.memoria.skus:}") Set<String> skusQuentes,
+                                 @Value("${estoque.memoria.diretorio-journal:./journal}") Path diretorioJournal,
+                                 @Value("${estoque.memoria.particoes-journal:8}") int particoesJournal,
+                                 @Value("${estoque.memoria.intervalo-flush:200ms}") Duration intervaloFlush,
+                                 @Value("${estoque.memoria.instancia:${HOSTNAME:local}}") String instancia,
+                                 @Value("${estoque.outbox.habilitado:false}") boolean outboxHabilitado,
+                                 @Value("${estoque.movimentacao.habilitado:true}") boolean movimentacaoHabilitada,
+                                 @Value("${estoque.alerta.habilitado:false}") boolean alertaHabilitado,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.delegate = delegate;
+        this.repository = repository;
+        this.checkpointRepository = checkpointRepository;
+        this.outboxRepository = outboxRepository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.alertaRepository = alertaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricas = metricas;
+        this.skusQuentes = Set.copyOf(skusQuentes);
+        this.diretorioJournal = diretorioJournal;
+        this.particoesJournal = particoesJournal;
+        this.intervaloFlush = intervaloFlush;
+        this.instancia = instancia;
+        this.outboxHabilitado = outboxHabilitado;
+        this.movimentacaoHabilitada = movimentacaoHabilitada;
+        this.alertaHabilitado = alertaHabilitado;
+        this.threadsVirtuais = threadsVirtuais;
+    }
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        journal = new JournalEstoque(diretorioJournal, particoesJournal);
+        recuperarJournal();
+        for (String sku : skusQuentes) {
+            repository.findBySku(sku).ifPresentOrElse(
+                    entity -> saldos.put(sku, new SaldoMemoria(entity.getId(), sku, entity.getQuantidadeDisponivel(),
+                            entity.getVersao(), entity.getEstoqueMinimo())),
+                    () -> log.warn("SKU quente não encontrado no banco e será tratado normalmente: {}", sku));
+        }
+        log.info("Motor de estoque em memória iniciado para {} SKUs quentes", saldos.size());
+        agendador = Executors.newSingleThreadScheduledExecutor(FabricaThreads.criar("estoque-memoria-flush", threadsVirtuais));
+        long intervalo = intervaloFlush.toMillis();
+        agendador.scheduleWithFixedDelay(this::flushAgendado, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() throws IOException, InterruptedException {
+        agendador.shutdown();
+        agendador.awaitTermination(intervaloFlush.toMillis() * 10, TimeUnit.MILLISECONDS);
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Indica se o SKU é atendido pela memória: nesse caso buscarPorSku não acessa o banco.
+     */
+    public boolean isQuente(String sku) {
+        return sku != null && saldos.containsKey(sku);
+    }
+
+    @Override
+    public Optional<Estoque> buscarPorSku(String sku) {
+        SaldoMemoria saldo = sku == null ? null : saldos.get(sku);
+        if (saldo == null) {
+            return delegate.buscarPorSku(sku);
+        }
+        return Optional.of(saldo.toDomain());
+    }
+
+    @Override
+    public List<Estoque> buscarPorSkus(Collection<String> skus) {
+        List<Estoque> encontrados = new ArrayList<>(skus.size());
+        List<String> frios = new ArrayList<>(skus.size());
+        for (String sku : skus) {
+            SaldoMemoria saldo = saldos.get(sku);
+            if (saldo == null) {
+                frios.add(sku);
+            } else {
+                encontrados.add(saldo.toDomain());
+            }
+        }
+        if (!frios.isEmpty()) {
+            encontrados.addAll(delegate.buscarPorSkus(frios));
+        }
+        return encontrados;
+    }
+
+    @Override
+    public Estoque atualizar(Estoque estoque) {
+        SaldoMemoria saldo = estoque.getSku() == null ? null : saldos.get(estoque.getSku());
+        if (saldo == null) {
+            return delegate.atualizar(estoque);
+        }
+        int novoSaldo = estoque.getQuantidadeDisponivel();
+        long anterior = estoque.getVersao() == null
+                ? saldo.definir(novoSaldo)
+                : saldo.definirSeVersao(novoSaldo, estoque.getVersao());
+        if (anterior == SaldoMemoria.RECUSADO) {
+            throw new EstoqueVersaoConflitanteException(estoque.getSku());
+        }
+        registrar(saldo, SaldoMemoria.saldo(anterior) - novoSaldo);
+        return saldo.toDomain(SaldoMemoria.compor(SaldoMemoria.versao(anterior) + 1, novoSaldo));
+    }
+
+    @Override
+    public void exportarTodos(Consumer<Estoque> consumidor) {
+        delegate.exportarTodos(estoque -> consumidor.accept(sobreporSaldo(estoque)));
+    }
+
+    @Override
+    public List<Estoque> listarPagina(FiltroEstoque filtro) {
+        return delegate.listarPagina(filtro).stream().map(this::sobreporSaldo).toList();
+    }
+
+    @Override
+    public Estoque baixarEstoque(String sku, int quantidade) {
+        SaldoMemoria saldo = sku == null ? null : saldos.get(sku);
+        if (saldo == null) {
+            return delegate.baixarEstoque(sku, quantidade);
+        }
+        Estoque atualizado = baixarEmMemoria(saldo, quantidade);
+        desfazerSeTransacaoReverter(saldo, quantidade);
+        return atualizado;
+    }
+
+    private Estoque baixarEmMemoria(SaldoMemoria saldo, int quantidade) {
+        long novo = saldo.tentarBaixar(quantidade);
+        if (novo == SaldoMemoria.RECUSADO) {
+            log.debug("Estoque insuficiente em memória para SKU: {}. Solicitado: {}", saldo.getSku(), quantidade);
+            metricas.registrarEstoqueInsuficiente();
+            throw new EstoqueInsuficienteException(saldo.getSku());
+        }
+        registrar(saldo, quantidade);
+        return saldo.toDomain(novo);
+    }
+
+    /**
+     * A chave é consultada no banco antes da baixa em memória: uma repetição já gravada não toca no saldo.
+     * A baixa é registrada no journal antes da chave ser gravada; se outra baixa gravar a mesma chave nesse
+     * intervalo ou a gravação falhar, a quantidade volta ao saldo (também pelo journal).
+     */
+    @Override
+    public Estoque baixarEstoque(String sku, int quantidade, String chaveIdempotencia) {
+        SaldoMemoria saldo = sku == null ? null : saldos.get(sku);
+        if (saldo == null) {
+            return delegate.baixarEstoque(sku, quantidade, chaveIdempotencia);
+        }
+        if (delegate.buscarBaixaIdempotente(chaveIdempotencia).isPresent()) {
+            throw new BaixaRepetidaException(chaveIdempotencia);
+        }
+        Estoque atualizado = baixarEmMemoria(saldo, quantidade);
+        try {
+            delegate.registrarBaixaIdempotente(BaixaIdempotente.builder()
+                    .chave(chaveIdempotencia).sku(sku).quantidade(quantidade).resultado(atualizado).build());
+        } catch (RuntimeException e) {
+            saldo.repor(quantidade);
+            registrar(saldo, -quantidade);
+            throw e;
+        }
+        desfazerSeTransacaoReverter(saldo, quantidade);
+        return atualizado;
+    }
+
+    @Override
+    public Optional<BaixaIdempotente> buscarBaixaIdempotente(String chaveIdempotencia) {
+        return delegate.buscarBaixaIdempotente(chaveIdempotencia);
+    }
+
+    @Override
+    public Estoque reporEstoque(String sku, int quantidade) {
+        SaldoMemoria saldo = sku == null ? null : saldos.get(sku);
+        if (saldo == null) {
+            return delegate.reporEstoque(sku, quantidade);
+        }
+        long novo = saldo.repor(quantidade);
+        registrar(saldo, -quantidade);
+        desfazerSeTransacaoReverter(saldo, -quantidade);
+        return saldo.toDomain(novo);
+    }
+
+    @Override
+    public List<Estoque> baixarEstoqueEmLote(List<ItemBaixa> itens) {
+        Map<String, Integer> quantidadesPorSku = itens.stream()
+                .collect(groupingBy(ItemBaixa::getSku, TreeMap::new, summingInt(ItemBaixa::getQuantidade)));
+        Map<SaldoMemoria, Integer> reservados = new LinkedHashMap<>();
+        List<ItemBaixa> itensBanco = new ArrayList<>();
+        List<String> rejeitados = new ArrayList<>();
+        List<Estoque> atualizados = new ArrayList<>();
+        quantidadesPorSku.forEach((sku, quantidade) -> {
+            SaldoMemoria saldo = saldos.get(sku);
+            if (saldo == null) {
+                itensBanco.add(ItemBaixa.builder().sku(sku).quantidade(quantidade).build());
+            } else if (saldo.tentarBaixar(quantidade) == SaldoMemoria.RECUSADO) {
+                rejeitados.add(sku);
+            } else {
+                reservados.put(saldo, quantidade);
+            }
+        });
+        if (!rejeitados.isEmpty()) {
+            reservados.forEach(SaldoMemoria::desfazer);
+            throw new BaixaEmLoteRejeitadaException(rejeitados);
+        }
+        if (!itensBanco.isEmpty()) {
+            try {
+                atualizados.addAll(delegate.baixarEstoqueEmLote(itensBanco));
+            } catch (RuntimeException e) {
+                reservados.forEach(SaldoMemoria::desfazer);
+                throw e;
+            }
+        }
+        reservados.forEach((saldo, quantidade) -> {
+            registrar(saldo, quantidade);
+            desfazerSeTransacaoReverter(saldo, quantidade);
+            atualizados.add(saldo.toDomain());
+        });
+        atualizados.sort(Comparator.comparing(Estoque::getSku));
+        return atualizados;
+    }
+
+    /**
+     * Os pedidos são gravados no banco na mesma transação da baixa; a parte aplicada em memória é devolvida
+     * ao saldo se a transação reverter.
+     */
+    @Override
+    public List<Estoque> baixarEstoqueEmLote(List<ItemBaixa> itens, Collection<String> pedidoIds) {
+        return transactionTemplate.execute(status -> {
+            delegate.registrarPedidosReservados(pedidoIds);
+            return baixarEstoqueEmLote(itens);
+        });
+    }
+
+    @Override
+    public List<ResultadoReserva> buscarPedidosProcessados(Collection<String> pedidoIds) {
+        return delegate.buscarPedidosProcessados(pedidoIds);
+    }
+
+    @Override
+    public Set<String> registrarPedidosRejeitados(List<ResultadoReserva> rejeitados) {
+        return delegate.registrarPedidosRejeitados(rejeitados);
+    }
+
+    /**
+     * SKUs quentes são baixados em memória, um a um; os demais seguem juntos para o banco.
+     */
+    @Override
+    public List<ResultadoBaixa> baixarEstoqueAgrupado(List<ItemBaixa> itens) {
+        ResultadoBaixa[] resultados = new ResultadoBaixa[itens.size()];
+        List<Integer> posicoesBanco = new ArrayList<>();
+        List<ItemBaixa> itensBanco = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            ItemBaixa item = itens.get(i);
+            if (saldos.containsKey(item.getSku())) {
+                try {
+                    resultados[i] = ResultadoBaixa.builder()
+                            .estoque(baixarEstoque(item.getSku(), item.getQuantidade())).encontrado(true).build();
+                } catch (EstoqueInsuficienteException e) {
+                    resultados[i] = ResultadoBaixa.builder().encontrado(true).build();
+                }
+            } else {
+                posicoesBanco.add(i);
+                itensBanco.add(item);
+            }
+        }
+        if (!itensBanco.isEmpty()) {
+            List<ResultadoBaixa> resultadosBanco = delegate.baixarEstoqueAgrupado(itensBanco);
+            for (int i = 0; i < posicoesBanco.size(); i++) {
+                resultados[posicoesBanco.get(i)] = resultadosBanco.get(i);
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    @Override
+    public void importarEmLote(List<Estoque> estoques) {
+        List<Estoque> estoquesBanco = new ArrayList<>(estoques.size());
+        for (Estoque estoque : estoques) {
+            SaldoMemoria saldo = saldos.get(estoque.getSku());
+            if (saldo == null) {
+                estoquesBanco.add(estoque);
+            } else {
+                int novoSaldo = estoque.getQuantidadeDisponivel();
+                registrar(saldo, SaldoMemoria.saldo(saldo.definir(novoSaldo)) - novoSaldo);
+            }
+        }
+        if (!estoquesBanco.isEmpty()) {
+            delegate.importarEmLote(estoquesBanco);
+        }
+    }
+
+    /**
+     * Grava no banco, em uma transação, a soma dos deltas pendentes de cada SKU quente e a versão em memória,
+     * junto com o checkpoint do último segmento do journal coberto por eles. A versão do banco acompanha a
+     * da memória, então a carga após um reinício não devolve uma versão já entregue a clientes com outro saldo.
+     * No razão de movimentações, cada SKU ganha uma única movimentação com a soma do flush.
+     */
+    synchronized void flush() {
+        Map<String, Integer> deltas = new HashMap<>();
+        Map<String, Long> versoes = new HashMap<>();
+        long segmento;
+        journal.travar();
+        try {
+            for (SaldoMemoria saldo : saldos.values()) {
+                int delta = saldo.coletarPendente();
+                long versao = saldo.getVersao();
+                if (delta != 0) {
+                    deltas.put(saldo.getSku(), delta);
+                }
+                if (delta != 0 || versao != saldo.getVersaoGravada()) {
+                    versoes.put(saldo.getSku(), versao);
+                }
+            }
+            if (versoes.isEmpty()) {
+                return;
+            }
+            segmento = journal.rotacionar();
+        } catch (IOException e) {
+            devolverPendentes(deltas);
+            throw new UncheckedIOException(e);
+        } finally {
+            journal.destravar();
+        }
+        try {
+            persistir(deltas, versoes, segmento);
+            versoes.forEach((sku, versao) -> saldos.get(sku).definirVersaoGravada(versao));
+            journal.apagarAte(segmento);
+            log.debug("Flush do estoque em memória gravou {} SKUs até o segmento {}", deltas.size(), segmento);
+        } catch (IOException e) {
+            log.warn("Segmentos do journal já gravados não puderam ser apagados até {}", segmento, e);
+        } catch (RuntimeException e) {
+            // Os segmentos continuam no disco e o checkpoint não avançou: o próximo flush cobre estes deltas
+            devolverPendentes(deltas);
+            throw e;
+        }
+    }
+
+    private void flushAgendado() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Falha no flush do estoque em memória, nova tentativa no próximo ciclo", e);
+        }
+    }
+
+    private void recuperarJournal() throws IOException {
+        long checkpoint = checkpointRepository.findById(instancia).map(CheckpointMemoriaEntity::getSegmento).orElse(0L);
+        JournalEstoque.Recuperacao naoGravados = journal.lerApos(checkpoint);
+        long ultimo = journal.ultimoSegmentoFechado();
+        if (!naoGravados.isVazia()) {
+            log.info("Reaplicando journal do estoque em memória: {} SKUs, segmentos {} a {}", naoGravados.versoes().size(), checkpoint + 1, ultimo);
+            persistir(naoGravados.deltas(), naoGravados.versoes(), ultimo);
+        }
+        journal.apagarAte(ultimo);
+    }
+
+    private void persistir(Map<String, Integer> deltas, Map<String, Long> versoes, long segmento) {
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.aplicarDeltas(deltas, versoes);
+            repository.buscarPorSkus(versoes.keySet()).forEach(entity -> {
+                SaldoMemoria saldo = saldos.get(entity.getSku());
+                if (saldo != null) {
+                    saldo.definirMinimo(entity.getEstoqueMinimo());
+                }
+            });
+            if (outboxHabilitado) {
+                outboxRepository.registrarAlteracoes(deltas.keySet());
+            }
+            Map<String, Integer> variacoes = new HashMap<>();
+            deltas.forEach((sku, delta) -> variacoes.put(sku, -delta));
+            if (movimentacaoHabilitada) {
+                movimentacaoRepository.registrar(variacoes, MotivoMovimentacao.CONSOLIDACAO_MEMORIA, instancia, Instant.now());
+            }
+            // O cruzamento do mínimo é avaliado sobre a variação consolidada do intervalo de flush
+            if (alertaHabilitado) {
+                alertaRepository.registrarCruzamentos(variacoes, Instant.now());
+            }
+            checkpointRepository.save(CheckpointMemoriaEntity.builder().instancia(instancia).segmento(segmento).build());
+        });
+    }
+
+    private void registrar(SaldoMemoria saldo, int delta) {
+        long posicao;
+        try {
+            posicao = journal.registrar(saldo.getSku(), delta, saldo.getVersao(), () -> saldo.acumularPendente(delta));
+        } catch (IOException e) {
+            saldo.desfazer(delta);
+            throw new UncheckedIOException(e);
+        }
+        try {
+            journal.entregar(saldo.getSku(), posicao, () -> compensar(saldo, delta));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Desfaz uma alteração cuja entrega ao journal falhou. O registro original continua no buffer do journal e
+     * chega ao disco na próxima entrega, então o delta inverso é registrado atrás dele: a reaplicação após uma
+     * queda não aplica a alteração recusada.
+     */
+    private void compensar(SaldoMemoria saldo, int delta) {
+        saldo.desfazer(delta);
+        try {
+            journal.registrar(saldo.getSku(), -delta, saldo.getVersao(), () -> saldo.acumularPendente(-delta));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A alteração em memória não participa da transação do banco em que foi chamada (reserva, pedidos do Kafka,
+     * expiração de reservas). Se essa transação for desfeita, o delta é revertido no saldo e no journal.
+     */
+    private void desfazerSeTransacaoReverter(SaldoMemoria saldo, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    log.debug("Transação desfeita, revertendo delta {} em memória do SKU: {}", delta, saldo.getSku());
+                    saldo.repor(delta);
+                    registrar(saldo, -delta);
+                }
+            }
+        });
+    }
+
+    private void devolverPendentes(Map<String, Integer> deltas) {
+        deltas.forEach((sku, delta) -> saldos.get(sku).acumularPendente(delta));
+    }
+
+    private Estoque sobreporSaldo(Estoque estoque) {
+        SaldoMemoria saldo = saldos.get(estoque.getSku());
+        if (saldo == null) {
+            return estoque;
+        }
+        saldo.definirMinimo(estoque.getEstoqueMinimo());
+        return saldo.toDomain();
+    }
+}
@@ -0,0 +1,321 @@
+package com.fiap.estoque.gateway.memoria;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Journal append-only dos deltas aplicados em memória, dividido em segmentos numerados.
+ * Cada flush fecha o segmento corrente; segmentos já gravados no banco são apagados.
+ * <p>
+ * Cada segmento tem um arquivo por partição e o SKU define a partição, de modo que baixas de SKUs diferentes
+ * não disputam a mesma trava. A trava da partição cobre só a cópia do registro para o buffer; a entrega ao
+ * sistema operacional é agrupada: quem chega primeiro entrega também os registros gravados enquanto esperava.
+ * <p>
+ * Cada registro leva o SKU, o delta e a versão do saldo em memória após a alteração, para que a recuperação
+ * grave no banco a mesma versão que os clientes receberam.
+ * <p>
+ * Os registros ficam em um buffer em memória até a entrega. Se a escrita no arquivo falhar, o arquivo volta ao
+ * tamanho da última entrega completa e os registros continuam no buffer, na mesma ordem. Quem recebe a falha
+ * registra o delta inverso antes de outra entrega começar, e ele chega ao disco junto com o original.
+ */
+class JournalEstoque implements Closeable {
+
+    private static final String PREFIXO = "journal-";
+    private static final String SUFIXO = ".log";
+
+    private final Path diretorio;
+    private final Particao[] particoes;
+    private long segmentoAtual;
+
+    private final AbridorArquivo abridor;
+
+    JournalEstoque(Path diretorio, int quantidadeParticoes) throws IOException {
+        this(diretorio, quantidadeParticoes,
+                arquivo -> FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    JournalEstoque(Path diretorio, int quantidadeParticoes, AbridorArquivo abridor) throws IOException {
+        Files.createDirectories(diretorio);
+        this.diretorio = diretorio;
+        this.abridor = abridor;
+        this.segmentoAtual = segmentos().stream().mapToLong(Long::longValue).max().orElse(0L) + 1;
+        this.particoes = new Particao[Math.max(1, quantidadeParticoes)];
+        for (int i = 0; i < particoes.length; i++) {
+            particoes[i] = new Particao(i);
+            particoes[i].abrir(segmentoAtual);
+        }
+    }
+
+    /**
+     * Copia o registro para o buffer da partição do SKU e executa {@code aoRegistrar} sob a mesma trava, que também
+     * é tomada pela rotação: o que foi registrado antes de uma rotação pertence ao segmento fechado por ela.
+     * Retorna a posição a ser passada para {@link #entregar}.
+     */
+    long registrar(String sku, int delta, long versao, Runnable aoRegistrar) throws IOException {
+        Particao particao = particao(sku);
+        particao.trava.lock();
+        try {
+            particao.saida.writeUTF(sku);
+            particao.saida.writeInt(delta);
+            particao.saida.writeLong(versao);
+            aoRegistrar.run();
+            return ++particao.registrados;
+        } finally {
+            particao.trava.unlock();
+        }
+    }
+
+    /**
+     * Entrega ao sistema operacional os registros da partição até a posição informada: uma queda do processo
+     * não perde deltas confirmados. Uma única entrega cobre todos os registros que chegaram enquanto a anterior
+     * estava em andamento. Em caso de falha, nenhum desses registros fica no arquivo, todos voltam ao buffer e
+     * {@code aoFalhar} é executado antes que outra entrega da partição comece.
+     */
+    void entregar(String sku, long posicao, Runnable aoFalhar) throws IOException {
+        Particao particao = particao(sku);
+        if (particao.entregues >= posicao) {
+            return;
+        }
+        particao.travaEntrega.lock();
+        try {
+            if (particao.entregues >= posicao) {
+                return;
+            }
+            byte[] registros;
+            long ate;
+            particao.trava.lock();
+            try {
+                registros = particao.buffer.toByteArray();
+                particao.buffer.reset();
+                ate = particao.registrados;
+            } finally {
+                particao.trava.unlock();
+            }
+            try {
+                particao.escrever(registros);
+            } catch (IOException e) {
+                particao.trava.lock();
+                try {
+                    byte[] posteriores = particao.buffer.toByteArray();
+                    particao.buffer.reset();
+                    particao.buffer.write(registros);
+                    particao.buffer.write(posteriores);
+                } finally {
+                    particao.trava.unlock();
+                }
+                try {
+                    aoFalhar.run();
+                } catch (RuntimeException falhaAoCompensar) {
+                    e.addSuppressed(falhaAoCompensar);
+                }
+                throw e;
+            }
+            particao.entregues = ate;
+        } finally {
+            particao.travaEntrega.unlock();
+        }
+    }
+
+    /**
+     * Bloqueia todas as partições, em ordem, até {@link #destravar}: nenhum registro nem entrega é feito no intervalo.
+     * Como na entrega, a trava de entrega de cada partição é tomada antes da trava de registro.
+     */
+    void travar() {
+        for (Particao particao : particoes) {
+            particao.travaEntrega.lock();
+            particao.trava.lock();
+        }
+    }
+
+    void destravar() {
+        for (int i = particoes.length - 1; i >= 0; i--) {
+            particoes[i].trava.unlock();
+            particoes[i].travaEntrega.unlock();
+        }
+    }
+
+    /**
+     * Fecha o segmento corrente, abre o próximo e retorna o número do segmento fechado.
+     * Deve ser chamado entre {@link #travar} e {@link #destravar}.
+     */
+    long rotacionar() throws IOException {
+        long fechado = segmentoAtual++;
+        for (Particao particao : particoes) {
+            particao.escrever(particao.buffer.toByteArray());
+            particao.buffer.reset();
+            particao.canal.close();
+            particao.entregues = particao.registrados;
+            particao.abrir(segmentoAtual);
+        }
+        return fechado;
+    }
+
+    long ultimoSegmentoFechado() {
+        return segmentoAtual - 1;
+    }
+
+    /**
+     * Soma por SKU os deltas dos segmentos fechados posteriores ao checkpoint, em todas as partições, e guarda
+     * a maior versão registrada de cada SKU. Um registro incompleto no fim de um arquivo (queda durante a escrita)
+     * é descartado. Segmentos sem partição, do formato anterior, não têm versão: os SKUs deles ficam com versão 0.
+     */
+    Recuperacao lerApos(long checkpoint) throws IOException {
+        Map<String, Integer> deltas = new HashMap<>();
+        Map<String, Long> versoes = new HashMap<>();
+        for (Path arquivo : arquivos()) {
+            long segmento = segmento(arquivo);
+            if (segmento <= checkpoint || segmento >= segmentoAtual) {
+                continue;
+            }
+            boolean comVersao = particionado(arquivo);
+            try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+                while (true) {
+                    String sku = entrada.readUTF();
+                    int delta = entrada.readInt();
+                    long versao = comVersao ? entrada.readLong() : 0L;
+                    deltas.merge(sku, delta, Integer::sum);
+                    versoes.merge(sku, versao, Math::max);
+                }
+            } catch (EOFException fimDoArquivo) {
+                // fim do arquivo
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return new Recuperacao(deltas, versoes);
+    }
+
+    void apagarAte(long segmento) throws IOException {
+        for (Path arquivo : arquivos()) {
+            if (segmento(arquivo) <= segmento) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        travar();
+        try {
+            for (Particao particao : particoes) {
+                particao.escrever(particao.buffer.toByteArray());
+                particao.buffer.reset();
+                particao.canal.close();
+            }
+        } finally {
+            destravar();
+        }
+    }
+
+    private Particao particao(String sku) {
+        return particoes[Math.floorMod(sku.hashCode(), particoes.length)];
+    }
+
+    private Path arquivo(long segmento, int particao) {
+        return diretorio.resolve(PREFIXO + String.format("%019d", segmento) + "-" + particao + SUFIXO);
+    }
+
+    /**
+     * Número do segmento de um arquivo journal-{segmento}-{partição}.log (ou journal-{segmento}.log, sem partição).
+     */
+    private static long segmento(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        String meio = nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length());
+        int separador = meio.indexOf('-');
+        return Long.parseLong(separador < 0 ? meio : meio.substring(0, separador));
+    }
+
+    private static boolean particionado(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()).indexOf('-') >= 0;
+    }
+
+    private List<Path> arquivos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> p.getFileName().toString().startsWith(PREFIXO)
+                            && p.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<Long> segmentos() throws IOException {
+        return arquivos().stream().map(JournalEstoque::segmento).distinct().sorted().toList();
+    }
+
+    /**
+     * Deltas não nulos e maior versão de cada SKU registrado nos segmentos lidos; um SKU cujos deltas se anulam
+     * aparece só nas versões.
+     */
+    record Recuperacao(Map<String, Integer> deltas, Map<String, Long> versoes) {
+
+        boolean isVazia() {
+            return versoes.isEmpty();
+        }
+    }
+
+    /** Abre o arquivo de uma partição para escrita no fim. */
+    @FunctionalInterface
+    interface AbridorArquivo {
+        FileChannel abrir(Path arquivo) throws IOException;
+    }
+
+    private final class Particao {
+        private final int indice;
+        private final ReentrantLock trava = new ReentrantLock();
+        private final ReentrantLock travaEntrega = new ReentrantLock();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream saida = new DataOutputStream(buffer);
+        private FileChannel canal;
+        private long tamanhoEntregue;
+        private volatile long registrados;
+        private volatile long entregues;
+
+        private Particao(int indice) {
+            this.indice = indice;
+        }
+
+        private void abrir(long segmento) throws IOException {
+            canal = abridor.abrir(arquivo(segmento, indice));
+            tamanhoEntregue = canal.size();
+        }
+
+        /**
+         * Escreve os registros no fim do arquivo. Uma escrita interrompida deixaria um registro incompleto no meio
+         * do arquivo, então o arquivo volta ao tamanho anterior antes de a falha ser propagada.
+         */
+        private void escrever(byte[] registros) throws IOException {
+            if (registros.length == 0) {
+                return;
+            }
+            try {
+                ByteBuffer dados = ByteBuffer.wrap(registros);
+                while (dados.hasRemaining()) {
+                    canal.write(dados);
+                }
+            } catch (IOException e) {
+                try {
+                    canal.truncate(tamanhoEntregue);
+                } catch (IOException falhaAoTruncar) {
+                    e.addSuppressed(falhaAoTruncar);
+                }
+                throw e;
+            }
+            tamanhoEntregue += registros.length;
+        }
+    }
+}
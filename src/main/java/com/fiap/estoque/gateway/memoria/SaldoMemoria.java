@@ -0,0 +1,160 @@
+package com.fiap.estoque.gateway.memoria;
+
+import com.fiap.estoque.domain.Estoque;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saldo de um SKU quente mantido em memória. O saldo é alterado sem locks (CAS)
+ * e o pendente acumula os deltas ainda não gravados no banco.
+ * <p>
+ * Saldo (32 bits baixos) e versão (31 bits altos) ficam no mesmo AtomicLong, para que a atualização
+ * condicional pela versão e as baixas concorrentes sejam um único CAS. A versão parte da versão do
+ * banco na carga e é incrementada a cada alteração em memória; o flush grava no banco a versão em memória.
+ */
+class SaldoMemoria {
+
+    /** Retorno de tentarBaixar e definirSeVersao quando a operação não foi aplicada. */
+    static final long RECUSADO = -1;
+
+    private static final long MASCARA_SALDO = 0xFFFF_FFFFL;
+    private static final long MASCARA_VERSAO = 0x7FFF_FFFFL;
+
+    private final Long id;
+    private final String sku;
+    private final AtomicLong estado;
+    private final AtomicInteger pendente = new AtomicInteger();
+    private volatile Integer estoqueMinimo;
+    private volatile long versaoGravada;
+
+    SaldoMemoria(Long id, String sku, int saldoInicial, long versaoInicial, Integer estoqueMinimo) {
+        this.id = id;
+        this.sku = sku;
+        this.estado = new AtomicLong(compor(versaoInicial, saldoInicial));
+        this.estoqueMinimo = estoqueMinimo;
+        this.versaoGravada = versaoInicial;
+    }
+
+    String getSku() {
+        return sku;
+    }
+
+    int getSaldo() {
+        return saldo(estado.get());
+    }
+
+    long getVersao() {
+        return versao(estado.get());
+    }
+
+    /**
+     * Última versão gravada no banco pelo flush. Uma alteração desfeita muda a versão sem deixar delta pendente,
+     * então o flush compara as duas para saber se a linha precisa ser gravada.
+     */
+    long getVersaoGravada() {
+        return versaoGravada;
+    }
+
+    void definirVersaoGravada(long versao) {
+        this.versaoGravada = versao;
+    }
+
+    /**
+     * O mínimo é alterado só no banco; a cópia em memória é renovada na carga, a cada flush e nas listagens.
+     */
+    void definirMinimo(Integer estoqueMinimo) {
+        this.estoqueMinimo = estoqueMinimo;
+    }
+
+    /**
+     * Retorna o estado após a baixa ou RECUSADO quando o saldo atual não cobre a quantidade.
+     */
+    long tentarBaixar(int quantidade) {
+        while (true) {
+            long atual = estado.get();
+            int saldoAtual = saldo(atual);
+            if (saldoAtual < quantidade) {
+                return RECUSADO;
+            }
+            long novo = compor(versao(atual) + 1, saldoAtual - quantidade);
+            if (estado.compareAndSet(atual, novo)) {
+                return novo;
+            }
+        }
+    }
+
+    /**
+     * Define o saldo absoluto e retorna o estado anterior.
+     */
+    long definir(int novoSaldo) {
+        while (true) {
+            long atual = estado.get();
+            if (estado.compareAndSet(atual, compor(versao(atual) + 1, novoSaldo))) {
+                return atual;
+            }
+        }
+    }
+
+    /**
+     * Define o saldo absoluto somente se a versão atual for a informada. Retorna o estado anterior
+     * ou RECUSADO quando o saldo foi alterado desde a leitura da versão.
+     */
+    long definirSeVersao(int novoSaldo, long versaoEsperada) {
+        while (true) {
+            long atual = estado.get();
+            if (versao(atual) != versaoEsperada) {
+                return RECUSADO;
+            }
+            if (estado.compareAndSet(atual, compor(versao(atual) + 1, novoSaldo))) {
+                return atual;
+            }
+        }
+    }
+
+    /**
+     * Soma a quantidade ao saldo e retorna o novo estado.
+     */
+    long repor(int quantidade) {
+        while (true) {
+            long atual = estado.get();
+            long novo = compor(versao(atual) + 1, saldo(atual) + quantidade);
+            if (estado.compareAndSet(atual, novo)) {
+                return novo;
+            }
+        }
+    }
+
+    void desfazer(int delta) {
+        repor(delta);
+    }
+
+    void acumularPendente(int delta) {
+        pendente.addAndGet(delta);
+    }
+
+    int coletarPendente() {
+        return pendente.getAndSet(0);
+    }
+
+    Estoque toDomain() {
+        return toDomain(estado.get());
+    }
+
+    Estoque toDomain(long estado) {
+        return Estoque.builder().id(id).sku(sku).quantidadeDisponivel(saldo(estado)).versao(versao(estado))
+                .estoqueMinimo(estoqueMinimo).build();
+    }
+
+    static int saldo(long estado) {
+        return (int) estado;
+    }
+
+    static long versao(long estado) {
+        return estado >>> 32;
+    }
+
+    static long compor(long versao, int saldo) {
+        return (versao & MASCARA_VERSAO) << 32 | (saldo & MASCARA_SALDO);
+    }
+}
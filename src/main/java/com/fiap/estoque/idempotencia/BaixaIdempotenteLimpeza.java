@@ -0,0 +1,37 @@
+package com.fiap.estoque.idempotencia;
+
+import com.fiap.estoque.repository.BaixaIdempotenteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remove as chaves de idempotência mais antigas que estoque.idempotencia.retencao, pelo índice de criado_em.
+ * Depois disso uma repetição com a mesma chave é tratada como uma nova baixa.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.idempotencia.limpeza.habilitado", havingValue = "true", matchIfMissing = true)
+public class BaixaIdempotenteLimpeza {
+    private final BaixaIdempotenteRepository repository;
+
+    @Value("${estoque.idempotencia.retencao:24h}")
+    private Duration retencao = Duration.ofHours(24);
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${estoque.idempotencia.limpeza.intervalo:PT1M}")
+    public void limpar() {
+        int removidas = repository.removerAnteriores(Instant.now().minus(retencao));
+        if (removidas > 0) {
+            log.debug("Chaves de idempotência expiradas removidas: {}", removidas);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fiap.estoque.idempotencia;
+
+import com.fiap.estoque.repository.PedidoProcessadoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remove os pedidos processados mais antigos que estoque.pedidos.retencao, pelo índice de processado_em.
+ * A retenção deve cobrir o tempo em que o Kafka ainda pode reentregar o evento.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.pedidos.habilitado", havingValue = "true")
+public class PedidoProcessadoLimpeza {
+    private final PedidoProcessadoRepository repository;
+
+    @Value("${estoque.pedidos.retencao:7d}")
+    private Duration retencao = Duration.ofDays(7);
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${estoque.pedidos.limpeza.intervalo:PT1M}")
+    public void limpar() {
+        int removidos = repository.removerAnteriores(Instant.now().minus(retencao));
+        if (removidos > 0) {
+            log.debug("Pedidos processados expirados removidos: {}", removidos);
+        }
+    }
+}
@@ -1,15 +1,76 @@
 package com.fiap.estoque.mapper;
 
+import com.fiap.estoque.domain.BaixaIdempotente;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.Movimentacao;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.domain.Pedido;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.domain.SaldoNoInstante;
+import com.fiap.estoque.dto.evento.EstoqueAlertaEventoDTO;
+import com.fiap.estoque.dto.evento.EstoqueAlteradoEventoDTO;
+import com.fiap.estoque.dto.evento.PedidoCriadoEventoDTO;
+import com.fiap.estoque.dto.evento.ReservaEstoqueEventoDTO;
+import com.fiap.estoque.dto.request.BaixaItemRequestDTO;
 import com.fiap.estoque.dto.request.EstoqueRequestDTO;
+import com.fiap.estoque.dto.response.EstoqueDepositoResponseDTO;
 import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import com.fiap.estoque.dto.response.MovimentacaoResponseDTO;
+import com.fiap.estoque.dto.response.PaginaEstoqueResponseDTO;
+import com.fiap.estoque.dto.response.ReservaResponseDTO;
+import com.fiap.estoque.dto.response.ResultadoAlocacaoResponseDTO;
+import com.fiap.estoque.dto.response.SaldoNoInstanteResponseDTO;
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import com.fiap.estoque.entity.BaixaIdempotenteEntity;
+import com.fiap.estoque.entity.EstoqueDepositoEntity;
 import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.entity.MovimentacaoEstoqueEntity;
+import com.fiap.estoque.entity.OutboxEstoqueEntity;
+import com.fiap.estoque.entity.ReservaEstoqueEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface EstoqueMapper {
     Estoque toDomain(EstoqueEntity entity);
     EstoqueEntity toEntity(Estoque domain);
     EstoqueResponseDTO toResponseDTO(Estoque domain);
+    @Mapping(target = "estoqueMinimo", ignore = true)
     Estoque toDomain(EstoqueRequestDTO dto);
+    ItemBaixa toDomain(BaixaItemRequestDTO dto);
+    List<ItemBaixa> toItensBaixa(List<BaixaItemRequestDTO> dtos);
+    List<EstoqueResponseDTO> toResponseDTOs(List<Estoque> domains);
+    PaginaEstoqueResponseDTO toPaginaResponseDTO(PaginaEstoque pagina);
+    Pedido toDomain(PedidoCriadoEventoDTO evento);
+    ReservaEstoqueEventoDTO toEventoDTO(ResultadoReserva resultado);
+    @Mapping(target = "sequencia", source = "id")
+    @Mapping(target = "alteradoEm", source = "criadoEm")
+    EstoqueAlteradoEventoDTO toEventoDTO(OutboxEstoqueEntity outbox);
+    @Mapping(target = "sequencia", source = "id")
+    EstoqueAlertaEventoDTO toAlertaEventoDTO(AlertaEstoqueEntity alerta);
+    Reserva toDomain(ReservaEstoqueEntity entity);
+    ReservaResponseDTO toReservaResponseDTO(Reserva domain);
+    @Mapping(target = "resultado.id", source = "estoqueId")
+    @Mapping(target = "resultado.sku", source = "sku")
+    @Mapping(target = "resultado.quantidadeDisponivel", source = "quantidadeDisponivel")
+    @Mapping(target = "resultado.versao", source = "versao")
+    BaixaIdempotente toDomain(BaixaIdempotenteEntity entity);
+    @Mapping(target = "estoqueId", source = "resultado.id")
+    @Mapping(target = "quantidadeDisponivel", source = "resultado.quantidadeDisponivel")
+    @Mapping(target = "versao", source = "resultado.versao")
+    @Mapping(target = "criadoEm", ignore = true)
+    BaixaIdempotenteEntity toEntity(BaixaIdempotente domain);
+    EstoqueDeposito toDomain(EstoqueDepositoEntity entity);
+    List<EstoqueDepositoResponseDTO> toDepositoResponseDTOs(List<EstoqueDeposito> domains);
+    EstoqueDepositoResponseDTO toDepositoResponseDTO(EstoqueDeposito domain);
+    ResultadoAlocacaoResponseDTO toResultadoAlocacaoResponseDTO(ResultadoAlocacao domain);
+    Movimentacao toDomain(MovimentacaoEstoqueEntity entity);
+    List<MovimentacaoResponseDTO> toMovimentacaoResponseDTOs(List<Movimentacao> domains);
+    SaldoNoInstanteResponseDTO toSaldoNoInstanteResponseDTO(SaldoNoInstante domain);
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.fiap.estoque.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contadores de negócio do estoque. As unidades baixadas são separadas por faixa de SKU
+ * (quente ou padrão) para não criar uma série por SKU no Prometheus.
+ */
+@Component
+public class EstoqueMetricas {
+
+    static final String FAIXA_QUENTE = "quente";
+    static final String FAIXA_PADRAO = "padrao";
+
+    private final MeterRegistry registry;
+    private final Set<String> skusQuentes;
+    private final Counter estoqueInsuficiente;
+    private final Counter unidadesQuentes;
+    private final Counter unidadesPadrao;
+    private final Counter conflitosRepetidos;
+    private final Counter conflitosRecusados;
+    private final Counter reservasExpiradas;
+    private final AtomicInteger divergencias = new AtomicInteger();
+
+    public EstoqueMetricas(MeterRegistry registry,
+                           @Value("${estoque.metricas.skus-quentes:${estoque.memoria.skus:}}") Set<String> skusQuentes) {
+        this.registry = registry;
+        this.skusQuentes = Set.copyOf(skusQuentes);
+        this.estoqueInsuficiente = Counter.builder("estoque.baixa.estoque.insuficiente")
+                .description("Baixas recusadas por saldo insuficiente")
+                .register(registry);
+        this.unidadesQuentes = unidadesBaixadas(FAIXA_QUENTE);
+        this.unidadesPadrao = unidadesBaixadas(FAIXA_PADRAO);
+        this.conflitosRepetidos = conflitosDeVersao("repetida");
+        this.conflitosRecusados = conflitosDeVersao("recusada");
+        this.reservasExpiradas = Counter.builder("estoque.reserva.expiradas")
+                .description("Reservas vencidas devolvidas ao saldo pela expiração")
+                .register(registry);
+        Gauge.builder("estoque.movimentacao.divergencias", divergencias, AtomicInteger::get)
+                .description("SKUs com saldo divergente do razão de movimentações na última reconciliação")
+                .register(registry);
+    }
+
+    public void registrarBaixa(String sku, int quantidade) {
+        (skusQuentes.contains(sku) ? unidadesQuentes : unidadesPadrao).increment(quantidade);
+    }
+
+    public void registrarEstoqueInsuficiente() {
+        estoqueInsuficiente.increment();
+    }
+
+    public void registrarNaoEncontrado(String operacao) {
+        Counter.builder("estoque.nao.encontrado")
+                .description("Operações sobre SKUs sem estoque cadastrado")
+                .tag("operacao", operacao)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Conflito de versão em uma atualização de estoque: repetida automaticamente ou devolvida ao cliente (409).
+     */
+    public void registrarConflitoVersao(boolean repetida) {
+        (repetida ? conflitosRepetidos : conflitosRecusados).increment();
+    }
+
+    /**
+     * Repetição de uma baixa com Idempotency-Key respondida sem baixar de novo, pelo cache local ou pelo banco.
+     */
+    public void registrarBaixaRepetida(String origem) {
+        Counter.builder("estoque.baixa.repetida")
+                .description("Baixas com Idempotency-Key já processada")
+                .tag("origem", origem)
+                .register(registry)
+                .increment();
+    }
+
+    public void registrarReservasExpiradas(int quantidade) {
+        reservasExpiradas.increment(quantidade);
+    }
+
+    /**
+     * SKUs cujo saldo divergiu do razão de movimentações na última reconciliação.
+     */
+    public void registrarDivergencias(int quantidade) {
+        divergencias.set(quantidade);
+    }
+
+    private Counter conflitosDeVersao(String resultado) {
+        return Counter.builder("estoque.atualizacao.conflito")
+                .description("Atualizações de estoque que encontraram uma versão desatualizada")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private Counter unidadesBaixadas(String faixa) {
+        return Counter.builder("estoque.baixa.unidades")
+                .description("Unidades baixadas do estoque")
+                .tag("faixa", faixa)
+                .register(registry);
+    }
+}
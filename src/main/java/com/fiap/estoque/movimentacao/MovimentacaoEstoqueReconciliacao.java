@@ -0,0 +1,24 @@
+package com.fiap.estoque.movimentacao;
+
+import com.fiap.estoque.usecase.service.ReconciliarEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciliação periódica do estoque com o razão de movimentações. Apenas leitura: divergências são
+ * registradas no log e no gauge estoque.movimentacao.divergencias.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.movimentacao.reconciliacao.habilitado", havingValue = "true", matchIfMissing = true)
+public class MovimentacaoEstoqueReconciliacao {
+    private final ReconciliarEstoqueServiceUseCase reconciliarUseCase;
+
+    @Scheduled(fixedDelayString = "${estoque.movimentacao.reconciliacao.intervalo:PT1H}",
+            initialDelayString = "${estoque.movimentacao.reconciliacao.intervalo:PT1H}")
+    public void reconciliar() {
+        reconciliarUseCase.execute();
+    }
+}
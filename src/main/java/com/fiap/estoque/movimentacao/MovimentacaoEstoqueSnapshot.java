@@ -0,0 +1,23 @@
+package com.fiap.estoque.movimentacao;
+
+import com.fiap.estoque.usecase.service.TirarSnapshotEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshots periódicos do saldo a partir do razão de movimentações. Execuções concorrentes em várias
+ * instâncias gravam cortes diferentes, cada um correto; o mesmo corte duas vezes é recusado pela chave única.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.movimentacao.snapshot.habilitado", havingValue = "true", matchIfMissing = true)
+public class MovimentacaoEstoqueSnapshot {
+    private final TirarSnapshotEstoqueServiceUseCase tirarSnapshotUseCase;
+
+    @Scheduled(fixedDelayString = "${estoque.movimentacao.snapshot.intervalo:PT15M}")
+    public void tirar() {
+        tirarSnapshotUseCase.execute();
+    }
+}
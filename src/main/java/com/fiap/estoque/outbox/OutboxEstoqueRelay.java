@@ -0,0 +1,77 @@
+package com.fiap.estoque.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.estoque.entity.OutboxEstoqueEntity;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Drena o outbox de estoque para o Kafka em lotes, com o SKU como chave da mensagem.
+ * Dentro de cada lote, várias alterações do mesmo SKU viram um único evento com o saldo mais recente.
+ * Os registros só são apagados depois que o broker confirmou todos os eventos do lote.
+ * <p>
+ * Apenas uma instância do serviço deve executar o relay.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.outbox.relay.habilitado", havingValue = "true")
+public class OutboxEstoqueRelay {
+    private final OutboxEstoqueRepository outboxRepository;
+    private final EstoqueMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${estoque.outbox.topico}")
+    private String topico;
+
+    @Value("${estoque.outbox.tamanho-lote:500}")
+    private int tamanhoLote = 500;
+
+    @Scheduled(fixedDelayString = "${estoque.outbox.intervalo-relay:PT0.5S}")
+    public void drenar() {
+        List<OutboxEstoqueEntity> lote;
+        do {
+            lote = outboxRepository.buscarLote(PageRequest.of(0, tamanhoLote));
+            if (lote.isEmpty()) {
+                return;
+            }
+            publicar(lote);
+        } while (lote.size() == tamanhoLote);
+    }
+
+    private void publicar(List<OutboxEstoqueEntity> lote) {
+        Map<String, OutboxEstoqueEntity> ultimaPorSku = new LinkedHashMap<>();
+        for (OutboxEstoqueEntity alteracao : lote) {
+            // Remove antes de inserir para que os eventos saiam na ordem da última alteração de cada SKU
+            ultimaPorSku.remove(alteracao.getSku());
+            ultimaPorSku.put(alteracao.getSku(), alteracao);
+        }
+        CompletableFuture.allOf(ultimaPorSku.values().stream().map(this::enviar).toArray(CompletableFuture[]::new)).join();
+        outboxRepository.deleteAllByIdInBatch(lote.stream().map(OutboxEstoqueEntity::getId).toList());
+        log.debug("Outbox de estoque: {} alterações publicadas como {} eventos", lote.size(), ultimaPorSku.size());
+    }
+
+    private CompletableFuture<?> enviar(OutboxEstoqueEntity alteracao) {
+        try {
+            String evento = objectMapper.writeValueAsString(mapper.toEventoDTO(alteracao));
+            return kafkaTemplate.send(topico, alteracao.getSku(), evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar alteração de estoque do SKU " + alteracao.getSku(), e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fiap.estoque.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes com réplicas: toda escrita responde o cabeçalho Estoque-Sessao com o instante da escrita, e o
+ * cliente o reenvia nas leituras seguintes. Enquanto esse instante tiver menos de estoque.replica.leitura-propria,
+ * as leituras da requisição vão ao primário, sem cache, e não veem uma réplica atrasada.
+ * <p>
+ * Um instante no futuro só é aceito dentro de estoque.replica.tolerancia-relogio (diferença entre os relógios das
+ * instâncias): sem esse limite, um token forjado com um instante distante prenderia o cliente ao primário.
+ */
+@Component
+@ConditionalOnProperty(name = "estoque.replica.habilitado", havingValue = "true")
+public class LeituraPropriaFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO = "Estoque-Sessao";
+
+    private final long janelaMillis;
+    private final long toleranciaMillis;
+
+    public LeituraPropriaFilter(@Value("${estoque.replica.leitura-propria:5s}") Duration janela,
+                                @Value("${estoque.replica.tolerancia-relogio:1s}") Duration tolerancia) {
+        this.janelaMillis = janela.toMillis();
+        this.toleranciaMillis = tolerancia.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (escrita(request)) {
+            // Antes da cadeia: depois dela a resposta já foi enviada
+            response.setHeader(CABECALHO, Long.toString(System.currentTimeMillis()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!recente(request.getHeader(CABECALHO))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RoteamentoLeitura.exigirPrimario();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoteamentoLeitura.liberarPrimario();
+        }
+    }
+
+    private static boolean escrita(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        if ("GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo)) {
+            return false;
+        }
+        // A consulta em lote usa POST só para levar a lista de SKUs no corpo
+        return !request.getRequestURI().endsWith("/estoques/consulta");
+    }
+
+    private boolean recente(String token) {
+        if (token == null || janelaMillis <= 0) {
+            return false;
+        }
+        try {
+            long idade = System.currentTimeMillis() - Long.parseLong(token.trim());
+            return idade >= -toleranciaMillis && idade < janelaMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
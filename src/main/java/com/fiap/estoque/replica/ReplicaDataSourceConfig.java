@@ -0,0 +1,82 @@
+package com.fiap.estoque.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Com estoque.replica.habilitado=true, substitui o DataSource único do Spring Boot: o pool do primário continua
+ * configurado por spring.datasource.*, cada URL de estoque.replica.urls ganha um pool somente leitura, e o
+ * DataSource usado pelo JPA e pelo JdbcTemplate passa a ser o roteamento entre eles.
+ * <p>
+ * O perfil reativo não aceita réplicas: o LeituraPropriaFilter é um filtro de servlet e não roda no Netty, e os
+ * controllers anotados executam em outra thread, fora do alcance do RoteamentoLeitura. Sem ele, uma sessão leria
+ * na réplica a própria escrita ainda não replicada, então a aplicação não inicia com essa combinação.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "estoque.replica.habilitado", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    public ReplicaDataSourceConfig(Environment environment) {
+        if (environment.acceptsProfiles(Profiles.of("reativo"))) {
+            throw new IllegalStateException("estoque.replica.habilitado não é suportado no perfil reativo: "
+                    + "a leitura da própria escrita (cabeçalho Estoque-Sessao) depende dos filtros de servlet");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primarioDataSource,
+                                                             DataSourceProperties properties,
+                                                             @Value("${estoque.replica.urls}") List<String> urls,
+                                                             @Value("${estoque.replica.username:${spring.datasource.username:}}") String usuario,
+                                                             @Value("${estoque.replica.password:${spring.datasource.password:}}") String senha,
+                                                             @Value("${estoque.replica.tamanho-pool:10}") int tamanhoPool,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(usuario);
+            replica.setPassword(senha);
+            replica.setMaximumPoolSize(tamanhoPool);
+            // Uma escrita roteada por engano falha na réplica em vez de divergir do primário
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        log.info("Leituras de consulta roteadas para {} réplica(s)", replicas.size());
+        return new ReplicaRoutingDataSource(primarioDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.estoque.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escolhe a conexão de cada transação: réplica (em rodízio) para as leituras marcadas por
+ * {@link RoteamentoLeitura#naReplica}, primário para todo o resto. Deve ficar atrás de um
+ * LazyConnectionDataSourceProxy, para que a escolha aconteça no primeiro comando e não no início da transação.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARIO = "primario";
+
+    private final List<DataSource> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primario, List<DataSource> replicas) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            destinos.put(i, replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        this.replicas = List.copyOf(replicas);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !RoteamentoLeitura.isReplica()) {
+            return PRIMARIO;
+        }
+        return Math.floorMod(proxima.getAndIncrement(), replicas.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+}
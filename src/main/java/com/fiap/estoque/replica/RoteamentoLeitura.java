@@ -0,0 +1,53 @@
+package com.fiap.estoque.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca, por thread, as leituras que podem ir para uma réplica. Só as consultas e listagens executadas dentro
+ * de {@link #naReplica} são roteadas; todo o resto, inclusive leituras feitas dentro de uma escrita, continua
+ * no primário. Durante uma requisição de leitura própria (a sessão escreveu há pouco, ver LeituraPropriaFilter),
+ * naReplica também fica no primário.
+ */
+public final class RoteamentoLeitura {
+
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> LEITURA_PROPRIA = new ThreadLocal<>();
+
+    private RoteamentoLeitura() {
+    }
+
+    public static <T> T naReplica(Supplier<T> leitura) {
+        if (REPLICA.get() != null) {
+            return leitura.get();
+        }
+        REPLICA.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            REPLICA.remove();
+        }
+    }
+
+    public static void naReplica(Runnable leitura) {
+        naReplica(() -> {
+            leitura.run();
+            return null;
+        });
+    }
+
+    public static boolean isReplica() {
+        return REPLICA.get() != null && LEITURA_PROPRIA.get() == null;
+    }
+
+    public static boolean isLeituraPropria() {
+        return LEITURA_PROPRIA.get() != null;
+    }
+
+    public static void exigirPrimario() {
+        LEITURA_PROPRIA.set(Boolean.TRUE);
+    }
+
+    public static void liberarPrimario() {
+        LEITURA_PROPRIA.remove();
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AlertaEstoqueRepository extends JpaRepository<AlertaEstoqueEntity, Long>, AlertaEstoqueRepositoryCustom {
+
+    @Query("SELECT a FROM AlertaEstoqueEntity a ORDER BY a.id")
+    List<AlertaEstoqueEntity> buscarLote(Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.fiap.estoque.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface AlertaEstoqueRepositoryCustom {
+
+    /**
+     * Grava um alerta para cada SKU cujo saldo atual e o saldo antes da variação informada estão em lados
+     * diferentes do estoque mínimo. Usado quando a alteração já foi aplicada sem devolver as linhas.
+     */
+    void registrarCruzamentos(Map<String, Integer> variacoesPorSku, Instant criadoEm);
+}
@@ -0,0 +1,34 @@
+package com.fiap.estoque.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AlertaEstoqueRepositoryCustomImpl implements AlertaEstoqueRepositoryCustom {
+
+    private static final String REGISTRAR_CRUZAMENTO =
+            "INSERT INTO estoque_alerta (sku, tipo, quantidade_disponivel, estoque_minimo, criado_em) " +
+            "SELECT sku, CASE WHEN quantidade_disponivel < estoque_minimo THEN 'ABAIXO_MINIMO' ELSE 'NORMALIZADO' END, " +
+            "quantidade_disponivel, estoque_minimo, ? FROM estoque " +
+            "WHERE sku = ? AND estoque_minimo IS NOT NULL " +
+            "AND (quantidade_disponivel < estoque_minimo) <> (quantidade_disponivel - ? < estoque_minimo)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void registrarCruzamentos(Map<String, Integer> variacoesPorSku, Instant criadoEm) {
+        List<Map.Entry<String, Integer>> variacoes = new ArrayList<>(variacoesPorSku.entrySet());
+        Timestamp instante = Timestamp.from(criadoEm);
+        jdbcTemplate.batchUpdate(REGISTRAR_CRUZAMENTO, variacoes, variacoes.size(), (ps, variacao) -> {
+            ps.setTimestamp(1, instante);
+            ps.setString(2, variacao.getKey());
+            ps.setInt(3, variacao.getValue());
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.BaixaIdempotenteEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface BaixaIdempotenteRepository extends JpaRepository<BaixaIdempotenteEntity, String>, BaixaIdempotenteRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM BaixaIdempotenteEntity b WHERE b.criadoEm < :limite")
+    int removerAnteriores(@Param("limite") Instant limite);
+}
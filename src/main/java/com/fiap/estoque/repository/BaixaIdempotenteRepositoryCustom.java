@@ -0,0 +1,17 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.BaixaIdempotenteEntity;
+
+public interface BaixaIdempotenteRepositoryCustom {
+
+    /**
+     * INSERT simples, sem a consulta prévia do save() para ids atribuídos: uma chave já gravada
+     * resulta em DuplicateKeyException.
+     */
+    void inserir(BaixaIdempotenteEntity baixa);
+
+    /**
+     * Grava o saldo devolvido pela baixa na chave já reservada pela transação corrente.
+     */
+    void registrarResultado(String chave, Long estoqueId, Integer quantidadeDisponivel, Long versao);
+}
@@ -0,0 +1,31 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.BaixaIdempotenteEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+@RequiredArgsConstructor
+public class BaixaIdempotenteRepositoryCustomImpl implements BaixaIdempotenteRepositoryCustom {
+
+    private static final String INSERIR =
+            "INSERT INTO estoque_baixa_idempotente (chave, sku, quantidade, estoque_id, quantidade_disponivel, versao, criado_em) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String REGISTRAR_RESULTADO =
+            "UPDATE estoque_baixa_idempotente SET estoque_id = ?, quantidade_disponivel = ?, versao = ? WHERE chave = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void inserir(BaixaIdempotenteEntity baixa) {
+        jdbcTemplate.update(INSERIR, baixa.getChave(), baixa.getSku(), baixa.getQuantidade(), baixa.getEstoqueId(),
+                baixa.getQuantidadeDisponivel(), baixa.getVersao(), Timestamp.from(baixa.getCriadoEm()));
+    }
+
+    @Override
+    public void registrarResultado(String chave, Long estoqueId, Integer quantidadeDisponivel, Long versao) {
+        jdbcTemplate.update(REGISTRAR_RESULTADO, estoqueId, quantidadeDisponivel, versao, chave);
+    }
+}
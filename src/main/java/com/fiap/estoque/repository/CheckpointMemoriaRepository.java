@@ -0,0 +1,7 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.CheckpointMemoriaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CheckpointMemoriaRepository extends JpaRepository<CheckpointMemoriaEntity, String> {
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.EstoqueDepositoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EstoqueDepositoRepository extends JpaRepository<EstoqueDepositoEntity, Long>, EstoqueDepositoRepositoryCustom {
+
+    List<EstoqueDepositoEntity> findBySkuOrderByDeposito(String sku);
+
+    Optional<EstoqueDepositoEntity> findBySkuAndDeposito(String sku, String deposito);
+}
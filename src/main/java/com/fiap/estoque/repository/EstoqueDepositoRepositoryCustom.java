@@ -0,0 +1,28 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.domain.Alocacao;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+
+import java.util.List;
+
+public interface EstoqueDepositoRepositoryCustom {
+
+    /**
+     * Trava a linha do SKU em estoque (SELECT ... FOR UPDATE) até o fim da transação, serializando as
+     * alterações por depósito do SKU. Retorna false quando o SKU não existe.
+     */
+    boolean travarSku(String sku);
+
+    /**
+     * Soma dos saldos do SKU em todos os depósitos (zero sem depósitos).
+     */
+    int somarPorSku(String sku);
+
+    /**
+     * Retira a quantidade dos depósitos do SKU conforme a estratégia, percorrendo primeiro os depósitos
+     * de {@code preferencia} na ordem informada e depois os demais por código. Retorna as retiradas feitas,
+     * na mesma ordem; a soma pode ser menor que a quantidade quando os depósitos não a cobrem.
+     * Deve ser chamado com o SKU travado na transação corrente.
+     */
+    List<Alocacao> alocar(String sku, int quantidade, EstrategiaAlocacao estrategia, List<String> preferencia);
+}
@@ -0,0 +1,116 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.domain.Alocacao;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EstoqueDepositoRepositoryCustomImpl implements EstoqueDepositoRepositoryCustom {
+
+    private static final String TRAVAR_SKU = "SELECT id FROM estoque WHERE sku = ? FOR UPDATE";
+
+    private static final String SOMAR_POR_SKU =
+            "SELECT COALESCE(SUM(quantidade_disponivel), 0) FROM estoque_deposito WHERE sku = ?";
+
+    /**
+     * Depósitos com saldo e a ordem de cada um: a posição na preferência ou, fora dela, depois de todos
+     * os preferidos. O marcador {ordem} recebe um CASE com um parâmetro por depósito preferido.
+     */
+    private static final String DEPOSITOS_COM_SALDO =
+            "SELECT id, deposito, quantidade_disponivel, {ordem} AS ordem FROM estoque_deposito " +
+            "WHERE sku = ? AND quantidade_disponivel >= ?";
+
+    /** Primeiro depósito, na ordem, que cobre toda a quantidade. */
+    private static final String PLANO_PROXIMO =
+            "SELECT id, deposito, ordem, CAST(? AS INTEGER) AS retirada FROM (" + DEPOSITOS_COM_SALDO + ") d " +
+            "ORDER BY ordem, deposito LIMIT 1";
+
+    /** Retirada de cada depósito: o saldo dele, limitado ao que falta após os depósitos anteriores na ordem. */
+    private static final String PLANO_DIVIDIR =
+            "SELECT id, deposito, ordem, retirada FROM (" +
+            "SELECT id, deposito, ordem, LEAST(quantidade_disponivel, CAST(? AS INTEGER) - (SUM(quantidade_disponivel) " +
+            "OVER (ORDER BY ordem, deposito ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) - quantidade_disponivel)) AS retirada " +
+            "FROM (" + DEPOSITOS_COM_SALDO + ") d) p WHERE retirada > 0";
+
+    private static final String APLICAR_RETIRADA =
+            "UPDATE estoque_deposito SET quantidade_disponivel = quantidade_disponivel - ? WHERE id = ?";
+
+    private static final String APLICAR_PLANO_RETORNANDO =
+            "UPDATE estoque_deposito e SET quantidade_disponivel = e.quantidade_disponivel - p.retirada " +
+            "FROM ({plano}) p WHERE e.id = p.id RETURNING p.deposito, p.ordem, p.retirada";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${estoque.baixa.update-returning:false}")
+    private boolean updateReturning;
+
+    @Override
+    public boolean travarSku(String sku) {
+        return !jdbcTemplate.queryForList(TRAVAR_SKU, Long.class, sku).isEmpty();
+    }
+
+    @Override
+    public int somarPorSku(String sku) {
+        Integer soma = jdbcTemplate.queryForObject(SOMAR_POR_SKU, Integer.class, sku);
+        return soma == null ? 0 : soma;
+    }
+
+    /**
+     * O plano é calculado pelo banco em uma única consulta (janela com soma acumulada para DIVIDIR).
+     * Com estoque.baixa.update-returning (PostgreSQL) plano e retirada são um único UPDATE ... FROM ... RETURNING;
+     * nos demais bancos o plano é consultado e aplicado com um único batch.
+     */
+    @Override
+    public List<Alocacao> alocar(String sku, int quantidade, EstrategiaAlocacao estrategia, List<String> preferencia) {
+        boolean proximo = estrategia == EstrategiaAlocacao.PROXIMO;
+        String plano = (proximo ? PLANO_PROXIMO : PLANO_DIVIDIR).replace("{ordem}", ordem(preferencia.size()));
+        List<Object> parametros = new ArrayList<>(preferencia.size() + 3);
+        parametros.add(quantidade);
+        parametros.addAll(preferencia);
+        parametros.add(sku);
+        parametros.add(proximo ? quantidade : 1);
+
+        if (updateReturning) {
+            List<Retirada> retiradas = new ArrayList<>(jdbcTemplate.query(APLICAR_PLANO_RETORNANDO.replace("{plano}", plano),
+                    (rs, i) -> new Retirada(0, rs.getString("deposito"), rs.getInt("ordem"), rs.getInt("retirada")),
+                    parametros.toArray()));
+            retiradas.sort(Retirada.ORDEM);
+            return retiradas.stream().map(Retirada::toDomain).toList();
+        }
+        List<Retirada> retiradas = new ArrayList<>(jdbcTemplate.query(plano,
+                (rs, i) -> new Retirada(rs.getLong("id"), rs.getString("deposito"), rs.getInt("ordem"), rs.getInt("retirada")),
+                parametros.toArray()));
+        retiradas.sort(Retirada.ORDEM);
+        jdbcTemplate.batchUpdate(APLICAR_RETIRADA, retiradas, retiradas.size(), (ps, retirada) -> {
+            ps.setInt(1, retirada.quantidade());
+            ps.setLong(2, retirada.id());
+        });
+        return retiradas.stream().map(Retirada::toDomain).toList();
+    }
+
+    private static String ordem(int preferidos) {
+        if (preferidos == 0) {
+            return "0";
+        }
+        StringBuilder caso = new StringBuilder("CASE deposito");
+        for (int i = 0; i < preferidos; i++) {
+            caso.append(" WHEN ? THEN ").append(i);
+        }
+        return caso.append(" ELSE ").append(preferidos).append(" END").toString();
+    }
+
+    private record Retirada(long id, String deposito, int ordem, int quantidade) {
+
+        static final Comparator<Retirada> ORDEM = Comparator.comparingInt(Retirada::ordem).thenComparing(Retirada::deposito);
+
+        Alocacao toDomain() {
+            return Alocacao.builder().deposito(deposito).quantidade(quantidade).build();
+        }
+    }
+}
@@ -1,10 +1,73 @@
 package com.fiap.estoque.repository;
 
 import com.fiap.estoque.entity.EstoqueEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EstoqueRepository extends JpaRepository<EstoqueEntity, Long> {
+public interface EstoqueRepository extends JpaRepository<EstoqueEntity, Long>, EstoqueRepositoryCustom {
     Optional<EstoqueEntity> findBySku(String sku);
+
+    List<EstoqueEntity> findBySkuInOrderBySku(Collection<String> skus);
+
+    boolean existsBySku(String sku);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EstoqueEntity e WHERE e.sku = :sku")
+    Optional<EstoqueEntity> travarPorSku(@Param("sku") String sku);
+
+    /**
+     * Define o estoque mínimo sem incrementar a versão, que só muda com o saldo.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EstoqueEntity e SET e.estoqueMinimo = :estoqueMinimo WHERE e.sku = :sku")
+    int definirEstoqueMinimo(@Param("sku") String sku, @Param("estoqueMinimo") Integer estoqueMinimo);
+
+    /**
+     * Baixa condicional em um único comando: só decrementa se houver saldo suficiente.
+     * Retorna a quantidade de linhas afetadas (0 quando o SKU não existe ou o saldo é insuficiente).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EstoqueEntity e SET e.quantidadeDisponivel = e.quantidadeDisponivel - :quantidade, " +
+            "e.versao = e.versao + 1 WHERE e.sku = :sku AND e.quantidadeDisponivel >= :quantidade")
+    int baixarSeDisponivel(@Param("sku") String sku, @Param("quantidade") int quantidade);
+
+    /**
+     * Baixa condicional com RETURNING (PostgreSQL): decrementa e devolve a linha atualizada em um único round trip.
+     */
+    @Query(value = "UPDATE estoque SET quantidade_disponivel = quantidade_disponivel - :quantidade, versao = versao + 1 " +
+            "WHERE sku = :sku AND quantidade_disponivel >= :quantidade RETURNING *", nativeQuery = true)
+    Optional<EstoqueEntity> baixarSeDisponivelRetornando(@Param("sku") String sku, @Param("quantidade") int quantidade);
+
+    /**
+     * Atualização condicional (otimista): só grava o novo saldo se a versão ainda for a informada.
+     * Retorna 0 quando o SKU não existe ou foi alterado desde a leitura da versão.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EstoqueEntity e SET e.quantidadeDisponivel = :quantidade, e.versao = e.versao + 1 " +
+            "WHERE e.sku = :sku AND e.versao = :versao")
+    int atualizarSeVersao(@Param("sku") String sku, @Param("quantidade") int quantidade, @Param("versao") long versao);
+
+    /**
+     * Reposição atômica: soma a quantidade ao saldo atual no próprio UPDATE, sem leitura prévia nem lock explícito.
+     * Retorna 0 quando o SKU não existe.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EstoqueEntity e SET e.quantidadeDisponivel = e.quantidadeDisponivel + :quantidade, " +
+            "e.versao = e.versao + 1 WHERE e.sku = :sku")
+    int repor(@Param("sku") String sku, @Param("quantidade") int quantidade);
+
+    /**
+     * Reposição com RETURNING (PostgreSQL): soma e devolve a linha atualizada em um único round trip.
+     */
+    @Query(value = "UPDATE estoque SET quantidade_disponivel = quantidade_disponivel + :quantidade, versao = versao + 1 " +
+            "WHERE sku = :sku RETURNING *", nativeQuery = true)
+    Optional<EstoqueEntity> reporRetornando(@Param("sku") String sku, @Param("quantidade") int quantidade);
 }
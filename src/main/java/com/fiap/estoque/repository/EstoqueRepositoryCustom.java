@@ -0,0 +1,66 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.entity.EstoqueEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface EstoqueRepositoryCustom {
+
+    /**
+     * Aplica as baixas condicionais em um único batch JDBC.
+     * Retorna os SKUs cuja baixa não afetou nenhuma linha (inexistentes ou com saldo insuficiente).
+     */
+    List<String> baixarEmLote(Map<String, Integer> quantidadesPorSku);
+
+    /**
+     * Aplica uma baixa condicional por item, na ordem informada, em um único batch JDBC (SKUs repetidos
+     * geram uma baixa cada). Retorna as linhas afetadas por item: 0 quando o SKU não existe ou o saldo
+     * não cobre a quantidade.
+     */
+    int[] baixarCondicional(List<ItemBaixa> itens);
+
+    /**
+     * Insere ou atualiza (pelo SKU) os estoques informados em um único batch JDBC.
+     */
+    void upsertEmLote(List<EstoqueEntity> estoques);
+
+    /**
+     * Trava (SELECT ... FOR UPDATE, na ordem dos SKUs) as linhas existentes dos SKUs informados e devolve
+     * o saldo de cada uma. Deve ser chamado dentro de uma transação.
+     */
+    Map<String, Integer> travarSaldos(Collection<String> skus);
+
+    /**
+     * Para cada SKU de {@code versoesPorSku}, subtrai o delta informado (negativo soma; ausente é zero), sem condição
+     * de saldo, e grava a versão informada se ela for maior que a da linha, em um único batch JDBC.
+     */
+    void aplicarDeltas(Map<String, Integer> deltasPorSku, Map<String, Long> versoesPorSku);
+
+    /**
+     * Percorre todos os estoques ordenados por SKU com um cursor forward-only e fetch size fixo,
+     * entregando uma linha por vez ao consumidor. Deve ser chamado dentro de uma transação.
+     */
+    void percorrerTodos(Consumer<EstoqueEntity> consumidor);
+
+    /**
+     * Busca os estoques dos SKUs informados em uma única consulta ({@code sku = ANY(?)}), com a lista
+     * de SKUs enviada como um único parâmetro array. SKUs inexistentes são omitidos.
+     */
+    List<EstoqueEntity> buscarPorSkus(Collection<String> skus);
+
+    /**
+     * Busca uma página por keyset ({@code sku > aposSku}) sobre o índice único de SKU,
+     * aplicando somente os filtros de quantidade informados (nulos são ignorados).
+     */
+    List<EstoqueEntity> buscarPagina(String aposSku, Integer quantidadeMin, Integer quantidadeMax, int limite);
+
+    /**
+     * Busca por keyset os SKUs com saldo abaixo do estoque mínimo. No PostgreSQL, percorre apenas o
+     * índice parcial desses SKUs, sem ler os demais.
+     */
+    List<EstoqueEntity> buscarAbaixoDoMinimo(String aposSku, int limite);
+}
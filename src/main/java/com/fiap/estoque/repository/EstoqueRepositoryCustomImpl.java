@@ -0,0 +1,206 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.entity.EstoqueEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class EstoqueRepositoryCustomImpl implements EstoqueRepositoryCustom {
+
+    private static final String BAIXA_CONDICIONAL =
+            "UPDATE estoque SET quantidade_disponivel = quantidade_disponivel - ?, versao = versao + 1 " +
+            "WHERE sku = ? AND quantidade_disponivel >= ?";
+
+    // A versão vem do motor em memória, que a incrementa a cada alteração; GREATEST impede que ela volte
+    private static final String APLICAR_DELTA =
+            "UPDATE estoque SET quantidade_disponivel = quantidade_disponivel - ?, versao = GREATEST(versao, ?) WHERE sku = ?";
+
+    private static final String UPSERT_ON_CONFLICT =
+            "INSERT INTO estoque (sku, quantidade_disponivel) VALUES (?, ?) " +
+            "ON CONFLICT (sku) DO UPDATE SET quantidade_disponivel = EXCLUDED.quantidade_disponivel, versao = estoque.versao + 1";
+
+    private static final String UPSERT_MERGE =
+            "MERGE INTO estoque e USING (VALUES (CAST(? AS VARCHAR), CAST(? AS INTEGER))) n (sku, quantidade_disponivel) " +
+            "ON e.sku = n.sku " +
+            "WHEN MATCHED THEN UPDATE SET quantidade_disponivel = n.quantidade_disponivel, versao = e.versao + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (sku, quantidade_disponivel) VALUES (n.sku, n.quantidade_disponivel)";
+
+    private static final String TRAVAR_SALDOS =
+            "SELECT sku, quantidade_disponivel FROM estoque WHERE sku IN ({skus}) ORDER BY sku FOR UPDATE";
+
+    private static final int MAXIMO_SKUS_POR_COMANDO = 1000;
+
+    private static final String SELECT_TODOS =
+            "SELECT id, sku, quantidade_disponivel, versao, estoque_minimo FROM estoque ORDER BY sku";
+
+    // Um único parâmetro array: o texto do comando é o mesmo para qualquer quantidade de SKUs
+    private static final String SELECT_POR_SKUS =
+            "SELECT id, sku, quantidade_disponivel, versao, estoque_minimo FROM estoque WHERE sku = ANY(?)";
+
+    private static final String SELECT_PAGINA =
+            "SELECT id, sku, quantidade_disponivel, versao, estoque_minimo FROM estoque WHERE 1 = 1";
+
+    // O predicado é o mesmo do índice parcial idx_estoque_abaixo_minimo, para que o PostgreSQL o use
+    private static final String SELECT_ABAIXO_MINIMO =
+            "SELECT id, sku, quantidade_disponivel, versao, estoque_minimo FROM estoque " +
+            "WHERE quantidade_disponivel < estoque_minimo AND sku > ? ORDER BY sku LIMIT ?";
+
+    private static final RowMapper<EstoqueEntity> ESTOQUE_ROW_MAPPER = (rs, i) -> EstoqueEntity.builder()
+            .id(rs.getLong("id"))
+            .sku(rs.getString("sku"))
+            .quantidadeDisponivel(rs.getInt("quantidade_disponivel"))
+            .versao(rs.getLong("versao"))
+            .estoqueMinimo(rs.getObject("estoque_minimo", Integer.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${estoque.importacao.on-conflict:false}")
+    private boolean onConflict;
+
+    @Value("${estoque.exportacao.tamanho-fetch:1000}")
+    private int tamanhoFetch = 1000;
+
+    @Override
+    public List<String> baixarEmLote(Map<String, Integer> quantidadesPorSku) {
+        List<Map.Entry<String, Integer>> itens = new ArrayList<>(quantidadesPorSku.entrySet());
+        int[] linhasAfetadas = jdbcTemplate.batchUpdate(BAIXA_CONDICIONAL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<String, Integer> item = itens.get(i);
+                ps.setInt(1, item.getValue());
+                ps.setString(2, item.getKey());
+                ps.setInt(3, item.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return itens.size();
+            }
+        });
+        List<String> rejeitados = new ArrayList<>();
+        for (int i = 0; i < linhasAfetadas.length; i++) {
+            if (linhasAfetadas[i] == 0) {
+                rejeitados.add(itens.get(i).getKey());
+            }
+        }
+        return rejeitados;
+    }
+
+    @Override
+    public int[] baixarCondicional(List<ItemBaixa> itens) {
+        return jdbcTemplate.batchUpdate(BAIXA_CONDICIONAL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ItemBaixa item = itens.get(i);
+                ps.setInt(1, item.getQuantidade());
+                ps.setString(2, item.getSku());
+                ps.setInt(3, item.getQuantidade());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return itens.size();
+            }
+        });
+    }
+
+    @Override
+    public void upsertEmLote(List<EstoqueEntity> estoques) {
+        jdbcTemplate.batchUpdate(onConflict ? UPSERT_ON_CONFLICT : UPSERT_MERGE, estoques, estoques.size(),
+                (ps, estoque) -> {
+                    ps.setString(1, estoque.getSku());
+                    ps.setInt(2, estoque.getQuantidadeDisponivel());
+                });
+    }
+
+    @Override
+    public Map<String, Integer> travarSaldos(Collection<String> skus) {
+        List<String> lista = new ArrayList<>(new TreeSet<>(skus));
+        Map<String, Integer> saldos = new HashMap<>();
+        for (int inicio = 0; inicio < lista.size(); inicio += MAXIMO_SKUS_POR_COMANDO) {
+            List<String> parte = lista.subList(inicio, Math.min(inicio + MAXIMO_SKUS_POR_COMANDO, lista.size()));
+            String sql = TRAVAR_SALDOS.replace("{skus}", String.join(", ", Collections.nCopies(parte.size(), "?")));
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> saldos.put(rs.getString("sku"), rs.getInt("quantidade_disponivel")),
+                    parte.toArray());
+        }
+        return saldos;
+    }
+
+    @Override
+    public void aplicarDeltas(Map<String, Integer> deltasPorSku, Map<String, Long> versoesPorSku) {
+        List<Map.Entry<String, Long>> versoes = new ArrayList<>(versoesPorSku.entrySet());
+        jdbcTemplate.batchUpdate(APLICAR_DELTA, versoes, versoes.size(), (ps, versao) -> {
+            ps.setInt(1, deltasPorSku.getOrDefault(versao.getKey(), 0));
+            ps.setLong(2, versao.getValue());
+            ps.setString(3, versao.getKey());
+        });
+    }
+
+    @Override
+    public void percorrerTodos(Consumer<EstoqueEntity> consumidor) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_TODOS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(tamanhoFetch);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(ESTOQUE_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public List<EstoqueEntity> buscarPorSkus(Collection<String> skus) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_POR_SKUS);
+            ps.setArray(1, con.createArrayOf("VARCHAR", skus.toArray()));
+            return ps;
+        }, ESTOQUE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<EstoqueEntity> buscarPagina(String aposSku, Integer quantidadeMin, Integer quantidadeMax, int limite) {
+        // Só os predicados informados entram no SQL, para que o planner use o índice adequado a cada combinação
+        StringBuilder sql = new StringBuilder(SELECT_PAGINA);
+        List<Object> parametros = new ArrayList<>(4);
+        if (aposSku != null) {
+            sql.append(" AND sku > ?");
+            parametros.add(aposSku);
+        }
+        if (quantidadeMin != null && quantidadeMin.equals(quantidadeMax)) {
+            sql.append(" AND quantidade_disponivel = ?");
+            parametros.add(quantidadeMin);
+        } else {
+            if (quantidadeMin != null) {
+                sql.append(" AND quantidade_disponivel >= ?");
+                parametros.add(quantidadeMin);
+            }
+            if (quantidadeMax != null) {
+                sql.append(" AND quantidade_disponivel <= ?");
+                parametros.add(quantidadeMax);
+            }
+        }
+        sql.append(" ORDER BY sku LIMIT ?");
+        parametros.add(limite);
+        return jdbcTemplate.query(sql.toString(), ESTOQUE_ROW_MAPPER, parametros.toArray());
+    }
+
+    @Override
+    public List<EstoqueEntity> buscarAbaixoDoMinimo(String aposSku, int limite) {
+        return jdbcTemplate.query(SELECT_ABAIXO_MINIMO, ESTOQUE_ROW_MAPPER, aposSku, limite);
+    }
+}
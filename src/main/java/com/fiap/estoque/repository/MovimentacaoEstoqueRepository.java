@@ -0,0 +1,23 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.MovimentacaoEstoqueEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface MovimentacaoEstoqueRepository extends JpaRepository<MovimentacaoEstoqueEntity, Long>, MovimentacaoEstoqueRepositoryCustom {
+
+    @Query("SELECT m FROM MovimentacaoEstoqueEntity m WHERE m.sku = :sku AND m.id > :aposId ORDER BY m.id")
+    List<MovimentacaoEstoqueEntity> buscarPorSku(@Param("sku") String sku, @Param("aposId") long aposId, Pageable pageable);
+
+    /**
+     * Soma das variações do SKU registradas no intervalo (desde, ate], pelo índice (sku, registrado_em).
+     */
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM MovimentacaoEstoqueEntity m " +
+            "WHERE m.sku = :sku AND m.registradoEm > :desde AND m.registradoEm <= :ate")
+    long somarDeltas(@Param("sku") String sku, @Param("desde") Instant desde, @Param("ate") Instant ate);
+}
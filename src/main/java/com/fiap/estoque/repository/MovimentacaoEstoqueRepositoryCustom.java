@@ -0,0 +1,29 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.domain.MotivoMovimentacao;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface MovimentacaoEstoqueRepositoryCustom {
+
+    /**
+     * Insere em um único batch uma movimentação por SKU com variação diferente de zero.
+     */
+    void registrar(Map<String, Integer> deltasPorSku, MotivoMovimentacao motivo, String origem, Instant registradoEm);
+
+    /**
+     * Último SKU do lote de até {@code tamanho} SKUs de estoque posteriores a {@code aposSku}, ou vazio
+     * quando não há mais SKUs.
+     */
+    Optional<String> buscarFimDoLote(String aposSku, int tamanho);
+
+    /**
+     * SKUs do intervalo (aposSku, ateSku] cujo saldo em estoque difere do reconstruído pelo último
+     * snapshot e pelas movimentações seguintes. Saldo e movimentações são lidos no mesmo comando.
+     */
+    List<DivergenciaEstoque> buscarDivergencias(String aposSku, String ateSku);
+}
@@ -0,0 +1,64 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.domain.MotivoMovimentacao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class MovimentacaoEstoqueRepositoryCustomImpl implements MovimentacaoEstoqueRepositoryCustom {
+
+    private static final String INSERIR =
+            "INSERT INTO estoque_movimentacao (sku, delta, motivo, origem, registrado_em) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String FIM_DO_LOTE =
+            "SELECT MAX(sku) FROM (SELECT sku FROM estoque WHERE sku > ? ORDER BY sku LIMIT ?) lote";
+
+    private static final String DIVERGENCIAS =
+            "SELECT sku, quantidade_disponivel, quantidade_movimentacoes FROM (" +
+            "SELECT e.sku, e.quantidade_disponivel, COALESCE(s.saldo, 0) + COALESCE((SELECT SUM(m.delta) " +
+            "FROM estoque_movimentacao m WHERE m.sku = e.sku AND (s.tirado_em IS NULL OR m.registrado_em > s.tirado_em)), 0) " +
+            "AS quantidade_movimentacoes " +
+            "FROM estoque e LEFT JOIN estoque_snapshot s ON s.sku = e.sku " +
+            "AND s.tirado_em = (SELECT MAX(u.tirado_em) FROM estoque_snapshot u WHERE u.sku = e.sku) " +
+            "WHERE e.sku > ? AND e.sku <= ?) r " +
+            "WHERE quantidade_disponivel <> quantidade_movimentacoes ORDER BY sku";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void registrar(Map<String, Integer> deltasPorSku, MotivoMovimentacao motivo, String origem, Instant registradoEm) {
+        List<Map.Entry<String, Integer>> deltas = deltasPorSku.entrySet().stream().filter(delta -> delta.getValue() != 0).toList();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp instante = Timestamp.from(registradoEm);
+        jdbcTemplate.batchUpdate(INSERIR, deltas, deltas.size(), (ps, delta) -> {
+            ps.setString(1, delta.getKey());
+            ps.setInt(2, delta.getValue());
+            ps.setString(3, motivo.name());
+            ps.setString(4, origem);
+            ps.setTimestamp(5, instante);
+        });
+    }
+
+    @Override
+    public Optional<String> buscarFimDoLote(String aposSku, int tamanho) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(FIM_DO_LOTE, String.class, aposSku, tamanho));
+    }
+
+    @Override
+    public List<DivergenciaEstoque> buscarDivergencias(String aposSku, String ateSku) {
+        return jdbcTemplate.query(DIVERGENCIAS, (rs, i) -> DivergenciaEstoque.builder()
+                .sku(rs.getString("sku"))
+                .quantidadeDisponivel(rs.getInt("quantidade_disponivel"))
+                .quantidadeMovimentacoes(rs.getInt("quantidade_movimentacoes"))
+                .build(), aposSku, ateSku);
+    }
+}
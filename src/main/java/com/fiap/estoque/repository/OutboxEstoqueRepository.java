@@ -0,0 +1,14 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.OutboxEstoqueEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxEstoqueRepository extends JpaRepository<OutboxEstoqueEntity, Long>, OutboxEstoqueRepositoryCustom {
+
+    @Query("SELECT o FROM OutboxEstoqueEntity o ORDER BY o.id")
+    List<OutboxEstoqueEntity> buscarLote(Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.fiap.estoque.repository;
+
+import java.util.Collection;
+
+public interface OutboxEstoqueRepositoryCustom {
+
+    /**
+     * Registra no outbox o saldo atual dos SKUs informados, lido da tabela estoque
+     * dentro da transação corrente.
+     */
+    void registrarAlteracoes(Collection<String> skus);
+}
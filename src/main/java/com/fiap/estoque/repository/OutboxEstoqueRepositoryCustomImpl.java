@@ -0,0 +1,30 @@
+package com.fiap.estoque.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxEstoqueRepositoryCustomImpl implements OutboxEstoqueRepositoryCustom {
+
+    private static final String REGISTRAR_ALTERACOES =
+            "INSERT INTO estoque_outbox (sku, quantidade_disponivel, criado_em) " +
+            "SELECT sku, quantidade_disponivel, CURRENT_TIMESTAMP FROM estoque WHERE sku IN (";
+
+    private static final int MAXIMO_SKUS_POR_COMANDO = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void registrarAlteracoes(Collection<String> skus) {
+        List<String> lista = List.copyOf(skus);
+        for (int inicio = 0; inicio < lista.size(); inicio += MAXIMO_SKUS_POR_COMANDO) {
+            List<String> parte = lista.subList(inicio, Math.min(inicio + MAXIMO_SKUS_POR_COMANDO, lista.size()));
+            String sql = REGISTRAR_ALTERACOES + String.join(", ", Collections.nCopies(parte.size(), "?")) + ")";
+            jdbcTemplate.update(sql, parte.toArray());
+        }
+    }
+}
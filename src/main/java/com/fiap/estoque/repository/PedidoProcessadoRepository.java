@@ -0,0 +1,16 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.PedidoProcessadoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface PedidoProcessadoRepository extends JpaRepository<PedidoProcessadoEntity, String>, PedidoProcessadoRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM PedidoProcessadoEntity p WHERE p.processadoEm < :limite")
+    int removerAnteriores(@Param("limite") Instant limite);
+}
@@ -0,0 +1,14 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.PedidoProcessadoEntity;
+
+import java.util.List;
+
+public interface PedidoProcessadoRepositoryCustom {
+
+    /**
+     * INSERT em um único batch, sem a consulta prévia do saveAll() para ids atribuídos: um pedido já gravado
+     * resulta em DuplicateKeyException.
+     */
+    void inserirEmLote(List<PedidoProcessadoEntity> pedidos);
+}
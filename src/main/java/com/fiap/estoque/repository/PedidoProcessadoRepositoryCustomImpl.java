@@ -0,0 +1,27 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.PedidoProcessadoEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PedidoProcessadoRepositoryCustomImpl implements PedidoProcessadoRepositoryCustom {
+
+    private static final String INSERIR =
+            "INSERT INTO estoque_pedido_processado (pedido_id, status, skus_rejeitados, processado_em) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void inserirEmLote(List<PedidoProcessadoEntity> pedidos) {
+        jdbcTemplate.batchUpdate(INSERIR, pedidos, pedidos.size(), (ps, pedido) -> {
+            ps.setString(1, pedido.getPedidoId());
+            ps.setString(2, pedido.getStatus().name());
+            ps.setString(3, pedido.getSkusRejeitados());
+            ps.setTimestamp(4, Timestamp.from(pedido.getProcessadoEm()));
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.ReservaEstoqueEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ReservaEstoqueRepository extends JpaRepository<ReservaEstoqueEntity, Long>, ReservaEstoqueRepositoryCustom {
+
+    /**
+     * Reservas vencidas em ordem de expiração, lidas pelo índice de expira_em.
+     */
+    @Query("SELECT r FROM ReservaEstoqueEntity r WHERE r.expiraEm <= :agora ORDER BY r.expiraEm")
+    List<ReservaEstoqueEntity> buscarExpiradas(@Param("agora") Instant agora, Pageable pageable);
+
+    /**
+     * Remove a reserva somente se ainda não expirou. Retorna 0 quando ela não existe, já foi
+     * confirmada ou cancelada, ou venceu (e será devolvida ao saldo pela expiração).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ReservaEstoqueEntity r WHERE r.id = :id AND r.expiraEm > :agora")
+    int removerAtiva(@Param("id") Long id, @Param("agora") Instant agora);
+}
@@ -0,0 +1,12 @@
+package com.fiap.estoque.repository;
+
+import java.util.List;
+
+public interface ReservaEstoqueRepositoryCustom {
+
+    /**
+     * Remove as reservas informadas em um único lote JDBC e retorna os ids efetivamente removidos
+     * por esta transação; os que outra transação removeu antes ficam de fora.
+     */
+    List<Long> removerPorIds(List<Long> ids);
+}
@@ -0,0 +1,40 @@
+package com.fiap.estoque.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReservaEstoqueRepositoryCustomImpl implements ReservaEstoqueRepositoryCustom {
+
+    private static final String REMOVER_POR_ID = "DELETE FROM estoque_reserva WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> removerPorIds(List<Long> ids) {
+        int[] linhasAfetadas = jdbcTemplate.batchUpdate(REMOVER_POR_ID, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+        List<Long> removidos = new ArrayList<>(ids.size());
+        for (int i = 0; i < linhasAfetadas.length; i++) {
+            if (linhasAfetadas[i] > 0) {
+                removidos.add(ids.get(i));
+            }
+        }
+        return removidos;
+    }
+}
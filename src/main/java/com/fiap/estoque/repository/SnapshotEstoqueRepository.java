@@ -0,0 +1,16 @@
+package com.fiap.estoque.repository;
+
+import com.fiap.estoque.entity.SnapshotEstoqueEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface SnapshotEstoqueRepository extends JpaRepository<SnapshotEstoqueEntity, Long>, SnapshotEstoqueRepositoryCustom {
+
+    Optional<SnapshotEstoqueEntity> findFirstBySkuAndTiradoEmLessThanEqualOrderByTiradoEmDesc(String sku, Instant instante);
+
+    @Query("SELECT MAX(s.tiradoEm) FROM SnapshotEstoqueEntity s")
+    Optional<Instant> buscarUltimoCorte();
+}
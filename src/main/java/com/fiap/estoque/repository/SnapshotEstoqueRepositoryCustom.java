@@ -0,0 +1,20 @@
+package com.fiap.estoque.repository;
+
+import java.time.Instant;
+
+public interface SnapshotEstoqueRepositoryCustom {
+
+    /**
+     * Em um único INSERT ... SELECT, grava com o corte {@code ate} um snapshot de cada SKU com movimentações
+     * no intervalo (desde, ate]: o saldo do último snapshot do SKU até {@code desde} mais essas movimentações.
+     * Retorna a quantidade de snapshots gravados.
+     */
+    int tirar(Instant desde, Instant ate);
+
+    /**
+     * Grava com o corte {@link Instant#EPOCH} o saldo de abertura dos SKUs ainda sem snapshot: o saldo atual
+     * menos tudo o que o razão já registrou para o SKU, ou seja, o saldo cadastrado antes do razão existir.
+     * SKUs com abertura zero não ganham snapshot. Retorna a quantidade de snapshots gravados.
+     */
+    int abrir();
+}
@@ -0,0 +1,38 @@
+package com.fiap.estoque.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class SnapshotEstoqueRepositoryCustomImpl implements SnapshotEstoqueRepositoryCustom {
+
+    private static final String TIRAR =
+            "INSERT INTO estoque_snapshot (sku, saldo, tirado_em) " +
+            "SELECT m.sku, COALESCE((SELECT s.saldo FROM estoque_snapshot s WHERE s.sku = m.sku AND s.tirado_em <= ? " +
+            "ORDER BY s.tirado_em DESC LIMIT 1), 0) + SUM(m.delta), ? " +
+            "FROM estoque_movimentacao m WHERE m.registrado_em > ? AND m.registrado_em <= ? GROUP BY m.sku";
+
+    private static final String ABRIR =
+            "INSERT INTO estoque_snapshot (sku, saldo, tirado_em) " +
+            "SELECT e.sku, e.quantidade_disponivel - COALESCE((SELECT SUM(m.delta) FROM estoque_movimentacao m " +
+            "WHERE m.sku = e.sku), 0), ? FROM estoque e " +
+            "WHERE NOT EXISTS (SELECT 1 FROM estoque_snapshot s WHERE s.sku = e.sku) " +
+            "AND e.quantidade_disponivel <> COALESCE((SELECT SUM(m.delta) FROM estoque_movimentacao m WHERE m.sku = e.sku), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int tirar(Instant desde, Instant ate) {
+        Timestamp inicio = Timestamp.from(desde);
+        Timestamp corte = Timestamp.from(ate);
+        return jdbcTemplate.update(TIRAR, inicio, corte, inicio, corte);
+    }
+
+    @Override
+    public int abrir() {
+        return jdbcTemplate.update(ABRIR, Timestamp.from(Instant.EPOCH));
+    }
+}
@@ -0,0 +1,23 @@
+package com.fiap.estoque.reserva;
+
+import com.fiap.estoque.usecase.service.ExpirarReservasEstoqueServiceUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Varredura periódica das reservas vencidas. Várias instâncias podem executá-la ao mesmo tempo:
+ * cada reserva é removida por um único DELETE e só quem a removeu devolve a quantidade ao saldo.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "estoque.reserva.expiracao.habilitado", havingValue = "true", matchIfMissing = true)
+public class ReservaEstoqueExpiracao {
+    private final ExpirarReservasEstoqueServiceUseCase expirarUseCase;
+
+    @Scheduled(fixedDelayString = "${estoque.reserva.expiracao.intervalo:PT1S}")
+    public void varrer() {
+        expirarUseCase.execute();
+    }
+}
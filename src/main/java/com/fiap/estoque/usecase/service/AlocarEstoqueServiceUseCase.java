@@ -0,0 +1,55 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.gateway.EstoqueDepositoGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class AlocarEstoqueServiceUseCase {
+    private final EstoqueDepositoGateway gateway;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
+
+    @Value("${estoque.deposito.preferencia-maxima:50}")
+    private int preferenciaMaxima = 50;
+
+    /**
+     * Baixa a quantidade informando de quais depósitos ela sai. A preferência lista os depósitos do mais
+     * próximo ao mais distante; os não listados entram depois, por código. PROXIMO exige um único depósito
+     * que cubra a quantidade (409 quando nenhum cobre); DIVIDIR completa com os seguintes e, por último,
+     * com o saldo sem depósito.
+     */
+    public ResultadoAlocacao execute(String sku, int quantidade, EstrategiaAlocacao estrategia, List<String> preferencia) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade da alocação deve ser positiva para SKU: " + sku);
+        }
+        List<String> depositos = preferencia == null ? List.of() : preferencia.stream().distinct().toList();
+        if (depositos.size() > preferenciaMaxima) {
+            throw new IllegalArgumentException("Preferência aceita no máximo " + preferenciaMaxima + " depósitos");
+        }
+        log.debug("Executando alocação de estoque para SKU: {}, quantidade: {}, estratégia: {}", sku, quantidade, estrategia);
+        ResultadoAlocacao resultado;
+        try {
+            resultado = gateway.alocar(sku, quantidade, estrategia, depositos);
+        } catch (RuntimeException e) {
+            cache.invalidar(sku);
+            throw e;
+        }
+        cache.atualizar(resultado.getEstoque());
+        metricas.registrarBaixa(sku, quantidade);
+        log.debug("Alocação de estoque realizada para SKU: {} em {} depósitos", sku, resultado.getAlocacoes().size());
+        return resultado;
+    }
+}
@@ -1,21 +1,71 @@
 package com.fiap.estoque.usecase.service;
 
+import com.fiap.estoque.cache.EstoqueCache;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
 import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
+@Timed("estoque.usecase")
 @RequiredArgsConstructor
 public class AtualizarEstoqueServiceUseCase {
     private final EstoqueGateway gateway;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
+
+    @Value("${estoque.atualizacao.tentativas:3}")
+    private int tentativas = 3;
+
+    @Value("${estoque.atualizacao.backoff:10ms}")
+    private Duration backoff = Duration.ofMillis(10);
 
+    /**
+     * Com versão informada, um conflito é devolvido imediatamente ao cliente, que leu um saldo já alterado.
+     * Sem versão, o gateway usa a versão lida na própria transação e o conflito só indica uma alteração
+     * concorrente entre a leitura e o UPDATE: a atualização é repetida até estoque.atualizacao.tentativas
+     * vezes, com backoff exponencial e jitter a partir de estoque.atualizacao.backoff.
+     */
     public Estoque execute(Estoque estoque) {
-        log.info("Executando atualização de estoque para SKU: {}", estoque.getSku());
-        Estoque atualizado = gateway.atualizar(estoque);
-        log.info("Estoque atualizado com sucesso para SKU: {}", estoque.getSku());
-        return atualizado;
+        log.debug("Executando atualização de estoque para SKU: {}", estoque.getSku());
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                Estoque atualizado = gateway.atualizar(estoque);
+                cache.atualizar(atualizado);
+                log.debug("Estoque atualizado com sucesso para SKU: {}", estoque.getSku());
+                return atualizado;
+            } catch (EstoqueVersaoConflitanteException e) {
+                cache.invalidar(estoque.getSku());
+                boolean repetir = estoque.getVersao() == null && tentativa < tentativas;
+                metricas.registrarConflitoVersao(repetir);
+                if (!repetir) {
+                    throw e;
+                }
+                aguardar(tentativa, e);
+            } catch (RuntimeException e) {
+                cache.invalidar(estoque.getSku());
+                throw e;
+            }
+        }
+    }
+
+    private void aguardar(int tentativa, EstoqueVersaoConflitanteException conflito) {
+        long limite = backoff.toNanos() << (tentativa - 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(limite / 2, limite + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflito;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BaixarEstoqueEmLoteServiceUseCase {
+    private final EstoqueGateway gateway;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
+
+    public List<Estoque> execute(List<ItemBaixa> itens) {
+        return baixar(itens, () -> gateway.baixarEstoqueEmLote(itens));
+    }
+
+    /**
+     * Baixa os itens e grava os pedidos como reservados na mesma transação.
+     */
+    public List<Estoque> execute(List<ItemBaixa> itens, Collection<String> pedidoIds) {
+        return baixar(itens, () -> gateway.baixarEstoqueEmLote(itens, pedidoIds));
+    }
+
+    private List<Estoque> baixar(List<ItemBaixa> itens, Supplier<List<Estoque>> baixa) {
+        log.debug("Executando baixa de estoque em lote, itens: {}", itens.size());
+        List<Estoque> atualizados;
+        try {
+            atualizados = baixa.get();
+        } catch (BaixaEmLoteRejeitadaException e) {
+            cache.invalidar(e.getSkus());
+            throw e;
+        }
+        atualizados.forEach(cache::atualizar);
+        itens.forEach(item -> metricas.registrarBaixa(item.getSku(), item.getQuantidade()));
+        log.debug("Baixa de estoque em lote realizada para {} SKUs", atualizados.size());
+        return atualizados;
+    }
+}
@@ -1,21 +1,95 @@
 package com.fiap.estoque.usecase.service;
 
+import com.fiap.estoque.cache.BaixaIdempotenteCache;
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.BaixaIdempotente;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.BaixaRepetidaException;
+import com.fiap.estoque.exception.ChaveIdempotenciaReutilizadaException;
+import com.fiap.estoque.gateway.BaixaAgrupadaEstoque;
 import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Slf4j
 @Service
+@Timed("estoque.usecase")
 @RequiredArgsConstructor
 public class BaixarEstoqueServiceUseCase {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
     private final EstoqueGateway gateway;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
+    private final BaixaIdempotenteCache baixaIdempotenteCache;
+    private final BaixaAgrupadaEstoque baixaAgrupada;
 
     public Estoque execute(String sku, int quantidade) {
-        log.info("Executando baixa de estoque para SKU: {}, quantidade: {}", sku, quantidade);
-        Estoque atualizado = gateway.baixarEstoque(sku, quantidade);
-        log.info("Baixa de estoque realizada para SKU: {}, nova quantidade: {}", sku, atualizado.getQuantidadeDisponivel());
+        return execute(sku, quantidade, null);
+    }
+
+    /**
+     * Com Idempotency-Key, uma repetição recebe o resultado da baixa original sem baixar de novo: primeiro pelo
+     * cache local e, se outra instância ou uma requisição concorrente gravou a chave, pela tabela de chaves.
+     * Recusas (404/409) não gravam a chave e podem ser repetidas com a mesma chave.
+     * Sem chave e com estoque.baixa.agrupamento.habilitado, a baixa entra no group commit.
+     * A quantidade deve ser positiva: a baixa condicional subtrai o valor, então um negativo somaria ao saldo.
+     */
+    public Estoque execute(String sku, int quantidade, String chaveIdempotencia) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de baixa deve ser positiva para SKU: " + sku);
+        }
+        if (chaveIdempotencia != null) {
+            if (chaveIdempotencia.isBlank() || chaveIdempotencia.length() > TAMANHO_MAXIMO_CHAVE) {
+                throw new IllegalArgumentException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            }
+            Optional<BaixaIdempotente> repetida = baixaIdempotenteCache.buscar(chaveIdempotencia);
+            if (repetida.isPresent()) {
+                metricas.registrarBaixaRepetida("cache");
+                return resultadoOriginal(repetida.get(), sku, quantidade);
+            }
+        }
+        log.debug("Executando baixa de estoque para SKU: {}, quantidade: {}", sku, quantidade);
+        Estoque atualizado;
+        try {
+            if (chaveIdempotencia != null) {
+                atualizado = gateway.baixarEstoque(sku, quantidade, chaveIdempotencia);
+            } else if (baixaAgrupada.isHabilitado()) {
+                atualizado = baixaAgrupada.baixar(sku, quantidade);
+            } else {
+                atualizado = gateway.baixarEstoque(sku, quantidade);
+            }
+        } catch (BaixaRepetidaException e) {
+            cache.invalidar(sku);
+            BaixaIdempotente original = gateway.buscarBaixaIdempotente(chaveIdempotencia).orElseThrow(() -> e);
+            baixaIdempotenteCache.registrar(original);
+            metricas.registrarBaixaRepetida("banco");
+            return resultadoOriginal(original, sku, quantidade);
+        } catch (RuntimeException e) {
+            cache.invalidar(sku);
+            throw e;
+        }
+        cache.atualizar(atualizado);
+        if (chaveIdempotencia != null) {
+            baixaIdempotenteCache.registrar(BaixaIdempotente.builder()
+                    .chave(chaveIdempotencia).sku(sku).quantidade(quantidade).resultado(atualizado).build());
+        }
+        metricas.registrarBaixa(sku, quantidade);
+        log.debug("Baixa de estoque realizada para SKU: {}, nova quantidade: {}", sku, atualizado.getQuantidadeDisponivel());
         return atualizado;
     }
-}
\ No newline at end of file
+
+    private static Estoque resultadoOriginal(BaixaIdempotente original, String sku, int quantidade) {
+        if (!original.getSku().equals(sku) || original.getQuantidade() != quantidade) {
+            throw new ChaveIdempotenciaReutilizadaException(original.getChave(), sku);
+        }
+        log.debug("Baixa repetida para Idempotency-Key: {}, SKU: {}", original.getChave(), sku);
+        return original.getResultado();
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class CancelarReservaEstoqueServiceUseCase {
+    private final ReservaEstoqueGateway gateway;
+    private final EstoqueCache cache;
+
+    public Reserva execute(Long id) {
+        log.debug("Executando cancelamento da reserva de estoque: {}", id);
+        Reserva reserva = gateway.cancelar(id, Instant.now());
+        cache.invalidar(reserva.getSku());
+        log.debug("Reserva de estoque {} cancelada, {} unidades devolvidas ao SKU: {}", id, reserva.getQuantidade(), reserva.getSku());
+        return reserva;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ConfirmarReservaEstoqueServiceUseCase {
+    private final ReservaEstoqueGateway gateway;
+
+    /**
+     * Torna definitiva a baixa feita na reserva. O saldo não muda, então o cache continua válido.
+     */
+    public Reserva execute(Long id) {
+        log.debug("Executando confirmação da reserva de estoque: {}", id);
+        Reserva reserva = gateway.confirmar(id, Instant.now());
+        log.debug("Reserva de estoque {} confirmada para SKU: {}", id, reserva.getSku());
+        return reserva;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGatewayReativo;
+import com.fiap.estoque.gateway.memoria.EstoqueGatewayMemoria;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Service
+@Profile("reativo")
+@RequiredArgsConstructor
+public class ConsultarEstoqueEmLoteReativoServiceUseCase {
+    private final EstoqueGatewayReativo gateway;
+    private final Optional<EstoqueGatewayMemoria> memoria;
+    private final EstoqueCache cache;
+
+    @Value("${estoque.consulta.maximo-skus:5000}")
+    private int maximoSkus = 5000;
+
+    /**
+     * Mesmas regras do ConsultarEstoqueEmLoteServiceUseCase: SKUs quentes vêm da memória, os demais do cache, e
+     * as faltas são buscadas juntas em uma única consulta R2DBC. O resultado segue a ordem dos SKUs informados.
+     */
+    public Mono<Map<String, Estoque>> execute(List<String> skus) {
+        Set<String> distintos = new LinkedHashSet<>();
+        for (String sku : skus) {
+            if (sku != null && !sku.isBlank()) {
+                distintos.add(sku);
+            }
+        }
+        if (distintos.size() > maximoSkus) {
+            return Mono.error(new IllegalArgumentException("Consulta em lote aceita no máximo " + maximoSkus + " SKUs"));
+        }
+        log.debug("Executando consulta de estoque em lote (reativa), SKUs: {}", distintos.size());
+        Map<String, Optional<Estoque>> encontrados = new HashMap<>(cache.buscarPresentes(distintos));
+        List<String> faltantes = new ArrayList<>();
+        for (String sku : distintos) {
+            if (memoria.isPresent() && memoria.get().isQuente(sku)) {
+                encontrados.put(sku, memoria.get().buscarPorSku(sku));
+            } else if (!encontrados.containsKey(sku)) {
+                faltantes.add(sku);
+            }
+        }
+        if (faltantes.isEmpty()) {
+            return Mono.just(existentes(distintos, encontrados));
+        }
+        return gateway.buscarPorSkus(faltantes)
+                .collectMap(Estoque::getSku)
+                .map(carregados -> {
+                    for (String sku : faltantes) {
+                        Optional<Estoque> carregado = Optional.ofNullable(carregados.get(sku));
+                        cache.guardarCarregado(sku, carregado);
+                        encontrados.put(sku, carregado);
+                    }
+                    return existentes(distintos, encontrados);
+                });
+    }
+
+    private static Map<String, Estoque> existentes(Set<String> distintos, Map<String, Optional<Estoque>> encontrados) {
+        Map<String, Estoque> existentes = new LinkedHashMap<>(distintos.size() * 2);
+        distintos.forEach(sku -> encontrados.get(sku).ifPresent(estoque -> existentes.put(sku, estoque)));
+        return existentes;
+    }
+}
@@ -0,0 +1,67 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ConsultarEstoqueEmLoteServiceUseCase {
+    private final EstoqueGateway gateway;
+    private final EstoqueCache cache;
+
+    @Value("${estoque.consulta.maximo-skus:5000}")
+    private int maximoSkus = 5000;
+
+    /**
+     * Responde os SKUs presentes no cache e busca os demais em uma única consulta ao gateway.
+     * SKUs repetidos ou em branco são ignorados; os inexistentes ficam fora do resultado.
+     */
+    public Map<String, Estoque> execute(List<String> skus) {
+        Set<String> distintos = new LinkedHashSet<>();
+        for (String sku : skus) {
+            if (sku != null && !sku.isBlank()) {
+                distintos.add(sku);
+            }
+        }
+        if (distintos.size() > maximoSkus) {
+            throw new IllegalArgumentException("Consulta em lote aceita no máximo " + maximoSkus + " SKUs");
+        }
+        log.debug("Executando consulta de estoque em lote, SKUs: {}", distintos.size());
+        if (RoteamentoLeitura.isLeituraPropria()) {
+            // Logo depois de uma escrita da própria sessão: primário, sem o cache carregado das réplicas
+            Map<String, Estoque> carregados = carregar(distintos);
+            Map<String, Estoque> existentes = new LinkedHashMap<>(carregados.size() * 2);
+            distintos.forEach(sku -> {
+                Estoque estoque = carregados.get(sku);
+                if (estoque != null) {
+                    existentes.put(sku, estoque);
+                }
+            });
+            return existentes;
+        }
+        return cache.buscarTodos(distintos, this::carregar);
+    }
+
+    private Map<String, Estoque> carregar(Set<String> skus) {
+        List<Estoque> encontrados = RoteamentoLeitura.naReplica(() -> gateway.buscarPorSkus(skus));
+        Map<String, Estoque> porSku = new HashMap<>(encontrados.size() * 2);
+        encontrados.forEach(estoque -> porSku.put(estoque.getSku(), estoque));
+        return porSku;
+    }
+}
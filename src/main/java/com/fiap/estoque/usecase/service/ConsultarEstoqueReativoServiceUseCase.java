@@ -0,0 +1,51 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGatewayReativo;
+import com.fiap.estoque.gateway.memoria.EstoqueGatewayMemoria;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Profile("reativo")
+@RequiredArgsConstructor
+public class ConsultarEstoqueReativoServiceUseCase {
+    private final EstoqueGatewayReativo gateway;
+    private final Optional<EstoqueGatewayMemoria> memoria;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
+
+    /**
+     * Mesma leitura do ConsultarEstoqueServiceUseCase sem bloquear o event loop: SKU quente vem da memória,
+     * os demais do cache e, na falta, do banco pelo R2DBC. A carga volta ao cache, inclusive a de SKU inexistente.
+     */
+    public Mono<Estoque> execute(String sku) {
+        Mono<Optional<Estoque>> estoque;
+        if (memoria.isPresent() && memoria.get().isQuente(sku)) {
+            estoque = Mono.just(memoria.get().buscarPorSku(sku));
+        } else {
+            Optional<Estoque> emCache = cache.buscarPresentes(List.of(sku)).get(sku);
+            estoque = emCache != null ? Mono.just(emCache) : carregar(sku);
+        }
+        return estoque.flatMap(encontrado -> {
+            if (encontrado.isEmpty()) {
+                metricas.registrarNaoEncontrado("consultar");
+            }
+            return Mono.justOrEmpty(encontrado);
+        });
+    }
+
+    private Mono<Optional<Estoque>> carregar(String sku) {
+        return gateway.buscarPorSku(sku)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(carregado -> cache.guardarCarregado(sku, carregado));
+    }
+}
@@ -1,18 +1,36 @@
 package com.fiap.estoque.usecase.service;
 
+import com.fiap.estoque.cache.ConsultaAgrupadaEstoque;
+import com.fiap.estoque.cache.EstoqueCache;
 import com.fiap.estoque.domain.Estoque;
-import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
 @Service
+@Timed("estoque.usecase")
 @RequiredArgsConstructor
 public class ConsultarEstoqueServiceUseCase {
-    private final EstoqueGateway gateway;
+    private final ConsultaAgrupadaEstoque consultaAgrupada;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
 
+    /**
+     * O cache já carrega cada SKU uma única vez por instância; nas faltas, a consulta agrupada junta os
+     * SKUs diferentes carregados ao mesmo tempo em uma única leitura no banco. Logo depois de uma escrita da
+     * própria sessão, a leitura vai ao primário sem passar pelo cache, que pode ter sido carregado de uma réplica.
+     */
     public Optional<Estoque> execute(String sku) {
-        return gateway.buscarPorSku(sku);
+        Optional<Estoque> estoque = RoteamentoLeitura.isLeituraPropria()
+                ? consultaAgrupada.buscar(sku)
+                : cache.buscar(sku, consultaAgrupada::buscar);
+        if (estoque.isEmpty()) {
+            metricas.registrarNaoEncontrado("consultar");
+        }
+        return estoque;
     }
 }
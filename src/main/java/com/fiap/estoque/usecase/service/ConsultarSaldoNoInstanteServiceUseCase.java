@@ -0,0 +1,29 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.SaldoNoInstante;
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ConsultarSaldoNoInstanteServiceUseCase {
+    private final MovimentacaoEstoqueGateway gateway;
+    private final EstoqueMetricas metricas;
+
+    public Optional<SaldoNoInstante> execute(String sku, Instant instante) {
+        Optional<SaldoNoInstante> saldo = RoteamentoLeitura.naReplica(() -> gateway.buscarSaldoEm(sku, instante))
+                .map(quantidade -> SaldoNoInstante.builder().sku(sku).instante(instante).quantidadeDisponivel(quantidade).build());
+        if (saldo.isEmpty()) {
+            metricas.registrarNaoEncontrado("saldo-no-instante");
+        }
+        return saldo;
+    }
+}
@@ -0,0 +1,34 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueMinimoGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class DefinirEstoqueMinimoServiceUseCase {
+    private final EstoqueMinimoGateway gateway;
+    private final EstoqueCache cache;
+
+    /**
+     * Define (ou remove, com nulo) o estoque mínimo do SKU. Se o saldo atual ficar de outro lado do limite,
+     * o alerta correspondente é gravado na mesma transação.
+     */
+    public Estoque execute(String sku, Integer estoqueMinimo) {
+        if (estoqueMinimo != null && estoqueMinimo < 0) {
+            throw new IllegalArgumentException("Estoque mínimo não pode ser negativo para SKU: " + sku);
+        }
+        log.debug("Executando definição de estoque mínimo para SKU: {}, mínimo: {}", sku, estoqueMinimo);
+        try {
+            return gateway.definirMinimo(sku, estoqueMinimo);
+        } finally {
+            cache.invalidar(sku);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.gateway.EstoqueDepositoGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class DefinirSaldoDepositoServiceUseCase {
+    private final EstoqueDepositoGateway gateway;
+    private final EstoqueCache cache;
+
+    /**
+     * Define o saldo absoluto do SKU no depósito e aplica a diferença ao saldo total. Uma redução maior
+     * que o saldo total (já comprometido por baixas sem depósito ou reservas) é recusada com 409.
+     */
+    public EstoqueDeposito execute(String sku, String deposito, int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade no depósito não pode ser negativa para SKU: " + sku);
+        }
+        if (deposito.isBlank()) {
+            throw new IllegalArgumentException("Depósito deve ser informado para SKU: " + sku);
+        }
+        log.debug("Executando definição de saldo para SKU: {}, depósito: {}, quantidade: {}", sku, deposito, quantidade);
+        EstoqueDeposito atualizado;
+        try {
+            atualizado = gateway.definirSaldo(sku, deposito, quantidade);
+        } finally {
+            cache.invalidar(sku);
+        }
+        log.debug("Saldo definido para SKU: {}, depósito: {}", sku, deposito);
+        return atualizado;
+    }
+}
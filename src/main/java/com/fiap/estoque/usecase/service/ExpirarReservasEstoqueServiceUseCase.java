@@ -0,0 +1,50 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ExpirarReservasEstoqueServiceUseCase {
+    private final ReservaEstoqueGateway gateway;
+    private final EstoqueCache cache;
+    private final EstoqueMetricas metricas;
+
+    @Value("${estoque.reserva.expiracao.tamanho-lote:500}")
+    private int tamanhoLote = 500;
+
+    /**
+     * Devolve ao saldo as reservas vencidas em lotes de estoque.reserva.expiracao.tamanho-lote,
+     * cada lote em sua própria transação, até esgotar as vencidas. Retorna quantas foram liberadas.
+     */
+    public int execute() {
+        Instant agora = Instant.now();
+        int total = 0;
+        List<Reserva> lote;
+        do {
+            lote = gateway.liberarExpiradas(agora, tamanhoLote);
+            if (lote.isEmpty()) {
+                break;
+            }
+            cache.invalidar(lote.stream().map(Reserva::getSku).distinct().toList());
+            metricas.registrarReservasExpiradas(lote.size());
+            total += lote.size();
+        } while (lote.size() == tamanhoLote);
+        if (total > 0) {
+            log.debug("Reservas de estoque expiradas liberadas: {}", total);
+        }
+        return total;
+    }
+}
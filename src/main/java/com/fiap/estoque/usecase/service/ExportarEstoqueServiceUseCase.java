@@ -0,0 +1,23 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportarEstoqueServiceUseCase {
+    private final EstoqueGateway gateway;
+
+    public void execute(Consumer<Estoque> consumidor) {
+        log.info("Executando exportação de estoque");
+        RoteamentoLeitura.naReplica(() -> gateway.exportarTodos(consumidor));
+        log.info("Exportação de estoque concluída");
+    }
+}
@@ -0,0 +1,62 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportarEstoqueServiceUseCase {
+    private final EstoqueGateway gateway;
+    private final EstoqueCache cache;
+
+    @Value("${estoque.importacao.tamanho-lote:1000}")
+    private int tamanhoLote = 1000;
+
+    /**
+     * Consome os estoques sob demanda e grava cada lote em sua própria transação,
+     * mantendo em memória no máximo um lote por vez.
+     */
+    public long execute(Iterator<Estoque> estoques) {
+        log.info("Executando importação de estoque em lotes de {}", tamanhoLote);
+        List<Estoque> lote = new ArrayList<>(tamanhoLote);
+        long importados = 0;
+        while (estoques.hasNext()) {
+            lote.add(validar(estoques.next(), importados + lote.size() + 1));
+            if (lote.size() == tamanhoLote) {
+                importarLote(lote);
+                importados += lote.size();
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            importarLote(lote);
+            importados += lote.size();
+        }
+        log.info("Importação de estoque concluída, registros: {}", importados);
+        return importados;
+    }
+
+    private void importarLote(List<Estoque> lote) {
+        gateway.importarEmLote(lote);
+        cache.invalidar(lote.stream().map(Estoque::getSku).toList());
+    }
+
+    private Estoque validar(Estoque estoque, long registro) {
+        if (estoque.getSku() == null || estoque.getSku().isBlank()
+                || estoque.getQuantidadeDisponivel() == null || estoque.getQuantidadeDisponivel() < 0) {
+            throw new IllegalArgumentException("Registro de importação inválido na posição " + registro
+                    + ". Registros anteriores ao lote atual já foram importados.");
+        }
+        return estoque;
+    }
+}
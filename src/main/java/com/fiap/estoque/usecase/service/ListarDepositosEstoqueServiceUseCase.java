@@ -0,0 +1,21 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.gateway.EstoqueDepositoGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ListarDepositosEstoqueServiceUseCase {
+    private final EstoqueDepositoGateway gateway;
+
+    public List<EstoqueDeposito> execute(String sku) {
+        return RoteamentoLeitura.naReplica(() -> gateway.listarPorSku(sku));
+    }
+}
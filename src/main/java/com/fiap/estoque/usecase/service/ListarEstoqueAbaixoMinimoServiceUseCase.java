@@ -0,0 +1,33 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.gateway.EstoqueMinimoGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ListarEstoqueAbaixoMinimoServiceUseCase {
+    static final int LIMITE_PADRAO = 100;
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final EstoqueMinimoGateway gateway;
+
+    public PaginaEstoque execute(String aposSku, Integer limite) {
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        String inicio = aposSku == null ? "" : aposSku;
+        List<Estoque> encontrados = RoteamentoLeitura.naReplica(() -> gateway.listarAbaixoDoMinimo(inicio, tamanho + 1));
+        if (encontrados.size() <= tamanho) {
+            return PaginaEstoque.builder().itens(encontrados).build();
+        }
+        List<Estoque> itens = encontrados.subList(0, tamanho);
+        return PaginaEstoque.builder().itens(itens).proximoSku(itens.get(tamanho - 1).getSku()).build();
+    }
+}
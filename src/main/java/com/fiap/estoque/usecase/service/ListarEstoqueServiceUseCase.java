@@ -0,0 +1,48 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ListarEstoqueServiceUseCase {
+    static final int LIMITE_PADRAO = 100;
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final EstoqueGateway gateway;
+
+    public PaginaEstoque execute(String aposSku, Integer limite, Integer quantidadeMin, Integer quantidadeMax, Boolean zerado) {
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        if (Boolean.TRUE.equals(zerado)) {
+            quantidadeMin = 0;
+            quantidadeMax = 0;
+        } else if (Boolean.FALSE.equals(zerado) && (quantidadeMin == null || quantidadeMin < 1)) {
+            quantidadeMin = 1;
+        }
+        if (quantidadeMin != null && quantidadeMax != null && quantidadeMin > quantidadeMax) {
+            return PaginaEstoque.builder().itens(List.of()).build();
+        }
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        FiltroEstoque filtro = FiltroEstoque.builder()
+                .aposSku(aposSku)
+                .quantidadeMin(quantidadeMin)
+                .quantidadeMax(quantidadeMax)
+                .limite(tamanho + 1)
+                .build();
+        List<Estoque> encontrados = RoteamentoLeitura.naReplica(() -> gateway.listarPagina(filtro));
+        if (encontrados.size() <= tamanho) {
+            return PaginaEstoque.builder().itens(encontrados).build();
+        }
+        List<Estoque> itens = encontrados.subList(0, tamanho);
+        return PaginaEstoque.builder().itens(itens).proximoSku(itens.get(tamanho - 1).getSku()).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Movimentacao;
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ListarMovimentacoesEstoqueServiceUseCase {
+    static final int LIMITE_PADRAO = 100;
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final MovimentacaoEstoqueGateway gateway;
+
+    /**
+     * Movimentações do SKU em ordem de gravação, por keyset no id: use o id da última como {@code aposId}
+     * da próxima página.
+     */
+    public List<Movimentacao> execute(String sku, Long aposId, Integer limite) {
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        long inicio = aposId == null ? 0 : aposId;
+        return RoteamentoLeitura.naReplica(() -> gateway.listarPorSku(sku, inicio, tamanho));
+    }
+}
@@ -0,0 +1,61 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ReconciliarEstoqueServiceUseCase {
+    private final MovimentacaoEstoqueGateway gateway;
+    private final EstoqueMetricas metricas;
+
+    @Value("${estoque.movimentacao.reconciliacao.tamanho-lote:1000}")
+    private int tamanhoLote = 1000;
+
+    @Value("${estoque.movimentacao.reconciliacao.paralelismo:4}")
+    private int paralelismo = 4;
+
+    /**
+     * Confere o saldo de todos os SKUs com o reconstruído pelo razão. Os SKUs são divididos em faixas de
+     * estoque.movimentacao.reconciliacao.tamanho-lote, percorridas por keyset, e cada faixa é conferida
+     * por um único comando em uma das estoque.movimentacao.reconciliacao.paralelismo threads.
+     */
+    public List<DivergenciaEstoque> execute() {
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try {
+            List<CompletableFuture<List<DivergenciaEstoque>>> faixas = new ArrayList<>();
+            String aposSku = "";
+            Optional<String> fim;
+            while ((fim = gateway.buscarFimDoLote(aposSku, tamanhoLote)).isPresent()) {
+                String inicio = aposSku;
+                String ateSku = fim.get();
+                faixas.add(CompletableFuture.supplyAsync(() -> gateway.buscarDivergencias(inicio, ateSku), executor));
+                aposSku = ateSku;
+            }
+            List<DivergenciaEstoque> divergencias = new ArrayList<>();
+            faixas.forEach(faixa -> divergencias.addAll(faixa.join()));
+            metricas.registrarDivergencias(divergencias.size());
+            divergencias.forEach(divergencia -> log.warn("Saldo divergente do razão para SKU: {}. Estoque: {}, razão: {}",
+                    divergencia.getSku(), divergencia.getQuantidadeDisponivel(), divergencia.getQuantidadeMovimentacoes()));
+            log.debug("Reconciliação do estoque com o razão: {} faixas, {} divergências", faixas.size(), divergencias.size());
+            return divergencias;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ReporEstoqueServiceUseCase {
+    private final EstoqueGateway gateway;
+    private final EstoqueCache cache;
+
+    /**
+     * Soma a quantidade ao saldo atual no próprio UPDATE: reposições concorrentes com baixas
+     * não precisam de versão nem de novas tentativas.
+     */
+    public Estoque execute(String sku, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de reposição deve ser positiva para SKU: " + sku);
+        }
+        log.debug("Executando reposição de estoque para SKU: {}, quantidade: {}", sku, quantidade);
+        Estoque atualizado;
+        try {
+            atualizado = gateway.reporEstoque(sku, quantidade);
+        } catch (RuntimeException e) {
+            cache.invalidar(sku);
+            throw e;
+        }
+        cache.atualizar(atualizado);
+        log.debug("Reposição de estoque realizada para SKU: {}, nova quantidade: {}", sku, atualizado.getQuantidadeDisponivel());
+        return atualizado;
+    }
+}
@@ -0,0 +1,157 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.Pedido;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.domain.StatusReserva;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.PedidoRepetidoException;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservarEstoquePedidosServiceUseCase {
+    private final BaixarEstoqueEmLoteServiceUseCase baixarEstoqueEmLote;
+    private final EstoqueGateway gateway;
+
+    /**
+     * Reserva o estoque de um lote de pedidos. Primeiro tenta baixar todos os itens do lote,
+     * somados por SKU, em uma única transação. Se algum SKU for rejeitado, os pedidos que usam
+     * esse SKU são reservados um a um e os demais voltam a ser tentados juntos.
+     * Os resultados seguem a ordem dos pedidos recebidos.
+     * <p>
+     * Os pedidos reservados são gravados na mesma transação da baixa e os rejeitados logo depois: um evento
+     * reentregue pelo Kafka, ou repetido no mesmo lote, recebe o resultado já gravado sem nova baixa.
+     */
+    public List<ResultadoReserva> execute(List<Pedido> pedidos) {
+        log.info("Executando reserva de estoque para lote de {} pedidos", pedidos.size());
+        Map<Pedido, ResultadoReserva> resultados = new IdentityHashMap<>();
+        Map<String, Pedido> primeiros = new LinkedHashMap<>();
+        for (Pedido pedido : pedidos) {
+            if (!valido(pedido)) {
+                log.warn("Pedido inválido rejeitado: {}", pedido.getPedidoId());
+                resultados.put(pedido, rejeitado(pedido, List.of()));
+            } else if (primeiros.putIfAbsent(pedido.getPedidoId(), pedido) != null) {
+                log.debug("Pedido repetido no lote: {}", pedido.getPedidoId());
+            }
+        }
+        List<Pedido> novos = semProcessados(new ArrayList<>(primeiros.values()), resultados);
+        reservar(novos, resultados);
+        registrarRejeitados(novos, resultados);
+        pedidos.stream()
+                .filter(pedido -> !resultados.containsKey(pedido))
+                .forEach(pedido -> resultados.put(pedido, resultados.get(primeiros.get(pedido.getPedidoId()))));
+        List<ResultadoReserva> ordenados = pedidos.stream().map(resultados::get).toList();
+        log.info("Reserva de estoque concluída: {} de {} pedidos reservados", ordenados.stream()
+                .filter(resultado -> resultado.getStatus() == StatusReserva.RESERVADO).count(), pedidos.size());
+        return ordenados;
+    }
+
+    private void reservar(List<Pedido> pedidos, Map<Pedido, ResultadoReserva> resultados) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        List<ItemBaixa> itens = pedidos.stream().flatMap(pedido -> pedido.getItens().stream()).toList();
+        try {
+            baixarEstoqueEmLote.execute(itens, pedidos.stream().map(Pedido::getPedidoId).toList());
+            pedidos.forEach(pedido -> resultados.put(pedido, reservado(pedido)));
+        } catch (PedidoRepetidoException e) {
+            log.debug("Lote de {} pedidos com pedido já processado em paralelo, consultando resultados gravados", pedidos.size());
+            reservar(semProcessados(pedidos, resultados), resultados);
+        } catch (BaixaEmLoteRejeitadaException e) {
+            if (pedidos.size() == 1) {
+                resultados.put(pedidos.get(0), rejeitado(pedidos.get(0), e.getSkus()));
+                return;
+            }
+            log.debug("Lote de {} pedidos rejeitado para SKUs {}, separando pedidos afetados", pedidos.size(), e.getSkus());
+            Set<String> skusRejeitados = Set.copyOf(e.getSkus());
+            List<Pedido> demais = new ArrayList<>(pedidos.size());
+            for (Pedido pedido : pedidos) {
+                if (pedido.getItens().stream().anyMatch(item -> skusRejeitados.contains(item.getSku()))) {
+                    reservar(List.of(pedido), resultados);
+                } else {
+                    demais.add(pedido);
+                }
+            }
+            reservar(demais, resultados);
+        }
+    }
+
+    /**
+     * Responde com o resultado gravado aos pedidos já processados e retorna os demais.
+     */
+    private List<Pedido> semProcessados(List<Pedido> pedidos, Map<Pedido, ResultadoReserva> resultados) {
+        if (pedidos.isEmpty()) {
+            return pedidos;
+        }
+        Map<String, ResultadoReserva> processados = gateway.buscarPedidosProcessados(
+                        pedidos.stream().map(Pedido::getPedidoId).toList()).stream()
+                .collect(toMap(ResultadoReserva::getPedidoId, Function.identity()));
+        List<Pedido> novos = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            ResultadoReserva processado = processados.get(pedido.getPedidoId());
+            if (processado == null) {
+                novos.add(pedido);
+            } else {
+                log.info("Pedido já processado, reenviando resultado gravado: {}", pedido.getPedidoId());
+                resultados.put(pedido, processado);
+            }
+        }
+        return novos;
+    }
+
+    /**
+     * Grava os pedidos rejeitados; um pedido gravado antes por outra transação fica com o resultado dela.
+     */
+    private void registrarRejeitados(List<Pedido> pedidos, Map<Pedido, ResultadoReserva> resultados) {
+        List<Pedido> rejeitados = pedidos.stream()
+                .filter(pedido -> resultados.get(pedido).getStatus() == StatusReserva.REJEITADO)
+                .toList();
+        if (rejeitados.isEmpty()) {
+            return;
+        }
+        Set<String> repetidos = gateway.registrarPedidosRejeitados(rejeitados.stream().map(resultados::get).toList());
+        if (!repetidos.isEmpty()) {
+            semProcessados(rejeitados.stream().filter(pedido -> repetidos.contains(pedido.getPedidoId())).toList(),
+                    resultados);
+        }
+    }
+
+    private boolean valido(Pedido pedido) {
+        return pedido.getPedidoId() != null
+                && pedido.getItens() != null
+                && !pedido.getItens().isEmpty()
+                && pedido.getItens().stream().allMatch(item -> item.getSku() != null && !item.getSku().isBlank()
+                        && item.getQuantidade() != null && item.getQuantidade() > 0);
+    }
+
+    private ResultadoReserva reservado(Pedido pedido) {
+        return ResultadoReserva.builder()
+                .pedidoId(pedido.getPedidoId())
+                .status(StatusReserva.RESERVADO)
+                .skusRejeitados(List.of())
+                .build();
+    }
+
+    private ResultadoReserva rejeitado(Pedido pedido, List<String> skus) {
+        return ResultadoReserva.builder()
+                .pedidoId(pedido.getPedidoId())
+                .status(StatusReserva.REJEITADO)
+                .skusRejeitados(skus)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class ReservarEstoqueServiceUseCase {
+    private final ReservaEstoqueGateway gateway;
+    private final EstoqueCache cache;
+
+    @Value("${estoque.reserva.ttl:15m}")
+    private Duration ttlPadrao = Duration.ofMinutes(15);
+
+    @Value("${estoque.reserva.ttl-maximo:2h}")
+    private Duration ttlMaximo = Duration.ofHours(2);
+
+    /**
+     * Segura a quantidade até o fim do prazo (estoque.reserva.ttl quando não informado), recusando
+     * com 404/409 como a baixa. Sem confirmação nem cancelamento, a expiração devolve a quantidade ao saldo.
+     */
+    public Reserva execute(String sku, int quantidade, Duration ttl) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade da reserva deve ser positiva para SKU: " + sku);
+        }
+        Duration prazo = ttl != null ? ttl : ttlPadrao;
+        if (prazo.isNegative() || prazo.isZero() || prazo.compareTo(ttlMaximo) > 0) {
+            throw new IllegalArgumentException("Prazo da reserva deve ser positivo e de no máximo " + ttlMaximo.toSeconds() + "s");
+        }
+        log.debug("Executando reserva de estoque para SKU: {}, quantidade: {}, prazo: {}", sku, quantidade, prazo);
+        Reserva reserva;
+        try {
+            reserva = gateway.reservar(sku, quantidade, Instant.now().plus(prazo));
+        } finally {
+            cache.invalidar(sku);
+        }
+        log.debug("Reserva de estoque {} criada para SKU: {}", reserva.getId(), sku);
+        return reserva;
+    }
+}
@@ -0,0 +1,29 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+@Timed("estoque.usecase")
+@RequiredArgsConstructor
+public class TirarSnapshotEstoqueServiceUseCase {
+    private final MovimentacaoEstoqueGateway gateway;
+
+    @Value("${estoque.movimentacao.snapshot.atraso:1m}")
+    private Duration atraso = Duration.ofMinutes(1);
+
+    /**
+     * O corte fica estoque.movimentacao.snapshot.atraso no passado: movimentações de transações ainda
+     * abertas (ou de instâncias com relógio atrasado) entram no snapshot seguinte em vez de ficarem de fora
+     * de um snapshot já gravado. Retorna quantos SKUs ganharam snapshot.
+     */
+    public int execute() {
+        return gateway.tirarSnapshots(Instant.now().minus(atraso));
+    }
+}
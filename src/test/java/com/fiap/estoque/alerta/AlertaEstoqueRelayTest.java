@@ -0,0 +1,114 @@
+package com.fiap.estoque.alerta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fiap.estoque.domain.TipoAlertaEstoque;
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.fiap.estoque.domain.TipoAlertaEstoque.ABAIXO_MINIMO;
+import static com.fiap.estoque.domain.TipoAlertaEstoque.NORMALIZADO;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertaEstoqueRelayTest {
+
+    private static final String TOPICO = "estoque-alertas";
+
+    @Mock
+    private AlertaEstoqueRepository alertaRepository;
+
+    @Spy
+    private EstoqueMapper mapper = new EstoqueMapperImpl();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @InjectMocks
+    private AlertaEstoqueRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "topico", TOPICO);
+        ReflectionTestUtils.setField(relay, "tamanhoLote", 3);
+    }
+
+    @Test
+    void drenar_devePublicarUltimoAlertaDeCadaSkuEApagarLote() {
+        // Given
+        when(alertaRepository.buscarLote(any(Pageable.class)))
+                .thenReturn(List.of(alerta(1L, "SKU-A", ABAIXO_MINIMO), alerta(2L, "SKU-B", ABAIXO_MINIMO), alerta(3L, "SKU-C", NORMALIZADO)))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.drenar();
+
+        // Then
+        InOrder ordem = inOrder(kafkaTemplate, alertaRepository);
+        ordem.verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-A"), contains("\"tipo\":\"ABAIXO_MINIMO\""));
+        ordem.verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-B"), contains("\"sequencia\":2"));
+        ordem.verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-C"), contains("\"tipo\":\"NORMALIZADO\""));
+        ordem.verify(alertaRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void drenar_naoDevePublicarSkuQueVoltouAoLadoInicialDoLimite() {
+        // Given
+        ReflectionTestUtils.setField(relay, "tamanhoLote", 10);
+        when(alertaRepository.buscarLote(any(Pageable.class))).thenReturn(List.of(alerta(1L, "SKU-A", ABAIXO_MINIMO),
+                alerta(2L, "SKU-B", ABAIXO_MINIMO), alerta(3L, "SKU-A", NORMALIZADO), alerta(4L, "SKU-B", NORMALIZADO),
+                alerta(5L, "SKU-B", ABAIXO_MINIMO)));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.drenar();
+
+        // Then
+        verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-B"), contains("\"sequencia\":5"));
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), anyString());
+        verify(alertaRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L, 4L, 5L));
+    }
+
+    @Test
+    void drenar_naoDeveApagarLoteQuandoPublicacaoFalha() {
+        // Given
+        when(alertaRepository.buscarLote(any(Pageable.class))).thenReturn(List.of(alerta(1L, "SKU-A", ABAIXO_MINIMO)));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponível")));
+
+        // When & Then
+        assertThatThrownBy(() -> relay.drenar()).hasRootCauseMessage("broker indisponível");
+        verify(alertaRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private AlertaEstoqueEntity alerta(Long id, String sku, TipoAlertaEstoque tipo) {
+        return AlertaEstoqueEntity.builder().id(id).sku(sku).tipo(tipo).quantidadeDisponivel(3).estoqueMinimo(5)
+                .criadoEm(Instant.EPOCH).build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.fiap.estoque.cache;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultaAgrupadaEstoqueTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    private ConsultaAgrupadaEstoque consulta;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (consulta != null) {
+            consulta.encerrar();
+        }
+    }
+
+    @Test
+    void buscar_deveCompartilharUmaLeituraEntreChamadasConcorrentesDoMesmoSku() throws Exception {
+        // Given
+        consulta = new ConsultaAgrupadaEstoque(gateway, Duration.ofMillis(200), 500, 1, false);
+        Estoque estoque = Estoque.builder().sku("SKU-1").quantidadeDisponivel(10).build();
+        when(gateway.buscarPorSkus(any())).thenReturn(List.of(estoque));
+
+        // When
+        List<Optional<Estoque>> resultados = buscarEmParalelo("SKU-1", "SKU-1", "SKU-1", "SKU-1", "SKU-1", "SKU-1");
+
+        // Then
+        assertThat(resultados).allSatisfy(resultado -> assertThat(resultado).containsSame(estoque));
+        verify(gateway, times(1)).buscarPorSkus(Set.of("SKU-1"));
+        verify(gateway, never()).buscarPorSku(any());
+    }
+
+    @Test
+    void buscar_deveConsultarEmThreadVirtualQuandoThreadsVirtuaisHabilitadas() throws Exception {
+        // Given
+        consulta = new ConsultaAgrupadaEstoque(gateway, Duration.ofMillis(1), 500, 1, true);
+        List<Thread> threads = new ArrayList<>();
+        when(gateway.buscarPorSkus(any())).thenAnswer(invocacao -> {
+            threads.add(Thread.currentThread());
+            return List.of();
+        });
+
+        // When
+        consulta.buscar("SKU-1");
+
+        // Then
+        assertThat(threads).singleElement().satisfies(thread -> {
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("estoque-consulta-agrupada-");
+        });
+    }
+
+    @Test
+    void buscar_deveJuntarSkusDiferentesDaMesmaJanelaEmUmaConsulta() throws Exception {
+        // Given
+        consulta = new ConsultaAgrupadaEstoque(gateway, Duration.ofMillis(200), 500, 1, false);
+        Estoque a = Estoque.builder().sku("SKU-A").quantidadeDisponivel(1).build();
+        Estoque b = Estoque.builder().sku("SKU-B").quantidadeDisponivel(2).build();
+        when(gateway.buscarPorSkus(any())).thenReturn(List.of(a, b));
+
+        // When
+        List<Optional<Estoque>> resultados = buscarEmParalelo("SKU-A", "SKU-B", "SKU-X");
+
+        // Then
+        assertThat(resultados).containsExactly(Optional.of(a), Optional.of(b), Optional.empty());
+        verify(gateway, times(1)).buscarPorSkus(Set.of("SKU-A", "SKU-B", "SKU-X"));
+    }
+
+    @Test
+    void buscar_deveConsultarAntesDoFimDaJanelaQuandoLoteEnche() throws Exception {
+        // Given
+        consulta = new ConsultaAgrupadaEstoque(gateway, Duration.ofMinutes(1), 2, 1, false);
+        when(gateway.buscarPorSkus(any())).thenReturn(List.of());
+
+        // When
+        List<Optional<Estoque>> resultados = buscarEmParalelo("SKU-A", "SKU-B");
+
+        // Then
+        assertThat(resultados).containsOnly(Optional.empty());
+        verify(gateway).buscarPorSkus(Set.of("SKU-A", "SKU-B"));
+    }
+
+    @Test
+    void buscar_devePropagarFalhaDoGatewayParaTodasAsChamadasDoLote() {
+        // Given
+        consulta = new ConsultaAgrupadaEstoque(gateway, Duration.ofMillis(1), 500, 1, false);
+        when(gateway.buscarPorSkus(any())).thenThrow(new RuntimeException("banco indisponível"));
+
+        // When & Then
+        assertThatThrownBy(() -> consulta.buscar("SKU-1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("banco indisponível");
+    }
+
+    @Test
+    void buscar_deveIrDiretoAoGatewayComJanelaZero() {
+        // Given
+        consulta = new ConsultaAgrupadaEstoque(gateway, Duration.ZERO, 500, 1, false);
+        when(gateway.buscarPorSku("SKU-1")).thenReturn(Optional.empty());
+
+        // When
+        Optional<Estoque> resultado = consulta.buscar("SKU-1");
+
+        // Then
+        assertThat(resultado).isEmpty();
+        verify(gateway, never()).buscarPorSkus(any());
+    }
+
+    private List<Optional<Estoque>> buscarEmParalelo(String... skus) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Optional<Estoque>>> futuros = new ArrayList<>();
+        for (String sku : skus) {
+            Callable<Optional<Estoque>> chamada = () -> {
+                largada.await();
+                return consulta.buscar(sku);
+            };
+            futuros.add(executor.submit(chamada));
+        }
+        largada.countDown();
+        List<Optional<Estoque>> resultados = new ArrayList<>();
+        for (Future<Optional<Estoque>> futuro : futuros) {
+            resultados.add(futuro.get(10, TimeUnit.SECONDS));
+        }
+        return resultados;
+    }
+}
@@ -0,0 +1,195 @@
+package com.fiap.estoque.cache;
+
+import com.fiap.estoque.domain.Estoque;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstoqueCacheTest {
+
+    private static final String SKU = "SKU-123";
+
+    private SimpleMeterRegistry meterRegistry;
+    private EstoqueCache cache;
+    private AtomicInteger carregamentos;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EstoqueCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1), meterRegistry);
+        carregamentos = new AtomicInteger();
+    }
+
+    @Test
+    void deveCarregarUmaVezESeguirRespondendoDoCache() {
+        // Given
+        Estoque estoque = criarEstoque(10);
+
+        // When
+        Optional<Estoque> primeira = cache.buscar(SKU, carregador(Optional.of(estoque)));
+        Optional<Estoque> segunda = cache.buscar(SKU, carregador(Optional.of(estoque)));
+
+        // Then
+        assertThat(primeira).contains(estoque);
+        assertThat(segunda).contains(estoque);
+        assertThat(carregamentos).hasValue(1);
+    }
+
+    @Test
+    void deveGuardarSkuInexistenteNoCacheNegativo() {
+        // When
+        cache.buscar(SKU, carregador(Optional.empty()));
+        Optional<Estoque> resultado = cache.buscar(SKU, carregador(Optional.empty()));
+
+        // Then
+        assertThat(resultado).isEmpty();
+        assertThat(carregamentos).hasValue(1);
+    }
+
+    @Test
+    void deveExpirarCacheNegativoComTtlProprio() {
+        // Given
+        cache = new EstoqueCache(100, Duration.ofMinutes(1), Duration.ofNanos(1), meterRegistry);
+
+        // When
+        cache.buscar(SKU, carregador(Optional.empty()));
+        cache.buscar(SKU, carregador(Optional.empty()));
+
+        // Then
+        assertThat(carregamentos).hasValue(2);
+    }
+
+    @Test
+    void deveResponderComValorGravadoPelaEscrita() {
+        // Given
+        cache.buscar(SKU, carregador(Optional.of(criarEstoque(10))));
+        Estoque atualizado = criarEstoque(7);
+
+        // When
+        cache.atualizar(atualizado);
+        Optional<Estoque> resultado = cache.buscar(SKU, carregador(Optional.empty()));
+
+        // Then
+        assertThat(resultado).contains(atualizado);
+        assertThat(carregamentos).hasValue(1);
+    }
+
+    @Test
+    void naoDeveSobrescreverVersaoMaisNovaComEscritaAtrasada() {
+        // Given
+        Estoque maisNovo = Estoque.builder().id(1L).sku(SKU).quantidadeDisponivel(7).versao(5L).build();
+        Estoque atrasado = Estoque.builder().id(1L).sku(SKU).quantidadeDisponivel(8).versao(4L).build();
+        Estoque seguinte = Estoque.builder().id(1L).sku(SKU).quantidadeDisponivel(6).versao(6L).build();
+
+        // When
+        cache.atualizar(maisNovo);
+        cache.atualizar(atrasado);
+        Optional<Estoque> aposAtrasado = cache.buscar(SKU, carregador(Optional.empty()));
+        cache.atualizar(seguinte);
+        Optional<Estoque> aposSeguinte = cache.buscar(SKU, carregador(Optional.empty()));
+
+        // Then
+        assertThat(aposAtrasado).contains(maisNovo);
+        assertThat(aposSeguinte).contains(seguinte);
+        assertThat(carregamentos).hasValue(0);
+    }
+
+    @Test
+    void deveRecarregarAposInvalidacao() {
+        // Given
+        cache.buscar(SKU, carregador(Optional.of(criarEstoque(10))));
+
+        // When
+        cache.invalidar(SKU);
+        cache.buscar(SKU, carregador(Optional.of(criarEstoque(10))));
+        cache.invalidar(List.of(SKU));
+        cache.buscar(SKU, carregador(Optional.of(criarEstoque(10))));
+
+        // Then
+        assertThat(carregamentos).hasValue(3);
+    }
+
+    @Test
+    void naoDeveUsarCacheParaSkuNulo() {
+        // When
+        cache.buscar(null, carregador(Optional.empty()));
+        cache.buscar(null, carregador(Optional.empty()));
+        cache.invalidar((String) null);
+
+        // Then
+        assertThat(carregamentos).hasValue(2);
+    }
+
+    @Test
+    void deveExporContadoresDeAcertoErroEEvicao() {
+        // When
+        cache.buscar(SKU, carregador(Optional.of(criarEstoque(10))));
+        cache.buscar(SKU, carregador(Optional.of(criarEstoque(10))));
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "estoque").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "estoque").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "estoque").meters()).isNotEmpty();
+    }
+
+    @Test
+    void buscarTodos_deveCarregarSomenteOsAusentesEmUmaChamada() {
+        // Given
+        Estoque emCache = criarEstoque(10);
+        cache.atualizar(emCache);
+        Estoque carregado = Estoque.builder().sku("SKU-2").quantidadeDisponivel(3).build();
+        List<Set<String>> chamadas = new ArrayList<>();
+
+        // When
+        Map<String, Estoque> resultado = cache.buscarTodos(List.of("SKU-2", SKU, "SKU-X"), faltantes -> {
+            chamadas.add(faltantes);
+            return Map.of("SKU-2", carregado);
+        });
+
+        // Then
+        assertThat(chamadas).containsExactly(Set.of("SKU-2", "SKU-X"));
+        assertThat(resultado).containsExactly(Map.entry("SKU-2", carregado), Map.entry(SKU, emCache));
+    }
+
+    @Test
+    void buscarTodos_deveGuardarInexistentesNoCacheNegativo() {
+        // Given
+        cache.buscarTodos(List.of("SKU-X"), faltantes -> Map.of());
+
+        // When
+        Map<String, Estoque> resultado = cache.buscarTodos(List.of("SKU-X"), faltantes -> {
+            carregamentos.incrementAndGet();
+            return Map.of();
+        });
+        Optional<Estoque> individual = cache.buscar("SKU-X", carregador(Optional.empty()));
+
+        // Then
+        assertThat(resultado).isEmpty();
+        assertThat(individual).isEmpty();
+        assertThat(carregamentos).hasValue(0);
+    }
+
+    private Function<String, Optional<Estoque>> carregador(Optional<Estoque> resultado) {
+        return sku -> {
+            carregamentos.incrementAndGet();
+            return resultado;
+        };
+    }
+
+    private Estoque criarEstoque(int quantidade) {
+        return Estoque.builder().id(1L).sku(SKU).quantidadeDisponivel(quantidade).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.fiap.estoque.config.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcessoLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("estoque.acesso");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_deveRegistrarUmaLinhaComRotaSkuEStatus() throws Exception {
+        // Given
+        AcessoLogFilter filter = new AcessoLogFilter(1.0, Duration.ofMillis(500));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/estoques/SKU-1/baixa");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/estoques/{sku}/baixa");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("sku", "SKU-1"));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> campos = campos(appender.list.get(0));
+        assertThat(campos).containsEntry("metodo", "POST")
+                .containsEntry("rota", "/estoques/{sku}/baixa")
+                .containsEntry("sku", "SKU-1")
+                .containsEntry("status", 200)
+                .containsKey("duracaoMs");
+    }
+
+    @Test
+    void doFilter_deveDescartarRequisicoesBemSucedidasForaDaAmostra() throws Exception {
+        // Given
+        AcessoLogFilter filter = new AcessoLogFilter(0.0, Duration.ofMinutes(1));
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/estoques/SKU-1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void doFilter_deveRegistrarErrosMesmoForaDaAmostra() throws Exception {
+        // Given
+        AcessoLogFilter filter = new AcessoLogFilter(0.0, Duration.ofMinutes(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/estoques/SKU-X"), response, new MockFilterChain());
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        assertThat(campos(appender.list.get(0))).containsEntry("rota", "/estoques/SKU-X").containsEntry("status", 404);
+    }
+
+    @Test
+    void deveRegistrar_deveConsiderarRequisicoesLentas() {
+        // Given
+        AcessoLogFilter filter = new AcessoLogFilter(0.0, Duration.ofMillis(100));
+
+        // When / Then
+        assertThat(filter.deveRegistrar(200, Duration.ofMillis(150).toNanos())).isTrue();
+        assertThat(filter.deveRegistrar(200, Duration.ofMillis(50).toNanos())).isFalse();
+    }
+
+    private static Map<String, Object> campos(ILoggingEvent evento) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        for (KeyValuePair par : evento.getKeyValuePairs()) {
+            campos.put(par.key, par.value);
+        }
+        return campos;
+    }
+}
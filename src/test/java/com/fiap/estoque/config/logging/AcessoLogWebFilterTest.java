@@ -0,0 +1,119 @@
+package com.fiap.estoque.config.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcessoLogWebFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("estoque.acesso");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private AnnotationConfigApplicationContext contexto;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    @Test
+    void filter_deveRegistrarUmaLinhaComRotaSkuEStatus() {
+        // Given
+        WebTestClient client = client(new AcessoLogWebFilter(1.0, Duration.ofMillis(500)));
+
+        // When
+        client.post().uri("/estoques/SKU-1/baixa").exchange().expectStatus().isOk();
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        assertThat(campos(appender.list.get(0))).containsEntry("metodo", "POST")
+                .containsEntry("rota", "/estoques/{sku}/baixa")
+                .containsEntry("sku", "SKU-1")
+                .containsEntry("status", 200)
+                .containsKey("duracaoMs");
+    }
+
+    @Test
+    void filter_deveDescartarRequisicoesBemSucedidasForaDaAmostra() {
+        // Given
+        WebTestClient client = client(new AcessoLogWebFilter(0.0, Duration.ofMinutes(1)));
+
+        // When
+        client.post().uri("/estoques/SKU-1/baixa").exchange().expectStatus().isOk();
+
+        // Then
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void filter_deveRegistrarStatusDaRotaInexistenteMesmoForaDaAmostra() {
+        // Given
+        WebTestClient client = client(new AcessoLogWebFilter(0.0, Duration.ofMinutes(1)));
+
+        // When
+        client.get().uri("/inexistente").exchange().expectStatus().isNotFound();
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        assertThat(campos(appender.list.get(0))).containsEntry("rota", "/inexistente").containsEntry("status", 404);
+    }
+
+    /**
+     * Contexto WebFlux completo: é o RouterFunctionMapping que expõe o padrão casado e as variáveis da rota.
+     */
+    private WebTestClient client(AcessoLogWebFilter filtro) {
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.getEnvironment().setActiveProfiles("reativo");
+        contexto.registerBean(AcessoLogWebFilter.class, () -> filtro);
+        contexto.register(ConfiguracaoTeste.class);
+        contexto.refresh();
+        return WebTestClient.bindToApplicationContext(contexto).build();
+    }
+
+    @Configuration
+    @EnableWebFlux
+    static class ConfiguracaoTeste {
+
+        @Bean
+        RouterFunction<ServerResponse> rotas() {
+            return RouterFunctions.route()
+                    .POST("/estoques/{sku}/baixa", request -> ServerResponse.ok().build())
+                    .build();
+        }
+    }
+
+    private static Map<String, Object> campos(ILoggingEvent evento) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        for (KeyValuePair par : evento.getKeyValuePairs()) {
+            campos.put(par.key, par.value);
+        }
+        return campos;
+    }
+}
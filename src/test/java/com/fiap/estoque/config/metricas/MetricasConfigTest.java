@@ -0,0 +1,50 @@
+package com.fiap.estoque.config.metricas;
+
+import com.fiap.estoque.cache.BaixaIdempotenteCache;
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.BaixaAgrupadaEstoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricasConfigTest {
+
+    @Test
+    void timedAspect_deveMedirMetodosDoCasoDeUsoPorResultado() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EstoqueGateway gateway = mock(EstoqueGateway.class);
+        when(gateway.baixarEstoque("SKU-1", 1)).thenReturn(Estoque.builder().sku("SKU-1").quantidadeDisponivel(9).build());
+        when(gateway.baixarEstoque("SKU-2", 1)).thenThrow(new RuntimeException("Estoque insuficiente para SKU: SKU-2"));
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(new BaixarEstoqueServiceUseCase(
+                gateway, mock(EstoqueCache.class), new EstoqueMetricas(registry, Set.of()), mock(BaixaIdempotenteCache.class),
+                mock(BaixaAgrupadaEstoque.class)));
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasConfig().timedAspect(registry));
+        BaixarEstoqueServiceUseCase useCase = fabrica.getProxy();
+
+        // When
+        useCase.execute("SKU-1", 1);
+        assertThatThrownBy(() -> useCase.execute("SKU-2", 1)).isInstanceOf(RuntimeException.class);
+
+        // Then
+        Timer sucesso = registry.get("estoque.usecase")
+                .tags("class", BaixarEstoqueServiceUseCase.class.getName(), "method", "execute", "exception", "none")
+                .timer();
+        Timer falha = registry.get("estoque.usecase").tag("exception", "RuntimeException").timer();
+        assertThat(sucesso.count()).isEqualTo(1);
+        assertThat(falha.count()).isEqualTo(1);
+    }
+}
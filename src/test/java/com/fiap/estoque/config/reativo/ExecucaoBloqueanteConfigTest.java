@@ -0,0 +1,83 @@
+package com.fiap.estoque.config.reativo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecucaoBloqueanteConfigTest {
+
+    private AnnotationConfigApplicationContext contexto;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.getEnvironment().setActiveProfiles("reativo");
+        contexto.register(ConfiguracaoTeste.class);
+        contexto.refresh();
+        client = WebTestClient.bindToApplicationContext(contexto).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        contexto.close();
+    }
+
+    @Test
+    void controllerAnotado_deveExecutarMetodoBloqueanteForaDoEventLoop() {
+        // Act
+        String thread = client.get().uri("/thread/bloqueante").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(thread).startsWith("estoque-bloqueante-");
+    }
+
+    @Test
+    void controllerAnotado_deveManterMetodoReativoForaDoPoolBloqueante() {
+        // Act
+        String thread = client.get().uri("/thread/reativo").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        // Assert
+        assertThat(thread).doesNotStartWith("estoque-bloqueante-");
+    }
+
+    @Configuration
+    @EnableWebFlux
+    @Import(ExecucaoBloqueanteConfig.class)
+    static class ConfiguracaoTeste {
+
+        @Bean
+        ControllerThread controllerThread() {
+            return new ControllerThread();
+        }
+    }
+
+    @RestController
+    static class ControllerThread {
+
+        @GetMapping("/thread/bloqueante")
+        String bloqueante() {
+            return Thread.currentThread().getName();
+        }
+
+        @GetMapping("/thread/reativo")
+        Mono<String> reativo() {
+            return Mono.fromCallable(() -> Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.estoque.config.reativo;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeituraReativaConfigTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(LeituraReativaConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:config-reativa;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "estoque.reativo.r2dbc.url=r2dbc:h2:mem:///config-reativa");
+
+    @Test
+    void foraDoPerfilReativo_naoDeveCriarClienteR2dbc() {
+        contexto.run(context -> assertThat(context).doesNotHaveBean(DatabaseClient.class));
+    }
+
+    @Test
+    void perfilReativo_deveLerPeloR2dbcSemTirarODataSourceDoJpa() {
+        contexto.withPropertyValues("spring.profiles.active=reativo").run(context -> {
+            assertThat(context).hasSingleBean(DataSource.class).doesNotHaveBean(ConnectionFactory.class);
+
+            String banco = context.getBean(DatabaseClient.class).sql("CALL DATABASE()")
+                    .map(linha -> linha.get(0, String.class)).one().block();
+
+            assertThat(banco).isEqualToIgnoringCase("config-reativa");
+        });
+    }
+}
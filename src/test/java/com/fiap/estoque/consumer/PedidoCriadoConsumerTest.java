@@ -0,0 +1,96 @@
+package com.fiap.estoque.consumer;
+
+import com.fiap.estoque.domain.Pedido;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.domain.StatusReserva;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.usecase.service.ReservarEstoquePedidosServiceUseCase;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {PedidoCriadoConsumer.class, EstoqueMapperImpl.class}, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "estoque.pedidos.habilitado=true",
+        "estoque.pedidos.topico=pedidos-criados",
+        "estoque.pedidos.topico-resposta=estoque-reservas",
+        "estoque.pedidos.grupo=estoque-service-teste"
+})
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+@EmbeddedKafka(partitions = 1, topics = {"pedidos-criados", "estoque-reservas"})
+class PedidoCriadoConsumerTest {
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @MockBean
+    private ReservarEstoquePedidosServiceUseCase reservarEstoquePedidos;
+
+    @Test
+    void devePublicarResultadoDaReservaDeCadaPedido() {
+        // Given
+        when(reservarEstoquePedidos.execute(anyList())).thenAnswer(invocation -> {
+            List<Pedido> pedidos = invocation.getArgument(0);
+            return pedidos.stream().map(pedido -> ResultadoReserva.builder()
+                    .pedidoId(pedido.getPedidoId())
+                    .status(pedido.getItens().get(0).getQuantidade() > 5 ? StatusReserva.REJEITADO : StatusReserva.RESERVADO)
+                    .skusRejeitados(List.of())
+                    .build()).toList();
+        });
+
+        // When
+        kafkaTemplate.send("pedidos-criados", "P1", "{\"pedidoId\":\"P1\",\"itens\":[{\"sku\":\"SKU-1\",\"quantidade\":2}]}");
+        kafkaTemplate.send("pedidos-criados", "X", "não é json");
+        kafkaTemplate.send("pedidos-criados", "P2", "{\"pedidoId\":\"P2\",\"itens\":[{\"sku\":\"SKU-1\",\"quantidade\":9}]}");
+
+        // Then
+        Map<String, String> respostas = new HashMap<>();
+        try (Consumer<String, String> consumidor = criarConsumidor()) {
+            broker.consumeFromAnEmbeddedTopic(consumidor, "estoque-reservas");
+            long limite = System.currentTimeMillis() + 30_000;
+            while (respostas.size() < 2 && System.currentTimeMillis() < limite) {
+                ConsumerRecords<String, String> registros = KafkaTestUtils.getRecords(consumidor, Duration.ofSeconds(5));
+                for (ConsumerRecord<String, String> registro : registros) {
+                    respostas.put(registro.key(), registro.value());
+                }
+            }
+        }
+        assertThat(respostas).containsOnlyKeys("P1", "P2");
+        assertThat(respostas.get("P1")).contains("\"status\":\"RESERVADO\"");
+        assertThat(respostas.get("P2")).contains("\"status\":\"REJEITADO\"");
+    }
+
+    private Consumer<String, String> criarConsumidor() {
+        Map<String, Object> propriedades = KafkaTestUtils.consumerProps("verificador-respostas", "false", broker);
+        propriedades.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(propriedades, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+    }
+}
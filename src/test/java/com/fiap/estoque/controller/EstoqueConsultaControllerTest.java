@@ -0,0 +1,42 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.usecase.service.ConsultarEstoqueEmLoteServiceUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueConsultaControllerTest {
+
+    @Mock
+    private ConsultarEstoqueEmLoteServiceUseCase consultarEmLoteUseCase;
+
+    @InjectMocks
+    private EstoqueConsultaController controller;
+
+    @Test
+    void deveResponderMapaCompactoNaOrdemDaRequisicao() {
+        // Arrange
+        List<String> skus = List.of("SKU-B", "SKU-X", "SKU-A");
+        Map<String, Estoque> estoques = new LinkedHashMap<>();
+        estoques.put("SKU-B", Estoque.builder().sku("SKU-B").quantidadeDisponivel(0).build());
+        estoques.put("SKU-A", Estoque.builder().sku("SKU-A").quantidadeDisponivel(7).build());
+        when(consultarEmLoteUseCase.execute(skus)).thenReturn(estoques);
+
+        // Act
+        Map<String, Integer> resposta = controller.consultar(skus);
+
+        // Assert
+        assertThat(resposta).containsExactly(Map.entry("SKU-B", 0), Map.entry("SKU-A", 7));
+    }
+}
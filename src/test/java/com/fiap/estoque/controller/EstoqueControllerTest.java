@@ -1,18 +1,42 @@
 package com.fiap.estoque.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.dto.request.BaixaItemRequestDTO;
+import com.fiap.estoque.dto.request.BaixaLoteRequestDTO;
 import com.fiap.estoque.dto.request.EstoqueRequestDTO;
 import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import com.fiap.estoque.dto.response.ImportacaoResponseDTO;
+import com.fiap.estoque.dto.response.PaginaEstoqueResponseDTO;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
 import com.fiap.estoque.mapper.EstoqueMapper;
 import com.fiap.estoque.usecase.service.AtualizarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.BaixarEstoqueEmLoteServiceUseCase;
 import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
 import com.fiap.estoque.usecase.service.ConsultarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ExportarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ImportarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ReporEstoqueServiceUseCase;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,12 +55,53 @@ class EstoqueControllerTest {
     @Mock
     private BaixarEstoqueServiceUseCase baixarUseCase;
 
+    @Mock
+    private BaixarEstoqueEmLoteServiceUseCase baixarEmLoteUseCase;
+
+    @Mock
+    private ImportarEstoqueServiceUseCase importarUseCase;
+
+    @Mock
+    private ExportarEstoqueServiceUseCase exportarUseCase;
+
+    @Mock
+    private ListarEstoqueServiceUseCase listarUseCase;
+
+    @Mock
+    private ReporEstoqueServiceUseCase reporUseCase;
+
     @Mock
     private EstoqueMapper mapper;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private EstoqueController estoqueController;
 
+    @Test
+    void deveListarEstoquesPaginados() {
+        // Arrange
+        PaginaEstoque pagina = PaginaEstoque.builder()
+                .itens(List.of(criarEstoque("SKU2", 0)))
+                .proximoSku("SKU2")
+                .build();
+        PaginaEstoqueResponseDTO responseDTO = PaginaEstoqueResponseDTO.builder()
+                .itens(List.of(criarEstoqueResponseDTO("SKU2", 0)))
+                .proximoSku("SKU2")
+                .build();
+
+        when(listarUseCase.execute("SKU1", 1, null, null, true)).thenReturn(pagina);
+        when(mapper.toPaginaResponseDTO(pagina)).thenReturn(responseDTO);
+
+        // Act
+        PaginaEstoqueResponseDTO resultado = estoqueController.listar("SKU1", 1, null, null, true);
+
+        // Assert
+        assertSame(responseDTO, resultado);
+        verify(listarUseCase, times(1)).execute("SKU1", 1, null, null, true);
+    }
+
     @Test
     void deveConsultarEstoqueComSucesso() {
         // Arrange
@@ -67,7 +132,7 @@ class EstoqueControllerTest {
         when(consultarUseCase.execute(sku)).thenReturn(Optional.empty());
 
         // Act
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        EstoqueNaoEncontradoException exception = assertThrows(EstoqueNaoEncontradoException.class,
                 () -> estoqueController.consultar(sku));
 
         assertEquals("Estoque não encontrado para SKU: " + sku, exception.getMessage());
@@ -102,6 +167,51 @@ class EstoqueControllerTest {
         verify(mapper, times(1)).toResponseDTO(estoqueAtualizado);
     }
 
+    @Test
+    void deveReporEstoqueQuandoReposicaoInformada() {
+        // Arrange
+        String sku = "SKU123";
+        EstoqueRequestDTO requestDTO = EstoqueRequestDTO.builder().sku(sku).reposicao(50).build();
+        Estoque estoqueReposto = criarEstoque(sku, 150);
+        EstoqueResponseDTO responseDTO = criarEstoqueResponseDTO(sku, 150);
+
+        when(reporUseCase.execute(sku, 50)).thenReturn(estoqueReposto);
+        when(mapper.toResponseDTO(estoqueReposto)).thenReturn(responseDTO);
+
+        // Act
+        EstoqueResponseDTO resultado = estoqueController.atualizar(requestDTO);
+
+        // Assert
+        assertEquals(150, resultado.getQuantidadeDisponivel());
+        verify(atualizarUseCase, never()).execute(any());
+    }
+
+    @Test
+    void deveRejeitarReposicaoJuntoComQuantidadeAbsoluta() {
+        // Arrange
+        EstoqueRequestDTO requestDTO = EstoqueRequestDTO.builder().sku("SKU123").quantidadeDisponivel(10).reposicao(50).build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> estoqueController.atualizar(requestDTO));
+        verifyNoInteractions(reporUseCase, atualizarUseCase);
+    }
+
+    @Test
+    void deveRepassarIdempotencyKeyNaBaixa() {
+        // Arrange
+        Estoque estoqueAtualizado = criarEstoque("SKU123", 80);
+        EstoqueResponseDTO responseDTO = criarEstoqueResponseDTO("SKU123", 80);
+        when(baixarUseCase.execute("SKU123", 20, "pedido-1")).thenReturn(estoqueAtualizado);
+        when(mapper.toResponseDTO(estoqueAtualizado)).thenReturn(responseDTO);
+
+        // Act
+        EstoqueResponseDTO resultado = estoqueController.baixar("SKU123", 20, "pedido-1");
+
+        // Assert
+        assertSame(responseDTO, resultado);
+        verify(baixarUseCase).execute("SKU123", 20, "pedido-1");
+    }
+
     @Test
     void deveBaixarEstoqueComSucesso() {
         // Arrange
@@ -111,18 +221,18 @@ class EstoqueControllerTest {
         Estoque estoqueAtualizado = criarEstoque(sku, quantidadeRestante);
         EstoqueResponseDTO responseDTO = criarEstoqueResponseDTO(sku, quantidadeRestante);
 
-        when(baixarUseCase.execute(sku, quantidadeBaixa)).thenReturn(estoqueAtualizado);
+        when(baixarUseCase.execute(sku, quantidadeBaixa, null)).thenReturn(estoqueAtualizado);
         when(mapper.toResponseDTO(estoqueAtualizado)).thenReturn(responseDTO);
 
         // Act
-        EstoqueResponseDTO resultado = estoqueController.baixar(sku, quantidadeBaixa);
+        EstoqueResponseDTO resultado = estoqueController.baixar(sku, quantidadeBaixa, null);
 
         // Assert
         assertNotNull(resultado);
         assertEquals(sku, resultado.getSku());
         assertEquals(quantidadeRestante, resultado.getQuantidadeDisponivel());
 
-        verify(baixarUseCase, times(1)).execute(sku, quantidadeBaixa);
+        verify(baixarUseCase, times(1)).execute(sku, quantidadeBaixa, null);
         verify(mapper, times(1)).toResponseDTO(estoqueAtualizado);
     }
 
@@ -134,7 +244,7 @@ class EstoqueControllerTest {
         when(consultarUseCase.execute(sku)).thenReturn(Optional.empty());
 
         // Act
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        EstoqueNaoEncontradoException exception = assertThrows(EstoqueNaoEncontradoException.class,
                 () -> estoqueController.consultar(sku));
 
         assertEquals("Estoque não encontrado para SKU: " + sku, exception.getMessage());
@@ -178,21 +288,136 @@ class EstoqueControllerTest {
         Estoque estoqueAtualizado = criarEstoque(sku, quantidadeRestante);
         EstoqueResponseDTO responseDTO = criarEstoqueResponseDTO(sku, quantidadeRestante);
 
-        when(baixarUseCase.execute(sku, quantidadeBaixa)).thenReturn(estoqueAtualizado);
+        when(baixarUseCase.execute(sku, quantidadeBaixa, null)).thenReturn(estoqueAtualizado);
         when(mapper.toResponseDTO(estoqueAtualizado)).thenReturn(responseDTO);
 
         // Act
-        EstoqueResponseDTO resultado = estoqueController.baixar(sku, quantidadeBaixa);
+        EstoqueResponseDTO resultado = estoqueController.baixar(sku, quantidadeBaixa, null);
 
         // Assert
         assertNotNull(resultado);
         assertEquals(sku, resultado.getSku());
         assertEquals(quantidadeRestante, resultado.getQuantidadeDisponivel());
 
-        verify(baixarUseCase, times(1)).execute(sku, quantidadeBaixa);
+        verify(baixarUseCase, times(1)).execute(sku, quantidadeBaixa, null);
         verify(mapper, times(1)).toResponseDTO(estoqueAtualizado);
     }
 
+    @Test
+    void deveBaixarEstoqueEmLoteComSucesso() {
+        // Arrange
+        List<BaixaItemRequestDTO> itensDTO = List.of(
+                BaixaItemRequestDTO.builder().sku("SKU1").quantidade(2).build(),
+                BaixaItemRequestDTO.builder().sku("SKU2").quantidade(5).build());
+        BaixaLoteRequestDTO requestDTO = BaixaLoteRequestDTO.builder().itens(itensDTO).build();
+        List<ItemBaixa> itens = List.of(
+                ItemBaixa.builder().sku("SKU1").quantidade(2).build(),
+                ItemBaixa.builder().sku("SKU2").quantidade(5).build());
+        List<Estoque> atualizados = List.of(criarEstoque("SKU1", 8), criarEstoque("SKU2", 15));
+        List<EstoqueResponseDTO> responseDTOs = List.of(
+                criarEstoqueResponseDTO("SKU1", 8), criarEstoqueResponseDTO("SKU2", 15));
+
+        when(mapper.toItensBaixa(itensDTO)).thenReturn(itens);
+        when(baixarEmLoteUseCase.execute(itens)).thenReturn(atualizados);
+        when(mapper.toResponseDTOs(atualizados)).thenReturn(responseDTOs);
+
+        // Act
+        List<EstoqueResponseDTO> resultado = estoqueController.baixarEmLote(requestDTO);
+
+        // Assert
+        assertEquals(responseDTOs, resultado);
+        verify(baixarEmLoteUseCase, times(1)).execute(itens);
+        verify(mapper, times(1)).toResponseDTOs(atualizados);
+    }
+
+    @Test
+    void deveImportarEstoqueEmNdjson() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"sku":"SKU1","quantidadeDisponivel":10}
+                {"sku":"SKU2","quantidadeDisponivel":0}
+                """;
+        when(mapper.toDomain(any(EstoqueRequestDTO.class)))
+                .thenAnswer(inv -> {
+                    EstoqueRequestDTO dto = inv.getArgument(0);
+                    return criarEstoque(dto.getSku(), dto.getQuantidadeDisponivel());
+                });
+        List<String> skusImportados = new ArrayList<>();
+        when(importarUseCase.execute(any())).thenAnswer(inv -> {
+            Iterator<Estoque> estoques = inv.getArgument(0);
+            estoques.forEachRemaining(e -> skusImportados.add(e.getSku()));
+            return (long) skusImportados.size();
+        });
+
+        // Act
+        ImportacaoResponseDTO resultado = estoqueController.importar(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2L, resultado.getRegistrosImportados());
+        assertEquals(List.of("SKU1", "SKU2"), skusImportados);
+    }
+
+    @Test
+    void deveExportarEstoqueEmNdjson() throws Exception {
+        // Arrange
+        Estoque estoque1 = criarEstoque("SKU1", 10);
+        Estoque estoque2 = criarEstoque("SKU2", 0);
+        simularExportacao(estoque1, estoque2);
+        when(mapper.toResponseDTO(estoque1)).thenReturn(criarEstoqueResponseDTO("SKU1", 10));
+        when(mapper.toResponseDTO(estoque2)).thenReturn(criarEstoqueResponseDTO("SKU2", 0));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> resposta = estoqueController.exportar("ndjson");
+        String corpo = escreverCorpo(resposta);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_NDJSON, resposta.getHeaders().getContentType());
+        assertEquals("""
+                {"id":null,"sku":"SKU1","quantidadeDisponivel":10,"versao":null,"estoqueMinimo":null}
+                {"id":null,"sku":"SKU2","quantidadeDisponivel":0,"versao":null,"estoqueMinimo":null}
+                """, corpo);
+    }
+
+    @Test
+    void deveExportarEstoqueEmCsv() throws Exception {
+        // Arrange
+        Estoque estoque1 = criarEstoque("SKU1", 10);
+        estoque1.setId(1L);
+        Estoque estoque2 = criarEstoque("SKU,\"2\"", 3);
+        estoque2.setId(2L);
+        simularExportacao(estoque1, estoque2);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> resposta = estoqueController.exportar("csv");
+        String corpo = escreverCorpo(resposta);
+
+        // Assert
+        assertEquals("text/csv", resposta.getHeaders().getContentType().toString());
+        assertEquals("""
+                id,sku,quantidadeDisponivel
+                1,SKU1,10
+                2,"SKU,""2\"\"",3
+                """, corpo);
+        verify(mapper, never()).toResponseDTO(any(Estoque.class));
+    }
+
+    private void simularExportacao(Estoque... estoques) {
+        doAnswer(inv -> {
+            Consumer<Estoque> consumidor = inv.getArgument(0);
+            for (Estoque estoque : estoques) {
+                consumidor.accept(estoque);
+            }
+            return null;
+        }).when(exportarUseCase).execute(any());
+    }
+
+    private String escreverCorpo(ResponseEntity<StreamingResponseBody> resposta) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        resposta.getBody().writeTo(saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
     // Métodos auxiliares para criação de objetos de teste
     private Estoque criarEstoque(String sku, int quantidade) {
         return Estoque.builder()
@@ -0,0 +1,84 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.dto.response.EstoqueDepositoResponseDTO;
+import com.fiap.estoque.dto.response.ResultadoAlocacaoResponseDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.AlocarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.DefinirSaldoDepositoServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarDepositosEstoqueServiceUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueDepositoControllerTest {
+
+    @Mock
+    private ListarDepositosEstoqueServiceUseCase listarUseCase;
+
+    @Mock
+    private DefinirSaldoDepositoServiceUseCase definirSaldoUseCase;
+
+    @Mock
+    private AlocarEstoqueServiceUseCase alocarUseCase;
+
+    @Mock
+    private EstoqueMapper mapper;
+
+    @InjectMocks
+    private EstoqueDepositoController controller;
+
+    private final EstoqueDeposito deposito = EstoqueDeposito.builder().sku("SKU-1").deposito("CD-SP").quantidadeDisponivel(5).build();
+    private final EstoqueDepositoResponseDTO dto = EstoqueDepositoResponseDTO.builder().sku("SKU-1").deposito("CD-SP").quantidadeDisponivel(5).build();
+
+    @Test
+    void deveListarDepositosDoSku() {
+        // Arrange
+        when(listarUseCase.execute("SKU-1")).thenReturn(List.of(deposito));
+        when(mapper.toDepositoResponseDTOs(List.of(deposito))).thenReturn(List.of(dto));
+
+        // Act
+        List<EstoqueDepositoResponseDTO> resposta = controller.listar("SKU-1");
+
+        // Assert
+        assertSame(dto, resposta.get(0));
+    }
+
+    @Test
+    void deveDefinirSaldoNoDeposito() {
+        // Arrange
+        when(definirSaldoUseCase.execute("SKU-1", "CD-SP", 5)).thenReturn(deposito);
+        when(mapper.toDepositoResponseDTO(deposito)).thenReturn(dto);
+
+        // Act
+        EstoqueDepositoResponseDTO resposta = controller.definirSaldo("SKU-1", "CD-SP", 5);
+
+        // Assert
+        assertSame(dto, resposta);
+    }
+
+    @Test
+    void deveAlocarComEstrategiaEPreferencia() {
+        // Arrange
+        ResultadoAlocacao resultado = ResultadoAlocacao.builder().alocacoes(List.of()).build();
+        ResultadoAlocacaoResponseDTO resultadoDto = ResultadoAlocacaoResponseDTO.builder().alocacoes(List.of()).build();
+        when(alocarUseCase.execute("SKU-1", 3, EstrategiaAlocacao.PROXIMO, List.of("CD-RJ"))).thenReturn(resultado);
+        when(mapper.toResultadoAlocacaoResponseDTO(resultado)).thenReturn(resultadoDto);
+
+        // Act
+        ResultadoAlocacaoResponseDTO resposta = controller.alocar("SKU-1", 3, EstrategiaAlocacao.PROXIMO, List.of("CD-RJ"));
+
+        // Assert
+        assertSame(resultadoDto, resposta);
+    }
+}
@@ -0,0 +1,65 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.dto.response.EstoqueResponseDTO;
+import com.fiap.estoque.dto.response.PaginaEstoqueResponseDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.DefinirEstoqueMinimoServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarEstoqueAbaixoMinimoServiceUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueMinimoControllerTest {
+
+    @Mock
+    private DefinirEstoqueMinimoServiceUseCase definirMinimoUseCase;
+
+    @Mock
+    private ListarEstoqueAbaixoMinimoServiceUseCase listarAbaixoMinimoUseCase;
+
+    @Mock
+    private EstoqueMapper mapper;
+
+    @InjectMocks
+    private EstoqueMinimoController controller;
+
+    @Test
+    void deveDefinirEstoqueMinimo() {
+        // Arrange
+        Estoque estoque = Estoque.builder().sku("SKU-1").quantidadeDisponivel(3).estoqueMinimo(5).build();
+        EstoqueResponseDTO dto = EstoqueResponseDTO.builder().sku("SKU-1").quantidadeDisponivel(3).estoqueMinimo(5).build();
+        when(definirMinimoUseCase.execute("SKU-1", 5)).thenReturn(estoque);
+        when(mapper.toResponseDTO(estoque)).thenReturn(dto);
+
+        // Act
+        EstoqueResponseDTO resposta = controller.definirMinimo("SKU-1", 5);
+
+        // Assert
+        assertSame(dto, resposta);
+    }
+
+    @Test
+    void deveListarEstoquesAbaixoDoMinimo() {
+        // Arrange
+        PaginaEstoque pagina = PaginaEstoque.builder().itens(List.of()).build();
+        PaginaEstoqueResponseDTO dto = PaginaEstoqueResponseDTO.builder().itens(List.of()).build();
+        when(listarAbaixoMinimoUseCase.execute("SKU-0", 10)).thenReturn(pagina);
+        when(mapper.toPaginaResponseDTO(pagina)).thenReturn(dto);
+
+        // Act
+        PaginaEstoqueResponseDTO resposta = controller.listarAbaixoDoMinimo("SKU-0", 10);
+
+        // Assert
+        assertSame(dto, resposta);
+    }
+}
@@ -0,0 +1,80 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.Movimentacao;
+import com.fiap.estoque.domain.SaldoNoInstante;
+import com.fiap.estoque.dto.response.MovimentacaoResponseDTO;
+import com.fiap.estoque.dto.response.SaldoNoInstanteResponseDTO;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.ConsultarSaldoNoInstanteServiceUseCase;
+import com.fiap.estoque.usecase.service.ListarMovimentacoesEstoqueServiceUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MovimentacaoEstoqueControllerTest {
+
+    private static final Instant INSTANTE = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Mock
+    private ListarMovimentacoesEstoqueServiceUseCase listarUseCase;
+
+    @Mock
+    private ConsultarSaldoNoInstanteServiceUseCase saldoNoInstanteUseCase;
+
+    @Mock
+    private EstoqueMapper mapper;
+
+    @InjectMocks
+    private MovimentacaoEstoqueController controller;
+
+    @Test
+    void deveListarMovimentacoesDoSku() {
+        // Arrange
+        List<Movimentacao> movimentacoes = List.of(Movimentacao.builder().id(1L).sku("SKU-1").delta(-2).build());
+        List<MovimentacaoResponseDTO> dtos = List.of(MovimentacaoResponseDTO.builder().id(1L).sku("SKU-1").delta(-2).build());
+        when(listarUseCase.execute("SKU-1", 10L, 5)).thenReturn(movimentacoes);
+        when(mapper.toMovimentacaoResponseDTOs(movimentacoes)).thenReturn(dtos);
+
+        // Act
+        List<MovimentacaoResponseDTO> resposta = controller.listar("SKU-1", 10L, 5);
+
+        // Assert
+        assertSame(dtos, resposta);
+    }
+
+    @Test
+    void deveConsultarSaldoNoInstante() {
+        // Arrange
+        SaldoNoInstante saldo = SaldoNoInstante.builder().sku("SKU-1").instante(INSTANTE).quantidadeDisponivel(7).build();
+        SaldoNoInstanteResponseDTO dto = SaldoNoInstanteResponseDTO.builder().sku("SKU-1").instante(INSTANTE).quantidadeDisponivel(7).build();
+        when(saldoNoInstanteUseCase.execute("SKU-1", INSTANTE)).thenReturn(Optional.of(saldo));
+        when(mapper.toSaldoNoInstanteResponseDTO(saldo)).thenReturn(dto);
+
+        // Act
+        SaldoNoInstanteResponseDTO resposta = controller.consultarSaldoNoInstante("SKU-1", INSTANTE);
+
+        // Assert
+        assertSame(dto, resposta);
+    }
+
+    @Test
+    void deveResponderNaoEncontradoParaSkuInexistente() {
+        // Arrange
+        when(saldoNoInstanteUseCase.execute("SKU-X", INSTANTE)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EstoqueNaoEncontradoException.class, () -> controller.consultarSaldoNoInstante("SKU-X", INSTANTE));
+    }
+}
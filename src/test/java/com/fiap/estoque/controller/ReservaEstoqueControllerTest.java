@@ -0,0 +1,86 @@
+package com.fiap.estoque.controller;
+
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.dto.response.ReservaResponseDTO;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.usecase.service.CancelarReservaEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ConfirmarReservaEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ReservarEstoqueServiceUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaEstoqueControllerTest {
+
+    @Mock
+    private ReservarEstoqueServiceUseCase reservarUseCase;
+
+    @Mock
+    private ConfirmarReservaEstoqueServiceUseCase confirmarUseCase;
+
+    @Mock
+    private CancelarReservaEstoqueServiceUseCase cancelarUseCase;
+
+    @Mock
+    private EstoqueMapper mapper;
+
+    @InjectMocks
+    private ReservaEstoqueController controller;
+
+    private final Reserva reserva = Reserva.builder().id(1L).sku("SKU-1").quantidade(2).build();
+    private final ReservaResponseDTO dto = ReservaResponseDTO.builder().id(1L).sku("SKU-1").quantidade(2).build();
+
+    @Test
+    void deveReservarComPrazoEmSegundos() {
+        // Arrange
+        when(reservarUseCase.execute("SKU-1", 2, Duration.ofSeconds(600))).thenReturn(reserva);
+        when(mapper.toReservaResponseDTO(reserva)).thenReturn(dto);
+
+        // Act
+        ReservaResponseDTO resposta = controller.reservar("SKU-1", 2, 600L);
+
+        // Assert
+        assertSame(dto, resposta);
+    }
+
+    @Test
+    void deveReservarComPrazoPadraoQuandoNaoInformado() {
+        // Arrange
+        when(reservarUseCase.execute("SKU-1", 2, null)).thenReturn(reserva);
+        when(mapper.toReservaResponseDTO(reserva)).thenReturn(dto);
+
+        // Act
+        ReservaResponseDTO resposta = controller.reservar("SKU-1", 2, null);
+
+        // Assert
+        assertSame(dto, resposta);
+    }
+
+    @Test
+    void deveConfirmarReserva() {
+        // Arrange
+        when(confirmarUseCase.execute(1L)).thenReturn(reserva);
+        when(mapper.toReservaResponseDTO(reserva)).thenReturn(dto);
+
+        // Act & Assert
+        assertSame(dto, controller.confirmar(1L));
+    }
+
+    @Test
+    void deveCancelarReserva() {
+        // Arrange
+        when(cancelarUseCase.execute(1L)).thenReturn(reserva);
+        when(mapper.toReservaResponseDTO(reserva)).thenReturn(dto);
+
+        // Act & Assert
+        assertSame(dto, controller.cancelar(1L));
+    }
+}
@@ -0,0 +1,163 @@
+package com.fiap.estoque.controller.reativo;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.GlobalExceptionHandler;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.usecase.service.BaixarEstoqueServiceUseCase;
+import com.fiap.estoque.usecase.service.ConsultarEstoqueEmLoteReativoServiceUseCase;
+import com.fiap.estoque.usecase.service.ConsultarEstoqueReativoServiceUseCase;
+import com.fiap.estoque.usecase.service.ImportarEstoqueServiceUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueHandlerReativoTest {
+
+    @Mock
+    private ConsultarEstoqueReativoServiceUseCase consultarUseCase;
+
+    @Mock
+    private BaixarEstoqueServiceUseCase baixarUseCase;
+
+    @Mock
+    private ConsultarEstoqueEmLoteReativoServiceUseCase consultarEmLoteUseCase;
+
+    @Mock
+    private ImportarEstoqueServiceUseCase importarUseCase;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        EstoqueHandlerReativo handler = new EstoqueHandlerReativo(consultarUseCase, baixarUseCase, consultarEmLoteUseCase,
+                importarUseCase, new EstoqueMapperImpl(), new GlobalExceptionHandler());
+        client = WebTestClient.bindToRouterFunction(new EstoqueRotasReativas().rotasEstoque(handler)).build();
+    }
+
+    @Test
+    void consultar_deveResponderEstoqueDoSku() {
+        // Arrange
+        when(consultarUseCase.execute("SKU-1"))
+                .thenReturn(Mono.just(Estoque.builder().id(1L).sku("SKU-1").quantidadeDisponivel(10).build()));
+
+        // Act & Assert
+        client.get().uri("/estoques/SKU-1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.sku").isEqualTo("SKU-1")
+                .jsonPath("$.quantidadeDisponivel").isEqualTo(10);
+    }
+
+    @Test
+    void consultar_deveResponder404QuandoSkuNaoExiste() {
+        // Arrange
+        when(consultarUseCase.execute("SKU-X")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        client.get().uri("/estoques/SKU-X").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.sku").isEqualTo("SKU-X");
+    }
+
+    @Test
+    void consultar_naoDeveCapturarRotaAbaixoMinimo() {
+        // Act & Assert
+        client.get().uri("/estoques/abaixo-minimo").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().isEmpty();
+        verify(consultarUseCase, never()).execute(any());
+    }
+
+    @Test
+    void exportar_deveResponder501() {
+        // Act & Assert
+        client.get().uri("/estoques/exportacao").exchange()
+                .expectStatus().isEqualTo(501);
+    }
+
+    @Test
+    void baixar_deveRepassarQuantidadeEChaveIdempotencia() {
+        // Arrange
+        when(baixarUseCase.execute("SKU-1", 3, "chave-1"))
+                .thenReturn(Estoque.builder().sku("SKU-1").quantidadeDisponivel(7).build());
+
+        // Act & Assert
+        client.post().uri("/estoques/SKU-1/baixa?quantidade=3").header("Idempotency-Key", "chave-1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quantidadeDisponivel").isEqualTo(7);
+    }
+
+    @Test
+    void baixar_deveResponder409QuandoEstoqueInsuficiente() {
+        // Arrange
+        when(baixarUseCase.execute("SKU-1", 30, null)).thenThrow(new EstoqueInsuficienteException("SKU-1"));
+
+        // Act & Assert
+        client.post().uri("/estoques/SKU-1/baixa?quantidade=30").exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void baixar_deveResponder400SemQuantidade() {
+        // Act & Assert
+        client.post().uri("/estoques/SKU-1/baixa").exchange()
+                .expectStatus().isBadRequest();
+        verify(baixarUseCase, never()).execute(any(), anyInt(), any());
+    }
+
+    @Test
+    void consultarEmLote_deveResponderMapaCompacto() {
+        // Arrange
+        Map<String, Estoque> estoques = new LinkedHashMap<>();
+        estoques.put("SKU-B", Estoque.builder().sku("SKU-B").quantidadeDisponivel(0).build());
+        estoques.put("SKU-A", Estoque.builder().sku("SKU-A").quantidadeDisponivel(7).build());
+        when(consultarEmLoteUseCase.execute(List.of("SKU-B", "SKU-X", "SKU-A"))).thenReturn(Mono.just(estoques));
+
+        // Act & Assert
+        client.post().uri("/estoques/consulta").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[\"SKU-B\",\"SKU-X\",\"SKU-A\"]").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("{\"SKU-B\":0,\"SKU-A\":7}");
+    }
+
+    @Test
+    void importar_deveConsumirCorpoNdjson() {
+        // Arrange
+        List<Estoque> recebidos = new ArrayList<>();
+        when(importarUseCase.execute(any())).thenAnswer(invocacao -> {
+            Iterator<Estoque> estoques = invocacao.getArgument(0);
+            estoques.forEachRemaining(recebidos::add);
+            return (long) recebidos.size();
+        });
+
+        // Act & Assert
+        client.post().uri("/estoques/importacao").contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"sku\":\"SKU-1\",\"quantidadeDisponivel\":5}\n{\"sku\":\"SKU-2\",\"quantidadeDisponivel\":8}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.registrosImportados").isEqualTo(2);
+        assertThat(recebidos).extracting(Estoque::getSku).containsExactly("SKU-1", "SKU-2");
+    }
+}
@@ -0,0 +1,160 @@
+package com.fiap.estoque.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void handleEstoqueNaoEncontrado_deveResponder404ComSku() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleEstoqueNaoEncontrado(new EstoqueNaoEncontradoException("SKU-1"));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(resposta.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("status").asInt()).isEqualTo(404);
+        assertThat(corpo.get("error").asText()).isEqualTo("Not Found");
+        assertThat(corpo.get("message").asText()).isEqualTo("Estoque não encontrado para SKU: SKU-1");
+        assertThat(corpo.get("sku").asText()).isEqualTo("SKU-1");
+    }
+
+    @Test
+    void handleEstoqueInsuficiente_deveResponder409EEscaparSku() throws Exception {
+        // Given
+        String sku = "SKU \"1\"\\";
+
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleEstoqueInsuficiente(new EstoqueInsuficienteException(sku));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("error").asText()).isEqualTo("Conflict");
+        assertThat(corpo.get("message").asText()).isEqualTo("Estoque insuficiente para SKU: " + sku);
+        assertThat(corpo.get("sku").asText()).isEqualTo(sku);
+    }
+
+    @Test
+    void handleEstoqueVersaoConflitante_deveResponder409() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleEstoqueVersaoConflitante(new EstoqueVersaoConflitanteException("SKU-1"));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(objectMapper.readTree(resposta.getBody()).get("sku").asText()).isEqualTo("SKU-1");
+    }
+
+    @Test
+    void handleChaveIdempotenciaReutilizada_deveResponder422() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleChaveIdempotenciaReutilizada(
+                new ChaveIdempotenciaReutilizadaException("chave-1", "SKU-1"));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("message").asText()).isEqualTo("Idempotency-Key já usada em outra baixa: chave-1");
+        assertThat(corpo.get("sku").asText()).isEqualTo("SKU-1");
+    }
+
+    @Test
+    void handleReservaNaoEncontrada_deveResponder404SemSku() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleReservaNaoEncontrada(new ReservaNaoEncontradaException(7L));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("message").asText()).isEqualTo("Reserva não encontrada ou expirada: 7");
+        assertThat(corpo.has("sku")).isFalse();
+    }
+
+    @Test
+    void handleBaixaEmLoteRejeitada_deveResponder409ComSkus() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleBaixaEmLoteRejeitada(
+                new BaixaEmLoteRejeitadaException(List.of("SKU-1", "SKU-2")));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("status").asInt()).isEqualTo(409);
+        assertThat(corpo.get("message").asText()).isEqualTo("Estoque insuficiente ou inexistente para SKUs: SKU-1, SKU-2");
+        assertThat(objectMapper.convertValue(corpo.get("skus"), List.class)).containsExactly("SKU-1", "SKU-2");
+    }
+
+    @Test
+    void handleBaixaEmLoteRejeitada_deveGerarListaVaziaValida() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleBaixaEmLoteRejeitada(new BaixaEmLoteRejeitadaException(List.of()));
+
+        // Then
+        assertThat(objectMapper.readTree(resposta.getBody()).get("skus").isEmpty()).isTrue();
+    }
+
+    @Test
+    void handleIllegalArgument_deveResponder400ComMensagem() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleIllegalArgument(
+                new IllegalArgumentException("Quantidade deve ser maior que zero"));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("error").asText()).isEqualTo("Bad Request");
+        assertThat(corpo.get("message").asText()).isEqualTo("Quantidade deve ser maior que zero");
+    }
+
+    @Test
+    void handleParametroAusente_deveResponder400() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleParametroAusente(
+                new MissingServletRequestParameterException("quantidade", "int"));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(objectMapper.readTree(resposta.getBody()).get("message").asText())
+                .isEqualTo("Parâmetro obrigatório ausente: quantidade");
+    }
+
+    @Test
+    void handleMetodoNaoSuportado_deveResponder405ComAllow() throws Exception {
+        // When
+        ResponseEntity<byte[]> resposta = handler.handleMetodoNaoSuportado(
+                new HttpRequestMethodNotSupportedException("DELETE", List.of("GET", "PUT")));
+
+        // Then
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(resposta.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(resposta.getHeaders().getAllow()).containsExactlyInAnyOrder(HttpMethod.GET, HttpMethod.PUT);
+        JsonNode corpo = objectMapper.readTree(resposta.getBody());
+        assertThat(corpo.get("status").asInt()).isEqualTo(405);
+        assertThat(corpo.get("message").asText()).isEqualTo("Método não suportado: DELETE");
+    }
+
+    @Test
+    void excecoesDeEstoque_naoDevemCapturarStackTrace() {
+        // When
+        EstoqueException excecao = new EstoqueInsuficienteException("SKU-1");
+
+        // Then
+        assertThat(excecao.getStackTrace()).isEmpty();
+        assertThat(new BaixaEmLoteRejeitadaException(List.of("SKU-1")).getStackTrace()).isEmpty();
+    }
+}
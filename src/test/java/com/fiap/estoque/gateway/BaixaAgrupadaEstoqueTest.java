@@ -0,0 +1,153 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BaixaAgrupadaEstoqueTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    private BaixaAgrupadaEstoque baixaAgrupada;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        if (baixaAgrupada != null) {
+            baixaAgrupada.encerrar();
+        }
+    }
+
+    @Test
+    void baixar_deveAplicarBaixasDaMesmaJanelaEmUmaChamadaEDevolverCadaResultado() throws Exception {
+        // Given
+        baixaAgrupada = new BaixaAgrupadaEstoque(gateway, true, Duration.ofMillis(200), 64, 1, false);
+        Estoque baixado = Estoque.builder().sku("SKU-A").quantidadeDisponivel(7).build();
+        when(gateway.baixarEstoqueAgrupado(anyList())).thenAnswer(invocacao -> {
+            List<ItemBaixa> itens = invocacao.getArgument(0);
+            return itens.stream().map(item -> switch (item.getSku()) {
+                case "SKU-A" -> ResultadoBaixa.builder().estoque(baixado).encontrado(true).build();
+                case "SKU-B" -> ResultadoBaixa.builder().encontrado(true).build();
+                default -> ResultadoBaixa.builder().encontrado(false).build();
+            }).toList();
+        });
+
+        // When
+        List<Future<Estoque>> futuros = baixarEmParalelo("SKU-A", "SKU-B", "SKU-X");
+
+        // Then
+        assertThat(futuros.get(0).get(10, TimeUnit.SECONDS)).isSameAs(baixado);
+        assertThatThrownBy(() -> futuros.get(1).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(EstoqueInsuficienteException.class);
+        assertThatThrownBy(() -> futuros.get(2).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(EstoqueNaoEncontradoException.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemBaixa>> itens = ArgumentCaptor.forClass(List.class);
+        verify(gateway, times(1)).baixarEstoqueAgrupado(itens.capture());
+        assertThat(itens.getValue()).extracting(ItemBaixa::getSku).containsExactlyInAnyOrder("SKU-A", "SKU-B", "SKU-X");
+        verify(gateway, never()).baixarEstoque(any(), anyInt());
+    }
+
+    @Test
+    void baixar_deveAplicarAntesDoFimDaJanelaQuandoGrupoEnche() throws Exception {
+        // Given
+        baixaAgrupada = new BaixaAgrupadaEstoque(gateway, true, Duration.ofMinutes(1), 2, 1, false);
+        Estoque baixado = Estoque.builder().sku("SKU-A").quantidadeDisponivel(1).build();
+        when(gateway.baixarEstoqueAgrupado(anyList())).thenReturn(List.of(
+                ResultadoBaixa.builder().estoque(baixado).encontrado(true).build(),
+                ResultadoBaixa.builder().estoque(baixado).encontrado(true).build()));
+
+        // When
+        List<Future<Estoque>> futuros = baixarEmParalelo("SKU-A", "SKU-A");
+
+        // Then
+        for (Future<Estoque> futuro : futuros) {
+            assertThat(futuro.get(10, TimeUnit.SECONDS)).isSameAs(baixado);
+        }
+        verify(gateway, times(1)).baixarEstoqueAgrupado(anyList());
+    }
+
+    @Test
+    void baixar_devePropagarFalhaDaTransacaoParaTodoOGrupo() {
+        // Given
+        baixaAgrupada = new BaixaAgrupadaEstoque(gateway, true, Duration.ofMillis(1), 64, 1, false);
+        when(gateway.baixarEstoqueAgrupado(anyList())).thenThrow(new RuntimeException("banco indisponível"));
+
+        // When & Then
+        assertThatThrownBy(() -> baixaAgrupada.baixar("SKU-A", 1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("banco indisponível");
+    }
+
+    @Test
+    void baixar_deveAplicarGrupoEmThreadVirtualQuandoThreadsVirtuaisHabilitadas() {
+        // Given
+        baixaAgrupada = new BaixaAgrupadaEstoque(gateway, true, Duration.ofMillis(1), 64, 1, true);
+        Estoque baixado = Estoque.builder().sku("SKU-A").quantidadeDisponivel(7).build();
+        List<Thread> threads = new ArrayList<>();
+        when(gateway.baixarEstoqueAgrupado(anyList())).thenAnswer(invocacao -> {
+            threads.add(Thread.currentThread());
+            return List.of(ResultadoBaixa.builder().estoque(baixado).encontrado(true).build());
+        });
+
+        // When
+        Estoque resultado = baixaAgrupada.baixar("SKU-A", 1);
+
+        // Then
+        assertThat(resultado).isSameAs(baixado);
+        assertThat(threads).singleElement().satisfies(thread -> {
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("estoque-baixa-agrupada-");
+        });
+    }
+
+    @Test
+    void isHabilitado_deveRefletirConfiguracao() {
+        // When
+        baixaAgrupada = new BaixaAgrupadaEstoque(gateway, false, Duration.ZERO, 64, 1, false);
+
+        // Then
+        assertThat(baixaAgrupada.isHabilitado()).isFalse();
+    }
+
+    private List<Future<Estoque>> baixarEmParalelo(String... skus) {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Estoque>> futuros = new ArrayList<>();
+        for (String sku : skus) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                return baixaAgrupada.baixar(sku, 1);
+            }));
+        }
+        largada.countDown();
+        return futuros;
+    }
+}
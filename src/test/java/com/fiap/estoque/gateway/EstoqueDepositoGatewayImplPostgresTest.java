@@ -0,0 +1,191 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.entity.EstoqueDepositoEntity;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.EstoqueDepositoRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Alocação pelo caminho do PostgreSQL (plano aplicado com UPDATE ... FROM ... RETURNING), que o H2 não executa.
+ * Roda somente com ESTOQUE_TESTE_POSTGRES_URL apontando para um banco descartável (usuário e senha em
+ * ESTOQUE_TESTE_POSTGRES_USUARIO e ESTOQUE_TESTE_POSTGRES_SENHA): o schema é recriado pelo Hibernate.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.com.fiap=INFO",
+        "estoque.baixa.update-returning=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EstoqueGatewayImpl.class, EstoqueDepositoGatewayImpl.class, EstoqueMapperImpl.class, EstoqueMetricas.class,
+        SimpleMeterRegistry.class})
+@EnabledIfEnvironmentVariable(named = "ESTOQUE_TESTE_POSTGRES_URL", matches = ".+")
+class EstoqueDepositoGatewayImplPostgresTest {
+
+    private static final String SKU = "SKU-DEPOSITO";
+
+    @Autowired
+    private EstoqueDepositoGateway gateway;
+
+    @Autowired
+    private EstoqueGateway estoqueGateway;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private EstoqueDepositoRepository depositoRepository;
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("ESTOQUE_TESTE_POSTGRES_URL"));
+        registry.add("spring.datasource.username", () -> variavel("ESTOQUE_TESTE_POSTGRES_USUARIO", "postgres"));
+        registry.add("spring.datasource.password", () -> variavel("ESTOQUE_TESTE_POSTGRES_SENHA", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        estoqueRepository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(0).build());
+        gateway.definirSaldo(SKU, "CD-SP", 5);
+        gateway.definirSaldo(SKU, "CD-RJ", 3);
+        gateway.definirSaldo(SKU, "CD-MG", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        depositoRepository.deleteAll();
+        estoqueRepository.deleteAll();
+    }
+
+    @Test
+    void alocar_proximoDeveRetirarDoPrimeiroDepositoQueCobreAQuantidade() {
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 4, EstrategiaAlocacao.PROXIMO, List.of("CD-RJ", "CD-SP"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade").containsExactly(tuple("CD-SP", 4));
+        assertThat(resultado.getEstoque().getQuantidadeDisponivel()).isEqualTo(14);
+        assertThat(saldo("CD-SP")).isEqualTo(1);
+    }
+
+    @Test
+    void alocar_dividirDeveEsgotarDepositosNaOrdemECompletarComSaldoSemDeposito() {
+        // Given
+        estoqueGateway.reporEstoque(SKU, 2);
+
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 19, EstrategiaAlocacao.DIVIDIR, List.of("CD-RJ", "CD-SP"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade")
+                .containsExactly(tuple("CD-RJ", 3), tuple("CD-SP", 5), tuple("CD-MG", 10), tuple(null, 1));
+        assertThat(total()).isEqualTo(1);
+        assertThat(gateway.listarPorSku(SKU)).extracting("quantidadeDisponivel").containsOnly(0);
+    }
+
+    @Test
+    void alocar_deveDesfazerRetiradaDosDepositosQuandoTotalInsuficiente() {
+        // Given
+        estoqueGateway.baixarEstoque(SKU, 10);
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.alocar(SKU, 9, EstrategiaAlocacao.DIVIDIR, List.of()))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        assertThat(saldo("CD-MG")).isEqualTo(10);
+        assertThat(total()).isEqualTo(8);
+    }
+
+    @Test
+    void alocar_deveRetirarDosDepositosOExcessoDeixadoPorBaixaSemDeposito() {
+        // Given
+        estoqueGateway.baixarEstoque(SKU, 10);
+
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 4, EstrategiaAlocacao.PROXIMO, List.of("CD-MG"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade").containsExactly(tuple("CD-SP", 4));
+        assertThat(gateway.listarPorSku(SKU)).extracting("deposito", "quantidadeDisponivel")
+                .containsExactly(tuple("CD-MG", 0), tuple("CD-RJ", 3), tuple("CD-SP", 1));
+    }
+
+    @Test
+    void alocar_concorrenteNaoDeveRetirarMaisQueOSaldoDosDepositos() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Integer>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            tarefas.add(() -> {
+                try {
+                    return gateway.alocar(SKU, 1, EstrategiaAlocacao.DIVIDIR, List.of("CD-SP")).getAlocacoes().size();
+                } catch (EstoqueInsuficienteException e) {
+                    return 0;
+                }
+            });
+        }
+
+        // When
+        int alocadas = 0;
+        try {
+            for (Future<Integer> futuro : executor.invokeAll(tarefas)) {
+                alocadas += futuro.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(alocadas).isEqualTo(18);
+        assertThat(total()).isZero();
+        assertThat(gateway.listarPorSku(SKU)).extracting("quantidadeDisponivel").containsOnly(0);
+    }
+
+    private int total() {
+        return estoqueRepository.findBySku(SKU).orElseThrow().getQuantidadeDisponivel();
+    }
+
+    private int saldo(String deposito) {
+        return depositoRepository.findBySkuAndDeposito(SKU, deposito)
+                .map(EstoqueDepositoEntity::getQuantidadeDisponivel).orElseThrow();
+    }
+
+    private static String variavel(String nome, String padrao) {
+        String valor = System.getenv(nome);
+        return valor == null ? padrao : valor;
+    }
+}
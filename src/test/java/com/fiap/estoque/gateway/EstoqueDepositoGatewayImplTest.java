@@ -0,0 +1,216 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.entity.EstoqueDepositoEntity;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.repository.EstoqueDepositoRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@EstoqueGatewayDataJpaTest
+@Import(EstoqueDepositoGatewayImpl.class)
+class EstoqueDepositoGatewayImplTest {
+
+    private static final String SKU = "SKU-DEPOSITO";
+
+    @Autowired
+    private EstoqueDepositoGateway gateway;
+
+    @Autowired
+    private EstoqueGateway estoqueGateway;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private EstoqueDepositoRepository depositoRepository;
+
+    @BeforeEach
+    void setUp() {
+        estoqueRepository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(0).build());
+        gateway.definirSaldo(SKU, "CD-SP", 5);
+        gateway.definirSaldo(SKU, "CD-RJ", 3);
+        gateway.definirSaldo(SKU, "CD-MG", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        depositoRepository.deleteAll();
+        estoqueRepository.deleteAll();
+    }
+
+    @Test
+    void definirSaldo_deveManterTotalComADiferenca() {
+        // When
+        gateway.definirSaldo(SKU, "CD-MG", 4);
+
+        // Then
+        assertThat(total()).isEqualTo(12);
+        assertThat(gateway.listarPorSku(SKU)).extracting("deposito", "quantidadeDisponivel")
+                .containsExactly(tuple("CD-MG", 4), tuple("CD-RJ", 3), tuple("CD-SP", 5));
+    }
+
+    @Test
+    void definirSaldo_deveRetirarDosDepositosOExcessoDeixadoPorBaixasSemDeposito() {
+        // Given
+        estoqueGateway.baixarEstoque(SKU, 15);
+
+        // When
+        gateway.definirSaldo(SKU, "CD-SP", 1);
+
+        // Then
+        assertThat(gateway.listarPorSku(SKU)).extracting("deposito", "quantidadeDisponivel")
+                .containsExactly(tuple("CD-MG", 0), tuple("CD-RJ", 0), tuple("CD-SP", 1));
+        assertThat(total()).isEqualTo(1);
+    }
+
+    @Test
+    void definirSaldo_deveRecusarSkuInexistente() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.definirSaldo("SKU-X", "CD-SP", 1)).isInstanceOf(EstoqueNaoEncontradoException.class);
+        assertThat(depositoRepository.findBySkuAndDeposito("SKU-X", "CD-SP")).isEmpty();
+    }
+
+    @Test
+    void alocar_proximoDeveUsarPrimeiroDepositoDaPreferenciaQueCobreAQuantidade() {
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 4, EstrategiaAlocacao.PROXIMO, List.of("CD-RJ", "CD-SP"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade").containsExactly(tuple("CD-SP", 4));
+        assertThat(resultado.getEstoque().getQuantidadeDisponivel()).isEqualTo(14);
+        assertThat(saldo("CD-SP")).isEqualTo(1);
+        assertThat(saldo("CD-RJ")).isEqualTo(3);
+    }
+
+    @Test
+    void alocar_proximoDeveConsiderarDepositosForaDaPreferencia() {
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 8, EstrategiaAlocacao.PROXIMO, List.of("CD-RJ"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito").containsExactly("CD-MG");
+        assertThat(saldo("CD-MG")).isEqualTo(2);
+    }
+
+    @Test
+    void alocar_proximoDeveRecusarQuandoNenhumDepositoCobreSozinho() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.alocar(SKU, 11, EstrategiaAlocacao.PROXIMO, List.of()))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        assertThat(total()).isEqualTo(18);
+    }
+
+    @Test
+    void alocar_dividirDeveEsgotarDepositosNaOrdemDaPreferencia() {
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 12, EstrategiaAlocacao.DIVIDIR, List.of("CD-RJ", "CD-SP"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade")
+                .containsExactly(tuple("CD-RJ", 3), tuple("CD-SP", 5), tuple("CD-MG", 4));
+        assertThat(resultado.getEstoque().getQuantidadeDisponivel()).isEqualTo(6);
+        assertThat(saldo("CD-RJ")).isZero();
+        assertThat(saldo("CD-SP")).isZero();
+        assertThat(saldo("CD-MG")).isEqualTo(6);
+    }
+
+    @Test
+    void alocar_dividirDeveCompletarComSaldoSemDeposito() {
+        // Given
+        estoqueGateway.reporEstoque(SKU, 2);
+
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 20, EstrategiaAlocacao.DIVIDIR, List.of());
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade")
+                .containsExactly(tuple("CD-MG", 10), tuple("CD-RJ", 3), tuple("CD-SP", 5), tuple(null, 2));
+        assertThat(total()).isZero();
+    }
+
+    @Test
+    void alocar_deveDesfazerRetiradaDosDepositosQuandoTotalInsuficiente() {
+        // Given
+        estoqueGateway.baixarEstoque(SKU, 10);
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.alocar(SKU, 9, EstrategiaAlocacao.DIVIDIR, List.of()))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        assertThat(saldo("CD-MG")).isEqualTo(10);
+        assertThat(total()).isEqualTo(8);
+    }
+
+    @Test
+    void alocar_naoDeveAlocarSaldoDeDepositoJaConsumidoPorBaixaSemDeposito() {
+        // Given
+        estoqueGateway.baixarEstoque(SKU, 10);
+
+        // When
+        ResultadoAlocacao resultado = gateway.alocar(SKU, 4, EstrategiaAlocacao.PROXIMO, List.of("CD-MG"));
+
+        // Then
+        assertThat(resultado.getAlocacoes()).extracting("deposito", "quantidade").containsExactly(tuple("CD-SP", 4));
+        assertThat(total()).isEqualTo(4);
+        assertThat(gateway.listarPorSku(SKU)).extracting("deposito", "quantidadeDisponivel")
+                .containsExactly(tuple("CD-MG", 0), tuple("CD-RJ", 3), tuple("CD-SP", 1));
+    }
+
+    @Test
+    void alocar_concorrenteNaoDeveRetirarMaisQueOSaldoDosDepositos() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Integer>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            tarefas.add(() -> {
+                try {
+                    return gateway.alocar(SKU, 1, EstrategiaAlocacao.DIVIDIR, List.of("CD-SP")).getAlocacoes().size();
+                } catch (EstoqueInsuficienteException e) {
+                    return 0;
+                }
+            });
+        }
+
+        // When
+        int alocadas = 0;
+        try {
+            for (Future<Integer> futuro : executor.invokeAll(tarefas)) {
+                alocadas += futuro.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(alocadas).isEqualTo(18);
+        assertThat(total()).isZero();
+        assertThat(gateway.listarPorSku(SKU)).extracting("quantidadeDisponivel").containsOnly(0);
+    }
+
+    private int total() {
+        return estoqueRepository.findBySku(SKU).orElseThrow().getQuantidadeDisponivel();
+    }
+
+    private int saldo(String deposito) {
+        return depositoRepository.findBySkuAndDeposito(SKU, deposito)
+                .map(EstoqueDepositoEntity::getQuantidadeDisponivel).orElseThrow();
+    }
+}
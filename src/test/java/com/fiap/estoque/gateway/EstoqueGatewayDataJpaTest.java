@@ -0,0 +1,39 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Testes de integração do gateway contra H2, sem transação envolvendo o teste
+ * para que cada chamada ao gateway faça o próprio commit.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:estoque-gateway;LOCK_TIMEOUT=30000",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.com.fiap=INFO",
+        "estoque.baixa.update-returning=false",
+        "estoque.importacao.on-conflict=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EstoqueGatewayImpl.class, EstoqueMapperImpl.class, EstoqueMetricas.class, SimpleMeterRegistry.class})
+@interface EstoqueGatewayDataJpaTest {
+}
@@ -0,0 +1,127 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplAtualizacaoTest {
+
+    private static final String SKU = "SKU-ATUALIZACAO";
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void atualizar_deveInserirSkuNovoComVersaoInicial() {
+        // When
+        Estoque criado = gateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+
+        // Then
+        assertThat(criado.getVersao()).isZero();
+        assertThat(repository.findBySku(SKU).orElseThrow().getQuantidadeDisponivel()).isEqualTo(10);
+    }
+
+    @Test
+    void atualizar_deveIncrementarVersaoAoGravarSaldo() {
+        // Given
+        repository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(10).build());
+
+        // When
+        Estoque atualizado = gateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(30).versao(0L).build());
+
+        // Then
+        assertThat(atualizado.getQuantidadeDisponivel()).isEqualTo(30);
+        assertThat(atualizado.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    void atualizar_naoDeveDesfazerBaixaConcorrenteQuandoVersaoDesatualizada() {
+        // Given
+        repository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(10).build());
+        Estoque lido = gateway.buscarPorSku(SKU).orElseThrow();
+        gateway.baixarEstoque(SKU, 3);
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(lido.getQuantidadeDisponivel() + 5)
+                .versao(lido.getVersao()).build()))
+                .isInstanceOf(EstoqueVersaoConflitanteException.class);
+        Estoque atual = gateway.buscarPorSku(SKU).orElseThrow();
+        assertThat(atual.getQuantidadeDisponivel()).isEqualTo(7);
+        assertThat(atual.getVersao()).isEqualTo(lido.getVersao() + 1);
+    }
+
+    @Test
+    void atualizar_deveLancarNaoEncontradoQuandoVersaoInformadaParaSkuInexistente() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(1).versao(0L).build()))
+                .isInstanceOf(EstoqueNaoEncontradoException.class);
+    }
+
+    @Test
+    void reporEstoque_deveSomarAoSaldoSemPerderBaixasConcorrentes() throws Exception {
+        // Given
+        repository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(1_000).build());
+        int threads = 8;
+        int operacoesPorThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            boolean repoe = t % 2 == 0;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < operacoesPorThread; i++) {
+                    if (repoe) {
+                        gateway.reporEstoque(SKU, 2);
+                    } else {
+                        gateway.baixarEstoque(SKU, 1);
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        Estoque atual = gateway.buscarPorSku(SKU).orElseThrow();
+        assertThat(atual.getQuantidadeDisponivel()).isEqualTo(1_000 + 4 * operacoesPorThread * 2 - 4 * operacoesPorThread);
+        assertThat(atual.getVersao()).isEqualTo((long) threads * operacoesPorThread);
+    }
+
+    @Test
+    void reporEstoque_deveLancarNaoEncontradoQuandoSkuInexistente() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.reporEstoque(SKU, 5)).isInstanceOf(EstoqueNaoEncontradoException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplBaixaAgrupadaTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(10).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(1).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void baixarEstoqueAgrupado_deveAceitarOuRecusarCadaBaixaIndividualmente() {
+        // When
+        List<ResultadoBaixa> resultados = gateway.baixarEstoqueAgrupado(List.of(
+                item("SKU-A", 3), item("SKU-B", 5), item("SKU-X", 1), item("SKU-A", 4), item("SKU-A", 5)));
+
+        // Then
+        EstoqueEntity a = repository.findBySku("SKU-A").orElseThrow();
+        assertThat(a.getQuantidadeDisponivel()).isEqualTo(3);
+        assertThat(repository.findBySku("SKU-B").orElseThrow().getQuantidadeDisponivel()).isEqualTo(1);
+
+        assertThat(resultados.get(0).getEstoque().getQuantidadeDisponivel()).isEqualTo(7);
+        assertThat(resultados.get(0).getEstoque().getVersao()).isEqualTo(a.getVersao() - 1);
+        assertThat(resultados.get(1).getEstoque()).isNull();
+        assertThat(resultados.get(1).isEncontrado()).isTrue();
+        assertThat(resultados.get(2).getEstoque()).isNull();
+        assertThat(resultados.get(2).isEncontrado()).isFalse();
+        assertThat(resultados.get(3).getEstoque().getQuantidadeDisponivel()).isEqualTo(3);
+        assertThat(resultados.get(3).getEstoque().getVersao()).isEqualTo(a.getVersao());
+        assertThat(resultados.get(4).getEstoque()).isNull();
+        assertThat(resultados.get(4).isEncontrado()).isTrue();
+    }
+
+    private static ItemBaixa item(String sku, int quantidade) {
+        return ItemBaixa.builder().sku(sku).quantidade(quantidade).build();
+    }
+}
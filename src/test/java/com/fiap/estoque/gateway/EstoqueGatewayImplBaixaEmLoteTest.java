@@ -0,0 +1,70 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplBaixaEmLoteTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(10).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(5).build(),
+                EstoqueEntity.builder().sku("SKU-C").quantidadeDisponivel(1).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void baixarEstoqueEmLote_deveBaixarTodosOsItens() {
+        // When
+        List<Estoque> resultado = gateway.baixarEstoqueEmLote(List.of(
+                item("SKU-B", 5), item("SKU-A", 3), item("SKU-A", 2)));
+
+        // Then
+        assertThat(resultado).extracting(Estoque::getSku, Estoque::getQuantidadeDisponivel)
+                .containsExactly(
+                        tuple("SKU-A", 5),
+                        tuple("SKU-B", 0));
+    }
+
+    @Test
+    void baixarEstoqueEmLote_naoDeveBaixarNadaQuandoAlgumSkuFalhar() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.baixarEstoqueEmLote(List.of(
+                item("SKU-A", 3), item("SKU-C", 2), item("SKU-X", 1))))
+                .isInstanceOf(BaixaEmLoteRejeitadaException.class)
+                .extracting("skus")
+                .isEqualTo(List.of("SKU-C", "SKU-X"));
+
+        assertThat(repository.findBySku("SKU-A").orElseThrow().getQuantidadeDisponivel()).isEqualTo(10);
+        assertThat(repository.findBySku("SKU-C").orElseThrow().getQuantidadeDisponivel()).isEqualTo(1);
+    }
+
+    private ItemBaixa item(String sku, int quantidade) {
+        return ItemBaixa.builder().sku(sku).quantidade(quantidade).build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplConcorrenciaTest {
+
+    private static final String SKU_QUENTE = "SKU-QUENTE";
+    private static final int THREADS = 32;
+    private static final int BAIXAS = 2000;
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void baixarEstoque_deveManterSaldoExatoSobConcorrencia() throws Exception {
+        // Given
+        int saldoInicial = 5_000;
+        repository.save(EstoqueEntity.builder().sku(SKU_QUENTE).quantidadeDisponivel(saldoInicial).build());
+
+        // When
+        int sucessos = executarBaixasConcorrentes(BAIXAS);
+
+        // Then
+        assertThat(sucessos).isEqualTo(BAIXAS);
+        assertThat(repository.findBySku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel())
+                .isEqualTo(saldoInicial - BAIXAS);
+    }
+
+    @Test
+    void baixarEstoque_naoDeveVenderAlemDoSaldoSobConcorrencia() throws Exception {
+        // Given
+        int saldoInicial = 1_000;
+        repository.save(EstoqueEntity.builder().sku(SKU_QUENTE).quantidadeDisponivel(saldoInicial).build());
+
+        // When
+        int sucessos = executarBaixasConcorrentes(BAIXAS);
+
+        // Then
+        assertThat(sucessos).isEqualTo(saldoInicial);
+        assertThat(repository.findBySku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel()).isZero();
+    }
+
+    private int executarBaixasConcorrentes(int total) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        List<Future<?>> futuros = new ArrayList<>(total);
+        try {
+            for (int i = 0; i < total; i++) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        gateway.baixarEstoque(SKU_QUENTE, 1);
+                        sucessos.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertThat(e).hasMessage("Estoque insuficiente para SKU: " + SKU_QUENTE);
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return sucessos.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplConsultaLoteTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void buscarPorSkus_deveBuscarExistentesEmUmaConsulta() {
+        // Given
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(1).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(2).estoqueMinimo(5).build(),
+                EstoqueEntity.builder().sku("SKU-C").quantidadeDisponivel(3).build()));
+
+        // When
+        List<Estoque> resultado = gateway.buscarPorSkus(List.of("SKU-A", "SKU-B", "SKU-X"));
+
+        // Then
+        assertThat(resultado).extracting(Estoque::getSku, Estoque::getQuantidadeDisponivel, Estoque::getEstoqueMinimo)
+                .containsExactlyInAnyOrder(
+                        tuple("SKU-A", 1, null),
+                        tuple("SKU-B", 2, 5));
+    }
+
+    @Test
+    void buscarPorSkus_deveRetornarVazioSemSkus() {
+        // When & Then
+        assertThat(gateway.buscarPorSkus(List.of())).isEmpty();
+    }
+}
@@ -0,0 +1,46 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplExportacaoTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void exportarTodos_devePercorrerTodosOsEstoquesOrdenadosPorSku() {
+        // Given
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-C").quantidadeDisponivel(3).build(),
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(1).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(2).build()));
+        List<Estoque> recebidos = new ArrayList<>();
+
+        // When
+        gateway.exportarTodos(recebidos::add);
+
+        // Then
+        assertThat(recebidos).extracting(Estoque::getSku).containsExactly("SKU-A", "SKU-B", "SKU-C");
+        assertThat(recebidos).extracting(Estoque::getQuantidadeDisponivel).containsExactly(1, 2, 3);
+        assertThat(recebidos).allSatisfy(estoque -> assertThat(estoque.getId()).isNotNull());
+    }
+}
@@ -0,0 +1,129 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.BaixaIdempotente;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.BaixaRepetidaException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.repository.BaixaIdempotenteRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplIdempotenciaTest {
+
+    private static final String SKU = "SKU-IDEMPOTENTE";
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @Autowired
+    private BaixaIdempotenteRepository baixaIdempotenteRepository;
+
+    @BeforeEach
+    void setUp() {
+        repository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        baixaIdempotenteRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void baixarEstoque_deveGravarChaveComResultadoDaBaixa() {
+        // When
+        Estoque atualizado = gateway.baixarEstoque(SKU, 3, "chave-1");
+
+        // Then
+        BaixaIdempotente gravada = gateway.buscarBaixaIdempotente("chave-1").orElseThrow();
+        assertThat(gravada.getSku()).isEqualTo(SKU);
+        assertThat(gravada.getQuantidade()).isEqualTo(3);
+        assertThat(gravada.getResultado()).isEqualTo(atualizado);
+    }
+
+    @Test
+    void baixarEstoque_deveDesfazerBaixaQuandoChaveJaGravada() {
+        // Given
+        gateway.baixarEstoque(SKU, 3, "chave-1");
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.baixarEstoque(SKU, 3, "chave-1")).isInstanceOf(BaixaRepetidaException.class);
+        assertThat(saldo()).isEqualTo(7);
+    }
+
+    @Test
+    void baixarEstoque_naoDeveTocarNoEstoqueQuandoChaveJaGravada() {
+        // Given
+        gateway.baixarEstoque(SKU, 10, "chave-1");
+        Long versao = repository.findBySku(SKU).orElseThrow().getVersao();
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.baixarEstoque(SKU, 10, "chave-1")).isInstanceOf(BaixaRepetidaException.class);
+        assertThat(saldo()).isZero();
+        assertThat(repository.findBySku(SKU).orElseThrow().getVersao()).isEqualTo(versao);
+        assertThat(gateway.buscarBaixaIdempotente("chave-1").orElseThrow().getResultado().getQuantidadeDisponivel()).isZero();
+    }
+
+    @Test
+    void baixarEstoque_naoDeveGravarChaveDeBaixaRecusada() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.baixarEstoque(SKU, 11, "chave-1")).isInstanceOf(EstoqueInsuficienteException.class);
+        assertThat(gateway.buscarBaixaIdempotente("chave-1")).isEmpty();
+    }
+
+    @Test
+    void baixarEstoque_repeticoesConcorrentesDevemBaixarUmaUnicaVez() throws Exception {
+        // Given
+        int repeticoes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(repeticoes);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < repeticoes; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    gateway.baixarEstoque(SKU, 2, "chave-concorrente");
+                    return true;
+                } catch (BaixaRepetidaException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // When
+        largada.countDown();
+        int aplicadas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            aplicadas += resultado.get(60, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(aplicadas).isEqualTo(1);
+        assertThat(saldo()).isEqualTo(8);
+        assertThat(baixaIdempotenteRepository.count()).isEqualTo(1);
+    }
+
+    private int saldo() {
+        return repository.findBySku(SKU).orElseThrow().getQuantidadeDisponivel();
+    }
+}
@@ -0,0 +1,72 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.entity.MovimentacaoEstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplImportacaoTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @Autowired
+    private MovimentacaoEstoqueRepository movimentacaoRepository;
+
+    @AfterEach
+    void tearDown() {
+        movimentacaoRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void importarEmLote_deveInserirNovosEAtualizarExistentes() {
+        // Given
+        repository.save(EstoqueEntity.builder().sku("SKU-EXISTENTE").quantidadeDisponivel(1).build());
+
+        // When
+        gateway.importarEmLote(List.of(
+                Estoque.builder().sku("SKU-EXISTENTE").quantidadeDisponivel(50).build(),
+                Estoque.builder().sku("SKU-NOVO").quantidadeDisponivel(7).build()));
+
+        // Then
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.findBySku("SKU-EXISTENTE").orElseThrow().getQuantidadeDisponivel()).isEqualTo(50);
+        assertThat(repository.findBySku("SKU-EXISTENTE").orElseThrow().getVersao()).isEqualTo(1L);
+        assertThat(repository.findBySku("SKU-NOVO").orElseThrow().getQuantidadeDisponivel()).isEqualTo(7);
+        assertThat(repository.findBySku("SKU-NOVO").orElseThrow().getVersao()).isZero();
+    }
+
+    @Test
+    void importarEmLote_deveManterUltimoRegistroDeSkuRepetidoNoLote() {
+        // Given
+        repository.save(EstoqueEntity.builder().sku("SKU-REPETIDO").quantidadeDisponivel(1).build());
+
+        // When
+        gateway.importarEmLote(List.of(
+                Estoque.builder().sku("SKU-REPETIDO").quantidadeDisponivel(50).build(),
+                Estoque.builder().sku("SKU-NOVO").quantidadeDisponivel(7).build(),
+                Estoque.builder().sku("SKU-REPETIDO").quantidadeDisponivel(20).build()));
+
+        // Then
+        EstoqueEntity repetido = repository.findBySku("SKU-REPETIDO").orElseThrow();
+        assertThat(repetido.getQuantidadeDisponivel()).isEqualTo(20);
+        assertThat(repetido.getVersao()).isEqualTo(1L);
+        assertThat(movimentacaoRepository.findAll())
+                .filteredOn(movimentacao -> movimentacao.getSku().equals("SKU-REPETIDO"))
+                .extracting(MovimentacaoEstoqueEntity::getDelta)
+                .containsExactly(19);
+    }
+}
@@ -0,0 +1,70 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplListagemTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(0).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(5).build(),
+                EstoqueEntity.builder().sku("SKU-C").quantidadeDisponivel(10).build(),
+                EstoqueEntity.builder().sku("SKU-D").quantidadeDisponivel(0).build(),
+                EstoqueEntity.builder().sku("SKU-E").quantidadeDisponivel(20).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void listarPagina_devePaginarPorKeysetDeSku() {
+        // When
+        List<Estoque> primeira = gateway.listarPagina(FiltroEstoque.builder().limite(2).build());
+        List<Estoque> segunda = gateway.listarPagina(FiltroEstoque.builder().aposSku("SKU-B").limite(2).build());
+
+        // Then
+        assertThat(primeira).extracting(Estoque::getSku).containsExactly("SKU-A", "SKU-B");
+        assertThat(segunda).extracting(Estoque::getSku).containsExactly("SKU-C", "SKU-D");
+    }
+
+    @Test
+    void listarPagina_deveFiltrarPorFaixaDeQuantidade() {
+        // When
+        List<Estoque> resultado = gateway.listarPagina(FiltroEstoque.builder()
+                .quantidadeMin(5).quantidadeMax(10).limite(10).build());
+
+        // Then
+        assertThat(resultado).extracting(Estoque::getSku).containsExactly("SKU-B", "SKU-C");
+    }
+
+    @Test
+    void listarPagina_deveFiltrarZeradosAposCursor() {
+        // When
+        List<Estoque> resultado = gateway.listarPagina(FiltroEstoque.builder()
+                .aposSku("SKU-A").quantidadeMin(0).quantidadeMax(0).limite(10).build());
+
+        // Then
+        assertThat(resultado).extracting(Estoque::getSku).containsExactly("SKU-D");
+    }
+}
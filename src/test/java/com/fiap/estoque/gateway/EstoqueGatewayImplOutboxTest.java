@@ -0,0 +1,85 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.entity.OutboxEstoqueEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@EstoqueGatewayDataJpaTest
+@TestPropertySource(properties = "estoque.outbox.habilitado=true")
+class EstoqueGatewayImplOutboxTest {
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @Autowired
+    private OutboxEstoqueRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(10).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(5).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAllInBatch();
+        repository.deleteAll();
+    }
+
+    @Test
+    void alteracoesDeSaldo_devemSerRegistradasNoOutboxEmOrdem() {
+        // When
+        gateway.baixarEstoque("SKU-A", 3);
+        Estoque estoqueB = gateway.buscarPorSku("SKU-B").orElseThrow();
+        estoqueB.setQuantidadeDisponivel(50);
+        gateway.atualizar(estoqueB);
+        gateway.baixarEstoqueEmLote(List.of(item("SKU-A", 1), item("SKU-B", 2)));
+        gateway.importarEmLote(List.of(Estoque.builder().sku("SKU-C").quantidadeDisponivel(7).build()));
+
+        // Then
+        assertThat(outboxRepository.buscarLote(PageRequest.of(0, 10)))
+                .extracting(OutboxEstoqueEntity::getSku, OutboxEstoqueEntity::getQuantidadeDisponivel)
+                .containsExactly(
+                        tuple("SKU-A", 7),
+                        tuple("SKU-B", 50),
+                        tuple("SKU-A", 6),
+                        tuple("SKU-B", 48),
+                        tuple("SKU-C", 7));
+    }
+
+    @Test
+    void baixaRejeitada_naoDeveDeixarRegistroNoOutbox() {
+        // When
+        assertThatThrownBy(() -> gateway.baixarEstoqueEmLote(List.of(item("SKU-A", 1), item("SKU-B", 6))))
+                .isInstanceOf(BaixaEmLoteRejeitadaException.class);
+        assertThatThrownBy(() -> gateway.baixarEstoque("SKU-B", 6))
+                .isInstanceOf(RuntimeException.class);
+
+        // Then
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private ItemBaixa item(String sku, int quantidade) {
+        return ItemBaixa.builder().sku(sku).quantidade(quantidade).build();
+    }
+}
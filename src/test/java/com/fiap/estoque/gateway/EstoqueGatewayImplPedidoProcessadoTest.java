@@ -0,0 +1,117 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.domain.StatusReserva;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.PedidoRepetidoException;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.PedidoProcessadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayImplPedidoProcessadoTest {
+
+    private static final String SKU = "SKU-PEDIDO";
+
+    @Autowired
+    private EstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @Autowired
+    private PedidoProcessadoRepository pedidoProcessadoRepository;
+
+    @Autowired
+    private MovimentacaoEstoqueRepository movimentacaoRepository;
+
+    @BeforeEach
+    void setUp() {
+        repository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoProcessadoRepository.deleteAll();
+        movimentacaoRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void baixarEstoqueEmLote_deveGravarPedidosReservados() {
+        // When
+        gateway.baixarEstoqueEmLote(List.of(item(3)), List.of("P2", "P1"));
+
+        // Then
+        assertThat(saldo()).isEqualTo(7);
+        assertThat(gateway.buscarPedidosProcessados(List.of("P1", "P2", "P3")))
+                .extracting(ResultadoReserva::getPedidoId, ResultadoReserva::getStatus, ResultadoReserva::getSkusRejeitados)
+                .containsExactlyInAnyOrder(
+                        tuple("P1", StatusReserva.RESERVADO, List.of()),
+                        tuple("P2", StatusReserva.RESERVADO, List.of()));
+    }
+
+    @Test
+    void baixarEstoqueEmLote_naoDeveBaixarLoteComPedidoJaProcessado() {
+        // Given
+        gateway.baixarEstoqueEmLote(List.of(item(3)), List.of("P1"));
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.baixarEstoqueEmLote(List.of(item(3)), List.of("P2", "P1")))
+                .isInstanceOf(PedidoRepetidoException.class);
+        assertThat(saldo()).isEqualTo(7);
+        assertThat(gateway.buscarPedidosProcessados(List.of("P2"))).isEmpty();
+    }
+
+    @Test
+    void baixarEstoqueEmLote_naoDeveGravarPedidosQuandoLoteRejeitado() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.baixarEstoqueEmLote(List.of(item(11)), List.of("P1")))
+                .isInstanceOf(BaixaEmLoteRejeitadaException.class);
+        assertThat(gateway.buscarPedidosProcessados(List.of("P1"))).isEmpty();
+    }
+
+    @Test
+    void registrarPedidosRejeitados_deveGravarSkusERetornarPedidosJaProcessados() {
+        // Given
+        gateway.baixarEstoqueEmLote(List.of(item(3)), List.of("P1"));
+
+        // When
+        Set<String> repetidos = gateway.registrarPedidosRejeitados(List.of(
+                rejeitado("P1", List.of(SKU)),
+                rejeitado("P2", List.of(SKU, "SKU-ESGOTADO"))));
+
+        // Then
+        assertThat(repetidos).containsExactly("P1");
+        assertThat(gateway.buscarPedidosProcessados(List.of("P1", "P2")))
+                .extracting(ResultadoReserva::getPedidoId, ResultadoReserva::getStatus, ResultadoReserva::getSkusRejeitados)
+                .containsExactlyInAnyOrder(
+                        tuple("P1", StatusReserva.RESERVADO, List.of()),
+                        tuple("P2", StatusReserva.REJEITADO, List.of(SKU, "SKU-ESGOTADO")));
+    }
+
+    private int saldo() {
+        return repository.findBySku(SKU).orElseThrow().getQuantidadeDisponivel();
+    }
+
+    private static ItemBaixa item(int quantidade) {
+        return ItemBaixa.builder().sku(SKU).quantidade(quantidade).build();
+    }
+
+    private static ResultadoReserva rejeitado(String pedidoId, List<String> skus) {
+        return ResultadoReserva.builder().pedidoId(pedidoId).status(StatusReserva.REJEITADO).skusRejeitados(skus).build();
+    }
+}
@@ -1,21 +1,41 @@
 package com.fiap.estoque.gateway;
 
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.MotivoMovimentacao;
 import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
 import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.metricas.EstoqueMetricas;
 import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +47,15 @@ class EstoqueGatewayImplTest {
     @Mock
     private EstoqueMapper mapper;
 
+    @Mock
+    private OutboxEstoqueRepository outboxRepository;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @Mock
+    private MovimentacaoEstoqueRepository movimentacaoRepository;
+
     @InjectMocks
     private EstoqueGatewayImpl estoqueGateway;
 
@@ -73,10 +102,11 @@ class EstoqueGatewayImplTest {
     }
 
     @Test
-    void atualizar_deveAtualizarEstoqueComSucesso() {
+    void atualizar_deveAtualizarComVersaoLidaQuandoNaoInformada() {
         // Given
-        when(mapper.toEntity(estoqueDomain)).thenReturn(estoqueEntity);
-        when(repository.save(estoqueEntity)).thenReturn(estoqueEntity);
+        estoqueEntity.setVersao(3L);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(repository.atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 3L)).thenReturn(1);
         when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
 
         // When
@@ -84,42 +114,215 @@ class EstoqueGatewayImplTest {
 
         // Then
         assertEquals(estoqueDomain, resultado);
-        verify(mapper).toEntity(estoqueDomain);
-        verify(repository).save(estoqueEntity);
-        verify(mapper).toDomain(estoqueEntity);
+        verify(repository).atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 3L);
+        verify(repository, never()).save(any(EstoqueEntity.class));
     }
 
     @Test
-    void listarTodos_deveRetornarListaVaziaQuandoNaoHaEstoques() {
+    void atualizar_deveRegistrarDiferencaParaSaldoLidoNoRazao() {
         // Given
-        when(repository.findAll()).thenReturn(List.of());
+        estoqueDomain.setVersao(5L);
+        estoqueEntity.setVersao(5L);
+        estoqueEntity.setQuantidadeDisponivel(60);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(repository.atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 5L)).thenReturn(1);
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
 
         // When
-        List<Estoque> resultado = estoqueGateway.listarTodos();
+        estoqueGateway.atualizar(estoqueDomain);
 
         // Then
-        assertTrue(resultado.isEmpty());
-        verify(repository).findAll();
-        verify(mapper, never()).toDomain(any(EstoqueEntity.class));
+        verify(repository).atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 5L);
+        verify(movimentacaoRepository).registrar(eq(Map.of(SKU_TESTE, QUANTIDADE_DISPONIVEL - 60)),
+                eq(MotivoMovimentacao.ATUALIZACAO), any(), any());
+    }
+
+    @Test
+    void atualizar_deveLancarConflitoSemUpdateQuandoVersaoLidaJaMudou() {
+        // Given
+        estoqueDomain.setVersao(5L);
+        estoqueEntity.setVersao(6L);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+
+        // When & Then
+        EstoqueVersaoConflitanteException exception = assertThrows(EstoqueVersaoConflitanteException.class,
+                () -> estoqueGateway.atualizar(estoqueDomain));
+        assertEquals(SKU_TESTE, exception.getSku());
+        verify(repository, never()).atualizarSeVersao(any(), anyInt(), anyLong());
+        verifyNoInteractions(outboxRepository, movimentacaoRepository);
+    }
+
+    @Test
+    void atualizar_deveLancarConflitoQuandoVersaoMudaAntesDoUpdate() {
+        // Given
+        estoqueDomain.setVersao(5L);
+        estoqueEntity.setVersao(5L);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(repository.atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 5L)).thenReturn(0);
+        when(repository.existsBySku(SKU_TESTE)).thenReturn(true);
+
+        // When & Then
+        assertThrows(EstoqueVersaoConflitanteException.class, () -> estoqueGateway.atualizar(estoqueDomain));
+        verifyNoInteractions(outboxRepository, movimentacaoRepository);
     }
 
     @Test
-    void listarTodos_deveRetornarListaDeEstoquesQuandoExistem() {
+    void atualizar_deveLancarNaoEncontradoQuandoVersaoInformadaParaSkuInexistente() {
         // Given
-        List<EstoqueEntity> entidades = List.of(estoqueEntity);
-        List<Estoque> dominios = List.of(estoqueDomain);
+        estoqueDomain.setVersao(5L);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.empty());
 
-        when(repository.findAll()).thenReturn(entidades);
+        // When & Then
+        assertThrows(EstoqueNaoEncontradoException.class, () -> estoqueGateway.atualizar(estoqueDomain));
+        verify(metricas).registrarNaoEncontrado("atualizar");
+        verify(repository, never()).saveAndFlush(any(EstoqueEntity.class));
+    }
+
+    @Test
+    void atualizar_deveInserirSkuNovoSemVersao() {
+        // Given
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(EstoqueEntity.class))).thenReturn(estoqueEntity);
         when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
 
         // When
-        List<Estoque> resultado = estoqueGateway.listarTodos();
+        Estoque resultado = estoqueGateway.atualizar(estoqueDomain);
 
         // Then
-        assertEquals(1, resultado.size());
-        assertEquals(dominios.get(0), resultado.get(0));
-        verify(repository).findAll();
-        verify(mapper).toDomain(estoqueEntity);
+        assertEquals(estoqueDomain, resultado);
+        verify(repository).saveAndFlush(argThat(entity -> entity.getId() == null && entity.getVersao() == null
+                && SKU_TESTE.equals(entity.getSku()) && entity.getQuantidadeDisponivel() == QUANTIDADE_DISPONIVEL));
+        verify(repository, never()).atualizarSeVersao(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void atualizar_deveLancarConflitoQuandoOutraTransacaoInseriuOMesmoSku() {
+        // Given
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(EstoqueEntity.class))).thenThrow(new DataIntegrityViolationException("sku"));
+
+        // When & Then
+        assertThrows(EstoqueVersaoConflitanteException.class, () -> estoqueGateway.atualizar(estoqueDomain));
+    }
+
+    @Test
+    void atualizar_deveRegistrarNoOutboxQuandoHabilitado() {
+        // Given
+        ReflectionTestUtils.setField(estoqueGateway, "outboxHabilitado", true);
+        estoqueEntity.setVersao(0L);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(repository.atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 0L)).thenReturn(1);
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+
+        // When
+        estoqueGateway.atualizar(estoqueDomain);
+
+        // Then
+        verify(repository).flush();
+        verify(outboxRepository).registrarAlteracoes(List.of(SKU_TESTE));
+    }
+
+    @Test
+    void atualizar_naoDeveRegistrarNoOutboxQuandoDesabilitado() {
+        // Given
+        estoqueEntity.setVersao(0L);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(repository.atualizarSeVersao(SKU_TESTE, QUANTIDADE_DISPONIVEL, 0L)).thenReturn(1);
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+
+        // When
+        estoqueGateway.atualizar(estoqueDomain);
+
+        // Then
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void reporEstoque_deveSomarEDevolverLinhaAtualizada() {
+        // Given
+        when(repository.repor(SKU_TESTE, 50)).thenReturn(1);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+
+        // When
+        Estoque resultado = estoqueGateway.reporEstoque(SKU_TESTE, 50);
+
+        // Then
+        assertEquals(estoqueDomain, resultado);
+        verify(repository, never()).reporRetornando(any(), anyInt());
+    }
+
+    @Test
+    void reporEstoque_deveUsarUpdateReturningQuandoHabilitado() {
+        // Given
+        ReflectionTestUtils.setField(estoqueGateway, "updateReturning", true);
+        when(repository.reporRetornando(SKU_TESTE, 50)).thenReturn(Optional.of(estoqueEntity));
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+
+        // When
+        estoqueGateway.reporEstoque(SKU_TESTE, 50);
+
+        // Then
+        verify(repository, never()).repor(any(), anyInt());
+        verify(repository, never()).findBySku(any());
+    }
+
+    @Test
+    void reporEstoque_deveLancarNaoEncontradoQuandoSkuInexistente() {
+        // Given
+        when(repository.repor(SKU_TESTE, 50)).thenReturn(0);
+
+        // When & Then
+        assertThrows(EstoqueNaoEncontradoException.class, () -> estoqueGateway.reporEstoque(SKU_TESTE, 50));
+        verify(metricas).registrarNaoEncontrado("repor");
+    }
+
+    @Test
+    void exportarTodos_deveEntregarCadaEstoqueConvertidoAoConsumidor() {
+        // Given
+        doAnswer(inv -> {
+            Consumer<EstoqueEntity> consumidor = inv.getArgument(0);
+            consumidor.accept(estoqueEntity);
+            return null;
+        }).when(repository).percorrerTodos(any());
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+        List<Estoque> recebidos = new ArrayList<>();
+
+        // When
+        estoqueGateway.exportarTodos(recebidos::add);
+
+        // Then
+        assertEquals(List.of(estoqueDomain), recebidos);
+        verify(repository).percorrerTodos(any());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void exportarTodos_naoDeveEntregarNadaQuandoNaoHaEstoques() {
+        // Given
+        List<Estoque> recebidos = new ArrayList<>();
+
+        // When
+        estoqueGateway.exportarTodos(recebidos::add);
+
+        // Then
+        assertTrue(recebidos.isEmpty());
+        verify(mapper, never()).toDomain(any(EstoqueEntity.class));
+    }
+
+    @Test
+    void listarPagina_deveRepassarFiltrosAoRepositorio() {
+        // Given
+        FiltroEstoque filtro = FiltroEstoque.builder().aposSku("SKU100").quantidadeMin(1).quantidadeMax(9).limite(11).build();
+        when(repository.buscarPagina("SKU100", 1, 9, 11)).thenReturn(List.of(estoqueEntity));
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+
+        // When
+        List<Estoque> resultado = estoqueGateway.listarPagina(filtro);
+
+        // Then
+        assertEquals(List.of(estoqueDomain), resultado);
+        verify(repository).buscarPagina("SKU100", 1, 9, 11);
     }
 
     @Test
@@ -131,8 +334,8 @@ class EstoqueGatewayImplTest {
         Estoque estoqueAtualizado = criarEstoqueDomain();
         estoqueAtualizado.setQuantidadeDisponivel(QUANTIDADE_DISPONIVEL - QUANTIDADE_BAIXA);
 
-        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
-        when(repository.save(any(EstoqueEntity.class))).thenReturn(entityAtualizada);
+        when(repository.baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA)).thenReturn(1);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(entityAtualizada));
         when(mapper.toDomain(entityAtualizada)).thenReturn(estoqueAtualizado);
 
         // When
@@ -141,54 +344,84 @@ class EstoqueGatewayImplTest {
         // Then
         assertEquals(estoqueAtualizado, resultado);
         assertEquals(QUANTIDADE_DISPONIVEL - QUANTIDADE_BAIXA, resultado.getQuantidadeDisponivel());
+        verify(repository).baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA);
         verify(repository).findBySku(SKU_TESTE);
-        verify(repository).save(any(EstoqueEntity.class));
+        verify(repository, never()).save(any(EstoqueEntity.class));
+        verify(repository, never()).existsBySku(any());
         verify(mapper).toDomain(entityAtualizada);
     }
 
+    @Test
+    void baixarEstoque_deveUsarUpdateReturningQuandoHabilitado() {
+        // Given
+        ReflectionTestUtils.setField(estoqueGateway, "updateReturning", true);
+        EstoqueEntity entityAtualizada = criarEstoqueEntity();
+        entityAtualizada.setQuantidadeDisponivel(QUANTIDADE_DISPONIVEL - QUANTIDADE_BAIXA);
+
+        Estoque estoqueAtualizado = criarEstoqueDomain();
+        estoqueAtualizado.setQuantidadeDisponivel(QUANTIDADE_DISPONIVEL - QUANTIDADE_BAIXA);
+
+        when(repository.baixarSeDisponivelRetornando(SKU_TESTE, QUANTIDADE_BAIXA)).thenReturn(Optional.of(entityAtualizada));
+        when(mapper.toDomain(entityAtualizada)).thenReturn(estoqueAtualizado);
+
+        // When
+        Estoque resultado = estoqueGateway.baixarEstoque(SKU_TESTE, QUANTIDADE_BAIXA);
+
+        // Then
+        assertEquals(QUANTIDADE_DISPONIVEL - QUANTIDADE_BAIXA, resultado.getQuantidadeDisponivel());
+        verify(repository).baixarSeDisponivelRetornando(SKU_TESTE, QUANTIDADE_BAIXA);
+        verify(repository, never()).baixarSeDisponivel(any(), anyInt());
+        verify(repository, never()).findBySku(any());
+    }
+
     @Test
     void baixarEstoque_deveLancarExcecaoQuandoEstoqueNaoEncontrado() {
         // Given
-        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.empty());
+        when(repository.baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA)).thenReturn(0);
+        when(repository.existsBySku(SKU_TESTE)).thenReturn(false);
 
         // When
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        EstoqueNaoEncontradoException exception = assertThrows(EstoqueNaoEncontradoException.class,
                 () -> estoqueGateway.baixarEstoque(SKU_TESTE, QUANTIDADE_BAIXA));
 
         assertEquals("Estoque não encontrado para SKU: " + SKU_TESTE, exception.getMessage());
-        verify(repository).findBySku(SKU_TESTE);
-        verify(repository, never()).save(any(EstoqueEntity.class));
+        assertEquals(SKU_TESTE, exception.getSku());
+        assertEquals(0, exception.getStackTrace().length);
+        verify(metricas).registrarNaoEncontrado("baixar");
+        verify(repository).baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA);
+        verify(repository, never()).findBySku(any());
         verify(mapper, never()).toDomain(any(EstoqueEntity.class));
     }
 
     @Test
     void baixarEstoque_deveLancarExcecaoQuandoEstoqueInsuficiente() {
         // Given
-        estoqueEntity.setQuantidadeDisponivel(5);
-        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
+        when(repository.baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA)).thenReturn(0);
+        when(repository.existsBySku(SKU_TESTE)).thenReturn(true);
 
         // When
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        EstoqueInsuficienteException exception = assertThrows(EstoqueInsuficienteException.class,
                 () -> estoqueGateway.baixarEstoque(SKU_TESTE, QUANTIDADE_BAIXA));
 
         assertEquals("Estoque insuficiente para SKU: " + SKU_TESTE, exception.getMessage());
-        verify(repository).findBySku(SKU_TESTE);
-        verify(repository, never()).save(any(EstoqueEntity.class));
+        assertEquals(SKU_TESTE, exception.getSku());
+        verify(metricas).registrarEstoqueInsuficiente();
+        verify(repository).baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA);
+        verify(repository, never()).findBySku(any());
         verify(mapper, never()).toDomain(any(EstoqueEntity.class));
     }
 
     @Test
     void baixarEstoque_devePermitirBaixaComQuantidadeExata() {
         // Given
-        estoqueEntity.setQuantidadeDisponivel(QUANTIDADE_BAIXA);
         EstoqueEntity entityAtualizada = criarEstoqueEntity();
         entityAtualizada.setQuantidadeDisponivel(0);
 
         Estoque estoqueAtualizado = criarEstoqueDomain();
         estoqueAtualizado.setQuantidadeDisponivel(0);
 
-        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(estoqueEntity));
-        when(repository.save(any(EstoqueEntity.class))).thenReturn(entityAtualizada);
+        when(repository.baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA)).thenReturn(1);
+        when(repository.findBySku(SKU_TESTE)).thenReturn(Optional.of(entityAtualizada));
         when(mapper.toDomain(entityAtualizada)).thenReturn(estoqueAtualizado);
 
         // When
@@ -196,11 +429,63 @@ class EstoqueGatewayImplTest {
 
         // Then
         assertEquals(0, resultado.getQuantidadeDisponivel());
+        verify(repository).baixarSeDisponivel(SKU_TESTE, QUANTIDADE_BAIXA);
         verify(repository).findBySku(SKU_TESTE);
-        verify(repository).save(any(EstoqueEntity.class));
         verify(mapper).toDomain(entityAtualizada);
     }
 
+    @Test
+    void baixarEstoqueEmLote_deveSomarSkusRepetidosEOrdenarPorSku() {
+        // Given
+        List<ItemBaixa> itens = List.of(
+                ItemBaixa.builder().sku("SKU-B").quantidade(1).build(),
+                ItemBaixa.builder().sku("SKU-A").quantidade(2).build(),
+                ItemBaixa.builder().sku("SKU-B").quantidade(3).build());
+        when(repository.baixarEmLote(any())).thenReturn(List.of());
+        when(repository.findBySkuInOrderBySku(any())).thenReturn(List.of(estoqueEntity));
+        when(mapper.toDomain(estoqueEntity)).thenReturn(estoqueDomain);
+
+        // When
+        List<Estoque> resultado = estoqueGateway.baixarEstoqueEmLote(itens);
+
+        // Then
+        assertEquals(List.of(estoqueDomain), resultado);
+        verify(repository).baixarEmLote(argThat(mapa ->
+                mapa.equals(Map.of("SKU-A", 2, "SKU-B", 4))
+                        && List.copyOf(mapa.keySet()).equals(List.of("SKU-A", "SKU-B"))));
+        verify(repository).findBySkuInOrderBySku(Set.of("SKU-A", "SKU-B"));
+    }
+
+    @Test
+    void baixarEstoqueEmLote_deveLancarExcecaoComSkusRejeitados() {
+        // Given
+        List<ItemBaixa> itens = List.of(
+                ItemBaixa.builder().sku("SKU-A").quantidade(2).build(),
+                ItemBaixa.builder().sku("SKU-B").quantidade(3).build());
+        when(repository.baixarEmLote(any())).thenReturn(List.of("SKU-B"));
+
+        // When
+        BaixaEmLoteRejeitadaException exception = assertThrows(BaixaEmLoteRejeitadaException.class,
+                () -> estoqueGateway.baixarEstoqueEmLote(itens));
+
+        // Then
+        assertEquals(List.of("SKU-B"), exception.getSkus());
+        verify(repository, never()).findBySkuInOrderBySku(any());
+    }
+
+    @Test
+    void importarEmLote_deveConverterParaEntidadesEGravarEmLote() {
+        // Given
+        when(mapper.toEntity(estoqueDomain)).thenReturn(estoqueEntity);
+
+        // When
+        estoqueGateway.importarEmLote(List.of(estoqueDomain));
+
+        // Then
+        verify(repository).upsertEmLote(List.of(estoqueEntity));
+        verify(repository, never()).save(any(EstoqueEntity.class));
+    }
+
     private EstoqueEntity criarEstoqueEntity() {
         EstoqueEntity entity = new EstoqueEntity();
         entity.setId(1L);
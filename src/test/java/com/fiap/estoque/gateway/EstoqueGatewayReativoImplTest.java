@@ -0,0 +1,97 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * O JPA cria a tabela e grava as linhas; o gateway as lê pelo R2DBC no mesmo banco H2 em memória.
+ */
+@EstoqueGatewayDataJpaTest
+class EstoqueGatewayReativoImplTest {
+
+    @Autowired
+    private EstoqueRepository repository;
+
+    @Value("${spring.datasource.username}")
+    private String usuario;
+
+    @Value("${spring.datasource.password}")
+    private String senha;
+
+    private EstoqueGatewayReativo gateway;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse("r2dbc:h2:mem:///estoque-gateway").mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, senha)
+                .build();
+        gateway = new EstoqueGatewayReativoImpl(DatabaseClient.create(ConnectionFactories.get(opcoes)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void buscarPorSku_deveLerTodasAsColunasDoSku() {
+        // Given
+        EstoqueEntity gravado = repository.save(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(7).estoqueMinimo(2).build());
+
+        // When
+        Estoque resultado = gateway.buscarPorSku("SKU-A").block();
+
+        // Then
+        assertThat(resultado).isNotNull();
+        assertThat(resultado.getId()).isEqualTo(gravado.getId());
+        assertThat(resultado.getQuantidadeDisponivel()).isEqualTo(7);
+        assertThat(resultado.getEstoqueMinimo()).isEqualTo(2);
+        assertThat(resultado.getVersao()).isEqualTo(gravado.getVersao());
+    }
+
+    @Test
+    void buscarPorSku_deveCompletarVazioQuandoSkuNaoExiste() {
+        // When & Then
+        assertThat(gateway.buscarPorSku("SKU-X").blockOptional()).isEmpty();
+    }
+
+    @Test
+    void buscarPorSkus_deveBuscarExistentesEmUmaConsulta() {
+        // Given
+        repository.saveAll(List.of(
+                EstoqueEntity.builder().sku("SKU-A").quantidadeDisponivel(1).build(),
+                EstoqueEntity.builder().sku("SKU-B").quantidadeDisponivel(2).estoqueMinimo(5).build(),
+                EstoqueEntity.builder().sku("SKU-C").quantidadeDisponivel(3).build()));
+
+        // When
+        List<Estoque> resultado = gateway.buscarPorSkus(List.of("SKU-A", "SKU-B", "SKU-X")).collectList().block();
+
+        // Then
+        assertThat(resultado).extracting(Estoque::getSku, Estoque::getQuantidadeDisponivel, Estoque::getEstoqueMinimo)
+                .containsExactlyInAnyOrder(
+                        tuple("SKU-A", 1, null),
+                        tuple("SKU-B", 2, 5));
+    }
+
+    @Test
+    void buscarPorSkus_deveRetornarVazioSemSkus() {
+        // When & Then
+        assertThat(gateway.buscarPorSkus(List.of()).collectList().block()).isEmpty();
+    }
+}
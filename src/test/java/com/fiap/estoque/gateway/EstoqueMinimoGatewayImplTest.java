@@ -0,0 +1,165 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.TipoAlertaEstoque;
+import com.fiap.estoque.entity.AlertaEstoqueEntity;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@EstoqueGatewayDataJpaTest
+@Import(EstoqueMinimoGatewayImpl.class)
+@TestPropertySource(properties = "estoque.alerta.habilitado=true")
+class EstoqueMinimoGatewayImplTest {
+
+    private static final String SKU = "SKU-MINIMO";
+
+    @Autowired
+    private EstoqueMinimoGateway gateway;
+
+    @Autowired
+    private EstoqueGateway estoqueGateway;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private AlertaEstoqueRepository alertaRepository;
+
+    @Autowired
+    private MovimentacaoEstoqueRepository movimentacaoRepository;
+
+    @AfterEach
+    void tearDown() {
+        alertaRepository.deleteAll();
+        movimentacaoRepository.deleteAll();
+        estoqueRepository.deleteAll();
+    }
+
+    @Test
+    void baixarEstoque_deveAlertarApenasNoCruzamentoDoMinimo() {
+        // Given
+        salvar(SKU, 10, 5);
+
+        // When
+        estoqueGateway.baixarEstoque(SKU, 3);
+        estoqueGateway.baixarEstoque(SKU, 3);
+        estoqueGateway.baixarEstoque(SKU, 1);
+
+        // Then
+        assertThat(alertaRepository.findAll()).singleElement().satisfies(alerta -> {
+            assertThat(alerta.getTipo()).isEqualTo(TipoAlertaEstoque.ABAIXO_MINIMO);
+            assertThat(alerta.getQuantidadeDisponivel()).isEqualTo(4);
+            assertThat(alerta.getEstoqueMinimo()).isEqualTo(5);
+        });
+    }
+
+    @Test
+    void reporEstoqueEAtualizar_devemAlertarNosDoisSentidos() {
+        // Given
+        salvar(SKU, 4, 5);
+
+        // When
+        estoqueGateway.reporEstoque(SKU, 1);
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(2).build());
+
+        // Then
+        assertThat(alertaRepository.findAll()).extracting(AlertaEstoqueEntity::getTipo)
+                .containsExactly(TipoAlertaEstoque.NORMALIZADO, TipoAlertaEstoque.ABAIXO_MINIMO);
+    }
+
+    @Test
+    void baixarEstoqueEmLote_deveAlertarSomenteSkusQueCruzaram() {
+        // Given
+        salvar(SKU + "-1", 10, 5);
+        salvar(SKU + "-2", 10, 5);
+        salvar(SKU + "-3", 10, null);
+
+        // When
+        estoqueGateway.baixarEstoqueEmLote(List.of(item(SKU + "-1", 6), item(SKU + "-2", 2), item(SKU + "-3", 9)));
+
+        // Then
+        assertThat(alertaRepository.findAll()).extracting(AlertaEstoqueEntity::getSku).containsExactly(SKU + "-1");
+    }
+
+    @Test
+    void definirMinimo_deveAlertarQuandoSaldoAtualFicaAbaixoDoNovoLimite() {
+        // Given
+        salvar(SKU, 4, null);
+
+        // When
+        Estoque estoque = gateway.definirMinimo(SKU, 5);
+        gateway.definirMinimo(SKU, 6);
+        gateway.definirMinimo(SKU, null);
+
+        // Then
+        assertThat(estoque.getEstoqueMinimo()).isEqualTo(5);
+        assertThat(estoqueRepository.findBySku(SKU).orElseThrow().getVersao()).isZero();
+        assertThat(alertaRepository.findAll()).extracting(AlertaEstoqueEntity::getTipo)
+                .containsExactly(TipoAlertaEstoque.ABAIXO_MINIMO, TipoAlertaEstoque.NORMALIZADO);
+    }
+
+    @Test
+    void definirMinimo_deveLancarNaoEncontradoParaSkuInexistente() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.definirMinimo("SKU-INEXISTENTE", 5)).isInstanceOf(EstoqueNaoEncontradoException.class);
+    }
+
+    @Test
+    void listarAbaixoDoMinimo_deveRetornarApenasSkusAbaixoPorKeyset() {
+        // Given
+        salvar(SKU + "-1", 1, 5);
+        salvar(SKU + "-2", 5, 5);
+        salvar(SKU + "-3", 0, 1);
+        salvar(SKU + "-4", 0, null);
+
+        // When
+        List<Estoque> primeira = gateway.listarAbaixoDoMinimo("", 1);
+        List<Estoque> segunda = gateway.listarAbaixoDoMinimo(primeira.get(0).getSku(), 10);
+
+        // Then
+        assertThat(primeira).extracting(Estoque::getSku).containsExactly(SKU + "-1");
+        assertThat(segunda).extracting(Estoque::getSku).containsExactly(SKU + "-3");
+        assertThat(segunda.get(0).getEstoqueMinimo()).isEqualTo(1);
+    }
+
+    @Test
+    void registrarCruzamentos_deveCompararSaldoAtualComSaldoAntesDaVariacao() {
+        // Given
+        salvar(SKU + "-1", 4, 5);
+        salvar(SKU + "-2", 4, 5);
+        salvar(SKU + "-3", 6, 5);
+
+        // When
+        alertaRepository.registrarCruzamentos(Map.of(SKU + "-1", 1, SKU + "-2", 2, SKU + "-3", 3), Instant.now());
+
+        // Then
+        assertThat(alertaRepository.findAll()).singleElement().satisfies(alerta -> {
+            assertThat(alerta.getSku()).isEqualTo(SKU + "-3");
+            assertThat(alerta.getTipo()).isEqualTo(TipoAlertaEstoque.NORMALIZADO);
+        });
+    }
+
+    private void salvar(String sku, int quantidade, Integer estoqueMinimo) {
+        estoqueRepository.save(EstoqueEntity.builder().sku(sku).quantidadeDisponivel(quantidade).estoqueMinimo(estoqueMinimo).build());
+    }
+
+    private static ItemBaixa item(String sku, int quantidade) {
+        return ItemBaixa.builder().sku(sku).quantidade(quantidade).build();
+    }
+}
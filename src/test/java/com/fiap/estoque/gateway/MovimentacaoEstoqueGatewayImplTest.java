@@ -0,0 +1,204 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.MotivoMovimentacao;
+import com.fiap.estoque.domain.Movimentacao;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.SnapshotEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EstoqueGatewayDataJpaTest
+@Import(MovimentacaoEstoqueGatewayImpl.class)
+class MovimentacaoEstoqueGatewayImplTest {
+
+    private static final String SKU = "SKU-MOVIMENTACAO";
+
+    @Autowired
+    private MovimentacaoEstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueGateway estoqueGateway;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private MovimentacaoEstoqueRepository movimentacaoRepository;
+
+    @Autowired
+    private SnapshotEstoqueRepository snapshotRepository;
+
+    @BeforeEach
+    void setUp() {
+        movimentacaoRepository.deleteAll();
+        snapshotRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movimentacaoRepository.deleteAll();
+        snapshotRepository.deleteAll();
+        estoqueRepository.deleteAll();
+    }
+
+    @Test
+    void alteracoesDeSaldo_devemGravarUmaMovimentacaoCada() {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+
+        // When
+        estoqueGateway.baixarEstoque(SKU, 3);
+        estoqueGateway.reporEstoque(SKU, 5);
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(20).build());
+        estoqueGateway.baixarEstoqueEmLote(List.of(ItemBaixa.builder().sku(SKU).quantidade(2).build()));
+
+        // Then
+        List<Movimentacao> movimentacoes = gateway.listarPorSku(SKU, 0, 100);
+        assertThat(movimentacoes).extracting(Movimentacao::getMotivo).containsExactly(MotivoMovimentacao.ATUALIZACAO,
+                MotivoMovimentacao.BAIXA, MotivoMovimentacao.REPOSICAO, MotivoMovimentacao.ATUALIZACAO, MotivoMovimentacao.BAIXA_LOTE);
+        assertThat(movimentacoes).extracting(Movimentacao::getDelta).containsExactly(10, -3, 5, 8, -2);
+        assertThat(movimentacoes.stream().mapToInt(Movimentacao::getDelta).sum()).isEqualTo(18);
+    }
+
+    @Test
+    void listarPorSku_devePaginarPeloId() {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+        estoqueGateway.baixarEstoque(SKU, 1);
+        estoqueGateway.baixarEstoque(SKU, 2);
+        List<Movimentacao> primeiraPagina = gateway.listarPorSku(SKU, 0, 2);
+
+        // When
+        List<Movimentacao> segundaPagina = gateway.listarPorSku(SKU, primeiraPagina.get(1).getId(), 2);
+
+        // Then
+        assertThat(primeiraPagina).extracting(Movimentacao::getDelta).containsExactly(10, -1);
+        assertThat(segundaPagina).extracting(Movimentacao::getDelta).containsExactly(-2);
+    }
+
+    @Test
+    void importarEmLote_deveRegistrarDiferencaParaSaldoAnterior() {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+
+        // When
+        estoqueGateway.importarEmLote(List.of(Estoque.builder().sku(SKU).quantidadeDisponivel(4).build(),
+                Estoque.builder().sku(SKU + "-NOVO").quantidadeDisponivel(7).build()));
+
+        // Then
+        assertThat(gateway.listarPorSku(SKU, 0, 100)).extracting(Movimentacao::getDelta).containsExactly(10, -6);
+        assertThat(gateway.listarPorSku(SKU + "-NOVO", 0, 100)).extracting(Movimentacao::getMotivo)
+                .containsExactly(MotivoMovimentacao.IMPORTACAO);
+    }
+
+    @Test
+    void buscarSaldoEm_deveSomarSnapshotEMovimentacoesPosteriores() throws Exception {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+        estoqueGateway.baixarEstoque(SKU, 4);
+        Instant corte = depoisDoRelogio();
+        assertThat(gateway.tirarSnapshots(corte)).isEqualTo(1);
+        estoqueGateway.reporEstoque(SKU, 3);
+        Instant depoisDaReposicao = depoisDoRelogio();
+        estoqueGateway.baixarEstoque(SKU, 1);
+
+        // When & Then
+        assertThat(gateway.buscarSaldoEm(SKU, corte)).contains(6);
+        assertThat(gateway.buscarSaldoEm(SKU, depoisDaReposicao)).contains(9);
+        assertThat(gateway.buscarSaldoEm(SKU, depoisDoRelogio())).contains(8);
+        assertThat(gateway.buscarSaldoEm(SKU, Instant.EPOCH)).contains(0);
+        assertThat(gateway.buscarSaldoEm("SKU-INEXISTENTE", corte)).isEmpty();
+    }
+
+    @Test
+    void tirarSnapshots_naoDeveGravarCorteRepetido() throws Exception {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+        Instant corte = depoisDoRelogio();
+        gateway.tirarSnapshots(corte);
+
+        // When & Then
+        assertThat(gateway.tirarSnapshots(corte)).isZero();
+        assertThat(snapshotRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void tirarSnapshots_deveAcumularSobreSnapshotAnterior() throws Exception {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+        gateway.tirarSnapshots(depoisDoRelogio());
+        estoqueGateway.baixarEstoque(SKU, 4);
+
+        // When
+        gateway.tirarSnapshots(depoisDoRelogio());
+
+        // Then
+        assertThat(snapshotRepository.findFirstBySkuAndTiradoEmLessThanEqualOrderByTiradoEmDesc(SKU, Instant.now())
+                .orElseThrow().getSaldo()).isEqualTo(6);
+    }
+
+    @Test
+    void tirarSnapshots_deveGravarSaldoDeAberturaDosSkusAnterioresAoRazao() throws Exception {
+        // Given
+        estoqueRepository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(10).build());
+        Instant antesDaBaixa = depoisDoRelogio();
+        estoqueGateway.baixarEstoque(SKU, 3);
+
+        // When
+        gateway.tirarSnapshots(depoisDoRelogio());
+        estoqueRepository.save(EstoqueEntity.builder().sku(SKU + "-2").quantidadeDisponivel(4).build());
+        gateway.tirarSnapshots(depoisDoRelogio());
+
+        // Then
+        assertThat(snapshotRepository.findFirstBySkuAndTiradoEmLessThanEqualOrderByTiradoEmDesc(SKU, Instant.EPOCH)
+                .orElseThrow().getSaldo()).isEqualTo(10);
+        assertThat(gateway.buscarSaldoEm(SKU, antesDaBaixa)).contains(10);
+        assertThat(gateway.buscarSaldoEm(SKU, depoisDoRelogio())).contains(7);
+        assertThat(gateway.buscarDivergencias("", gateway.buscarFimDoLote("", 10).orElseThrow()))
+                .extracting(DivergenciaEstoque::getSku).containsExactly(SKU + "-2");
+    }
+
+    @Test
+    void buscarDivergencias_deveApontarSaldoAlteradoForaDoRazao() throws Exception {
+        // Given
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU).quantidadeDisponivel(10).build());
+        estoqueGateway.atualizar(Estoque.builder().sku(SKU + "-2").quantidadeDisponivel(5).build());
+        gateway.tirarSnapshots(depoisDoRelogio());
+        estoqueGateway.baixarEstoque(SKU + "-2", 1);
+        estoqueRepository.save(EstoqueEntity.builder().sku(SKU + "-3").quantidadeDisponivel(4).build());
+
+        // When
+        String fim = gateway.buscarFimDoLote("", 10).orElseThrow();
+        List<DivergenciaEstoque> divergencias = gateway.buscarDivergencias("", fim);
+
+        // Then
+        assertThat(fim).isEqualTo(SKU + "-3");
+        assertThat(gateway.buscarFimDoLote(fim, 10)).isEmpty();
+        assertThat(divergencias).singleElement().satisfies(divergencia -> {
+            assertThat(divergencia.getSku()).isEqualTo(SKU + "-3");
+            assertThat(divergencia.getQuantidadeDisponivel()).isEqualTo(4);
+            assertThat(divergencia.getQuantidadeMovimentacoes()).isZero();
+        });
+    }
+
+    /** Instante estritamente posterior às movimentações já gravadas e anterior às seguintes. */
+    private static Instant depoisDoRelogio() throws InterruptedException {
+        Thread.sleep(5);
+        Instant instante = Instant.now();
+        Thread.sleep(5);
+        return instante;
+    }
+}
@@ -0,0 +1,163 @@
+package com.fiap.estoque.gateway;
+
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.entity.ReservaEstoqueEntity;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.ReservaNaoEncontradaException;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.ReservaEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@EstoqueGatewayDataJpaTest
+@Import(ReservaEstoqueGatewayImpl.class)
+class ReservaEstoqueGatewayImplTest {
+
+    private static final String SKU = "SKU-RESERVA";
+
+    @Autowired
+    private ReservaEstoqueGateway gateway;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaRepository;
+
+    private final Instant agora = Instant.now();
+
+    @BeforeEach
+    void setUp() {
+        estoqueRepository.save(EstoqueEntity.builder().sku(SKU).quantidadeDisponivel(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll();
+        estoqueRepository.deleteAll();
+    }
+
+    @Test
+    void reservar_deveDescontarDoSaldoDisponivel() {
+        // When
+        Reserva reserva = gateway.reservar(SKU, 4, agora.plus(Duration.ofMinutes(15)));
+
+        // Then
+        assertThat(reserva.getId()).isNotNull();
+        assertThat(saldo()).isEqualTo(6);
+        assertThat(reservaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void reservar_naoDeveGravarReservaQuandoSaldoInsuficiente() {
+        // When & Then
+        assertThatThrownBy(() -> gateway.reservar(SKU, 11, agora.plus(Duration.ofMinutes(15))))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        assertThat(saldo()).isEqualTo(10);
+        assertThat(reservaRepository.count()).isZero();
+    }
+
+    @Test
+    void confirmar_deveManterBaixaERemoverReserva() {
+        // Given
+        Reserva reserva = gateway.reservar(SKU, 4, agora.plus(Duration.ofMinutes(15)));
+
+        // When
+        Reserva confirmada = gateway.confirmar(reserva.getId(), agora);
+
+        // Then
+        assertThat(confirmada.getQuantidade()).isEqualTo(4);
+        assertThat(saldo()).isEqualTo(6);
+        assertThat(reservaRepository.count()).isZero();
+        assertThatThrownBy(() -> gateway.cancelar(reserva.getId(), agora)).isInstanceOf(ReservaNaoEncontradaException.class);
+        assertThat(saldo()).isEqualTo(6);
+    }
+
+    @Test
+    void cancelar_deveDevolverQuantidadeAoSaldo() {
+        // Given
+        Reserva reserva = gateway.reservar(SKU, 4, agora.plus(Duration.ofMinutes(15)));
+
+        // When
+        gateway.cancelar(reserva.getId(), agora);
+
+        // Then
+        assertThat(saldo()).isEqualTo(10);
+        assertThat(reservaRepository.count()).isZero();
+    }
+
+    @Test
+    void confirmar_deveRecusarReservaVencidaAindaNaoLiberada() {
+        // Given
+        Reserva reserva = gateway.reservar(SKU, 4, agora.minusSeconds(1));
+
+        // When & Then
+        assertThatThrownBy(() -> gateway.confirmar(reserva.getId(), agora)).isInstanceOf(ReservaNaoEncontradaException.class);
+        assertThat(reservaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void liberarExpiradas_deveDevolverSomenteVencidasEmLotes() {
+        // Given
+        gateway.reservar(SKU, 1, agora.minusSeconds(30));
+        gateway.reservar(SKU, 2, agora.minusSeconds(20));
+        gateway.reservar(SKU, 3, agora.minusSeconds(10));
+        gateway.reservar(SKU, 4, agora.plus(Duration.ofMinutes(15)));
+
+        // When
+        List<Reserva> primeiroLote = gateway.liberarExpiradas(agora, 2);
+        List<Reserva> segundoLote = gateway.liberarExpiradas(agora, 2);
+        List<Reserva> terceiroLote = gateway.liberarExpiradas(agora, 2);
+
+        // Then
+        assertThat(primeiroLote).extracting(Reserva::getQuantidade).containsExactly(1, 2);
+        assertThat(segundoLote).extracting(Reserva::getQuantidade).containsExactly(3);
+        assertThat(terceiroLote).isEmpty();
+        assertThat(saldo()).isEqualTo(6);
+        assertThat(reservaRepository.findAll()).extracting(ReservaEstoqueEntity::getQuantidade).containsExactly(4);
+    }
+
+    @Test
+    void liberarExpiradas_concorrentesDevemDevolverCadaReservaUmaUnicaVez() throws Exception {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            gateway.reservar(SKU, 1, agora.minusSeconds(i + 1));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Callable<Integer> varredura = () -> gateway.liberarExpiradas(agora, 10).size();
+
+        // When
+        int liberadas = 0;
+        try {
+            for (Future<Integer> resultado : executor.invokeAll(List.of(varredura, varredura, varredura, varredura))) {
+                liberadas += resultado.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(liberadas).isEqualTo(10);
+        assertThat(saldo()).isEqualTo(10);
+        assertThat(reservaRepository.count()).isZero();
+    }
+
+    private int saldo() {
+        return estoqueRepository.findBySku(SKU).orElseThrow().getQuantidadeDisponivel();
+    }
+}
@@ -0,0 +1,502 @@
+package com.fiap.estoque.gateway.memoria;
+
+import com.fiap.estoque.domain.BaixaIdempotente;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.MotivoMovimentacao;
+import com.fiap.estoque.domain.ResultadoBaixa;
+import com.fiap.estoque.entity.CheckpointMemoriaEntity;
+import com.fiap.estoque.entity.EstoqueEntity;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.BaixaRepetidaException;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
+import com.fiap.estoque.exception.PedidoRepetidoException;
+import com.fiap.estoque.gateway.EstoqueGatewayImpl;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.repository.AlertaEstoqueRepository;
+import com.fiap.estoque.repository.CheckpointMemoriaRepository;
+import com.fiap.estoque.repository.EstoqueRepository;
+import com.fiap.estoque.repository.MovimentacaoEstoqueRepository;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueGatewayMemoriaTest {
+
+    private static final String SKU_QUENTE = "SKU-QUENTE";
+    private static final String SKU_FRIO = "SKU-FRIO";
+    private static final String INSTANCIA = "instancia-1";
+
+    @Mock
+    private EstoqueGatewayImpl delegate;
+
+    @Mock
+    private EstoqueRepository repository;
+
+    @Mock
+    private CheckpointMemoriaRepository checkpointRepository;
+
+    @Mock
+    private OutboxEstoqueRepository outboxRepository;
+
+    @Mock
+    private MovimentacaoEstoqueRepository movimentacaoRepository;
+
+    @Mock
+    private AlertaEstoqueRepository alertaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @TempDir
+    Path diretorioJournal;
+
+    private EstoqueGatewayMemoria gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(repository.findBySku(SKU_QUENTE)).thenReturn(Optional.of(
+                EstoqueEntity.builder().id(1L).sku(SKU_QUENTE).quantidadeDisponivel(100).versao(4L).estoqueMinimo(20).build()));
+        gateway = novoGateway();
+        gateway.iniciar();
+    }
+
+    @Test
+    void baixarEstoque_deveBaixarSkuQuenteEmMemoriaSemAcessarBanco() {
+        // When
+        Estoque resultado = gateway.baixarEstoque(SKU_QUENTE, 10);
+
+        // Then
+        assertEquals(90, resultado.getQuantidadeDisponivel());
+        assertEquals(90, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        verify(delegate, never()).baixarEstoque(any(), anyInt());
+        verify(repository, never()).aplicarDeltas(anyMap(), anyMap());
+    }
+
+    @Test
+    void baixarEstoque_deveManterEstoqueMinimoDoSkuQuente() {
+        // When
+        Estoque resultado = gateway.baixarEstoque(SKU_QUENTE, 10);
+
+        // Then
+        assertEquals(20, resultado.getEstoqueMinimo());
+        assertEquals(20, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getEstoqueMinimo());
+    }
+
+    @Test
+    void flush_deveRenovarEstoqueMinimoDoBanco() {
+        // Given
+        when(repository.buscarPorSkus(Set.of(SKU_QUENTE))).thenReturn(List.of(
+                EstoqueEntity.builder().id(1L).sku(SKU_QUENTE).quantidadeDisponivel(90).versao(5L).estoqueMinimo(30).build()));
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+
+        // When
+        gateway.flush();
+
+        // Then
+        assertEquals(30, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getEstoqueMinimo());
+    }
+
+    @Test
+    void baixarEstoque_deveDevolverSaldoEmMemoriaQuandoTransacaoDesfeita() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gateway.baixarEstoque(SKU_QUENTE, 10);
+            gateway.baixarEstoqueEmLote(List.of(ItemBaixa.builder().sku(SKU_QUENTE).quantidade(5).build()));
+
+            // When
+            concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        gateway.flush();
+        verify(repository).aplicarDeltas(Map.of(), Map.of(SKU_QUENTE, 8L));
+    }
+
+    @Test
+    void baixarEstoque_deveManterSaldoEmMemoriaQuandoTransacaoConfirmada() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gateway.baixarEstoque(SKU_QUENTE, 10);
+
+            // When
+            concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(90, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+    }
+
+    @Test
+    void baixarEstoque_deveLancarExcecaoQuandoSaldoEmMemoriaInsuficiente() {
+        // When & Then
+        EstoqueInsuficienteException exception = assertThrows(EstoqueInsuficienteException.class,
+                () -> gateway.baixarEstoque(SKU_QUENTE, 101));
+        assertEquals("Estoque insuficiente para SKU: " + SKU_QUENTE, exception.getMessage());
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+    }
+
+    @Test
+    void baixarEstoque_deveDelegarSkuFrio() {
+        // Given
+        Estoque esperado = Estoque.builder().sku(SKU_FRIO).quantidadeDisponivel(4).build();
+        when(delegate.baixarEstoque(SKU_FRIO, 1)).thenReturn(esperado);
+
+        // When
+        Estoque resultado = gateway.baixarEstoque(SKU_FRIO, 1);
+
+        // Then
+        assertSame(esperado, resultado);
+    }
+
+    @Test
+    void baixarEstoqueComChave_deveGravarChaveDaBaixaEmMemoria() {
+        // When
+        Estoque resultado = gateway.baixarEstoque(SKU_QUENTE, 10, "chave-1");
+
+        // Then
+        assertEquals(90, resultado.getQuantidadeDisponivel());
+        verify(delegate).registrarBaixaIdempotente(BaixaIdempotente.builder()
+                .chave("chave-1").sku(SKU_QUENTE).quantidade(10).resultado(resultado).build());
+        verify(delegate, never()).baixarEstoque(any(), anyInt(), any());
+    }
+
+    @Test
+    void baixarEstoqueComChave_deveDevolverSaldoQuandoChaveJaGravada() {
+        // Given
+        doThrow(new BaixaRepetidaException("chave-1")).when(delegate).registrarBaixaIdempotente(any());
+
+        // When & Then
+        assertThrows(BaixaRepetidaException.class, () -> gateway.baixarEstoque(SKU_QUENTE, 10, "chave-1"));
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        gateway.flush();
+        verify(repository).aplicarDeltas(Map.of(), Map.of(SKU_QUENTE, 6L));
+    }
+
+    @Test
+    void baixarEstoqueComChave_naoDeveTocarNoSaldoQuandoChaveJaGravada() {
+        // Given
+        when(delegate.buscarBaixaIdempotente("chave-1")).thenReturn(Optional.of(BaixaIdempotente.builder()
+                .chave("chave-1").sku(SKU_QUENTE).quantidade(150).build()));
+
+        // When & Then
+        assertThrows(BaixaRepetidaException.class, () -> gateway.baixarEstoque(SKU_QUENTE, 150, "chave-1"));
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        verify(delegate, never()).registrarBaixaIdempotente(any());
+    }
+
+    @Test
+    void atualizar_deveAplicarSkuQuenteComVersaoAtualEIncrementarVersao() {
+        // Given
+        long versaoLida = gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getVersao();
+
+        // When
+        Estoque resultado = gateway.atualizar(Estoque.builder().sku(SKU_QUENTE).quantidadeDisponivel(150).versao(versaoLida).build());
+
+        // Then
+        assertEquals(4L, versaoLida);
+        assertEquals(150, resultado.getQuantidadeDisponivel());
+        assertEquals(5L, resultado.getVersao());
+        verify(delegate, never()).atualizar(any());
+    }
+
+    @Test
+    void atualizar_deveRecusarSkuQuenteComVersaoDesatualizadaSemDesfazerBaixa() {
+        // Given
+        long versaoLida = gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getVersao();
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+
+        // When & Then
+        assertThrows(EstoqueVersaoConflitanteException.class, () -> gateway.atualizar(
+                Estoque.builder().sku(SKU_QUENTE).quantidadeDisponivel(150).versao(versaoLida).build()));
+        assertEquals(90, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        gateway.flush();
+        verify(repository).aplicarDeltas(Map.of(SKU_QUENTE, 10), Map.of(SKU_QUENTE, 5L));
+    }
+
+    @Test
+    void reporEstoque_deveSomarAoSaldoEmMemoriaERegistrarDeltaNegativo() {
+        // Given
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+
+        // When
+        Estoque resultado = gateway.reporEstoque(SKU_QUENTE, 25);
+        gateway.flush();
+
+        // Then
+        assertEquals(115, resultado.getQuantidadeDisponivel());
+        assertEquals(6L, resultado.getVersao());
+        verify(repository).aplicarDeltas(Map.of(SKU_QUENTE, -15), Map.of(SKU_QUENTE, 6L));
+        verify(delegate, never()).reporEstoque(any(), anyInt());
+    }
+
+    @Test
+    void reporEstoque_deveDelegarSkuFrio() {
+        // Given
+        Estoque esperado = Estoque.builder().sku(SKU_FRIO).quantidadeDisponivel(9).build();
+        when(delegate.reporEstoque(SKU_FRIO, 5)).thenReturn(esperado);
+
+        // When & Then
+        assertSame(esperado, gateway.reporEstoque(SKU_FRIO, 5));
+    }
+
+    @Test
+    void baixarEstoqueAgrupado_deveBaixarSkuQuenteEmMemoriaEDelegarOsFriosNaOrdem() {
+        // Given
+        ResultadoBaixa frio = ResultadoBaixa.builder().encontrado(false).build();
+        when(delegate.baixarEstoqueAgrupado(List.of(ItemBaixa.builder().sku(SKU_FRIO).quantidade(1).build()))).thenReturn(List.of(frio));
+
+        // When
+        List<ResultadoBaixa> resultados = gateway.baixarEstoqueAgrupado(List.of(
+                ItemBaixa.builder().sku(SKU_QUENTE).quantidade(10).build(), ItemBaixa.builder().sku(SKU_FRIO).quantidade(1).build(), ItemBaixa.builder().sku(SKU_QUENTE).quantidade(500).build()));
+
+        // Then
+        assertEquals(90, resultados.get(0).getEstoque().getQuantidadeDisponivel());
+        assertSame(frio, resultados.get(1));
+        assertNull(resultados.get(2).getEstoque());
+        assertTrue(resultados.get(2).isEncontrado());
+        assertEquals(90, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+    }
+
+    @Test
+    void buscarPorSkus_deveResponderSkuQuenteDaMemoriaEDelegarSomenteOsFrios() {
+        // Given
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+        Estoque frio = Estoque.builder().sku(SKU_FRIO).quantidadeDisponivel(4).build();
+        when(delegate.buscarPorSkus(List.of(SKU_FRIO))).thenReturn(List.of(frio));
+
+        // When
+        List<Estoque> resultado = gateway.buscarPorSkus(List.of(SKU_QUENTE, SKU_FRIO));
+
+        // Then
+        assertEquals(2, resultado.size());
+        assertEquals(90, resultado.get(0).getQuantidadeDisponivel());
+        assertSame(frio, resultado.get(1));
+    }
+
+    @Test
+    void flush_deveGravarDeltasAgrupadosComCheckpoint() {
+        // Given
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+        gateway.baixarEstoque(SKU_QUENTE, 5);
+        gateway.atualizar(Estoque.builder().sku(SKU_QUENTE).quantidadeDisponivel(80).build());
+
+        // When
+        gateway.flush();
+        gateway.flush();
+
+        // Then
+        verify(repository, times(1)).aplicarDeltas(Map.of(SKU_QUENTE, 20), Map.of(SKU_QUENTE, 7L));
+        verify(checkpointRepository).save(CheckpointMemoriaEntity.builder().instancia(INSTANCIA).segmento(1L).build());
+        verify(outboxRepository).registrarAlteracoes(Set.of(SKU_QUENTE));
+        verify(movimentacaoRepository).registrar(eq(Map.of(SKU_QUENTE, -20)), eq(MotivoMovimentacao.CONSOLIDACAO_MEMORIA),
+                eq(INSTANCIA), any());
+        verify(alertaRepository).registrarCruzamentos(eq(Map.of(SKU_QUENTE, -20)), any());
+    }
+
+    @Test
+    void flush_deveGravarVersaoDaMemoriaParaQueACargaNaoVolteAVersao() throws Exception {
+        // Given
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+        long versaoEntregue = gateway.reporEstoque(SKU_QUENTE, 3).getVersao();
+        gateway.flush();
+        when(repository.findBySku(SKU_QUENTE)).thenReturn(Optional.of(
+                EstoqueEntity.builder().id(1L).sku(SKU_QUENTE).quantidadeDisponivel(93).versao(versaoEntregue).build()));
+
+        // When
+        gateway.encerrar();
+        EstoqueGatewayMemoria reiniciado = novoGateway();
+        reiniciado.iniciar();
+
+        // Then
+        verify(repository).aplicarDeltas(Map.of(SKU_QUENTE, 7), Map.of(SKU_QUENTE, versaoEntregue));
+        assertEquals(versaoEntregue, reiniciado.buscarPorSku(SKU_QUENTE).orElseThrow().getVersao());
+        assertThrows(EstoqueVersaoConflitanteException.class, () -> reiniciado.atualizar(
+                Estoque.builder().sku(SKU_QUENTE).quantidadeDisponivel(150).versao(versaoEntregue - 1).build()));
+        reiniciado.encerrar();
+    }
+
+    @Test
+    void flush_deveManterDeltasPendentesQuandoGravacaoFalha() {
+        // Given
+        gateway.baixarEstoque(SKU_QUENTE, 10);
+        doThrow(new RuntimeException("banco indisponível")).doNothing().when(repository).aplicarDeltas(anyMap(), anyMap());
+
+        // When
+        assertThrows(RuntimeException.class, () -> gateway.flush());
+        gateway.flush();
+
+        // Then
+        verify(repository, times(2)).aplicarDeltas(Map.of(SKU_QUENTE, 10), Map.of(SKU_QUENTE, 5L));
+    }
+
+    @Test
+    void flush_deveRodarEmThreadVirtualQuandoThreadsVirtuaisHabilitadas() throws Exception {
+        // Given
+        gateway.encerrar();
+        EstoqueGatewayMemoria virtual = novoGateway(Duration.ofMillis(10), true);
+        virtual.iniciar();
+        CompletableFuture<Thread> threadDoFlush = new CompletableFuture<>();
+        doAnswer(invocacao -> threadDoFlush.complete(Thread.currentThread())).when(repository).aplicarDeltas(anyMap(), anyMap());
+
+        // When
+        virtual.baixarEstoque(SKU_QUENTE, 10);
+
+        // Then
+        Thread thread = threadDoFlush.get(10, TimeUnit.SECONDS);
+        assertTrue(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("estoque-memoria-flush-"));
+        virtual.encerrar();
+    }
+
+    @Test
+    void baixarEstoqueEmLote_deveDesfazerReservasQuandoSkuQuenteInsuficiente() {
+        // When
+        BaixaEmLoteRejeitadaException exception = assertThrows(BaixaEmLoteRejeitadaException.class,
+                () -> gateway.baixarEstoqueEmLote(List.of(
+                        ItemBaixa.builder().sku(SKU_FRIO).quantidade(1).build(),
+                        ItemBaixa.builder().sku(SKU_QUENTE).quantidade(60).build(),
+                        ItemBaixa.builder().sku(SKU_QUENTE).quantidade(60).build())));
+
+        // Then
+        assertEquals(List.of(SKU_QUENTE), exception.getSkus());
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        verify(delegate, never()).baixarEstoqueEmLote(any());
+    }
+
+    @Test
+    void baixarEstoqueEmLote_deveDesfazerReservasQuandoSkuFrioRejeitado() {
+        // Given
+        when(delegate.baixarEstoqueEmLote(any())).thenThrow(new BaixaEmLoteRejeitadaException(List.of(SKU_FRIO)));
+
+        // When
+        assertThrows(BaixaEmLoteRejeitadaException.class, () -> gateway.baixarEstoqueEmLote(List.of(
+                ItemBaixa.builder().sku(SKU_QUENTE).quantidade(30).build(),
+                ItemBaixa.builder().sku(SKU_FRIO).quantidade(1).build())));
+
+        // Then
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        gateway.flush();
+        verify(repository).aplicarDeltas(Map.of(), Map.of(SKU_QUENTE, 6L));
+    }
+
+    @Test
+    void baixarEstoqueEmLoteComPedidos_deveGravarPedidosEBaixarSkuQuenteEmMemoria() {
+        // When
+        List<Estoque> atualizados = gateway.baixarEstoqueEmLote(
+                List.of(ItemBaixa.builder().sku(SKU_QUENTE).quantidade(10).build()), List.of("P1"));
+
+        // Then
+        assertEquals(90, atualizados.get(0).getQuantidadeDisponivel());
+        verify(delegate).registrarPedidosReservados(List.of("P1"));
+    }
+
+    @Test
+    void baixarEstoqueEmLoteComPedidos_naoDeveTocarNoSaldoQuandoPedidoJaProcessado() {
+        // Given
+        doThrow(new PedidoRepetidoException(List.of("P1"))).when(delegate).registrarPedidosReservados(List.of("P1"));
+
+        // When
+        assertThrows(PedidoRepetidoException.class, () -> gateway.baixarEstoqueEmLote(
+                List.of(ItemBaixa.builder().sku(SKU_QUENTE).quantidade(10).build()), List.of("P1")));
+
+        // Then
+        assertEquals(100, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        gateway.flush();
+        verify(repository, never()).aplicarDeltas(anyMap(), anyMap());
+    }
+
+    @Test
+    void baixarEstoque_naoDeveVenderAlemDoSaldoComBaixasConcorrentes() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                try {
+                    gateway.baixarEstoque(SKU_QUENTE, 1);
+                } catch (RuntimeException esperadoAposEsgotar) {
+                    // saldo esgotado
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        gateway.flush();
+
+        // Then
+        assertEquals(0, gateway.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        verify(repository).aplicarDeltas(Map.of(SKU_QUENTE, 100), Map.of(SKU_QUENTE, 104L));
+    }
+
+    @Test
+    void iniciar_deveReaplicarJournalNaoGravadoAposQueda() throws Exception {
+        // Given
+        gateway.baixarEstoque(SKU_QUENTE, 7);
+        gateway.baixarEstoque(SKU_QUENTE, 3);
+        when(repository.findBySku(SKU_QUENTE)).thenReturn(Optional.of(
+                EstoqueEntity.builder().id(1L).sku(SKU_QUENTE).quantidadeDisponivel(90).versao(5L).build()));
+
+        // When
+        EstoqueGatewayMemoria reiniciado = novoGateway();
+        reiniciado.iniciar();
+
+        // Then
+        verify(repository).aplicarDeltas(Map.of(SKU_QUENTE, 10), Map.of(SKU_QUENTE, 6L));
+        verify(checkpointRepository).save(CheckpointMemoriaEntity.builder().instancia(INSTANCIA).segmento(1L).build());
+        assertEquals(90, reiniciado.buscarPorSku(SKU_QUENTE).orElseThrow().getQuantidadeDisponivel());
+        reiniciado.encerrar();
+    }
+
+    private EstoqueGatewayMemoria novoGateway() {
+        return novoGateway(Duration.ofHours(1), false);
+    }
+
+    private EstoqueGatewayMemoria novoGateway(Duration intervaloFlush, boolean threadsVirtuais) {
+        return new EstoqueGatewayMemoria(delegate, repository, checkpointRepository, outboxRepository, movimentacaoRepository,
+                alertaRepository, transactionManager, metricas, Set.of(SKU_QUENTE), diretorioJournal, 4, intervaloFlush, INSTANCIA,
+                true, true, true, threadsVirtuais);
+    }
+
+    private static void concluirTransacao(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+    }
+}
@@ -0,0 +1,315 @@
+package com.fiap.estoque.gateway.memoria;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalEstoqueTest {
+
+    private static final int PARTICOES = 4;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void lerApos_deveSomarDeltasDosSegmentosFechadosAposCheckpoint() throws IOException {
+        // Given
+        try (JournalEstoque journal = new JournalEstoque(diretorio, PARTICOES)) {
+            registrar(journal, "SKU-A", 3);
+            long primeiro = rotacionar(journal);
+            registrar(journal, "SKU-A", 2);
+            registrar(journal, "SKU-B", 5);
+            registrar(journal, "SKU-B", -5);
+            rotacionar(journal);
+            registrar(journal, "SKU-C", 7);
+
+            // When
+            Map<String, Integer> deltas = journal.lerApos(primeiro).deltas();
+
+            // Then
+            assertEquals(Map.of("SKU-A", 2), deltas);
+            assertEquals(Map.of("SKU-A", 5), journal.lerApos(0).deltas());
+        }
+    }
+
+    @Test
+    void lerApos_deveIgnorarRegistroIncompletoNoFimDoSegmento() throws IOException {
+        // Given
+        try (JournalEstoque journal = new JournalEstoque(diretorio, PARTICOES)) {
+            registrar(journal, "SKU-A", 4);
+            rotacionar(journal);
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.write(arquivo, new byte[]{0, 5, 'S', 'K'}, StandardOpenOption.APPEND);
+            }
+        }
+
+        // When
+        try (JournalEstoque reaberto = new JournalEstoque(diretorio, PARTICOES)) {
+            Map<String, Integer> deltas = reaberto.lerApos(0).deltas();
+
+            // Then
+            assertEquals(Map.of("SKU-A", 4), deltas);
+        }
+    }
+
+    @Test
+    void apagarAte_deveRemoverSegmentosJaGravados() throws IOException {
+        // Given
+        try (JournalEstoque journal = new JournalEstoque(diretorio, PARTICOES)) {
+            registrar(journal, "SKU-A", 1);
+            long primeiro = rotacionar(journal);
+            registrar(journal, "SKU-A", 1);
+            rotacionar(journal);
+
+            // When
+            journal.apagarAte(primeiro);
+
+            // Then
+            assertEquals(Map.of("SKU-A", 1), journal.lerApos(0).deltas());
+            assertFalse(Files.exists(diretorio.resolve(String.format("journal-%019d-0.log", primeiro))));
+        }
+    }
+
+    @Test
+    void lerApos_deveSomarRegistrosConcorrentesDeTodasAsParticoes() throws Exception {
+        // Given
+        int threads = 8;
+        int registrosPorThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (JournalEstoque journal = new JournalEstoque(diretorio, PARTICOES)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String sku = "SKU-" + (t % 3);
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < registrosPorThread; i++) {
+                        registrar(journal, sku, 1);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(30, TimeUnit.SECONDS);
+            }
+            rotacionar(journal);
+
+            // When
+            Map<String, Integer> deltas = journal.lerApos(0).deltas();
+
+            // Then
+            assertEquals(Map.of("SKU-0", 1500, "SKU-1", 1500, "SKU-2", 1000), deltas);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void lerApos_deveGuardarAMaiorVersaoDeCadaSkuMesmoComDeltasAnulados() throws IOException {
+        // Given
+        try (JournalEstoque journal = new JournalEstoque(diretorio, PARTICOES)) {
+            registrar(journal, "SKU-A", 3, 7L);
+            registrar(journal, "SKU-A", 2, 8L);
+            registrar(journal, "SKU-B", 5, 2L);
+            registrar(journal, "SKU-B", -5, 3L);
+            rotacionar(journal);
+
+            // When
+            JournalEstoque.Recuperacao recuperacao = journal.lerApos(0);
+
+            // Then
+            assertEquals(Map.of("SKU-A", 5), recuperacao.deltas());
+            assertEquals(Map.of("SKU-A", 8L, "SKU-B", 3L), recuperacao.versoes());
+        }
+    }
+
+    @Test
+    void lerApos_deveLerSegmentoNoFormatoSemParticao() throws IOException {
+        // Given
+        try (DataOutputStream saida = new DataOutputStream(Files.newOutputStream(
+                diretorio.resolve(String.format("journal-%019d.log", 1))))) {
+            saida.writeUTF("SKU-A");
+            saida.writeInt(6);
+        }
+
+        // When
+        try (JournalEstoque journal = new JournalEstoque(diretorio, PARTICOES)) {
+            Map<String, Integer> deltas = journal.lerApos(0).deltas();
+
+            // Then
+            assertEquals(Map.of("SKU-A", 6), deltas);
+            assertEquals(1, journal.ultimoSegmentoFechado());
+        }
+    }
+
+    @Test
+    void entregar_deveDescartarEscritaParcialEManterRegistroCompensadoQuandoEscritaFalha() throws IOException {
+        // Given
+        AtomicBoolean falhar = new AtomicBoolean();
+        try (JournalEstoque journal = new JournalEstoque(diretorio, 1, arquivo -> new CanalComFalha(
+                FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), falhar))) {
+            registrar(journal, "SKU-A", 4, 1L);
+            long recusada = journal.registrar("SKU-A", 10, 2L, () -> { });
+            falhar.set(true);
+
+            // When
+            assertThrows(IOException.class, () -> journal.entregar("SKU-A", recusada, () -> {
+                falhar.set(false);
+                try {
+                    journal.registrar("SKU-A", -10, 3L, () -> { });
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            registrar(journal, "SKU-A", 1, 4L);
+            rotacionar(journal);
+
+            // Then
+            JournalEstoque.Recuperacao recuperacao = journal.lerApos(0);
+            assertEquals(Map.of("SKU-A", 5), recuperacao.deltas());
+            assertEquals(Map.of("SKU-A", 4L), recuperacao.versoes());
+        }
+    }
+
+    private static void registrar(JournalEstoque journal, String sku, int delta) throws IOException {
+        registrar(journal, sku, delta, 0L);
+    }
+
+    private static void registrar(JournalEstoque journal, String sku, int delta, long versao) throws IOException {
+        journal.entregar(sku, journal.registrar(sku, delta, versao, () -> { }), () -> { });
+    }
+
+    private static long rotacionar(JournalEstoque journal) throws IOException {
+        journal.travar();
+        try {
+            return journal.rotacionar();
+        } finally {
+            journal.destravar();
+        }
+    }
+
+    /** Enquanto {@code falhar} estiver ligado, grava metade dos bytes de cada escrita e lança IOException. */
+    private static final class CanalComFalha extends FileChannel {
+        private final FileChannel canal;
+        private final AtomicBoolean falhar;
+
+        private CanalComFalha(FileChannel canal, AtomicBoolean falhar) {
+            this.canal = canal;
+            this.falhar = falhar;
+        }
+
+        @Override
+        public int write(ByteBuffer origem) throws IOException {
+            if (falhar.get()) {
+                ByteBuffer metade = origem.slice().limit(origem.remaining() / 2);
+                canal.write(metade);
+                throw new IOException("disco cheio");
+            }
+            return canal.write(origem);
+        }
+
+        @Override
+        public long write(ByteBuffer[] origens, int inicio, int quantidade) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int write(ByteBuffer origem, long posicao) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer destino) throws IOException {
+            return canal.read(destino);
+        }
+
+        @Override
+        public long read(ByteBuffer[] destinos, int inicio, int quantidade) throws IOException {
+            return canal.read(destinos, inicio, quantidade);
+        }
+
+        @Override
+        public int read(ByteBuffer destino, long posicao) throws IOException {
+            return canal.read(destino, posicao);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return canal.position();
+        }
+
+        @Override
+        public FileChannel position(long posicao) throws IOException {
+            canal.position(posicao);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return canal.size();
+        }
+
+        @Override
+        public FileChannel truncate(long tamanho) throws IOException {
+            canal.truncate(tamanho);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metadados) throws IOException {
+            canal.force(metadados);
+        }
+
+        @Override
+        public long transferTo(long posicao, long quantidade, WritableByteChannel destino) throws IOException {
+            return canal.transferTo(posicao, quantidade, destino);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel origem, long posicao, long quantidade) throws IOException {
+            return canal.transferFrom(origem, posicao, quantidade);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode modo, long posicao, long tamanho) throws IOException {
+            return canal.map(modo, posicao, tamanho);
+        }
+
+        @Override
+        public FileLock lock(long posicao, long tamanho, boolean compartilhado) throws IOException {
+            return canal.lock(posicao, tamanho, compartilhado);
+        }
+
+        @Override
+        public FileLock tryLock(long posicao, long tamanho, boolean compartilhado) throws IOException {
+            return canal.tryLock(posicao, tamanho, compartilhado);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fiap.estoque.metricas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstoqueMetricasTest {
+
+    private SimpleMeterRegistry registry;
+    private EstoqueMetricas metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricas = new EstoqueMetricas(registry, Set.of("SKU-QUENTE"));
+    }
+
+    @Test
+    void registrarBaixa_deveSomarUnidadesPorFaixaDeSku() {
+        // When
+        metricas.registrarBaixa("SKU-QUENTE", 3);
+        metricas.registrarBaixa("SKU-QUENTE", 2);
+        metricas.registrarBaixa("SKU-1", 4);
+
+        // Then
+        assertThat(registry.get("estoque.baixa.unidades").tag("faixa", "quente").counter().count()).isEqualTo(5);
+        assertThat(registry.get("estoque.baixa.unidades").tag("faixa", "padrao").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void registrarEstoqueInsuficiente_deveIncrementarContador() {
+        // When
+        metricas.registrarEstoqueInsuficiente();
+
+        // Then
+        assertThat(registry.get("estoque.baixa.estoque.insuficiente").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void registrarNaoEncontrado_deveSepararPorOperacao() {
+        // When
+        metricas.registrarNaoEncontrado("consultar");
+        metricas.registrarNaoEncontrado("consultar");
+        metricas.registrarNaoEncontrado("baixar");
+
+        // Then
+        assertThat(registry.get("estoque.nao.encontrado").tag("operacao", "consultar").counter().count()).isEqualTo(2);
+        assertThat(registry.get("estoque.nao.encontrado").tag("operacao", "baixar").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void registrarReservasExpiradas_deveSomarReservasLiberadas() {
+        // When
+        metricas.registrarReservasExpiradas(3);
+        metricas.registrarReservasExpiradas(2);
+
+        // Then
+        assertThat(registry.get("estoque.reserva.expiradas").counter().count()).isEqualTo(5);
+    }
+}
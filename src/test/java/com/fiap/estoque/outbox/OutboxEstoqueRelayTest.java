@@ -0,0 +1,106 @@
+package com.fiap.estoque.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fiap.estoque.entity.OutboxEstoqueEntity;
+import com.fiap.estoque.mapper.EstoqueMapper;
+import com.fiap.estoque.mapper.EstoqueMapperImpl;
+import com.fiap.estoque.repository.OutboxEstoqueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEstoqueRelayTest {
+
+    private static final String TOPICO = "estoque-alterado";
+
+    @Mock
+    private OutboxEstoqueRepository outboxRepository;
+
+    @Spy
+    private EstoqueMapper mapper = new EstoqueMapperImpl();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @InjectMocks
+    private OutboxEstoqueRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "topico", TOPICO);
+        ReflectionTestUtils.setField(relay, "tamanhoLote", 3);
+    }
+
+    @Test
+    void drenar_devePublicarUltimoSaldoDeCadaSkuEApagarLote() {
+        // Given
+        when(outboxRepository.buscarLote(any(Pageable.class)))
+                .thenReturn(List.of(alteracao(1L, "SKU-A", 10), alteracao(2L, "SKU-B", 5), alteracao(3L, "SKU-A", 7)))
+                .thenReturn(List.of(alteracao(4L, "SKU-C", 1)));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.drenar();
+
+        // Then
+        InOrder ordem = inOrder(kafkaTemplate, outboxRepository);
+        ordem.verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-B"), contains("\"sequencia\":2"));
+        ordem.verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-A"), contains("\"quantidadeDisponivel\":7"));
+        ordem.verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        ordem.verify(kafkaTemplate).send(eq(TOPICO), eq("SKU-C"), anyString());
+        ordem.verify(outboxRepository).deleteAllByIdInBatch(List.of(4L));
+        verify(kafkaTemplate, times(3)).send(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void drenar_naoDeveApagarLoteQuandoPublicacaoFalha() {
+        // Given
+        when(outboxRepository.buscarLote(any(Pageable.class))).thenReturn(List.of(alteracao(1L, "SKU-A", 10)));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponível")));
+
+        // When & Then
+        assertThatThrownBy(() -> relay.drenar()).hasRootCauseMessage("broker indisponível");
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void drenar_naoDevePublicarQuandoOutboxVazio() {
+        // Given
+        when(outboxRepository.buscarLote(any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        relay.drenar();
+
+        // Then
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private OutboxEstoqueEntity alteracao(Long id, String sku, int quantidade) {
+        return OutboxEstoqueEntity.builder().id(id).sku(sku).quantidadeDisponivel(quantidade).criadoEm(Instant.EPOCH).build();
+    }
+}
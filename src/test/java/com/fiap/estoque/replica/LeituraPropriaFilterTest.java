@@ -0,0 +1,87 @@
+package com.fiap.estoque.replica;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeituraPropriaFilterTest {
+
+    private final LeituraPropriaFilter filter = new LeituraPropriaFilter(Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+    @Test
+    void doFilter_deveResponderTokenNaEscrita() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long antes = System.currentTimeMillis();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/estoques/SKU-1/baixa"), response, (req, res) -> { });
+
+        // Then
+        assertThat(Long.parseLong(response.getHeader(LeituraPropriaFilter.CABECALHO)))
+                .isBetween(antes, System.currentTimeMillis());
+    }
+
+    @Test
+    void doFilter_naoDeveTratarConsultaEmLoteComoEscrita() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/estoques/consulta"), response, (req, res) -> { });
+
+        // Then
+        assertThat(response.getHeader(LeituraPropriaFilter.CABECALHO)).isNull();
+    }
+
+    @Test
+    void doFilter_deveExigirPrimarioComTokenRecente() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/estoques/SKU-1");
+        request.addHeader(LeituraPropriaFilter.CABECALHO, Long.toString(System.currentTimeMillis() - 1_000));
+
+        // When & Then
+        assertThat(leituraPropriaDurante(request)).isTrue();
+        assertThat(RoteamentoLeitura.isLeituraPropria()).isFalse();
+    }
+
+    @Test
+    void doFilter_deveLiberarReplicaComTokenAntigoOuInvalido() throws Exception {
+        // Given
+        MockHttpServletRequest antigo = new MockHttpServletRequest("GET", "/estoques/SKU-1");
+        antigo.addHeader(LeituraPropriaFilter.CABECALHO, Long.toString(System.currentTimeMillis() - 60_000));
+        MockHttpServletRequest invalido = new MockHttpServletRequest("GET", "/estoques/SKU-1");
+        invalido.addHeader(LeituraPropriaFilter.CABECALHO, "abc");
+
+        // When & Then
+        assertThat(leituraPropriaDurante(antigo)).isFalse();
+        assertThat(leituraPropriaDurante(invalido)).isFalse();
+        assertThat(leituraPropriaDurante(new MockHttpServletRequest("GET", "/estoques/SKU-1"))).isFalse();
+    }
+
+    @Test
+    void doFilter_deveRecusarTokenNoFuturoAlemDaTolerancia() throws Exception {
+        // Given
+        MockHttpServletRequest dentroDaTolerancia = new MockHttpServletRequest("GET", "/estoques/SKU-1");
+        dentroDaTolerancia.addHeader(LeituraPropriaFilter.CABECALHO, Long.toString(System.currentTimeMillis() + 500));
+        MockHttpServletRequest futuro = new MockHttpServletRequest("GET", "/estoques/SKU-1");
+        futuro.addHeader(LeituraPropriaFilter.CABECALHO, Long.toString(System.currentTimeMillis() + 3_600_000));
+
+        // When & Then
+        assertThat(leituraPropriaDurante(dentroDaTolerancia)).isTrue();
+        assertThat(leituraPropriaDurante(futuro)).isFalse();
+    }
+
+    private boolean leituraPropriaDurante(MockHttpServletRequest request) throws Exception {
+        AtomicBoolean leituraPropria = new AtomicBoolean();
+        FilterChain chain = (req, res) -> leituraPropria.set(RoteamentoLeitura.isLeituraPropria());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return leituraPropria.get();
+    }
+}
@@ -0,0 +1,50 @@
+package com.fiap.estoque.replica;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaDataSourceConfigTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class))
+            .withUserConfiguration(ReplicaDataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:config-primario;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "estoque.replica.urls=jdbc:h2:mem:config-replica;DB_CLOSE_DELAY=-1");
+
+    @Test
+    void desabilitado_deveManterODataSourceDoSpringBoot() {
+        contexto.run(context -> assertThat(context).doesNotHaveBean(ReplicaRoutingDataSource.class));
+    }
+
+    @Test
+    void habilitado_deveRotearAsLeiturasMarcadasParaAReplica() {
+        contexto.withPropertyValues("estoque.replica.habilitado=true").run(context -> {
+            assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            String primario = jdbcTemplate.queryForObject("CALL DATABASE()", String.class);
+            String replica = RoteamentoLeitura.naReplica(() -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+
+            assertThat(primario).isEqualToIgnoringCase("config-primario");
+            assertThat(replica).isEqualToIgnoringCase("config-replica");
+        });
+    }
+
+    @Test
+    void habilitadoNoPerfilReativo_deveImpedirAInicializacao() {
+        contexto.withPropertyValues("estoque.replica.habilitado=true", "spring.profiles.active=reativo").run(context ->
+                assertThat(context).hasFailed().getFailure().hasRootCauseInstanceOf(IllegalStateException.class)
+                        .rootCause().hasMessageContaining("perfil reativo"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.fiap.estoque.replica;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String CONSULTA = "SELECT origem FROM base";
+
+    private final List<DataSource> bancos = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primario = banco("primario");
+        ReplicaRoutingDataSource roteamento = new ReplicaRoutingDataSource(primario, List.of(banco("replica-0"), banco("replica-1")));
+        roteamento.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bancos.forEach(banco -> new JdbcTemplate(banco).execute("DROP TABLE base"));
+        RoteamentoLeitura.liberarPrimario();
+    }
+
+    @Test
+    void semMarcacao_deveLerDoPrimario() {
+        // When
+        String origem = jdbcTemplate.queryForObject(CONSULTA, String.class);
+
+        // Then
+        assertThat(origem).isEqualTo("primario");
+    }
+
+    @Test
+    void naReplica_deveAlternarEntreAsReplicas() {
+        // When
+        List<String> origens = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            origens.add(RoteamentoLeitura.naReplica(() -> jdbcTemplate.queryForObject(CONSULTA, String.class)));
+        }
+
+        // Then
+        assertThat(origens).containsOnly("replica-0", "replica-1");
+        assertThat(origens.get(0)).isNotEqualTo(origens.get(1));
+        assertThat(origens.subList(2, 4)).isEqualTo(origens.subList(0, 2));
+    }
+
+    @Test
+    void naReplica_deveFicarNoPrimarioNaLeituraPropria() {
+        // Given
+        RoteamentoLeitura.exigirPrimario();
+
+        // When
+        String origem = RoteamentoLeitura.naReplica(() -> jdbcTemplate.queryForObject(CONSULTA, String.class));
+
+        // Then
+        assertThat(origem).isEqualTo("primario");
+    }
+
+    @Test
+    void naReplica_deveFicarNoPrimarioDentroDeUmaTransacaoDeEscrita() {
+        // When
+        String origem = transacao.execute(status -> {
+            jdbcTemplate.update("UPDATE base SET origem = origem");
+            return RoteamentoLeitura.naReplica(() -> jdbcTemplate.queryForObject(CONSULTA, String.class));
+        });
+
+        // Then
+        assertThat(origem).isEqualTo("primario");
+    }
+
+    @Test
+    void naReplica_deveEscolherAReplicaNoPrimeiroComandoDaTransacao() {
+        // When
+        String origem = RoteamentoLeitura.naReplica(() -> transacao.execute(status -> jdbcTemplate.queryForObject(CONSULTA, String.class)));
+
+        // Then
+        assertThat(origem).startsWith("replica-");
+    }
+
+    private DataSource banco(String nome) {
+        JdbcDataSource banco = new JdbcDataSource();
+        banco.setURL("jdbc:h2:mem:roteamento-" + nome + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.execute("CREATE TABLE base (origem VARCHAR(20))");
+        jdbc.update("INSERT INTO base VALUES (?)", nome);
+        bancos.add(banco);
+        return banco;
+    }
+}
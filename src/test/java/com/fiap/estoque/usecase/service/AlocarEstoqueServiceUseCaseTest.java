@@ -0,0 +1,97 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Alocacao;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.EstrategiaAlocacao;
+import com.fiap.estoque.domain.ResultadoAlocacao;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.gateway.EstoqueDepositoGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlocarEstoqueServiceUseCaseTest {
+
+    @Mock
+    private EstoqueDepositoGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @InjectMocks
+    private AlocarEstoqueServiceUseCase service;
+
+    @Test
+    void deveAlocarSemPreferenciaRepetidaEGravarTotalNoCache() {
+        // Given
+        Estoque estoque = Estoque.builder().id(1L).sku("SKU-1").quantidadeDisponivel(6).versao(2L).build();
+        ResultadoAlocacao alocado = ResultadoAlocacao.builder().estoque(estoque)
+                .alocacoes(List.of(Alocacao.builder().deposito("CD-SP").quantidade(4).build())).build();
+        when(gateway.alocar("SKU-1", 4, EstrategiaAlocacao.PROXIMO, List.of("CD-SP", "CD-RJ"))).thenReturn(alocado);
+
+        // When
+        ResultadoAlocacao resultado = service.execute("SKU-1", 4, EstrategiaAlocacao.PROXIMO, List.of("CD-SP", "CD-RJ", "CD-SP"));
+
+        // Then
+        assertThat(resultado).isSameAs(alocado);
+        verify(cache).atualizar(estoque);
+        verify(metricas).registrarBaixa("SKU-1", 4);
+    }
+
+    @Test
+    void deveUsarPreferenciaVaziaQuandoNaoInformada() {
+        // Given
+        ResultadoAlocacao alocado = ResultadoAlocacao.builder().estoque(Estoque.builder().sku("SKU-1").build())
+                .alocacoes(List.of()).build();
+        when(gateway.alocar("SKU-1", 1, EstrategiaAlocacao.DIVIDIR, List.of())).thenReturn(alocado);
+
+        // When
+        ResultadoAlocacao resultado = service.execute("SKU-1", 1, EstrategiaAlocacao.DIVIDIR, null);
+
+        // Then
+        assertThat(resultado).isSameAs(alocado);
+    }
+
+    @Test
+    void deveInvalidarCacheQuandoGatewayFalhar() {
+        // Given
+        when(gateway.alocar("SKU-1", 11, EstrategiaAlocacao.PROXIMO, List.of()))
+                .thenThrow(new EstoqueInsuficienteException("SKU-1"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", 11, EstrategiaAlocacao.PROXIMO, List.of()))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        verify(cache).invalidar("SKU-1");
+        verify(cache, never()).atualizar(any());
+        verify(metricas, never()).registrarBaixa(any(), anyInt());
+    }
+
+    @Test
+    void deveRejeitarQuantidadeNaoPositivaEPreferenciaLongaDemais() {
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", 0, EstrategiaAlocacao.DIVIDIR, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        List<String> depositos = IntStream.range(0, 51).mapToObj(i -> "CD-" + i).toList();
+        assertThatThrownBy(() -> service.execute("SKU-1", 1, EstrategiaAlocacao.DIVIDIR, depositos))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(gateway, never()).alocar(any(), anyInt(), any(), anyList());
+    }
+}
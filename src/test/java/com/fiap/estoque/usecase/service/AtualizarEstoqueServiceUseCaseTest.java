@@ -1,7 +1,10 @@
 package com.fiap.estoque.usecase.service;
 
+import com.fiap.estoque.cache.EstoqueCache;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.EstoqueVersaoConflitanteException;
 import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,10 +12,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -22,6 +29,12 @@ class AtualizarEstoqueServiceUseCaseTest {
     @Mock
     private EstoqueGateway gateway;
 
+    @Mock
+    private EstoqueCache cache;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
     @Mock
     private Logger logger;
 
@@ -64,6 +77,75 @@ class AtualizarEstoqueServiceUseCaseTest {
         verifyNoMoreInteractions(gateway);
     }
 
+    @Test
+    void deveRepetirAtualizacaoSemVersaoQuandoHouverConflito() {
+        // Given
+        ReflectionTestUtils.setField(service, "backoff", Duration.ZERO);
+        when(gateway.atualizar(estoqueEntrada))
+                .thenThrow(new EstoqueVersaoConflitanteException("SKU-123"))
+                .thenReturn(estoqueAtualizado);
+
+        // When
+        Estoque resultado = service.execute(estoqueEntrada);
+
+        // Then
+        assertThat(resultado).isSameAs(estoqueAtualizado);
+        verify(gateway, times(2)).atualizar(estoqueEntrada);
+        verify(metricas).registrarConflitoVersao(true);
+        verify(cache).atualizar(estoqueAtualizado);
+    }
+
+    @Test
+    void deveDesistirAposNumeroMaximoDeTentativas() {
+        // Given
+        ReflectionTestUtils.setField(service, "backoff", Duration.ZERO);
+        when(gateway.atualizar(estoqueEntrada)).thenThrow(new EstoqueVersaoConflitanteException("SKU-123"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(estoqueEntrada)).isInstanceOf(EstoqueVersaoConflitanteException.class);
+        verify(gateway, times(3)).atualizar(estoqueEntrada);
+        verify(metricas, times(2)).registrarConflitoVersao(true);
+        verify(metricas).registrarConflitoVersao(false);
+        verify(cache, never()).atualizar(any());
+    }
+
+    @Test
+    void naoDeveRepetirQuandoClienteInformouVersao() {
+        // Given
+        estoqueEntrada.setVersao(7L);
+        when(gateway.atualizar(estoqueEntrada)).thenThrow(new EstoqueVersaoConflitanteException("SKU-123"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(estoqueEntrada)).isInstanceOf(EstoqueVersaoConflitanteException.class);
+        verify(gateway, times(1)).atualizar(estoqueEntrada);
+        verify(metricas).registrarConflitoVersao(false);
+        verify(cache).invalidar("SKU-123");
+    }
+
+    @Test
+    void deveGravarEstoqueAtualizadoNoCache() {
+        // Given
+        when(gateway.atualizar(estoqueEntrada)).thenReturn(estoqueAtualizado);
+
+        // When
+        service.execute(estoqueEntrada);
+
+        // Then
+        verify(cache).atualizar(estoqueAtualizado);
+        verify(cache, never()).invalidar(anyString());
+    }
+
+    @Test
+    void deveInvalidarCacheQuandoGatewayFalhar() {
+        // Given
+        when(gateway.atualizar(estoqueEntrada)).thenThrow(new RuntimeException("Erro no banco de dados"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(estoqueEntrada)).isInstanceOf(RuntimeException.class);
+        verify(cache).invalidar("SKU-123");
+        verify(cache, never()).atualizar(any());
+    }
+
     @Test
     void deveVerificarChamadaCorretaAoGateway() {
         // Given
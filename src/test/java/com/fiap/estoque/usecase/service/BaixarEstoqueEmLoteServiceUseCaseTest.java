@@ -0,0 +1,76 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BaixarEstoqueEmLoteServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @InjectMocks
+    private BaixarEstoqueEmLoteServiceUseCase service;
+
+    private List<ItemBaixa> itens;
+
+    @BeforeEach
+    void setUp() {
+        itens = List.of(
+                ItemBaixa.builder().sku("SKU-1").quantidade(2).build(),
+                ItemBaixa.builder().sku("SKU-2").quantidade(3).build());
+    }
+
+    @Test
+    void deveBaixarEstoqueEmLoteComSucesso() {
+        // Given
+        List<Estoque> atualizados = List.of(
+                Estoque.builder().id(1L).sku("SKU-1").quantidadeDisponivel(8).build(),
+                Estoque.builder().id(2L).sku("SKU-2").quantidadeDisponivel(7).build());
+        when(gateway.baixarEstoqueEmLote(itens)).thenReturn(atualizados);
+
+        // When
+        List<Estoque> resultado = service.execute(itens);
+
+        // Then
+        assertThat(resultado).isSameAs(atualizados);
+        verify(cache).atualizar(atualizados.get(0));
+        verify(cache).atualizar(atualizados.get(1));
+        verify(gateway).baixarEstoqueEmLote(itens);
+        verifyNoMoreInteractions(gateway);
+    }
+
+    @Test
+    void devePropagarRejeicaoDoLote() {
+        // Given
+        when(gateway.baixarEstoqueEmLote(itens)).thenThrow(new BaixaEmLoteRejeitadaException(List.of("SKU-2")));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(itens))
+                .isInstanceOf(BaixaEmLoteRejeitadaException.class)
+                .hasMessage("Estoque insuficiente ou inexistente para SKUs: SKU-2");
+        verify(cache).invalidar(List.of("SKU-2"));
+    }
+}
@@ -1,7 +1,14 @@
 package com.fiap.estoque.usecase.service;
 
+import com.fiap.estoque.cache.BaixaIdempotenteCache;
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.BaixaIdempotente;
 import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.BaixaRepetidaException;
+import com.fiap.estoque.exception.ChaveIdempotenciaReutilizadaException;
+import com.fiap.estoque.gateway.BaixaAgrupadaEstoque;
 import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,8 +16,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -22,6 +32,18 @@ class BaixarEstoqueServiceUseCaseTest {
     @Mock
     private EstoqueGateway gateway;
 
+    @Mock
+    private EstoqueCache cache;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @Mock
+    private BaixaIdempotenteCache baixaIdempotenteCache;
+
+    @Mock
+    private BaixaAgrupadaEstoque baixaAgrupada;
+
     @InjectMocks
     private BaixarEstoqueServiceUseCase service;
 
@@ -58,6 +80,69 @@ class BaixarEstoqueServiceUseCaseTest {
         verifyNoMoreInteractions(gateway);
     }
 
+    @Test
+    void deveBaixarPeloGroupCommitQuandoHabilitado() {
+        // Given
+        when(baixaAgrupada.isHabilitado()).thenReturn(true);
+        when(baixaAgrupada.baixar(skuPadrao, quantidadePadrao)).thenReturn(estoqueAtualizado);
+
+        // When
+        Estoque resultado = service.execute(skuPadrao, quantidadePadrao);
+
+        // Then
+        assertThat(resultado).isSameAs(estoqueAtualizado);
+        verify(cache).atualizar(estoqueAtualizado);
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void naoDeveUsarGroupCommitParaBaixaComChave() {
+        // Given
+        when(gateway.baixarEstoque(skuPadrao, quantidadePadrao, "chave-1")).thenReturn(estoqueAtualizado);
+
+        // When
+        service.execute(skuPadrao, quantidadePadrao, "chave-1");
+
+        // Then
+        verify(baixaAgrupada, never()).baixar(any(), anyInt());
+    }
+
+    @Test
+    void deveRegistrarUnidadesBaixadasNasMetricas() {
+        // Given
+        when(gateway.baixarEstoque(skuPadrao, quantidadePadrao)).thenReturn(estoqueAtualizado);
+
+        // When
+        service.execute(skuPadrao, quantidadePadrao);
+
+        // Then
+        verify(metricas).registrarBaixa(skuPadrao, quantidadePadrao);
+    }
+
+    @Test
+    void deveGravarEstoqueAposBaixaNoCache() {
+        // Given
+        when(gateway.baixarEstoque(skuPadrao, quantidadePadrao)).thenReturn(estoqueAtualizado);
+
+        // When
+        service.execute(skuPadrao, quantidadePadrao);
+
+        // Then
+        verify(cache).atualizar(estoqueAtualizado);
+        verify(cache, never()).invalidar(anyString());
+    }
+
+    @Test
+    void deveInvalidarCacheQuandoBaixaFalhar() {
+        // Given
+        when(gateway.baixarEstoque(skuPadrao, quantidadePadrao)).thenThrow(new RuntimeException("Estoque insuficiente"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(skuPadrao, quantidadePadrao)).isInstanceOf(RuntimeException.class);
+        verify(cache).invalidar(skuPadrao);
+        verify(cache, never()).atualizar(any());
+    }
+
     @Test
     void deveVerificarChamadaCorretaAoGateway() {
         // Given
@@ -148,17 +233,12 @@ class BaixarEstoqueServiceUseCaseTest {
     }
 
     @Test
-    void deveBaixarEstoqueComQuantidadeZero() {
-        // Given
-        int quantidadeZero = 0;
-        when(gateway.baixarEstoque(skuPadrao, quantidadeZero)).thenReturn(estoqueAtualizado);
-
-        // When
-        Estoque resultado = service.execute(skuPadrao, quantidadeZero);
-
-        // Then
-        assertThat(resultado).isNotNull();
-        verify(gateway).baixarEstoque(skuPadrao, quantidadeZero);
+    void deveRecusarQuantidadeZero() {
+        // When / Then
+        assertThatThrownBy(() -> service.execute(skuPadrao, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(skuPadrao);
+        verifyNoInteractions(gateway, baixaAgrupada, cache, metricas);
     }
 
     @Test
@@ -190,17 +270,11 @@ class BaixarEstoqueServiceUseCaseTest {
     }
 
     @Test
-    void deveBaixarEstoqueComQuantidadeNegativa() {
-        // Given
-        int quantidadeNegativa = -5;
-        when(gateway.baixarEstoque(skuPadrao, quantidadeNegativa)).thenReturn(estoqueAtualizado);
-
-        // When
-        Estoque resultado = service.execute(skuPadrao, quantidadeNegativa);
-
-        // Then
-        assertThat(resultado).isNotNull();
-        verify(gateway).baixarEstoque(skuPadrao, quantidadeNegativa);
+    void deveRecusarQuantidadeNegativaAntesDoCacheDeIdempotencia() {
+        // When / Then
+        assertThatThrownBy(() -> service.execute(skuPadrao, -1000, "chave-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gateway, baixaAgrupada, baixaIdempotenteCache, cache, metricas);
     }
 
     @Test
@@ -258,4 +332,75 @@ class BaixarEstoqueServiceUseCaseTest {
 
         verify(gateway, times(quantidades.length)).baixarEstoque(eq(skuPadrao), anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveBaixarComChaveEGuardarResultadoNoCacheDeIdempotencia() {
+        // Given
+        when(baixaIdempotenteCache.buscar("chave-1")).thenReturn(Optional.empty());
+        when(gateway.baixarEstoque(skuPadrao, quantidadePadrao, "chave-1")).thenReturn(estoqueAtualizado);
+
+        // When
+        Estoque resultado = service.execute(skuPadrao, quantidadePadrao, "chave-1");
+
+        // Then
+        assertThat(resultado).isSameAs(estoqueAtualizado);
+        verify(baixaIdempotenteCache).registrar(BaixaIdempotente.builder()
+                .chave("chave-1").sku(skuPadrao).quantidade(quantidadePadrao).resultado(estoqueAtualizado).build());
+        verify(metricas).registrarBaixa(skuPadrao, quantidadePadrao);
+    }
+
+    @Test
+    void deveResponderRepeticaoPeloCacheSemAcessarGateway() {
+        // Given
+        when(baixaIdempotenteCache.buscar("chave-1")).thenReturn(Optional.of(BaixaIdempotente.builder()
+                .chave("chave-1").sku(skuPadrao).quantidade(quantidadePadrao).resultado(estoqueAtualizado).build()));
+
+        // When
+        Estoque resultado = service.execute(skuPadrao, quantidadePadrao, "chave-1");
+
+        // Then
+        assertThat(resultado).isSameAs(estoqueAtualizado);
+        verifyNoInteractions(gateway, cache);
+        verify(metricas).registrarBaixaRepetida("cache");
+        verify(metricas, never()).registrarBaixa(anyString(), anyInt());
+    }
+
+    @Test
+    void deveResponderComResultadoGravadoQuandoChaveJaExistirNoBanco() {
+        // Given
+        BaixaIdempotente original = BaixaIdempotente.builder()
+                .chave("chave-1").sku(skuPadrao).quantidade(quantidadePadrao).resultado(estoqueAtualizado).build();
+        when(baixaIdempotenteCache.buscar("chave-1")).thenReturn(Optional.empty());
+        when(gateway.baixarEstoque(skuPadrao, quantidadePadrao, "chave-1")).thenThrow(new BaixaRepetidaException("chave-1"));
+        when(gateway.buscarBaixaIdempotente("chave-1")).thenReturn(Optional.of(original));
+
+        // When
+        Estoque resultado = service.execute(skuPadrao, quantidadePadrao, "chave-1");
+
+        // Then
+        assertThat(resultado).isSameAs(estoqueAtualizado);
+        verify(baixaIdempotenteCache).registrar(original);
+        verify(metricas).registrarBaixaRepetida("banco");
+        verify(metricas, never()).registrarBaixa(anyString(), anyInt());
+    }
+
+    @Test
+    void deveRecusarChaveReutilizadaComOutraBaixa() {
+        // Given
+        when(baixaIdempotenteCache.buscar("chave-1")).thenReturn(Optional.of(BaixaIdempotente.builder()
+                .chave("chave-1").sku("OUTRO-SKU").quantidade(quantidadePadrao).resultado(estoqueAtualizado).build()));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(skuPadrao, quantidadePadrao, "chave-1"))
+                .isInstanceOf(ChaveIdempotenciaReutilizadaException.class);
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveRejeitarChaveVazia() {
+        // When & Then
+        assertThatThrownBy(() -> service.execute(skuPadrao, quantidadePadrao, " "))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gateway);
+    }
+}
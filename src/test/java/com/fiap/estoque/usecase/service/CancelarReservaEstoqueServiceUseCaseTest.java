@@ -0,0 +1,55 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.exception.ReservaNaoEncontradaException;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CancelarReservaEstoqueServiceUseCaseTest {
+
+    @Mock
+    private ReservaEstoqueGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @InjectMocks
+    private CancelarReservaEstoqueServiceUseCase service;
+
+    @Test
+    void deveCancelarReservaEInvalidarCacheDoSku() {
+        // Given
+        Reserva reserva = Reserva.builder().id(1L).sku("SKU-1").quantidade(2).build();
+        when(gateway.cancelar(eq(1L), any())).thenReturn(reserva);
+
+        // When
+        Reserva resultado = service.execute(1L);
+
+        // Then
+        assertThat(resultado).isSameAs(reserva);
+        verify(cache).invalidar("SKU-1");
+    }
+
+    @Test
+    void naoDeveInvalidarCacheQuandoReservaNaoEncontrada() {
+        // Given
+        when(gateway.cancelar(eq(9L), any())).thenThrow(new ReservaNaoEncontradaException(9L));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(9L)).isInstanceOf(ReservaNaoEncontradaException.class);
+        verify(cache, never()).invalidar(anyString());
+    }
+}
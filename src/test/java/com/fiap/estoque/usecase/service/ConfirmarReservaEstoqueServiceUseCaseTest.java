@@ -0,0 +1,48 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.exception.ReservaNaoEncontradaException;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmarReservaEstoqueServiceUseCaseTest {
+
+    @Mock
+    private ReservaEstoqueGateway gateway;
+
+    @InjectMocks
+    private ConfirmarReservaEstoqueServiceUseCase service;
+
+    @Test
+    void deveConfirmarReserva() {
+        // Given
+        Reserva reserva = Reserva.builder().id(1L).sku("SKU-1").quantidade(2).build();
+        when(gateway.confirmar(eq(1L), any())).thenReturn(reserva);
+
+        // When
+        Reserva resultado = service.execute(1L);
+
+        // Then
+        assertThat(resultado).isSameAs(reserva);
+    }
+
+    @Test
+    void devePropagarReservaNaoEncontrada() {
+        // Given
+        when(gateway.confirmar(eq(9L), any())).thenThrow(new ReservaNaoEncontradaException(9L));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(9L)).isInstanceOf(ReservaNaoEncontradaException.class);
+    }
+}
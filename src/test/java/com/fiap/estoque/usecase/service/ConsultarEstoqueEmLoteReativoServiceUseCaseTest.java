@@ -0,0 +1,87 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGatewayReativo;
+import com.fiap.estoque.gateway.memoria.EstoqueGatewayMemoria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultarEstoqueEmLoteReativoServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGatewayReativo gateway;
+
+    @Mock
+    private EstoqueGatewayMemoria memoria;
+
+    private final EstoqueCache cache = new EstoqueCache(1000, Duration.ofMinutes(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    @Test
+    void deveBuscarFaltantesEmUmaConsultaEManterAOrdemInformada() {
+        // Given
+        ConsultarEstoqueEmLoteReativoServiceUseCase service = new ConsultarEstoqueEmLoteReativoServiceUseCase(gateway, Optional.empty(), cache);
+        Estoque a = Estoque.builder().sku("SKU-A").quantidadeDisponivel(5).build();
+        Estoque b = Estoque.builder().sku("SKU-B").quantidadeDisponivel(0).build();
+        when(gateway.buscarPorSkus(List.of("SKU-A", "SKU-X", "SKU-B"))).thenReturn(Flux.just(b, a));
+
+        // When
+        Map<String, Estoque> resultado = service.execute(List.of("SKU-A", "SKU-X", "SKU-B", "SKU-A", " ")).block();
+
+        // Then
+        assertThat(resultado).containsExactly(Map.entry("SKU-A", a), Map.entry("SKU-B", b));
+        verify(gateway, times(1)).buscarPorSkus(any());
+    }
+
+    @Test
+    void deveResponderCacheEMemoriaSemConsultarBancoEGuardarAsCargas() {
+        // Given
+        ConsultarEstoqueEmLoteReativoServiceUseCase service = new ConsultarEstoqueEmLoteReativoServiceUseCase(gateway, Optional.of(memoria), cache);
+        Estoque emCache = Estoque.builder().sku("SKU-A").quantidadeDisponivel(5).build();
+        Estoque quente = Estoque.builder().sku("SKU-QUENTE").quantidadeDisponivel(42).build();
+        Estoque carregado = Estoque.builder().sku("SKU-B").quantidadeDisponivel(1).build();
+        cache.atualizar(emCache);
+        when(memoria.isQuente(any())).thenAnswer(invocacao -> "SKU-QUENTE".equals(invocacao.getArgument(0)));
+        when(memoria.buscarPorSku("SKU-QUENTE")).thenReturn(Optional.of(quente));
+        when(gateway.buscarPorSkus(List.of("SKU-B", "SKU-X"))).thenReturn(Flux.just(carregado));
+
+        // When
+        Map<String, Estoque> primeira = service.execute(List.of("SKU-QUENTE", "SKU-A", "SKU-B", "SKU-X")).block();
+        Map<String, Estoque> segunda = service.execute(List.of("SKU-B", "SKU-X")).block();
+
+        // Then
+        assertThat(primeira).containsExactly(Map.entry("SKU-QUENTE", quente), Map.entry("SKU-A", emCache),
+                Map.entry("SKU-B", carregado));
+        assertThat(segunda).containsExactly(Map.entry("SKU-B", carregado));
+        verify(gateway, times(1)).buscarPorSkus(any());
+    }
+
+    @Test
+    void deveRecusarLoteAcimaDoLimite() {
+        // Given
+        ConsultarEstoqueEmLoteReativoServiceUseCase service = new ConsultarEstoqueEmLoteReativoServiceUseCase(gateway, Optional.empty(), cache);
+        ReflectionTestUtils.setField(service, "maximoSkus", 2);
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(Arrays.asList("SKU-A", "SKU-B", "SKU-C")).block())
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gateway);
+    }
+}
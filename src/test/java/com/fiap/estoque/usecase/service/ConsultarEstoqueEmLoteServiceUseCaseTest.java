@@ -0,0 +1,116 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultarEstoqueEmLoteServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @Spy
+    private EstoqueCache cache = new EstoqueCache(1000, Duration.ofMinutes(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ConsultarEstoqueEmLoteServiceUseCase service;
+
+    @Test
+    void deveBuscarSkusEmUmaConsultaEOmitirInexistentes() {
+        // Given
+        Estoque a = Estoque.builder().sku("SKU-A").quantidadeDisponivel(5).build();
+        Estoque b = Estoque.builder().sku("SKU-B").quantidadeDisponivel(0).build();
+        when(gateway.buscarPorSkus(Set.of("SKU-A", "SKU-B", "SKU-X"))).thenReturn(List.of(b, a));
+
+        // When
+        Map<String, Estoque> resultado = service.execute(List.of("SKU-A", "SKU-X", "SKU-B"));
+
+        // Then
+        assertThat(resultado).containsExactly(Map.entry("SKU-A", a), Map.entry("SKU-B", b));
+        verify(gateway, times(1)).buscarPorSkus(any());
+    }
+
+    @Test
+    void deveResponderSkusEmCacheSemConsultarGateway() {
+        // Given
+        Estoque a = Estoque.builder().sku("SKU-A").quantidadeDisponivel(5).build();
+        cache.atualizar(a);
+        when(gateway.buscarPorSkus(Set.of("SKU-B"))).thenReturn(List.of());
+
+        // When
+        Map<String, Estoque> primeira = service.execute(List.of("SKU-A", "SKU-B"));
+        Map<String, Estoque> segunda = service.execute(List.of("SKU-A", "SKU-B"));
+
+        // Then
+        assertThat(primeira).containsOnlyKeys("SKU-A");
+        assertThat(segunda).containsOnlyKeys("SKU-A");
+        verify(gateway, times(1)).buscarPorSkus(any());
+    }
+
+    @Test
+    void deveIgnorarSkusRepetidosEEmBranco() {
+        // Given
+        when(gateway.buscarPorSkus(Set.of("SKU-A"))).thenReturn(List.of());
+
+        // When
+        Map<String, Estoque> resultado = service.execute(Arrays.asList("SKU-A", null, " ", "SKU-A"));
+
+        // Then
+        assertThat(resultado).isEmpty();
+        verify(gateway).buscarPorSkus(Set.of("SKU-A"));
+    }
+
+    @Test
+    void deveRecusarConsultaAcimaDoMaximoDeSkus() {
+        // Given
+        ReflectionTestUtils.setField(service, "maximoSkus", 2);
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(List.of("SKU-A", "SKU-B", "SKU-C")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Consulta em lote aceita no máximo 2 SKUs");
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveIgnorarCacheNaLeituraPropria() {
+        // Given
+        cache.atualizar(Estoque.builder().sku("SKU-A").quantidadeDisponivel(9).build());
+        Estoque a = Estoque.builder().sku("SKU-A").quantidadeDisponivel(5).build();
+        Estoque b = Estoque.builder().sku("SKU-B").quantidadeDisponivel(1).build();
+        when(gateway.buscarPorSkus(Set.of("SKU-A", "SKU-B", "SKU-X"))).thenReturn(List.of(b, a));
+        RoteamentoLeitura.exigirPrimario();
+
+        // When
+        Map<String, Estoque> resultado;
+        try {
+            resultado = service.execute(List.of("SKU-A", "SKU-X", "SKU-B"));
+        } finally {
+            RoteamentoLeitura.liberarPrimario();
+        }
+
+        // Then
+        assertThat(resultado).containsExactly(Map.entry("SKU-A", a), Map.entry("SKU-B", b));
+    }
+}
@@ -0,0 +1,102 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGatewayReativo;
+import com.fiap.estoque.gateway.memoria.EstoqueGatewayMemoria;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultarEstoqueReativoServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGatewayReativo gateway;
+
+    @Mock
+    private EstoqueGatewayMemoria memoria;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    private final EstoqueCache cache = new EstoqueCache(1000, Duration.ofMinutes(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    @Test
+    void deveCarregarPeloGatewayReativoEGuardarNoCache() {
+        // Given
+        ConsultarEstoqueReativoServiceUseCase service = new ConsultarEstoqueReativoServiceUseCase(gateway, Optional.empty(), cache, metricas);
+        Estoque estoque = Estoque.builder().sku("SKU-1").quantidadeDisponivel(10).build();
+        when(gateway.buscarPorSku("SKU-1")).thenReturn(Mono.just(estoque));
+
+        // When
+        Estoque primeira = service.execute("SKU-1").block();
+        Estoque segunda = service.execute("SKU-1").block();
+
+        // Then
+        assertThat(primeira).isSameAs(estoque);
+        assertThat(segunda).isSameAs(estoque);
+        verify(gateway, times(1)).buscarPorSku("SKU-1");
+    }
+
+    @Test
+    void deveGuardarSkuInexistenteNoCacheERegistrarMetrica() {
+        // Given
+        ConsultarEstoqueReativoServiceUseCase service = new ConsultarEstoqueReativoServiceUseCase(gateway, Optional.empty(), cache, metricas);
+        when(gateway.buscarPorSku("SKU-X")).thenReturn(Mono.empty());
+
+        // When
+        Optional<Estoque> primeira = service.execute("SKU-X").blockOptional();
+        Optional<Estoque> segunda = service.execute("SKU-X").blockOptional();
+
+        // Then
+        assertThat(primeira).isEmpty();
+        assertThat(segunda).isEmpty();
+        verify(gateway, times(1)).buscarPorSku("SKU-X");
+        verify(metricas, times(2)).registrarNaoEncontrado("consultar");
+    }
+
+    @Test
+    void naoDeveSobrescreverSaldoGravadoNoCacheDuranteACarga() {
+        // Given
+        ConsultarEstoqueReativoServiceUseCase service = new ConsultarEstoqueReativoServiceUseCase(gateway, Optional.empty(), cache, metricas);
+        Estoque atualizado = Estoque.builder().sku("SKU-1").quantidadeDisponivel(3).versao(2L).build();
+        when(gateway.buscarPorSku("SKU-1")).thenReturn(Mono.fromSupplier(() -> {
+            cache.atualizar(atualizado);
+            return Estoque.builder().sku("SKU-1").quantidadeDisponivel(10).versao(1L).build();
+        }));
+
+        // When
+        service.execute("SKU-1").block();
+
+        // Then
+        assertThat(service.execute("SKU-1").block()).isSameAs(atualizado);
+    }
+
+    @Test
+    void deveResponderSkuQuenteDaMemoriaSemConsultarBanco() {
+        // Given
+        ConsultarEstoqueReativoServiceUseCase service = new ConsultarEstoqueReativoServiceUseCase(gateway, Optional.of(memoria), cache, metricas);
+        Estoque emMemoria = Estoque.builder().sku("SKU-QUENTE").quantidadeDisponivel(42).build();
+        when(memoria.isQuente("SKU-QUENTE")).thenReturn(true);
+        when(memoria.buscarPorSku("SKU-QUENTE")).thenReturn(Optional.of(emMemoria));
+
+        // When
+        Estoque resultado = service.execute("SKU-QUENTE").block();
+
+        // Then
+        assertThat(resultado).isSameAs(emMemoria);
+        verify(gateway, never()).buscarPorSku(any());
+    }
+}
@@ -1,15 +1,21 @@
 
 package com.fiap.estoque.usecase.service;
 
+import com.fiap.estoque.cache.ConsultaAgrupadaEstoque;
+import com.fiap.estoque.cache.EstoqueCache;
 import com.fiap.estoque.domain.Estoque;
 import com.fiap.estoque.gateway.EstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import com.fiap.estoque.replica.RoteamentoLeitura;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,7 +30,12 @@ class ConsultarEstoqueServiceUseCaseTest {
     @Mock
     private EstoqueGateway gateway;
 
-    @InjectMocks
+    @Spy
+    private EstoqueCache cache = new EstoqueCache(1000, Duration.ofMinutes(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    @Mock
+    private EstoqueMetricas metricas;
+
     private ConsultarEstoqueServiceUseCase service;
 
     private String skuPadrao;
@@ -32,6 +43,8 @@ class ConsultarEstoqueServiceUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        // Janela zero: cada falta no cache vai direto ao gateway.buscarPorSku
+        service = new ConsultarEstoqueServiceUseCase(new ConsultaAgrupadaEstoque(gateway, Duration.ZERO, 500, 1, false), cache, metricas);
         skuPadrao = "SKU-123";
         estoquePadrao = Estoque.builder()
                 .id(1L)
@@ -69,6 +82,7 @@ class ConsultarEstoqueServiceUseCaseTest {
         // Then
         assertThat(resultado).isEmpty();
         verify(gateway).buscarPorSku(skuPadrao);
+        verify(metricas).registrarNaoEncontrado("consultar");
     }
 
     @Test
@@ -118,6 +132,34 @@ class ConsultarEstoqueServiceUseCaseTest {
         verify(gateway).buscarPorSku(skuPadrao);
     }
 
+    @Test
+    void deveResponderSegundaConsultaDoCacheSemAcessarGateway() {
+        // Given
+        when(gateway.buscarPorSku(skuPadrao)).thenReturn(Optional.of(estoquePadrao));
+
+        // When
+        service.execute(skuPadrao);
+        Optional<Estoque> resultado = service.execute(skuPadrao);
+
+        // Then
+        assertThat(resultado).contains(estoquePadrao);
+        verify(gateway, times(1)).buscarPorSku(skuPadrao);
+    }
+
+    @Test
+    void deveGuardarSkuInexistenteNoCache() {
+        // Given
+        when(gateway.buscarPorSku(skuPadrao)).thenReturn(Optional.empty());
+
+        // When
+        service.execute(skuPadrao);
+        Optional<Estoque> resultado = service.execute(skuPadrao);
+
+        // Then
+        assertThat(resultado).isEmpty();
+        verify(gateway, times(1)).buscarPorSku(skuPadrao);
+    }
+
     @Test
     void deveConsultarComSkuNulo() {
         // Given
@@ -283,4 +325,24 @@ class ConsultarEstoqueServiceUseCaseTest {
         assertThat(resultado.get().getId()).isNull();
         assertThat(resultado.get().getSku()).isEqualTo(skuPadrao);
     }
+
+    @Test
+    void deveIrAoGatewaySemCacheNaLeituraPropria() {
+        // Given
+        cache.atualizar(Estoque.builder().sku(skuPadrao).quantidadeDisponivel(60).build());
+        when(gateway.buscarPorSku(skuPadrao)).thenReturn(Optional.of(estoquePadrao));
+        RoteamentoLeitura.exigirPrimario();
+
+        // When
+        Optional<Estoque> resultado;
+        try {
+            resultado = service.execute(skuPadrao);
+        } finally {
+            RoteamentoLeitura.liberarPrimario();
+        }
+
+        // Then
+        assertThat(resultado).containsSame(estoquePadrao);
+        verify(gateway).buscarPorSku(skuPadrao);
+    }
 }
@@ -0,0 +1,57 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.SaldoNoInstante;
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultarSaldoNoInstanteServiceUseCaseTest {
+
+    private static final Instant INSTANTE = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Mock
+    private MovimentacaoEstoqueGateway gateway;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @InjectMocks
+    private ConsultarSaldoNoInstanteServiceUseCase service;
+
+    @Test
+    void deveRetornarSaldoReconstruidoNoInstante() {
+        // Given
+        when(gateway.buscarSaldoEm("SKU-1", INSTANTE)).thenReturn(Optional.of(7));
+
+        // When
+        Optional<SaldoNoInstante> saldo = service.execute("SKU-1", INSTANTE);
+
+        // Then
+        assertThat(saldo).contains(SaldoNoInstante.builder().sku("SKU-1").instante(INSTANTE).quantidadeDisponivel(7).build());
+        verifyNoInteractions(metricas);
+    }
+
+    @Test
+    void deveRegistrarNaoEncontradoQuandoSkuNaoExiste() {
+        // Given
+        when(gateway.buscarSaldoEm("SKU-X", INSTANTE)).thenReturn(Optional.empty());
+
+        // When
+        Optional<SaldoNoInstante> saldo = service.execute("SKU-X", INSTANTE);
+
+        // Then
+        assertThat(saldo).isEmpty();
+        verify(metricas).registrarNaoEncontrado("saldo-no-instante");
+    }
+}
@@ -0,0 +1,56 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.gateway.EstoqueMinimoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefinirEstoqueMinimoServiceUseCaseTest {
+
+    @Mock
+    private EstoqueMinimoGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @InjectMocks
+    private DefinirEstoqueMinimoServiceUseCase service;
+
+    @Test
+    void deveDefinirMinimoEInvalidarCache() {
+        // Given
+        Estoque estoque = Estoque.builder().sku("SKU-1").quantidadeDisponivel(3).estoqueMinimo(5).build();
+        when(gateway.definirMinimo("SKU-1", 5)).thenReturn(estoque);
+
+        // When & Then
+        assertSame(estoque, service.execute("SKU-1", 5));
+        verify(cache).invalidar("SKU-1");
+    }
+
+    @Test
+    void deveInvalidarCacheMesmoQuandoSkuNaoExiste() {
+        // Given
+        when(gateway.definirMinimo("SKU-X", 5)).thenThrow(new EstoqueNaoEncontradoException("SKU-X"));
+
+        // When & Then
+        assertThrows(EstoqueNaoEncontradoException.class, () -> service.execute("SKU-X", 5));
+        verify(cache).invalidar("SKU-X");
+    }
+
+    @Test
+    void deveRecusarMinimoNegativo() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.execute("SKU-1", -1));
+        verifyNoInteractions(gateway, cache);
+    }
+}
@@ -0,0 +1,62 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.EstoqueDeposito;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.gateway.EstoqueDepositoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefinirSaldoDepositoServiceUseCaseTest {
+
+    @Mock
+    private EstoqueDepositoGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @InjectMocks
+    private DefinirSaldoDepositoServiceUseCase service;
+
+    @Test
+    void deveDefinirSaldoEInvalidarTotalNoCache() {
+        // Given
+        EstoqueDeposito deposito = EstoqueDeposito.builder().sku("SKU-1").deposito("CD-SP").quantidadeDisponivel(7).build();
+        when(gateway.definirSaldo("SKU-1", "CD-SP", 7)).thenReturn(deposito);
+
+        // When
+        EstoqueDeposito resultado = service.execute("SKU-1", "CD-SP", 7);
+
+        // Then
+        assertThat(resultado).isSameAs(deposito);
+        verify(cache).invalidar("SKU-1");
+    }
+
+    @Test
+    void deveInvalidarCacheQuandoGatewayFalhar() {
+        // Given
+        when(gateway.definirSaldo("SKU-1", "CD-SP", 0)).thenThrow(new EstoqueInsuficienteException("SKU-1"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", "CD-SP", 0)).isInstanceOf(EstoqueInsuficienteException.class);
+        verify(cache).invalidar("SKU-1");
+    }
+
+    @Test
+    void deveRejeitarQuantidadeNegativaEDepositoEmBranco() {
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", "CD-SP", -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.execute("SKU-1", " ", 1)).isInstanceOf(IllegalArgumentException.class);
+        verify(gateway, never()).definirSaldo(any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,75 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpirarReservasEstoqueServiceUseCaseTest {
+
+    @Mock
+    private ReservaEstoqueGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @InjectMocks
+    private ExpirarReservasEstoqueServiceUseCase service;
+
+    @Test
+    void deveLiberarLotesAteEsgotarReservasVencidas() {
+        // Given
+        ReflectionTestUtils.setField(service, "tamanhoLote", 2);
+        when(gateway.liberarExpiradas(any(), eq(2)))
+                .thenReturn(List.of(reserva(1L, "SKU-1"), reserva(2L, "SKU-1")))
+                .thenReturn(List.of(reserva(3L, "SKU-2")));
+
+        // When
+        int liberadas = service.execute();
+
+        // Then
+        assertThat(liberadas).isEqualTo(3);
+        verify(gateway, times(2)).liberarExpiradas(any(), eq(2));
+        verify(cache).invalidar(List.of("SKU-1"));
+        verify(cache).invalidar(List.of("SKU-2"));
+        verify(metricas).registrarReservasExpiradas(2);
+        verify(metricas).registrarReservasExpiradas(1);
+    }
+
+    @Test
+    void naoDeveFazerNadaSemReservasVencidas() {
+        // Given
+        when(gateway.liberarExpiradas(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        int liberadas = service.execute();
+
+        // Then
+        assertThat(liberadas).isZero();
+        verify(cache, never()).invalidar(anyCollection());
+        verifyNoInteractions(metricas);
+    }
+
+    private static Reserva reserva(Long id, String sku) {
+        return Reserva.builder().id(id).sku(sku).quantidade(1).build();
+    }
+}
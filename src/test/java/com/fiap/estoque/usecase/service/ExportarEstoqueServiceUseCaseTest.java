@@ -0,0 +1,58 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportarEstoqueServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @InjectMocks
+    private ExportarEstoqueServiceUseCase service;
+
+    @Test
+    void deveRepassarEstoquesDoGatewayAoConsumidor() {
+        // Given
+        Estoque estoque = Estoque.builder().id(1L).sku("SKU-1").quantidadeDisponivel(3).build();
+        doAnswer(inv -> {
+            Consumer<Estoque> consumidor = inv.getArgument(0);
+            consumidor.accept(estoque);
+            return null;
+        }).when(gateway).exportarTodos(any());
+        List<Estoque> recebidos = new ArrayList<>();
+
+        // When
+        service.execute(recebidos::add);
+
+        // Then
+        assertThat(recebidos).containsExactly(estoque);
+        verify(gateway).exportarTodos(any());
+    }
+
+    @Test
+    void devePropagarExcecaoQuandoGatewayFalhar() {
+        // Given
+        doThrow(new RuntimeException("Erro de conexão com banco")).when(gateway).exportarTodos(any());
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(e -> { }))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Erro de conexão com banco");
+    }
+}
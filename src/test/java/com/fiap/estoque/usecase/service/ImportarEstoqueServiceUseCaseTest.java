@@ -0,0 +1,103 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportarEstoqueServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @InjectMocks
+    private ImportarEstoqueServiceUseCase service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "tamanhoLote", 2);
+    }
+
+    @Test
+    void deveImportarEmLotesDoTamanhoConfigurado() {
+        // Given
+        List<List<String>> lotes = new ArrayList<>();
+        doAnswer(inv -> lotes.add(((List<Estoque>) inv.getArgument(0)).stream().map(Estoque::getSku).toList()))
+                .when(gateway).importarEmLote(anyList());
+
+        // When
+        long importados = service.execute(criarEstoques(5).iterator());
+
+        // Then
+        assertThat(importados).isEqualTo(5);
+        assertThat(lotes).containsExactly(
+                List.of("SKU-1", "SKU-2"),
+                List.of("SKU-3", "SKU-4"),
+                List.of("SKU-5"));
+        verify(cache).invalidar(List.of("SKU-1", "SKU-2"));
+        verify(cache).invalidar(List.of("SKU-5"));
+    }
+
+    @Test
+    void naoDeveChamarGatewayQuandoNaoHaRegistros() {
+        // When
+        long importados = service.execute(List.<Estoque>of().iterator());
+
+        // Then
+        assertThat(importados).isZero();
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void deveRejeitarRegistroComQuantidadeNegativa() {
+        // Given
+        List<Estoque> estoques = new ArrayList<>(criarEstoques(3));
+        estoques.get(2).setQuantidadeDisponivel(-1);
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(estoques.iterator()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Registro de importação inválido na posição 3");
+
+        ArgumentCaptor<List<Estoque>> captor = ArgumentCaptor.forClass(List.class);
+        verify(gateway, times(1)).importarEmLote(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+    }
+
+    @Test
+    void deveRejeitarRegistroSemSku() {
+        // Given
+        List<Estoque> estoques = List.of(Estoque.builder().quantidadeDisponivel(1).build());
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute(estoques.iterator()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gateway);
+    }
+
+    private List<Estoque> criarEstoques(int quantidade) {
+        return IntStream.rangeClosed(1, quantidade)
+                .mapToObj(i -> Estoque.builder().sku("SKU-" + i).quantidadeDisponivel(i).build())
+                .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.gateway.EstoqueMinimoGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListarEstoqueAbaixoMinimoServiceUseCaseTest {
+
+    @Mock
+    private EstoqueMinimoGateway gateway;
+
+    @InjectMocks
+    private ListarEstoqueAbaixoMinimoServiceUseCase service;
+
+    @Test
+    void deveIndicarProximaPaginaQuandoHaMaisItens() {
+        // Given
+        when(gateway.listarAbaixoDoMinimo("SKU-0", 3)).thenReturn(List.of(estoque("SKU-1"), estoque("SKU-2"), estoque("SKU-3")));
+
+        // When
+        PaginaEstoque pagina = service.execute("SKU-0", 2);
+
+        // Then
+        assertThat(pagina.getItens()).extracting(Estoque::getSku).containsExactly("SKU-1", "SKU-2");
+        assertThat(pagina.getProximoSku()).isEqualTo("SKU-2");
+    }
+
+    @Test
+    void deveComecarDoInicioComLimitePadrao() {
+        // Given
+        when(gateway.listarAbaixoDoMinimo("", ListarEstoqueAbaixoMinimoServiceUseCase.LIMITE_PADRAO + 1)).thenReturn(List.of(estoque("SKU-1")));
+
+        // When
+        PaginaEstoque pagina = service.execute(null, null);
+
+        // Then
+        assertThat(pagina.getItens()).hasSize(1);
+        assertThat(pagina.getProximoSku()).isNull();
+    }
+
+    private static Estoque estoque(String sku) {
+        return Estoque.builder().sku(sku).quantidadeDisponivel(1).estoqueMinimo(5).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.domain.FiltroEstoque;
+import com.fiap.estoque.domain.PaginaEstoque;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListarEstoqueServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @InjectMocks
+    private ListarEstoqueServiceUseCase service;
+
+    @Test
+    void deveRetornarPaginaComProximoSkuQuandoHaMaisItens() {
+        // Given
+        when(gateway.listarPagina(any())).thenReturn(criarEstoques(3));
+
+        // When
+        PaginaEstoque pagina = service.execute(null, 2, null, null, null);
+
+        // Then
+        assertThat(pagina.getItens()).extracting(Estoque::getSku).containsExactly("SKU-1", "SKU-2");
+        assertThat(pagina.getProximoSku()).isEqualTo("SKU-2");
+        assertThat(capturarFiltro().getLimite()).isEqualTo(3);
+    }
+
+    @Test
+    void deveRetornarUltimaPaginaSemProximoSku() {
+        // Given
+        when(gateway.listarPagina(any())).thenReturn(criarEstoques(2));
+
+        // When
+        PaginaEstoque pagina = service.execute("SKU-0", 2, null, null, null);
+
+        // Then
+        assertThat(pagina.getItens()).hasSize(2);
+        assertThat(pagina.getProximoSku()).isNull();
+        assertThat(capturarFiltro().getAposSku()).isEqualTo("SKU-0");
+    }
+
+    @Test
+    void deveAplicarLimitePadraoELimiteMaximo() {
+        // Given
+        when(gateway.listarPagina(any())).thenReturn(List.of());
+
+        // When
+        service.execute(null, null, null, null, null);
+        service.execute(null, 1_000_000, null, null, null);
+
+        // Then
+        ArgumentCaptor<FiltroEstoque> captor = ArgumentCaptor.forClass(FiltroEstoque.class);
+        verify(gateway, times(2)).listarPagina(captor.capture());
+        assertThat(captor.getAllValues()).extracting(FiltroEstoque::getLimite)
+                .containsExactly(ListarEstoqueServiceUseCase.LIMITE_PADRAO + 1, ListarEstoqueServiceUseCase.LIMITE_MAXIMO + 1);
+    }
+
+    @Test
+    void deveFiltrarSomenteZeradosQuandoSolicitado() {
+        // Given
+        when(gateway.listarPagina(any())).thenReturn(List.of());
+
+        // When
+        service.execute(null, 10, 5, 50, true);
+
+        // Then
+        FiltroEstoque filtro = capturarFiltro();
+        assertThat(filtro.getQuantidadeMin()).isZero();
+        assertThat(filtro.getQuantidadeMax()).isZero();
+    }
+
+    @Test
+    void deveExcluirZeradosQuandoZeradoFalso() {
+        // Given
+        when(gateway.listarPagina(any())).thenReturn(List.of());
+
+        // When
+        service.execute(null, 10, null, null, false);
+
+        // Then
+        assertThat(capturarFiltro().getQuantidadeMin()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveConsultarQuandoFaixaDeQuantidadeEVazia() {
+        // When
+        PaginaEstoque pagina = service.execute(null, 10, 10, 5, null);
+
+        // Then
+        assertThat(pagina.getItens()).isEmpty();
+        verifyNoInteractions(gateway);
+    }
+
+    private FiltroEstoque capturarFiltro() {
+        ArgumentCaptor<FiltroEstoque> captor = ArgumentCaptor.forClass(FiltroEstoque.class);
+        verify(gateway).listarPagina(captor.capture());
+        return captor.getValue();
+    }
+
+    private List<Estoque> criarEstoques(int quantidade) {
+        return IntStream.rangeClosed(1, quantidade)
+                .mapToObj(i -> Estoque.builder().sku("SKU-" + i).quantidadeDisponivel(i).build())
+                .toList();
+    }
+}
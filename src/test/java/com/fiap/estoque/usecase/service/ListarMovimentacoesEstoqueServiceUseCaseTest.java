@@ -0,0 +1,38 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ListarMovimentacoesEstoqueServiceUseCaseTest {
+
+    @Mock
+    private MovimentacaoEstoqueGateway gateway;
+
+    @InjectMocks
+    private ListarMovimentacoesEstoqueServiceUseCase service;
+
+    @Test
+    void deveUsarPadroesSemCursorELimite() {
+        // When
+        service.execute("SKU-1", null, null);
+
+        // Then
+        verify(gateway).listarPorSku("SKU-1", 0, ListarMovimentacoesEstoqueServiceUseCase.LIMITE_PADRAO);
+    }
+
+    @Test
+    void deveLimitarTamanhoDaPagina() {
+        // When
+        service.execute("SKU-1", 42L, 50_000);
+
+        // Then
+        verify(gateway).listarPorSku("SKU-1", 42, ListarMovimentacoesEstoqueServiceUseCase.LIMITE_MAXIMO);
+    }
+}
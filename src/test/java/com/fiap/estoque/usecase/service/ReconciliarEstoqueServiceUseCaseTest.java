@@ -0,0 +1,64 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.DivergenciaEstoque;
+import com.fiap.estoque.gateway.MovimentacaoEstoqueGateway;
+import com.fiap.estoque.metricas.EstoqueMetricas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliarEstoqueServiceUseCaseTest {
+
+    @Mock
+    private MovimentacaoEstoqueGateway gateway;
+
+    @Mock
+    private EstoqueMetricas metricas;
+
+    @InjectMocks
+    private ReconciliarEstoqueServiceUseCase service;
+
+    @Test
+    void deveConferirCadaFaixaDeSkusEPublicarDivergencias() {
+        // Given
+        ReflectionTestUtils.setField(service, "tamanhoLote", 2);
+        DivergenciaEstoque divergencia = DivergenciaEstoque.builder().sku("SKU-3").quantidadeDisponivel(4).quantidadeMovimentacoes(5).build();
+        when(gateway.buscarFimDoLote("", 2)).thenReturn(Optional.of("SKU-2"));
+        when(gateway.buscarFimDoLote("SKU-2", 2)).thenReturn(Optional.of("SKU-3"));
+        when(gateway.buscarFimDoLote("SKU-3", 2)).thenReturn(Optional.empty());
+        when(gateway.buscarDivergencias("", "SKU-2")).thenReturn(List.of());
+        when(gateway.buscarDivergencias("SKU-2", "SKU-3")).thenReturn(List.of(divergencia));
+
+        // When
+        List<DivergenciaEstoque> divergencias = service.execute();
+
+        // Then
+        assertThat(divergencias).containsExactly(divergencia);
+        verify(metricas).registrarDivergencias(1);
+    }
+
+    @Test
+    void deveZerarGaugeQuandoNaoHaSkus() {
+        // Given
+        when(gateway.buscarFimDoLote("", 1000)).thenReturn(Optional.empty());
+
+        // When
+        List<DivergenciaEstoque> divergencias = service.execute();
+
+        // Then
+        assertThat(divergencias).isEmpty();
+        verify(gateway, never()).buscarDivergencias(anyString(), anyString());
+        verify(metricas).registrarDivergencias(0);
+    }
+}
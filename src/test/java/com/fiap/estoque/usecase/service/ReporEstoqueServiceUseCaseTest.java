@@ -0,0 +1,62 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Estoque;
+import com.fiap.estoque.exception.EstoqueNaoEncontradoException;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReporEstoqueServiceUseCaseTest {
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @InjectMocks
+    private ReporEstoqueServiceUseCase service;
+
+    @Test
+    void deveReporEstoqueEGravarNoCache() {
+        // Given
+        Estoque reposto = Estoque.builder().id(1L).sku("SKU-1").quantidadeDisponivel(60).versao(3L).build();
+        when(gateway.reporEstoque("SKU-1", 50)).thenReturn(reposto);
+
+        // When
+        Estoque resultado = service.execute("SKU-1", 50);
+
+        // Then
+        assertThat(resultado).isSameAs(reposto);
+        verify(cache).atualizar(reposto);
+    }
+
+    @Test
+    void deveInvalidarCacheQuandoGatewayFalhar() {
+        // Given
+        when(gateway.reporEstoque("SKU-X", 5)).thenThrow(new EstoqueNaoEncontradoException("SKU-X"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-X", 5)).isInstanceOf(EstoqueNaoEncontradoException.class);
+        verify(cache).invalidar("SKU-X");
+        verify(cache, never()).atualizar(any());
+    }
+
+    @Test
+    void deveRejeitarQuantidadeNaoPositiva() {
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", 0)).isInstanceOf(IllegalArgumentException.class);
+        verify(gateway, never()).reporEstoque(any(), anyInt());
+    }
+}
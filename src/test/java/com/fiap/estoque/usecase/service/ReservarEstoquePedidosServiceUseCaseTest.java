@@ -0,0 +1,179 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.domain.ItemBaixa;
+import com.fiap.estoque.domain.Pedido;
+import com.fiap.estoque.domain.ResultadoReserva;
+import com.fiap.estoque.domain.StatusReserva;
+import com.fiap.estoque.exception.BaixaEmLoteRejeitadaException;
+import com.fiap.estoque.exception.PedidoRepetidoException;
+import com.fiap.estoque.gateway.EstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservarEstoquePedidosServiceUseCaseTest {
+
+    @Mock
+    private BaixarEstoqueEmLoteServiceUseCase baixarEstoqueEmLote;
+
+    @Mock
+    private EstoqueGateway gateway;
+
+    @InjectMocks
+    private ReservarEstoquePedidosServiceUseCase service;
+
+    @Test
+    void deveReservarTodosOsPedidosEmUmaUnicaBaixa() {
+        // Given
+        Pedido pedido1 = pedido("P1", item("SKU-1", 2), item("SKU-2", 1));
+        Pedido pedido2 = pedido("P2", item("SKU-1", 3));
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(pedido1, pedido2));
+
+        // Then
+        assertThat(resultados).extracting(ResultadoReserva::getPedidoId, ResultadoReserva::getStatus)
+                .containsExactly(
+                        tuple("P1", StatusReserva.RESERVADO),
+                        tuple("P2", StatusReserva.RESERVADO));
+        verify(baixarEstoqueEmLote, times(1)).execute(
+                List.of(item("SKU-1", 2), item("SKU-2", 1), item("SKU-1", 3)), List.of("P1", "P2"));
+    }
+
+    @Test
+    void deveSepararPedidosQueUsamSkuRejeitado() {
+        // Given
+        Pedido pedido1 = pedido("P1", item("SKU-1", 2));
+        Pedido pedido2 = pedido("P2", item("SKU-ESGOTADO", 1), item("SKU-1", 1));
+        Pedido pedido3 = pedido("P3", item("SKU-2", 4));
+        when(baixarEstoqueEmLote.execute(any(), any())).thenAnswer(invocation -> {
+            List<ItemBaixa> itens = invocation.getArgument(0);
+            if (itens.stream().anyMatch(item -> item.getSku().equals("SKU-ESGOTADO"))) {
+                throw new BaixaEmLoteRejeitadaException(List.of("SKU-ESGOTADO"));
+            }
+            return List.of();
+        });
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(pedido1, pedido2, pedido3));
+
+        // Then
+        assertThat(resultados).extracting(ResultadoReserva::getStatus)
+                .containsExactly(StatusReserva.RESERVADO, StatusReserva.REJEITADO, StatusReserva.RESERVADO);
+        assertThat(resultados.get(1).getSkusRejeitados()).containsExactly("SKU-ESGOTADO");
+        verify(baixarEstoqueEmLote).execute(pedido2.getItens(), List.of("P2"));
+        verify(baixarEstoqueEmLote).execute(List.of(item("SKU-1", 2), item("SKU-2", 4)), List.of("P1", "P3"));
+        verify(baixarEstoqueEmLote, times(3)).execute(any(), any());
+        verify(gateway).registrarPedidosRejeitados(List.of(resultados.get(1)));
+    }
+
+    @Test
+    void deveRejeitarPedidoInvalidoSemBaixarEstoque() {
+        // Given
+        Pedido semItens = pedido("P1");
+        Pedido quantidadeInvalida = pedido("P2", item("SKU-1", 0));
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(semItens, quantidadeInvalida));
+
+        // Then
+        assertThat(resultados).extracting(ResultadoReserva::getStatus)
+                .containsExactly(StatusReserva.REJEITADO, StatusReserva.REJEITADO);
+        verifyNoInteractions(baixarEstoqueEmLote);
+    }
+
+    @Test
+    void deveResponderPedidoJaProcessadoComResultadoGravadoSemBaixarEstoque() {
+        // Given
+        Pedido processado = pedido("P1", item("SKU-1", 2));
+        Pedido novo = pedido("P2", item("SKU-2", 1));
+        ResultadoReserva gravado = ResultadoReserva.builder()
+                .pedidoId("P1").status(StatusReserva.REJEITADO).skusRejeitados(List.of("SKU-1")).build();
+        when(gateway.buscarPedidosProcessados(List.of("P1", "P2"))).thenReturn(List.of(gravado));
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(processado, novo));
+
+        // Then
+        assertThat(resultados.get(0)).isEqualTo(gravado);
+        assertThat(resultados.get(1).getStatus()).isEqualTo(StatusReserva.RESERVADO);
+        verify(baixarEstoqueEmLote).execute(novo.getItens(), List.of("P2"));
+        verify(baixarEstoqueEmLote, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void deveReservarUmaUnicaVezPedidoRepetidoNoLote() {
+        // Given
+        Pedido pedido = pedido("P1", item("SKU-1", 2));
+        Pedido repetido = pedido("P1", item("SKU-1", 2));
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(pedido, repetido));
+
+        // Then
+        assertThat(resultados).extracting(ResultadoReserva::getPedidoId, ResultadoReserva::getStatus)
+                .containsExactly(
+                        tuple("P1", StatusReserva.RESERVADO),
+                        tuple("P1", StatusReserva.RESERVADO));
+        verify(baixarEstoqueEmLote, times(1)).execute(pedido.getItens(), List.of("P1"));
+    }
+
+    @Test
+    void deveConsultarResultadoGravadoQuandoPedidoProcessadoEmParalelo() {
+        // Given
+        Pedido pedido1 = pedido("P1", item("SKU-1", 2));
+        Pedido pedido2 = pedido("P2", item("SKU-2", 1));
+        ResultadoReserva gravado = ResultadoReserva.builder()
+                .pedidoId("P1").status(StatusReserva.RESERVADO).skusRejeitados(List.of()).build();
+        when(baixarEstoqueEmLote.execute(any(), any()))
+                .thenThrow(new PedidoRepetidoException(List.of("P1", "P2")))
+                .thenReturn(List.of());
+        when(gateway.buscarPedidosProcessados(List.of("P1", "P2"))).thenReturn(List.of(), List.of(gravado));
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(pedido1, pedido2));
+
+        // Then
+        assertThat(resultados).extracting(ResultadoReserva::getPedidoId, ResultadoReserva::getStatus)
+                .containsExactly(
+                        tuple("P1", StatusReserva.RESERVADO),
+                        tuple("P2", StatusReserva.RESERVADO));
+        verify(baixarEstoqueEmLote).execute(pedido2.getItens(), List.of("P2"));
+    }
+
+    @Test
+    void deveAdotarResultadoGravadoQuandoPedidoRejeitadoJaProcessadoEmParalelo() {
+        // Given
+        Pedido pedido = pedido("P1", item("SKU-1", 2));
+        ResultadoReserva gravado = ResultadoReserva.builder()
+                .pedidoId("P1").status(StatusReserva.RESERVADO).skusRejeitados(List.of()).build();
+        when(baixarEstoqueEmLote.execute(any(), any())).thenThrow(new BaixaEmLoteRejeitadaException(List.of("SKU-1")));
+        when(gateway.registrarPedidosRejeitados(any())).thenReturn(Set.of("P1"));
+        when(gateway.buscarPedidosProcessados(List.of("P1"))).thenReturn(List.of(), List.of(gravado));
+
+        // When
+        List<ResultadoReserva> resultados = service.execute(List.of(pedido));
+
+        // Then
+        assertThat(resultados).containsExactly(gravado);
+    }
+
+    private static Pedido pedido(String pedidoId, ItemBaixa... itens) {
+        return Pedido.builder().pedidoId(pedidoId).itens(List.of(itens)).build();
+    }
+
+    private static ItemBaixa item(String sku, int quantidade) {
+        return ItemBaixa.builder().sku(sku).quantidade(quantidade).build();
+    }
+}
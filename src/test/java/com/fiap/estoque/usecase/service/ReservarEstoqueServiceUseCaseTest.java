@@ -0,0 +1,72 @@
+package com.fiap.estoque.usecase.service;
+
+import com.fiap.estoque.cache.EstoqueCache;
+import com.fiap.estoque.domain.Reserva;
+import com.fiap.estoque.exception.EstoqueInsuficienteException;
+import com.fiap.estoque.gateway.ReservaEstoqueGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservarEstoqueServiceUseCaseTest {
+
+    @Mock
+    private ReservaEstoqueGateway gateway;
+
+    @Mock
+    private EstoqueCache cache;
+
+    @InjectMocks
+    private ReservarEstoqueServiceUseCase service;
+
+    @Test
+    void deveReservarComPrazoPadraoEInvalidarCache() {
+        // Given
+        Reserva reserva = Reserva.builder().id(1L).sku("SKU-1").quantidade(2).build();
+        ArgumentCaptor<Instant> expiraEm = ArgumentCaptor.forClass(Instant.class);
+        when(gateway.reservar(eq("SKU-1"), eq(2), expiraEm.capture())).thenReturn(reserva);
+        Instant antes = Instant.now();
+
+        // When
+        Reserva resultado = service.execute("SKU-1", 2, null);
+
+        // Then
+        assertThat(resultado).isSameAs(reserva);
+        assertThat(expiraEm.getValue()).isBetween(antes.plus(Duration.ofMinutes(15)), Instant.now().plus(Duration.ofMinutes(15)));
+        verify(cache).invalidar("SKU-1");
+    }
+
+    @Test
+    void deveInvalidarCacheQuandoReservaForRecusada() {
+        // Given
+        when(gateway.reservar(eq("SKU-1"), eq(20), any())).thenThrow(new EstoqueInsuficienteException("SKU-1"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", 20, Duration.ofMinutes(5)))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        verify(cache).invalidar("SKU-1");
+    }
+
+    @Test
+    void deveRejeitarQuantidadeOuPrazoInvalidos() {
+        // When & Then
+        assertThatThrownBy(() -> service.execute("SKU-1", 0, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.execute("SKU-1", 1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.execute("SKU-1", 1, Duration.ofHours(3))).isInstanceOf(IllegalArgumentException.class);
+        verify(gateway, never()).reservar(any(), anyInt(), any());
+    }
+}